@@ -185,6 +185,20 @@ public class N4jscOptions {
 				usage = "disable persisting of type index to disk.", //
 				handler = N4JSBooleanOptionHandler.class)
 		boolean noPersist = false;
+
+		@Option(name = "--parallelBuild", hidden = true, usage = "build independent projects concurrently", //
+				handler = N4JSBooleanOptionHandler.class)
+		boolean parallelBuild = false;
+
+		@Option(name = "--parallelValidation", hidden = true, //
+				usage = "validate and generate files of a project concurrently", //
+				handler = N4JSBooleanOptionHandler.class)
+		boolean parallelValidation = false;
+
+		@Option(name = "--heapAwareClustering", hidden = true, //
+				usage = "process the files of a project in clusters depending on the heap usage", //
+				handler = N4JSBooleanOptionHandler.class)
+		boolean heapAwareClustering = false;
 	}
 
 	/**
@@ -376,6 +390,11 @@ public class N4jscOptions {
 			s += "\n  port=" + port;
 			s += "\n  stdio=" + stdio;
 			s += "\n  exec=" + exec;
+			s += "\n  watchFileSystem=" + watchFileSystem;
+			s += "\n  validationDelay=" + validationDelay;
+			s += "\n  dirtyStateDelay=" + dirtyStateDelay;
+			s += "\n  publishDiagnosticsDelay=" + publishDiagnosticsDelay;
+			s += "\n  useVirtualThreads=" + useVirtualThreads;
 			return s;
 		}
 
@@ -397,6 +416,31 @@ public class N4jscOptions {
 				forbids = "--stdio", //
 				handler = N4JSStringOptionHandler.class)
 		String exec = null;
+
+		@Option(name = "--watchFileSystem", hidden = true, //
+				usage = "watches the source folders for changes made outside of the client, e.g. by other tools", //
+				handler = N4JSBooleanOptionHandler.class)
+		boolean watchFileSystem = false;
+
+		@Option(name = "--validationDelay", hidden = true, //
+				usage = "milliseconds to wait after a change of an open file before validating it", //
+				handler = N4JSIntOptionHandler.class)
+		int validationDelay = 0;
+
+		@Option(name = "--dirtyStateDelay", hidden = true, //
+				usage = "milliseconds to collect changes of open files before updating the other open files", //
+				handler = N4JSIntOptionHandler.class)
+		int dirtyStateDelay = 0;
+
+		@Option(name = "--publishDiagnosticsDelay", hidden = true, //
+				usage = "milliseconds to collect diagnostics before publishing them to the client in one batch", //
+				handler = N4JSIntOptionHandler.class)
+		int publishDiagnosticsDelay = 0;
+
+		@Option(name = "--useVirtualThreads", hidden = true, //
+				usage = "runs the tasks of the lsp server on virtual threads, if supported by the Java runtime", //
+				handler = N4JSBooleanOptionHandler.class)
+		boolean useVirtualThreads = false;
 	}
 
 	/** This class defines option fields for command set-versions. */
@@ -684,6 +728,24 @@ public class N4jscOptions {
 				&& ((AbstractCompileRelatedOptions) options).noPersist;
 	}
 
+	/** @return true iff {@code --parallelBuild} */
+	public boolean isParallelBuild() {
+		return (options instanceof AbstractCompileRelatedOptions)
+				&& ((AbstractCompileRelatedOptions) options).parallelBuild;
+	}
+
+	/** @return true iff {@code --parallelValidation} */
+	public boolean isParallelValidation() {
+		return (options instanceof AbstractCompileRelatedOptions)
+				&& ((AbstractCompileRelatedOptions) options).parallelValidation;
+	}
+
+	/** @return true iff {@code --heapAwareClustering} */
+	public boolean isHeapAwareClustering() {
+		return (options instanceof AbstractCompileRelatedOptions)
+				&& ((AbstractCompileRelatedOptions) options).heapAwareClustering;
+	}
+
 	/** @return N of {@code --maxErrs N} */
 	public int getMaxErrs() {
 		Preconditions.checkState(options instanceof AbstractCompileRelatedOptions);
@@ -708,6 +770,36 @@ public class N4jscOptions {
 		return ((LSPOptions) options).stdio;
 	}
 
+	/** @return true iff {@code --watchFileSystem} */
+	public boolean isWatchFileSystem() {
+		Preconditions.checkState(options instanceof LSPOptions);
+		return ((LSPOptions) options).watchFileSystem;
+	}
+
+	/** @return the delay given via {@code --validationDelay} */
+	public int getValidationDelay() {
+		Preconditions.checkState(options instanceof LSPOptions);
+		return ((LSPOptions) options).validationDelay;
+	}
+
+	/** @return the delay given via {@code --dirtyStateDelay} */
+	public int getDirtyStateDelay() {
+		Preconditions.checkState(options instanceof LSPOptions);
+		return ((LSPOptions) options).dirtyStateDelay;
+	}
+
+	/** @return the delay given via {@code --publishDiagnosticsDelay} */
+	public int getPublishDiagnosticsDelay() {
+		Preconditions.checkState(options instanceof LSPOptions);
+		return ((LSPOptions) options).publishDiagnosticsDelay;
+	}
+
+	/** @return true iff {@code --useVirtualThreads} */
+	public boolean isUseVirtualThreads() {
+		Preconditions.checkState(options instanceof LSPOptions);
+		return ((LSPOptions) options).useVirtualThreads;
+	}
+
 	/** @return the user command if given via {@code --exec}. {@code null} otherwise. */
 	public String getExec() {
 		Preconditions.checkState(options instanceof LSPOptions);
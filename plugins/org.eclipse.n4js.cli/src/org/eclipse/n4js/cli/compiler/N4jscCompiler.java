@@ -28,11 +28,13 @@ import org.eclipse.n4js.cli.N4jscExitCode;
 import org.eclipse.n4js.cli.N4jscExitState;
 import org.eclipse.n4js.cli.N4jscFactory;
 import org.eclipse.n4js.cli.N4jscOptions;
+import org.eclipse.n4js.postprocessing.FlowAnalysisConfig;
 import org.eclipse.n4js.smith.Measurement;
 import org.eclipse.n4js.smith.N4JSDataCollectors;
 import org.eclipse.n4js.utils.URIUtils;
 import org.eclipse.n4js.xtext.ide.server.LanguageServerFrontend;
 import org.eclipse.n4js.xtext.ide.server.ProjectStatePersisterConfig;
+import org.eclipse.n4js.xtext.ide.server.WorkspaceBuilderConfig;
 import org.eclipse.n4js.xtext.ide.server.XLanguageServerImpl;
 import org.eclipse.n4js.xtext.ide.server.build.IBuildRequestFactory;
 import org.eclipse.n4js.xtext.ide.server.build.XWorkspaceManager;
@@ -132,6 +134,13 @@ public class N4jscCompiler {
 		ProjectStatePersisterConfig persisterConfig = injector.getInstance(ProjectStatePersisterConfig.class);
 		persisterConfig.setDeleteState(options.isClean());
 		persisterConfig.setWriteToDisk(!options.isNoPersist());
+		WorkspaceBuilderConfig builderConfig = injector.getInstance(WorkspaceBuilderConfig.class);
+		builderConfig.setParallelBuild(options.isParallelBuild());
+		builderConfig.setParallelValidation(options.isParallelValidation());
+		builderConfig.setHeapAwareClustering(options.isHeapAwareClustering());
+		// resources are already processed concurrently in a parallel build
+		FlowAnalysisConfig flowAnalysisConfig = injector.getInstance(FlowAnalysisConfig.class);
+		flowAnalysisConfig.setParallel(!builderConfig.isParallelBuild() && !builderConfig.isParallelValidation());
 	}
 
 	private void setupWorkspaceBuildActionListener() {
@@ -132,12 +132,12 @@ public class N4jscLanguageClient extends AbstractN4JSLanguageClient implements A
 	}
 
 	@Override
-	public void afterDelete(URI file) {
+	public synchronized void afterDelete(URI file) {
 		delCount++;
 	}
 
 	@Override
-	public void afterGenerate(URI source, URI generated) {
+	public synchronized void afterGenerate(URI source, URI generated) {
 		genCount++;
 	}
 
@@ -168,7 +168,7 @@ public class N4jscLanguageClient extends AbstractN4JSLanguageClient implements A
 	}
 
 	/** Resets counters of transpiled and deleted files, and errors and warnings */
-	public void resetCounters() {
+	public synchronized void resetCounters() {
 		genCount = 0;
 		delCount = 0;
 		errCount = 0;
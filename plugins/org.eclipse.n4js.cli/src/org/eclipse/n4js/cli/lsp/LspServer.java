@@ -43,6 +43,10 @@ import org.eclipse.n4js.cli.N4jscOptions;
 import org.eclipse.n4js.xtext.ide.server.DebugService;
 import org.eclipse.n4js.xtext.ide.server.ExecuteCommandParamsTypeAdapter;
 import org.eclipse.n4js.xtext.ide.server.ProjectStatePersisterConfig;
+import org.eclipse.n4js.xtext.ide.server.PublishingIssueAcceptorConfig;
+import org.eclipse.n4js.xtext.ide.server.QueuedExecutorServiceConfig;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskManagerConfig;
+import org.eclipse.n4js.xtext.ide.server.WorkspaceBuilderConfig;
 import org.eclipse.n4js.xtext.ide.server.XLanguageServerImpl;
 import org.eclipse.n4js.xtext.ide.server.util.LspLogger;
 import org.eclipse.n4js.xtext.ide.server.util.ServerIncidentLogger;
@@ -110,6 +114,15 @@ public class LspServer {
 		ProjectStatePersisterConfig persisterConfig = injector.getInstance(ProjectStatePersisterConfig.class);
 		persisterConfig.setDeleteState(options.isClean());
 		persisterConfig.setWriteToDisk(!options.isNoPersist());
+		WorkspaceBuilderConfig builderConfig = injector.getInstance(WorkspaceBuilderConfig.class);
+		builderConfig.setWatchFileSystem(options.isWatchFileSystem());
+		ResourceTaskManagerConfig resourceTaskConfig = injector.getInstance(ResourceTaskManagerConfig.class);
+		resourceTaskConfig.setValidationDelay(options.getValidationDelay());
+		resourceTaskConfig.setDirtyStateDelay(options.getDirtyStateDelay());
+		PublishingIssueAcceptorConfig publishingConfig = injector.getInstance(PublishingIssueAcceptorConfig.class);
+		publishingConfig.setPublishDelay(options.getPublishDiagnosticsDelay());
+		QueuedExecutorServiceConfig executorConfig = injector.getInstance(QueuedExecutorServiceConfig.class);
+		executorConfig.setUseVirtualThreads(options.isUseVirtualThreads());
 	}
 
 	private void setupAndRun(ExecutorService threadPool, XLanguageServerImpl languageServer)
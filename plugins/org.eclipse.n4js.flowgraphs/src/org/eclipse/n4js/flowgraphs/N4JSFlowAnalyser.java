@@ -39,8 +39,16 @@ import com.google.common.base.Preconditions;
 public class N4JSFlowAnalyser {
 	static private final Logger logger = Logger.getLogger(N4JSFlowAnalyser.class);
 
+	/**
+	 * Default of the {@link #setParallelThreshold(int) minimal number of control flow elements} of a script to analyse
+	 * it in parallel.
+	 */
+	static public final int DEFAULT_PARALLEL_THRESHOLD = 20_000;
+
 	private State state = State.init;
 	private Callable<?> cancelledChecker;
+	private boolean parallel = false;
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
 	private FlowGraph cfg;
 	private SymbolFactory symbolFactory;
 	private DirectPathAnalyses dpa;
@@ -74,6 +82,36 @@ public class N4JSFlowAnalyser {
 		this.cancelledChecker = cancelledChecker;
 	}
 
+	/**
+	 * Sets whether the forward and backward analyses traverse the containers of the script in parallel. In parallel
+	 * mode, {@link ParallelFlowAnalyser}s analyse the containers in contiguous chunks on a fork-join pool, whereas all
+	 * other {@link FlowAnalyser}s are performed sequentially afterwards. Scripts with less control flow elements than
+	 * the {@link #setParallelThreshold(int) threshold} are always analysed sequentially. The cancelled checker is only
+	 * called on the thread that invokes the analyses. Default is <code>false</code>.
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/** @return true iff the containers of the script are analysed in parallel. See {@link #setParallel(boolean)} */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Sets the minimal number of control flow elements of a script to analyse it in {@link #setParallel(boolean)
+	 * parallel mode}. For smaller scripts, the overhead of the tasks exceeds their gain. Default is
+	 * {@value #DEFAULT_PARALLEL_THRESHOLD}.
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/** @return the minimal number of control flow elements of a script to analyse it in parallel. */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
 	/**
 	 * Creates the control flow graphs for all {@link ControlFlowElement}s in the given {@link Script}.
 	 * <p/>
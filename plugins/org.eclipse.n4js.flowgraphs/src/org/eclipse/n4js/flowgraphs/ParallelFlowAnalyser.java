@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.flowgraphs;
+
+/**
+ * A {@link FlowAnalyser} whose results for a control flow container do not depend on the other containers. In
+ * {@link N4JSFlowAnalyser#setParallel(boolean) parallel mode}, the containers are split into contiguous chunks and each
+ * chunk is analysed by its own instance created by {@link #createContainerAnalyser()}. The results of these instances
+ * are merged into this analyser afterwards.
+ * <p>
+ * Instances created by {@link #createContainerAnalyser()} are used by a single thread. They must neither modify the
+ * AST nor resolve proxies.
+ */
+public interface ParallelFlowAnalyser extends FlowAnalyser {
+
+	/** @return a new instance of this analyser that analyses a chunk of containers. */
+	ParallelFlowAnalyser createContainerAnalyser();
+
+	/**
+	 * Adds the results of the given analyser to the results of this analyser.
+	 * <p>
+	 * Called once for every chunk of containers in the order of {@link N4JSFlowAnalyser#getAllContainers()}, hence the
+	 * merged results do not depend on the order in which the chunks were analysed.
+	 *
+	 * @param containerAnalyser
+	 *            an instance created by {@link #createContainerAnalyser()} that has analysed its chunk of containers
+	 */
+	void mergeContainerResults(ParallelFlowAnalyser containerAnalyser);
+
+}
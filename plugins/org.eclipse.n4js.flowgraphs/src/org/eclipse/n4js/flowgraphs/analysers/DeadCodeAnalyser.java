@@ -19,6 +19,7 @@ import java.util.Set;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.n4js.flowgraphs.FGUtils;
+import org.eclipse.n4js.flowgraphs.ParallelFlowAnalyser;
 import org.eclipse.n4js.flowgraphs.analysis.GraphVisitor;
 import org.eclipse.n4js.flowgraphs.analysis.TraverseDirection;
 import org.eclipse.n4js.flowgraphs.factories.CFEMapper;
@@ -39,7 +40,7 @@ import org.eclipse.xtext.util.TextRegion;
  * determine if a given {@link ControlFlowElement} is dead code, or to compute a minimal set of {@link TextRegion}s of
  * dead code.
  */
-public class DeadCodeAnalyser extends GraphVisitor {
+public class DeadCodeAnalyser extends GraphVisitor implements ParallelFlowAnalyser {
 	Set<ControlFlowElement> allLiveNodes = new HashSet<>();
 	Set<ControlFlowElement> allDeadNodes = new HashSet<>();
 
@@ -48,6 +49,18 @@ public class DeadCodeAnalyser extends GraphVisitor {
 		super(TraverseDirection.Forward);
 	}
 
+	@Override
+	public DeadCodeAnalyser createContainerAnalyser() {
+		return new DeadCodeAnalyser();
+	}
+
+	@Override
+	public void mergeContainerResults(ParallelFlowAnalyser containerAnalyser) {
+		DeadCodeAnalyser dca = (DeadCodeAnalyser) containerAnalyser;
+		allLiveNodes.addAll(dca.allLiveNodes);
+		allDeadNodes.addAll(dca.allDeadNodes);
+	}
+
 	@Override
 	protected void visit(ControlFlowElement cfe) {
 		if (isLiveCode()) {
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.n4js.flowgraphs.ParallelFlowAnalyser;
 import org.eclipse.n4js.flowgraphs.analysis.BranchWalkerInternal;
 import org.eclipse.n4js.flowgraphs.analysis.GraphExplorerInternal;
 import org.eclipse.n4js.flowgraphs.analysis.GraphVisitorInternal;
@@ -46,7 +47,7 @@ import com.google.common.collect.Sets;
  * This analyzer detects and holds information about all instanceof guards at a given source location. It differentiates
  * between instanceof guards that always, never or may hold.
  */
-public class InstanceofGuardAnalyser extends GraphVisitorInternal {
+public class InstanceofGuardAnalyser extends GraphVisitorInternal implements ParallelFlowAnalyser {
 	Map<ControlFlowElement, InstanceofBranchWalker> elementsToBranch = new HashMap<>();
 	Multimap<IdentifierRef, InstanceofGuard> guardsOnIRef = HashMultimap.create();
 
@@ -55,6 +56,18 @@ public class InstanceofGuardAnalyser extends GraphVisitorInternal {
 		super(TraverseDirection.Forward);
 	}
 
+	@Override
+	public InstanceofGuardAnalyser createContainerAnalyser() {
+		return new InstanceofGuardAnalyser();
+	}
+
+	@Override
+	public void mergeContainerResults(ParallelFlowAnalyser containerAnalyser) {
+		InstanceofGuardAnalyser iga = (InstanceofGuardAnalyser) containerAnalyser;
+		elementsToBranch.putAll(iga.elementsToBranch);
+		guardsOnIRef.putAll(iga.guardsOnIRef);
+	}
+
 	/** @return all {@code instanceof} guards that <b>always</b> hold at the given element */
 	public Collection<InstanceofGuard> getAlwaysHoldingGuards(ControlFlowElement cfe) {
 		return getGuards(cfe, GuardAssertion.AlwaysHolds);
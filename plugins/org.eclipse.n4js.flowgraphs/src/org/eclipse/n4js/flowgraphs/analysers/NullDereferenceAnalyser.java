@@ -14,6 +14,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.n4js.flowgraphs.ParallelFlowAnalyser;
 import org.eclipse.n4js.flowgraphs.dataflow.Assumption;
 import org.eclipse.n4js.flowgraphs.dataflow.DataFlowVisitor;
 import org.eclipse.n4js.flowgraphs.dataflow.EffectInfo;
@@ -37,7 +38,17 @@ import com.google.common.collect.Multimap;
  * This analysis computes all cases where an implicit assumption of a variable being not null conflicts either with an
  * explicit guard that assures this variable to be null, or with an explicit assignment of null.
  */
-public class NullDereferenceAnalyser extends DataFlowVisitor {
+public class NullDereferenceAnalyser extends DataFlowVisitor implements ParallelFlowAnalyser {
+
+	@Override
+	public NullDereferenceAnalyser createContainerAnalyser() {
+		return new NullDereferenceAnalyser();
+	}
+
+	@Override
+	public void mergeContainerResults(ParallelFlowAnalyser containerAnalyser) {
+		addAssumptions((NullDereferenceAnalyser) containerAnalyser);
+	}
 
 	@Override
 	public void visitEffect(EffectInfo effect, ControlFlowElement cfe) {
@@ -14,6 +14,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.n4js.flowgraphs.ParallelFlowAnalyser;
 import org.eclipse.n4js.flowgraphs.analysis.FastFlowVisitor;
 import org.eclipse.n4js.flowgraphs.dataflow.symbols.SymbolFactory;
 import org.eclipse.n4js.n4JS.ControlFlowElement;
@@ -26,7 +27,7 @@ import org.eclipse.n4js.ts.types.TVariable;
  * Analysis to detect uses of {@link IdentifierRef}s that are located in the control flow before their corresponding
  * variables are declared.
  */
-public class UsedBeforeDeclaredAnalyser extends FastFlowVisitor {
+public class UsedBeforeDeclaredAnalyser extends FastFlowVisitor implements ParallelFlowAnalyser {
 
 	static class CVLocationDataEntry extends ActivationLocation {
 		final Object cfe;
@@ -44,6 +45,16 @@ public class UsedBeforeDeclaredAnalyser extends FastFlowVisitor {
 		}
 	}
 
+	@Override
+	public UsedBeforeDeclaredAnalyser createContainerAnalyser() {
+		return new UsedBeforeDeclaredAnalyser();
+	}
+
+	@Override
+	public void mergeContainerResults(ParallelFlowAnalyser containerAnalyser) {
+		addActivatedExplorers((UsedBeforeDeclaredAnalyser) containerAnalyser);
+	}
+
 	/** @return all {@link IdentifierRef}s that are used before declared */
 	public List<IdentifierRef> getUsedButNotDeclaredIdentifierRefs() {
 		List<IdentifierRef> idRefs = new LinkedList<>();
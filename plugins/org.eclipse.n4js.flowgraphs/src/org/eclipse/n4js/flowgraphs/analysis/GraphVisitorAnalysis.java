@@ -10,21 +10,42 @@
  */
 package org.eclipse.n4js.flowgraphs.analysis;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.n4js.flowgraphs.FlowAnalyser;
 import org.eclipse.n4js.flowgraphs.N4JSFlowAnalyser;
+import org.eclipse.n4js.flowgraphs.N4JSFlowAnalyserDataRecorder;
+import org.eclipse.n4js.flowgraphs.ParallelFlowAnalyser;
 import org.eclipse.n4js.flowgraphs.dataflow.DataFlowVisitor;
 import org.eclipse.n4js.flowgraphs.dataflow.DataFlowVisitorHost;
 import org.eclipse.n4js.flowgraphs.model.ComplexNode;
 import org.eclipse.n4js.flowgraphs.model.FlowGraph;
 import org.eclipse.n4js.n4JS.ControlFlowElement;
 
+import com.google.common.base.Throwables;
+
 /**
  * Contains algorithms that start {@link GraphVisitorInternal}s using the {@link GraphVisitorGuideInternal}.
+ * <p>
+ * In {@link N4JSFlowAnalyser#isParallel() parallel mode}, the containers are split into contiguous chunks, one for
+ * each thread of the common {@link ForkJoinPool}. Every chunk is traversed by its own
+ * {@link GraphVisitorGuideInternal} on that pool using new instances of the {@link ParallelFlowAnalyser}s. Their
+ * results are merged in the order of the chunks, i.e. in the order of the containers.
  */
 public class GraphVisitorAnalysis {
+	/** Interval in which cancel events are checked while waiting for the analyses of a container */
+	static private final long CANCEL_CHECK_INTERVAL_MS = 50;
+
 	private final N4JSFlowAnalyser flowAnalyzer;
 	private final FlowGraph cfg;
 	private boolean forwardAnalysisDone = false;
@@ -41,16 +62,7 @@ public class GraphVisitorAnalysis {
 			throw new IllegalStateException("Forward analysis can be performed only once.");
 		}
 
-		List<GraphVisitorInternal> graphVisitors = getGraphVisitors(flowAnalysers, TraverseDirection.Forward);
-		GraphVisitorGuideInternal guide = new GraphVisitorGuideInternal(flowAnalyzer, graphVisitors);
-		guide.init();
-
-		for (ControlFlowElement container : cfg.getAllContainers()) {
-			ComplexNode cnContainer = cfg.getComplexNode(container);
-			guide.walkthroughForward(cnContainer);
-		}
-
-		guide.terminate();
+		performAnalyses(flowAnalysers, TraverseDirection.Forward);
 		forwardAnalysisDone = true;
 	}
 
@@ -60,19 +72,167 @@ public class GraphVisitorAnalysis {
 			throw new IllegalStateException("Forward analysis must be performed first.");
 		}
 
-		List<GraphVisitorInternal> graphVisitors = getGraphVisitors(flowAnalysers, TraverseDirection.Backward);
+		performAnalyses(flowAnalysers, TraverseDirection.Backward);
+	}
+
+	private void performAnalyses(FlowAnalyser[] flowAnalysers, TraverseDirection direction) {
+		List<ParallelFlowAnalyser> parallelAnalysers = new ArrayList<>();
+		List<FlowAnalyser> sequentialAnalysers = new ArrayList<>();
+		for (FlowAnalyser flowAnalyser : flowAnalysers) {
+			if (hasDirection(flowAnalyser, direction)) {
+				if (flowAnalyser instanceof ParallelFlowAnalyser) {
+					parallelAnalysers.add((ParallelFlowAnalyser) flowAnalyser);
+				} else {
+					sequentialAnalysers.add(flowAnalyser);
+				}
+			}
+		}
+
+		if (!isParallelAnalysisApplicable(parallelAnalysers, sequentialAnalysers, direction)) {
+			sequentialAnalysis(Arrays.asList(flowAnalysers), direction);
+			return;
+		}
+
+		parallelAnalysis(parallelAnalysers, direction);
+		if (!sequentialAnalysers.isEmpty()) {
+			sequentialAnalysis(sequentialAnalysers, direction);
+		}
+	}
+
+	private boolean isParallelAnalysisApplicable(List<ParallelFlowAnalyser> parallelAnalysers,
+			List<FlowAnalyser> sequentialAnalysers, TraverseDirection direction) {
+
+		if (!flowAnalyzer.isParallel() || parallelAnalysers.isEmpty() || cfg.getAllContainers().size() < 2
+				|| cfg.getComplexNodeCount() < flowAnalyzer.getParallelThreshold()
+				|| ForkJoinPool.getCommonPoolParallelism() < 2) {
+			return false;
+		}
+		if (N4JSFlowAnalyserDataRecorder.isEnabled()) {
+			// the recorder is not thread-safe
+			return false;
+		}
+		// The forward traversal computes the reachability of nodes that visitors read during the same traversal.
+		// Hence, all forward analysers are performed in the same traversal.
+		return direction == TraverseDirection.Backward || sequentialAnalysers.isEmpty();
+	}
+
+	private void sequentialAnalysis(List<? extends FlowAnalyser> flowAnalysers, TraverseDirection direction) {
+		List<GraphVisitorInternal> graphVisitors = getGraphVisitors(flowAnalysers, direction);
 		GraphVisitorGuideInternal guide = new GraphVisitorGuideInternal(flowAnalyzer, graphVisitors);
 		guide.init();
 
 		for (ControlFlowElement container : cfg.getAllContainers()) {
 			ComplexNode cnContainer = cfg.getComplexNode(container);
-			guide.walkthroughBackward(cnContainer);
+			guide.walkthrough(cnContainer, direction);
 		}
 
 		guide.terminate();
 	}
 
-	private List<GraphVisitorInternal> getGraphVisitors(FlowAnalyser[] flowAnalysers, TraverseDirection direction) {
+	private void parallelAnalysis(List<ParallelFlowAnalyser> flowAnalysers, TraverseDirection direction) {
+		// the given analysers are not used for traversing, but they are initialized and terminated as usual
+		List<GraphVisitorInternal> graphVisitors = getGraphVisitors(flowAnalysers, direction);
+		GraphVisitorGuideInternal guide = new GraphVisitorGuideInternal(flowAnalyzer, graphVisitors);
+		guide.init();
+
+		AtomicBoolean cancelled = new AtomicBoolean(false);
+		List<ForkJoinTask<List<ParallelFlowAnalyser>>> tasks = new ArrayList<>();
+		for (List<ComplexNode> chunk : getContainerChunks()) {
+			tasks.add(ForkJoinPool.commonPool()
+					.submit(() -> analyseContainers(flowAnalysers, chunk, direction, cancelled)));
+		}
+
+		try {
+			for (ForkJoinTask<List<ParallelFlowAnalyser>> task : tasks) {
+				flowAnalyzer.checkCancelled();
+
+				List<ParallelFlowAnalyser> containerAnalysers = awaitContainerAnalysis(task);
+				for (int i = 0; i < flowAnalysers.size(); i++) {
+					flowAnalysers.get(i).mergeContainerResults(containerAnalysers.get(i));
+				}
+			}
+		} catch (RuntimeException | Error e) {
+			cancelled.set(true);
+			for (ForkJoinTask<?> task : tasks) {
+				task.cancel(false);
+			}
+			throw e;
+		}
+
+		guide.terminate();
+	}
+
+	/** Splits the containers into contiguous chunks of about the same size, one for each thread of the pool. */
+	private List<List<ComplexNode>> getContainerChunks() {
+		List<ComplexNode> cnContainers = new ArrayList<>();
+		for (ControlFlowElement container : cfg.getAllContainers()) {
+			cnContainers.add(cfg.getComplexNode(container));
+		}
+		int chunkCount = Math.min(cnContainers.size(), ForkJoinPool.getCommonPoolParallelism());
+		List<List<ComplexNode>> chunks = new ArrayList<>(chunkCount);
+		for (int i = 0; i < chunkCount; i++) {
+			int from = (int) ((long) cnContainers.size() * i / chunkCount);
+			int to = (int) ((long) cnContainers.size() * (i + 1) / chunkCount);
+			chunks.add(cnContainers.subList(from, to));
+		}
+		return chunks;
+	}
+
+	/** Runs on a worker thread. Must not call {@link N4JSFlowAnalyser#checkCancelled()}. */
+	private List<ParallelFlowAnalyser> analyseContainers(List<ParallelFlowAnalyser> flowAnalysers,
+			List<ComplexNode> cnContainers, TraverseDirection direction, AtomicBoolean cancelled) {
+
+		List<ParallelFlowAnalyser> containerAnalysers = new ArrayList<>(flowAnalysers.size());
+		for (ParallelFlowAnalyser flowAnalyser : flowAnalysers) {
+			containerAnalysers.add(flowAnalyser.createContainerAnalyser());
+		}
+
+		Runnable cancelledChecker = () -> {
+			if (cancelled.get()) {
+				throw new OperationCanceledException();
+			}
+		};
+		List<GraphVisitorInternal> graphVisitors = getGraphVisitors(containerAnalysers, direction);
+		GraphVisitorGuideInternal guide = new GraphVisitorGuideInternal(flowAnalyzer, graphVisitors, cancelledChecker);
+		guide.init();
+		for (ComplexNode cnContainer : cnContainers) {
+			guide.walkthrough(cnContainer, direction);
+		}
+		guide.terminate();
+
+		return containerAnalysers;
+	}
+
+	/** Waits for the given task and checks for cancel events in the meantime. */
+	private List<ParallelFlowAnalyser> awaitContainerAnalysis(ForkJoinTask<List<ParallelFlowAnalyser>> task) {
+		while (true) {
+			try {
+				return task.get(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				flowAnalyzer.checkCancelled();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwables.throwIfUnchecked(e.getCause());
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	private static boolean hasDirection(FlowAnalyser flowAnalyser, TraverseDirection direction) {
+		if (flowAnalyser instanceof GraphVisitorInternal) {
+			return ((GraphVisitorInternal) flowAnalyser).getDirection() == direction;
+		}
+		if (flowAnalyser instanceof DataFlowVisitor) {
+			return ((DataFlowVisitor) flowAnalyser).getDirection() == direction;
+		}
+		return false;
+	}
+
+	private List<GraphVisitorInternal> getGraphVisitors(List<? extends FlowAnalyser> flowAnalysers,
+			TraverseDirection direction) {
+
 		List<GraphVisitorInternal> graphVisitors = new LinkedList<>();
 		List<DataFlowVisitor> dataflowVisitorList = new LinkedList<>();
 		for (FlowAnalyser flowAnalyser : flowAnalysers) {
@@ -39,13 +39,27 @@ import org.eclipse.n4js.flowgraphs.model.Node;
 public class GraphVisitorGuideInternal {
 	private final N4JSFlowAnalyser flowAnalyzer;
 	private final Collection<? extends GraphVisitorInternal> visitors;
+	private final Runnable cancelledChecker;
 	private final Set<Node> walkerVisitedNodes = new HashSet<>();
 	private final EdgeGuideWorklist guideWorklist = new EdgeGuideWorklist();
 
 	/** Constructor */
 	GraphVisitorGuideInternal(N4JSFlowAnalyser flowAnalyzer, Collection<? extends GraphVisitorInternal> visitors) {
+		this(flowAnalyzer, visitors, flowAnalyzer::checkCancelled);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param cancelledChecker
+	 *            is called in the main loop instead of {@link N4JSFlowAnalyser#checkCancelled()}, e.g. when the
+	 *            traversal is not performed on the thread that uses the {@link N4JSFlowAnalyser}.
+	 */
+	GraphVisitorGuideInternal(N4JSFlowAnalyser flowAnalyzer, Collection<? extends GraphVisitorInternal> visitors,
+			Runnable cancelledChecker) {
 		this.flowAnalyzer = flowAnalyzer;
 		this.visitors = visitors;
+		this.cancelledChecker = cancelledChecker;
 	}
 
 	/** Call before any of the {@code walkthrough} methods is called. */
@@ -64,17 +78,8 @@ public class GraphVisitorGuideInternal {
 		}
 	}
 
-	/** Traverses the control flow graph in {@literal Mode.Forward} */
-	void walkthroughForward(ComplexNode cn) {
-		walkthrough(cn, TraverseDirection.Forward);
-	}
-
-	/** Traverses the control flow graph in {@literal Mode.Backward} */
-	void walkthroughBackward(ComplexNode cn) {
-		walkthrough(cn, TraverseDirection.Backward);
-	}
-
-	private void walkthrough(ComplexNode cn, TraverseDirection direction) {
+	/** Traverses the control flow graph in the given direction */
+	void walkthrough(ComplexNode cn, TraverseDirection direction) {
 		walkerVisitedNodes.clear();
 		cn.getEntry().setReachable();
 		cn.getExit().setReachable();
@@ -121,7 +126,7 @@ public class GraphVisitorGuideInternal {
 		}
 
 		while (guideWorklist.hasNext()) {
-			flowAnalyzer.checkCancelled();
+			cancelledChecker.run();
 
 			EdgeGuide currEdgeGuide = guideWorklist.next();
 
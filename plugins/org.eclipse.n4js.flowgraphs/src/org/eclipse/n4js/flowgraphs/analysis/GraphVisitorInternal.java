@@ -15,6 +15,7 @@ import java.util.List;
 
 import org.eclipse.n4js.flowgraphs.FlowAnalyser;
 import org.eclipse.n4js.flowgraphs.N4JSFlowAnalyser;
+import org.eclipse.n4js.flowgraphs.ParallelFlowAnalyser;
 import org.eclipse.n4js.flowgraphs.dataflow.symbols.SymbolFactory;
 import org.eclipse.n4js.flowgraphs.model.ControlFlowEdge;
 import org.eclipse.n4js.flowgraphs.model.Node;
@@ -225,6 +226,14 @@ abstract public class GraphVisitorInternal implements FlowAnalyser {
 		activationRequests.add(app);
 	}
 
+	/**
+	 * Adds all activated {@link GraphExplorerInternal}s of the given visitor to the activated explorers of this
+	 * visitor. Used to merge the results of a {@link ParallelFlowAnalyser}.
+	 */
+	final protected void addActivatedExplorers(GraphVisitorInternal visitor) {
+		activatedExplorers.addAll(visitor.activatedExplorers);
+	}
+
 	/** @return all activated {@link GraphExplorerInternal}s */
 	final public List<GraphExplorerInternal> getActivatedExplorers() {
 		return activatedExplorers;
@@ -10,6 +10,7 @@
  */
 package org.eclipse.n4js.flowgraphs.analysis;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -17,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.n4js.flowgraphs.ControlFlowType;
+import org.eclipse.n4js.flowgraphs.model.CompactControlFlowGraph;
 import org.eclipse.n4js.flowgraphs.model.ComplexNode;
 import org.eclipse.n4js.flowgraphs.model.ControlFlowEdge;
 import org.eclipse.n4js.flowgraphs.model.Node;
@@ -80,6 +82,21 @@ abstract class NextEdgesProvider {
 			return nextEdges;
 		}
 
+		@Override
+		protected int getNextEdgeCount(CompactControlFlowGraph graph, int node) {
+			return graph.getSuccessorCount(node);
+		}
+
+		@Override
+		protected int getNextEdge(CompactControlFlowGraph graph, int node, int i) {
+			return graph.getSuccessorEdge(node, i);
+		}
+
+		@Override
+		protected int getNextNode(CompactControlFlowGraph graph, int edge) {
+			return graph.getEdgeEnd(edge);
+		}
+
 		@Override
 		protected Forward copy() {
 			return new Forward(new HashMap<>(super.loopEnterEdges));
@@ -146,6 +163,21 @@ abstract class NextEdgesProvider {
 			return nextEdges;
 		}
 
+		@Override
+		protected int getNextEdgeCount(CompactControlFlowGraph graph, int node) {
+			return graph.getPredecessorCount(node);
+		}
+
+		@Override
+		protected int getNextEdge(CompactControlFlowGraph graph, int node, int i) {
+			return graph.getPredecessorEdge(node, i);
+		}
+
+		@Override
+		protected int getNextNode(CompactControlFlowGraph graph, int edge) {
+			return graph.getEdgeStart(edge);
+		}
+
 		@Override
 		protected Backward copy() {
 			return new Backward(new HashMap<>(super.loopEnterEdges));
@@ -196,6 +228,15 @@ abstract class NextEdgesProvider {
 	/** @return the all unfiltered next edges with regard to the traverse direction */
 	abstract protected Collection<ControlFlowEdge> getPlainNextEdges(Node nextNode);
 
+	/** @return the number of next edges of the given node with regard to the traverse direction */
+	abstract protected int getNextEdgeCount(CompactControlFlowGraph graph, int node);
+
+	/** @return the index of the i-th next edge of the given node with regard to the traverse direction */
+	abstract protected int getNextEdge(CompactControlFlowGraph graph, int node, int i);
+
+	/** @return the index of the next node of the given edge with regard to the traverse direction */
+	abstract protected int getNextNode(CompactControlFlowGraph graph, int edge);
+
 	/** @return the limit of edge occurrences */
 	abstract int getMaxOccurences(ControlFlowType cfType);
 
@@ -222,8 +263,22 @@ abstract class NextEdgesProvider {
 	 * @return all following edges of the given node.
 	 */
 	protected List<ControlFlowEdge> getNextEdges(Node nextNode, ControlFlowType... flowTypes) {
-		Iterable<ControlFlowEdge> nextEdges = getPlainNextEdges(nextNode);
-		List<ControlFlowEdge> filteredEdges = filter(nextEdges, flowTypes);
+		CompactControlFlowGraph graph = nextNode.getCompactGraph();
+		if (graph == null) {
+			Iterable<ControlFlowEdge> nextEdges = getPlainNextEdges(nextNode);
+			List<ControlFlowEdge> filteredEdges = filter(nextEdges, flowTypes);
+			return filteredEdges;
+		}
+
+		int node = nextNode.getCompactIndex();
+		int count = getNextEdgeCount(graph, node);
+		List<ControlFlowEdge> filteredEdges = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			ControlFlowEdge cfEdge = graph.getEdge(getNextEdge(graph, node, i));
+			if (isFollowed(cfEdge, flowTypes)) {
+				filteredEdges.add(cfEdge);
+			}
+		}
 		return filteredEdges;
 	}
 
@@ -235,19 +290,24 @@ abstract class NextEdgesProvider {
 	protected List<ControlFlowEdge> filter(Iterable<ControlFlowEdge> edges, ControlFlowType... flowTypes) {
 		List<ControlFlowEdge> filteredEdges = new LinkedList<>(); // copy of the original pred/succ list of Node
 		for (ControlFlowEdge cfEdge : edges) {
-			boolean copyEdge = true;
-			int maxOccurences = getMaxOccurences(cfEdge.cfType);
-			if (maxOccurences > 0) {
-				copyEdge = getOccurences(cfEdge) < maxOccurences;
-				incrOccurence(cfEdge);
-			}
-			if (copyEdge && cfEdge.cfType.isInOrEmpty(flowTypes)) {
+			if (isFollowed(cfEdge, flowTypes)) {
 				filteredEdges.add(cfEdge);
 			}
 		}
 		return filteredEdges;
 	}
 
+	/** Counts the occurrence of the given edge and returns true iff it passes the filter, see {@link #filter}. */
+	private boolean isFollowed(ControlFlowEdge cfEdge, ControlFlowType... flowTypes) {
+		boolean copyEdge = true;
+		int maxOccurences = getMaxOccurences(cfEdge.cfType);
+		if (maxOccurences > 0) {
+			copyEdge = getOccurences(cfEdge) < maxOccurences;
+			incrOccurence(cfEdge);
+		}
+		return copyEdge && cfEdge.cfType.isInOrEmpty(flowTypes);
+	}
+
 	private int getOccurences(ControlFlowEdge edge) {
 		Integer count = loopEnterEdges.getOrDefault(edge, 0);
 		return count;
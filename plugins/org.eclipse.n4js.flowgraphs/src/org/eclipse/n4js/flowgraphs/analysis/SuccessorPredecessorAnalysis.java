@@ -10,17 +10,17 @@
  */
 package org.eclipse.n4js.flowgraphs.analysis;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
 import org.eclipse.n4js.flowgraphs.ControlFlowType;
 import org.eclipse.n4js.flowgraphs.FGUtils;
 import org.eclipse.n4js.flowgraphs.N4JSFlowAnalyser;
+import org.eclipse.n4js.flowgraphs.model.CompactControlFlowGraph;
 import org.eclipse.n4js.flowgraphs.model.ComplexNode;
-import org.eclipse.n4js.flowgraphs.model.ControlFlowEdge;
 import org.eclipse.n4js.flowgraphs.model.FlowGraph;
 import org.eclipse.n4js.flowgraphs.model.Node;
 import org.eclipse.n4js.flowgraphs.model.RepresentingNode;
@@ -86,32 +86,69 @@ public class SuccessorPredecessorAnalysis {
 		}
 	}
 
-	/** @return the set of all next {@link ControlFlowElement} */
+	/**
+	 * @return the set of all next {@link ControlFlowElement}. Traverses the {@link CompactControlFlowGraph} by index
+	 *         and follows every edge at most once.
+	 */
 	private Set<ControlFlowElement> getNextCFEs(NextEdgesProvider nextEdgesProvider, ControlFlowElement cfe,
 			Node nextNode) {
 
 		Objects.requireNonNull(cfe);
 		Set<ControlFlowElement> nexts = new HashSet<>();
+		CompactControlFlowGraph graph = nextNode.getCompactGraph();
 
-		LinkedList<ControlFlowEdge> allEdges = new LinkedList<>();
-		List<ControlFlowEdge> nextEdges = nextEdgesProvider.getNextEdges(nextNode, ControlFlowType.NonDeadTypes);
-		allEdges.addAll(nextEdges);
+		EdgeWorklist worklist = new EdgeWorklist(graph);
+		worklist.addNextEdges(nextEdgesProvider, graph, nextNode.getCompactIndex());
 
-		while (!allEdges.isEmpty()) {
-			ControlFlowEdge nextEdge = allEdges.removeFirst();
-			nextNode = nextEdgesProvider.getNextNode(nextEdge);
+		while (worklist.hasNext()) {
+			int nextEdge = worklist.next();
+			int nextNodeIdx = nextEdgesProvider.getNextNode(graph, nextEdge);
+			nextNode = graph.getNode(nextNodeIdx);
 			if (nextNode instanceof RepresentingNode) {
 				ControlFlowElement succ = nextNode.getRepresentedControlFlowElement();
 				nexts.add(succ);
 			} else {
-				nextEdges = nextEdgesProvider.getNextEdges(nextNode, ControlFlowType.NonDeadTypes);
-				allEdges.addAll(nextEdges);
+				worklist.addNextEdges(nextEdgesProvider, graph, nextNodeIdx);
 			}
 		}
 
 		return nexts;
 	}
 
+	/** Queue of edge indices. Every edge of the graph is added at most once. */
+	static private class EdgeWorklist {
+		private final BitSet added;
+		private int[] edges = new int[16];
+		private int size = 0;
+		private int head = 0;
+
+		EdgeWorklist(CompactControlFlowGraph graph) {
+			added = new BitSet(graph.getEdgeCount());
+		}
+
+		boolean hasNext() {
+			return head < size;
+		}
+
+		int next() {
+			return edges[head++];
+		}
+
+		void addNextEdges(NextEdgesProvider nextEdgesProvider, CompactControlFlowGraph graph, int node) {
+			int count = nextEdgesProvider.getNextEdgeCount(graph, node);
+			for (int i = 0; i < count; i++) {
+				int edge = nextEdgesProvider.getNextEdge(graph, node, i);
+				if (graph.getEdgeType(edge).isInOrEmpty(ControlFlowType.NonDeadTypes) && !added.get(edge)) {
+					added.set(edge);
+					if (size == edges.length) {
+						edges = Arrays.copyOf(edges, size * 2);
+					}
+					edges[size++] = edge;
+				}
+			}
+		}
+	}
+
 	/** @return true iff cfe2 is a direct successor of cfe1 */
 	public boolean isSuccessor(ControlFlowElement cfe1, ControlFlowElement cfe2) {
 		Set<ControlFlowElement> succs = getSuccessors(cfe1);
@@ -272,7 +272,7 @@ abstract public class Assumption {
 				finalizeGuards();
 			}
 			if (!isOpen() && isFailed()) {
-				propagateFailed();
+				propagateFailed(dataFlowVisitor);
 			}
 		}
 	}
@@ -406,21 +406,22 @@ abstract public class Assumption {
 		}
 	}
 
-	private void propagateFailed() {
+	/** Adds this failed {@link Assumption} to the failed assumptions of the given {@link DataFlowVisitor}. */
+	final void propagateFailed(DataFlowVisitor visitor) {
 		// In loop bodies, assumptions are created for the case that the body is executed once or twice. If both of
 		// these assumptions fail, they are merged here.
-		if (dataFlowVisitor.failedAssumptions.containsKey(this.getParallelHash())) {
-			Assumption failedParallel = dataFlowVisitor.failedAssumptions.get(getParallelHash());
+		if (visitor.failedAssumptions.containsKey(this.getParallelHash())) {
+			Assumption failedParallel = visitor.failedAssumptions.get(getParallelHash());
 			failedParallel.mergeData(this);
 		} else {
-			dataFlowVisitor.failedAssumptions.put(this.getParallelHash(), this);
+			visitor.failedAssumptions.put(this.getParallelHash(), this);
 		}
 	}
 
 	/**
 	 * In loop bodies, assumptions are created for the case that the body is executed once or twice. This methods
 	 * returns the same hash for both of these cases. In case two {@link Assumption}s fail that have the same
-	 * {@link #getParallelHash()} value, they are merged in {@link #propagateFailed()}.
+	 * {@link #getParallelHash()} value, they are merged in {@link #propagateFailed(DataFlowVisitor)}.
 	 */
 	private int getParallelHash() {
 		return Objects.hash(symbol, creationSite, this.getClass());
@@ -17,6 +17,7 @@ import java.util.LinkedList;
 import java.util.Map;
 
 import org.eclipse.n4js.flowgraphs.FlowAnalyser;
+import org.eclipse.n4js.flowgraphs.ParallelFlowAnalyser;
 import org.eclipse.n4js.flowgraphs.analysis.TraverseDirection;
 import org.eclipse.n4js.flowgraphs.dataflow.guards.Guard;
 import org.eclipse.n4js.flowgraphs.dataflow.symbols.SymbolFactory;
@@ -81,6 +82,17 @@ abstract public class DataFlowVisitor implements FlowAnalyser {
 		allAssumptions.clear();
 	}
 
+	/**
+	 * Adds all {@link Assumption}s of the given visitor to the assumptions of this visitor. Failed assumptions are
+	 * merged as if they failed in this visitor. Used to merge the results of a {@link ParallelFlowAnalyser}.
+	 */
+	final protected void addAssumptions(DataFlowVisitor visitor) {
+		allAssumptions.addAll(visitor.allAssumptions);
+		for (Assumption failedAssumption : visitor.failedAssumptions.values()) {
+			failedAssumption.propagateFailed(this);
+		}
+	}
+
 	/*
 	 * Methods for client analyses
 	 */
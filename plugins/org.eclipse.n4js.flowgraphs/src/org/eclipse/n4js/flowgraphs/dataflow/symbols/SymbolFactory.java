@@ -14,6 +14,7 @@ import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.eclipse.emf.ecore.util.EcoreUtil;
@@ -46,10 +47,12 @@ import org.eclipse.n4js.ts.types.TypesFactory;
  * <p>
  * <b>Note:</b> Do not resolve proxies during the CFG/DFG analyses. This is done beforehand only (see
  * N4JSPostProcessor#postProcessN4JSResource(...) in step 1)
+ * <p>
+ * Thread-safe, since the containers of a script may be analysed in parallel.
  */
 public class SymbolFactory {
 	private Symbol undefined;
-	private final Map<Symbol, Symbol> symbols = new HashMap<>();
+	private final Map<Symbol, Symbol> symbols = new ConcurrentHashMap<>();
 
 	static final Map<Class<? extends ControlFlowElement>, Function<ControlFlowElement, Symbol>> symbolCreators;
 
@@ -148,9 +151,8 @@ public class SymbolFactory {
 			if (creatorFunction != null) {
 				Symbol newSymbol = creatorFunction.apply(cfe);
 				if (newSymbol != null) {
-					symbols.putIfAbsent(newSymbol, newSymbol);
-					Symbol symbol = symbols.get(newSymbol);
-					return symbol;
+					Symbol symbol = symbols.putIfAbsent(newSymbol, newSymbol);
+					return symbol != null ? symbol : newSymbol;
 				}
 			}
 		}
@@ -220,7 +222,7 @@ public class SymbolFactory {
 	}
 
 	/** @return a {@link Symbol} that represents {@code undefined} */
-	public Symbol getUndefined() {
+	public synchronized Symbol getUndefined() {
 		if (undefined == null) {
 			IdentifiableElement ieUndefined = TypesFactory.eINSTANCE.createIdentifiableElement();
 			IdentifierRef irUndefined = N4JSFactory.eINSTANCE.createIdentifierRef();
@@ -23,6 +23,7 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.n4js.flowgraphs.ControlFlowType;
 import org.eclipse.n4js.flowgraphs.FGUtils;
 import org.eclipse.n4js.flowgraphs.dataflow.symbols.SymbolFactory;
+import org.eclipse.n4js.flowgraphs.model.CompactControlFlowGraph;
 import org.eclipse.n4js.flowgraphs.model.ComplexNode;
 import org.eclipse.n4js.flowgraphs.model.ControlFlowEdge;
 import org.eclipse.n4js.flowgraphs.model.DelegatingNode;
@@ -67,11 +68,16 @@ public class ControlFlowGraphFactory {
 			createJumpEdges(cnMapper);
 		}
 
-		FlowGraph cfg = new FlowGraph(script, cfContainers, cnMap);
-
 		if (PRINT_EDGE_DETAILS)
 			printAllEdgeDetails(cnMapper);
 
+		CompactControlFlowGraph compactGraph = null;
+		try (Measurement m = N4JSDataCollectors.dcCompactGraph.getMeasurement("compactGraph_" + uriString);) {
+			compactGraph = CompactControlFlowGraph.create(cnMapper.getAll());
+		}
+
+		FlowGraph cfg = new FlowGraph(script, cfContainers, cnMap, compactGraph);
+
 		return cfg;
 	}
 
@@ -280,8 +286,8 @@ public class ControlFlowGraphFactory {
 		Set<ControlFlowEdge> allEdges = new HashSet<>();
 		for (ComplexNode cn : cnMapper.getAll()) {
 			for (Node n : cn.getNodes()) {
-				allEdges.addAll(n.pred);
-				allEdges.addAll(n.succ);
+				allEdges.addAll(n.getPredecessorEdges());
+				allEdges.addAll(n.getSuccessorEdges());
 			}
 		}
 		for (ControlFlowEdge edge : allEdges) {
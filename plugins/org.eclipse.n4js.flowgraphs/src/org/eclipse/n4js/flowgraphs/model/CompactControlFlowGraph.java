@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.flowgraphs.model;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.n4js.flowgraphs.ControlFlowType;
+import org.eclipse.n4js.flowgraphs.factories.ControlFlowGraphFactory;
+
+/**
+ * Compact representation of the control flow edges of all {@link Node}s of a {@link FlowGraph} in compressed sparse
+ * row (CSR) format. Nodes and edges are identified by dense indices:
+ * <ul>
+ * <li/>the nodes are sorted by their {@link Node#id id}, and
+ * <li/>the edges are sorted by the index of their start node, i.e. the successor edges of node {@code n} are the edges
+ * {@code succOffsets[n]} to {@code succOffsets[n + 1] - 1}. The predecessor edges of node {@code n} are the edges
+ * {@code predEdges[predOffsets[n]]} to {@code predEdges[predOffsets[n + 1] - 1]}.
+ * </ul>
+ * The edges of a node are in the order of {@link ControlFlowEdge#compareTo(ControlFlowEdge)}, i.e. in the same order
+ * as the sets of edges of the node during construction.
+ * <p>
+ * The representation is created by the {@link ControlFlowGraphFactory} after all edges were created. Afterwards, the
+ * nodes release the collections that are only used during construction, see {@link Node#compact}. Queries by index do
+ * not allocate.
+ */
+public final class CompactControlFlowGraph {
+	static private final ControlFlowType[] CF_TYPES = ControlFlowType.values();
+
+	final private Node[] nodes;
+	final private ControlFlowEdge[] edges;
+	final private int[] edgeStarts;
+	final private int[] edgeEnds;
+	final private byte[] edgeTypes;
+	final private int[] succOffsets;
+	final private int[] predOffsets;
+	final private int[] predEdges;
+
+	private CompactControlFlowGraph(Node[] nodes, ControlFlowEdge[] edges) {
+		this.nodes = nodes;
+		this.edges = edges;
+		this.edgeStarts = new int[edges.length];
+		this.edgeEnds = new int[edges.length];
+		this.edgeTypes = new byte[edges.length];
+		this.succOffsets = new int[nodes.length + 1];
+		this.predOffsets = new int[nodes.length + 1];
+		this.predEdges = new int[edges.length];
+	}
+
+	/**
+	 * Creates the compact representation of all nodes of the given {@link ComplexNode}s and of the edges between them.
+	 * Must be called after all edges were created. The nodes must not be modified afterwards.
+	 */
+	static public CompactControlFlowGraph create(Iterable<ComplexNode> complexNodes) {
+		int nodeCount = 0;
+		int edgeCount = 0;
+		for (ComplexNode cn : complexNodes) {
+			for (Node node : cn.getNodes()) {
+				nodeCount++;
+				edgeCount += node.succ.size();
+			}
+		}
+		Node[] nodes = new Node[nodeCount];
+		int n = 0;
+		for (ComplexNode cn : complexNodes) {
+			for (Node node : cn.getNodes()) {
+				nodes[n++] = node;
+			}
+		}
+		Arrays.sort(nodes, Comparator.comparingInt(node -> node.id));
+		for (int i = 0; i < nodes.length; i++) {
+			checkState(nodes[i].compactIndex == -1, "Node must be contained in a single complex node");
+			nodes[i].compactIndex = i;
+		}
+
+		CompactControlFlowGraph graph = new CompactControlFlowGraph(nodes, new ControlFlowEdge[edgeCount]);
+		graph.initEdges();
+		for (Node node : nodes) {
+			node.compact(graph);
+		}
+		return graph;
+	}
+
+	private void initEdges() {
+		int e = 0;
+		for (int n = 0; n < nodes.length; n++) {
+			succOffsets[n] = e;
+			for (ControlFlowEdge edge : nodes[n].succ) {
+				int end = edge.end.compactIndex;
+				checkState(end >= 0 && nodes[end] == edge.end, "Edge must connect nodes of the same flow graph");
+				edges[e] = edge;
+				edgeStarts[e] = n;
+				edgeEnds[e] = end;
+				edgeTypes[e] = (byte) edge.cfType.ordinal();
+				predOffsets[end + 1]++;
+				e++;
+			}
+		}
+		succOffsets[nodes.length] = e;
+
+		for (int i = 0; i < nodes.length; i++) {
+			predOffsets[i + 1] += predOffsets[i];
+		}
+		// edges are sorted by start node, hence the predecessor edges of each node will be sorted as well
+		int[] predFill = Arrays.copyOf(predOffsets, nodes.length);
+		for (e = 0; e < edges.length; e++) {
+			predEdges[predFill[edgeEnds[e]]++] = e;
+		}
+	}
+
+	/** @return the number of nodes */
+	public int getNodeCount() {
+		return nodes.length;
+	}
+
+	/** @return the node with the given index */
+	public Node getNode(int node) {
+		return nodes[node];
+	}
+
+	/** @return the number of edges */
+	public int getEdgeCount() {
+		return edges.length;
+	}
+
+	/** @return the edge with the given index */
+	public ControlFlowEdge getEdge(int edge) {
+		return edges[edge];
+	}
+
+	/** @return the index of the start node of the given edge */
+	public int getEdgeStart(int edge) {
+		return edgeStarts[edge];
+	}
+
+	/** @return the index of the end node of the given edge */
+	public int getEdgeEnd(int edge) {
+		return edgeEnds[edge];
+	}
+
+	/** @return the {@link ControlFlowType} of the given edge */
+	public ControlFlowType getEdgeType(int edge) {
+		return CF_TYPES[edgeTypes[edge]];
+	}
+
+	/** @return the number of successor edges of the given node */
+	public int getSuccessorCount(int node) {
+		return succOffsets[node + 1] - succOffsets[node];
+	}
+
+	/** @return the index of the i-th successor edge of the given node */
+	public int getSuccessorEdge(int node, int i) {
+		return succOffsets[node] + i;
+	}
+
+	/** @return the number of predecessor edges of the given node */
+	public int getPredecessorCount(int node) {
+		return predOffsets[node + 1] - predOffsets[node];
+	}
+
+	/** @return the index of the i-th predecessor edge of the given node */
+	public int getPredecessorEdge(int node, int i) {
+		return predEdges[predOffsets[node] + i];
+	}
+
+	/** @return an unmodifiable view on the successor edges of the given node */
+	public List<ControlFlowEdge> getSuccessorEdges(int node) {
+		return new EdgeList(node, true);
+	}
+
+	/** @return an unmodifiable view on the predecessor edges of the given node */
+	public List<ControlFlowEdge> getPredecessorEdges(int node) {
+		return new EdgeList(node, false);
+	}
+
+	private class EdgeList extends AbstractList<ControlFlowEdge> {
+		final int node;
+		final boolean successors;
+
+		EdgeList(int node, boolean successors) {
+			this.node = node;
+			this.successors = successors;
+		}
+
+		@Override
+		public ControlFlowEdge get(int index) {
+			if (index < 0 || index >= size()) {
+				throw new IndexOutOfBoundsException(index);
+			}
+			return edges[successors ? getSuccessorEdge(node, index) : getPredecessorEdge(node, index)];
+		}
+
+		@Override
+		public int size() {
+			return successors ? getSuccessorCount(node) : getPredecessorCount(node);
+		}
+	}
+}
@@ -28,13 +28,15 @@ public class FlowGraph {
 	final private Script script;
 	final private Collection<ControlFlowElement> cfContainers;
 	final private Map<ControlFlowElement, ComplexNode> cnMap; // this map can grow very large
+	private CompactControlFlowGraph compactGraph;
 
 	/** Constructor. */
 	public FlowGraph(Script script, Set<ControlFlowElement> cfContainers,
-			Map<ControlFlowElement, ComplexNode> cnMap) {
+			Map<ControlFlowElement, ComplexNode> cnMap, CompactControlFlowGraph compactGraph) {
 
 		this.script = script;
 		this.cnMap = cnMap;
+		this.compactGraph = compactGraph;
 
 		// The order of containers is reversed.
 		// This provokes fail-fast behavior regarding the assertion 'isVisited()'
@@ -70,14 +72,25 @@ public class FlowGraph {
 		return cn.getControlFlowContainer();
 	}
 
+	/** @return the edges between all nodes of this {@link FlowGraph}. */
+	public CompactControlFlowGraph getCompactGraph() {
+		return compactGraph;
+	}
+
 	/** see {@link N4JSFlowAnalyser#getAllContainers()}. */
 	public Collection<ControlFlowElement> getAllContainers() {
 		return cfContainers;
 	}
 
+	/** @return the number of {@link ControlFlowElement}s that are represented by a {@link ComplexNode}. */
+	public int getComplexNodeCount() {
+		return cnMap.size();
+	}
+
 	/** Call to free memory */
 	public void reset() {
 		cfContainers.clear();
 		cnMap.clear();
+		compactGraph = null;
 	}
 }
@@ -13,12 +13,16 @@ package org.eclipse.n4js.flowgraphs.model;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.n4js.flowgraphs.ControlFlowType;
 import org.eclipse.n4js.flowgraphs.FGUtils;
@@ -30,10 +34,11 @@ import org.eclipse.n4js.n4JS.ControlFlowElement;
  * Typically, several {@link Node}s are used to represent a {@link ControlFlowElement} within a {@link ComplexNode}.
  */
 abstract public class Node implements ControlFlowable {
-	static private int ID_COUNTER = 0;
+	/** Shared by all graphs, which are created concurrently for different resources */
+	static private final AtomicInteger ID_COUNTER = new AtomicInteger();
 
 	/** The node id */
-	final public int id = ID_COUNTER++;
+	final public int id = ID_COUNTER.getAndIncrement();
 	/** The {@link ControlFlowElement} this node refers to */
 	final private ControlFlowElement cfElem;
 	/** Name of the node */
@@ -41,20 +46,25 @@ abstract public class Node implements ControlFlowable {
 	/** The control flow position of this node in context of the AST */
 	final public int astPosition;
 
-	/** Maps from a predecessor node to an {@link EdgeDescription} */
-	final public Map<Node, EdgeDescription> internalPred = new HashMap<>();
-	/** Maps from a successor node to an {@link EdgeDescription} */
-	final public Map<Node, EdgeDescription> internalSucc = new HashMap<>();
-	/** List of all preceding {@link ControlFlowEdge}s */
-	final public TreeSet<ControlFlowEdge> pred = new TreeSet<>();
-	/** List of all succeeding {@link ControlFlowEdge}s */
-	final public TreeSet<ControlFlowEdge> succ = new TreeSet<>();
+	/** Maps from a predecessor node to an {@link EdgeDescription}. Empty after {@link #compact}. */
+	private Map<Node, EdgeDescription> internalPred = new HashMap<>();
+	/** Maps from a successor node to an {@link EdgeDescription}. Empty after {@link #compact}. */
+	private Map<Node, EdgeDescription> internalSucc = new HashMap<>();
+	/** List of all preceding {@link ControlFlowEdge}s. Empty after {@link #compact}. */
+	public SortedSet<ControlFlowEdge> pred = new TreeSet<>();
+	/** List of all succeeding {@link ControlFlowEdge}s. Empty after {@link #compact}. */
+	public SortedSet<ControlFlowEdge> succ = new TreeSet<>();
 	/** List of all {@link JumpToken}s of this node */
-	final public Set<JumpToken> jumpToken = new HashSet<>();
+	public Set<JumpToken> jumpToken = new HashSet<>();
 	/** List of all {@link CatchToken}s of this node */
-	final public List<CatchToken> catchToken = new ArrayList<>();
+	public List<CatchToken> catchToken = new ArrayList<>();
 	/** List of all {@link EffectInfo}s of this node */
-	final public List<EffectInfo> effectInfos = new ArrayList<>();
+	public List<EffectInfo> effectInfos = new ArrayList<>();
+
+	/** The graph containing this node once the flow graph was created, see {@link CompactControlFlowGraph}. */
+	private CompactControlFlowGraph compactGraph;
+	/** Index of this node in its {@link CompactControlFlowGraph}, or -1. */
+	int compactIndex = -1;
 
 	/** Set during graph traversal. */
 	private Reachability reachability = Reachability.Unknown;
@@ -157,16 +167,56 @@ abstract public class Node implements ControlFlowable {
 		return null;
 	}
 
-	/** @return set of all successor edges. */
-	public Set<ControlFlowEdge> getSuccessorEdges() {
+	/** @return all successor edges. */
+	public Collection<ControlFlowEdge> getSuccessorEdges() {
+		if (compactGraph != null) {
+			return compactGraph.getSuccessorEdges(compactIndex);
+		}
 		return succ;
 	}
 
-	/** @return set of all predecessor edges. */
-	public Set<ControlFlowEdge> getPredecessorEdges() {
+	/** @return all predecessor edges. */
+	public Collection<ControlFlowEdge> getPredecessorEdges() {
+		if (compactGraph != null) {
+			return compactGraph.getPredecessorEdges(compactIndex);
+		}
 		return pred;
 	}
 
+	/** @return the {@link CompactControlFlowGraph} containing this node, or null while the flow graph is created. */
+	public CompactControlFlowGraph getCompactGraph() {
+		return compactGraph;
+	}
+
+	/** @return the index of this node in its {@link #getCompactGraph() compact graph}, or -1. */
+	public int getCompactIndex() {
+		return compactIndex;
+	}
+
+	/**
+	 * Only called from {@link CompactControlFlowGraph}. From now on, the edges of this node are provided by the given
+	 * graph. Releases the internal successors and predecessors and all other collections that are empty since they are
+	 * only needed while the flow graph is created.
+	 */
+	void compact(CompactControlFlowGraph graph) {
+		this.compactGraph = graph;
+		this.internalPred = Collections.emptyMap();
+		this.internalSucc = Collections.emptyMap();
+		this.pred = Collections.emptySortedSet();
+		this.succ = Collections.emptySortedSet();
+		if (jumpToken.isEmpty()) {
+			jumpToken = Collections.emptySet();
+		}
+		if (catchToken.isEmpty()) {
+			catchToken = Collections.emptyList();
+		}
+		if (effectInfos.isEmpty()) {
+			effectInfos = Collections.emptyList();
+		} else if (effectInfos instanceof ArrayList) {
+			((ArrayList<EffectInfo>) effectInfos).trimToSize();
+		}
+	}
+
 	/** @return the given name. */
 	public String getName() {
 		return name;
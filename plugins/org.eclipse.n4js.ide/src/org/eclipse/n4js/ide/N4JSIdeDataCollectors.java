@@ -24,6 +24,43 @@ public class N4JSIdeDataCollectors {
 	 */
 	public static final DataCollector dcN4JSRequest = INSTANCE.getOrCreateSerialDataCollector("LSP Request");
 
+	/**
+	 * Collector for refreshing the context of an open file, i.e. for updating, resolving and validating its resource
+	 */
+	public static final DataCollector dcRefreshContext = INSTANCE.getOrCreateDataCollector("Refresh Context");
+
+	/**
+	 * Collector for updating the resource of an open file with the changed source text, including parsing
+	 */
+	public static final DataCollector dcRefreshContextUpdate = create(dcRefreshContext, "Update Resource");
+
+	/**
+	 * Collector for computing the document symbols of an open file
+	 */
+	public static final DataCollector dcDocumentSymbols = INSTANCE.getOrCreateDataCollector("Document Symbols");
+
+	/**
+	 * Counts document symbol computations answered from the symbols cached for the unchanged source text
+	 */
+	public static final DataCollector dcDocumentSymbolsCacheHits = create(dcDocumentSymbols, "Cache Hits");
+
+	/**
+	 * Counts document symbol computations for changed source text
+	 */
+	public static final DataCollector dcDocumentSymbolsCacheMisses = create(dcDocumentSymbols, "Cache Misses");
+
+	/**
+	 * Counts top-level declarations whose cached symbols were reused after a change of the source text
+	 */
+	public static final DataCollector dcDocumentSymbolsReusedDeclarations = create(dcDocumentSymbols,
+			"Reused Declarations");
+
+	/**
+	 * Counts top-level declarations whose symbols were computed after a change of the source text
+	 */
+	public static final DataCollector dcDocumentSymbolsComputedDeclarations = create(dcDocumentSymbols,
+			"Computed Declarations");
+
 	/**
 	 * Generic facility to obtain a data collector for a given request category.
 	 */
@@ -28,6 +28,7 @@ import org.eclipse.n4js.ide.server.N4JSOutputConfigurationProvider;
 import org.eclipse.n4js.ide.server.N4JSProjectDescriptionFactory;
 import org.eclipse.n4js.ide.server.N4JSProjectStatePersister;
 import org.eclipse.n4js.ide.server.N4JSResourceTaskContext;
+import org.eclipse.n4js.ide.server.N4JSResourceTaskManager;
 import org.eclipse.n4js.ide.server.N4JSStatefulIncrementalBuilder;
 import org.eclipse.n4js.ide.server.N4JSTextDocumentFrontend;
 import org.eclipse.n4js.ide.server.N4JSWorkspaceConfigFactory;
@@ -36,7 +37,9 @@ import org.eclipse.n4js.ide.server.N4JSWorkspaceManager;
 import org.eclipse.n4js.ide.server.build.N4JSBuildOrderInfoComputer;
 import org.eclipse.n4js.ide.server.build.N4JSBuilderFrontend;
 import org.eclipse.n4js.ide.server.build.N4JSConfigSnapshotFactory;
+import org.eclipse.n4js.ide.server.build.N4JSHeapAwareClusteringPolicy;
 import org.eclipse.n4js.ide.server.build.N4JSProjectBuilder;
+import org.eclipse.n4js.ide.server.build.N4JSSourceFileScanner;
 import org.eclipse.n4js.ide.server.codeActions.N4JSCodeActionService;
 import org.eclipse.n4js.ide.server.commands.N4JSCommandService;
 import org.eclipse.n4js.ide.server.concurrent.N4JSQueuedExecutorService;
@@ -56,6 +59,7 @@ import org.eclipse.n4js.xtext.ide.server.DebugService;
 import org.eclipse.n4js.xtext.ide.server.LanguageServerFrontend;
 import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService;
 import org.eclipse.n4js.xtext.ide.server.ResourceTaskContext;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskManager;
 import org.eclipse.n4js.xtext.ide.server.TextDocumentFrontend;
 import org.eclipse.n4js.xtext.ide.server.WorkspaceFrontend;
 import org.eclipse.n4js.xtext.ide.server.XExecutableCommandRegistry;
@@ -64,9 +68,11 @@ import org.eclipse.n4js.xtext.ide.server.XIWorkspaceConfigFactory;
 import org.eclipse.n4js.xtext.ide.server.XLanguageServerImpl;
 import org.eclipse.n4js.xtext.ide.server.build.BuilderFrontend;
 import org.eclipse.n4js.xtext.ide.server.build.DefaultBuildRequestFactory;
+import org.eclipse.n4js.xtext.ide.server.build.HeapAwareClusteringPolicy;
 import org.eclipse.n4js.xtext.ide.server.build.IBuildRequestFactory;
 import org.eclipse.n4js.xtext.ide.server.build.ProjectBuilder;
 import org.eclipse.n4js.xtext.ide.server.build.ProjectStatePersister;
+import org.eclipse.n4js.xtext.ide.server.build.SourceFileScanner;
 import org.eclipse.n4js.xtext.ide.server.build.WorkspaceAwareResourceSet;
 import org.eclipse.n4js.xtext.ide.server.build.XStatefulIncrementalBuilder;
 import org.eclipse.n4js.xtext.ide.server.build.XWorkspaceManager;
@@ -206,6 +212,10 @@ public class N4JSIdeModule extends AbstractN4JSIdeModule {
 		return N4JSResourceTaskContext.class;
 	}
 
+	public Class<? extends ResourceTaskManager> bindResourceTaskManager() {
+		return N4JSResourceTaskManager.class;
+	}
+
 	public Class<? extends ConfigSnapshotFactory> bindConfigSnapshotFactory() {
 		return N4JSConfigSnapshotFactory.class;
 	}
@@ -218,6 +228,14 @@ public class N4JSIdeModule extends AbstractN4JSIdeModule {
 		return FileSystemScanner.class;
 	}
 
+	public Class<? extends SourceFileScanner> bindSourceFileScanner() {
+		return N4JSSourceFileScanner.class;
+	}
+
+	public Class<? extends HeapAwareClusteringPolicy> bindHeapAwareClusteringPolicy() {
+		return N4JSHeapAwareClusteringPolicy.class;
+	}
+
 	public Class<? extends IdeContentProposalAcceptor> bindIdeContentProposalAcceptor() {
 		return XIdeContentProposalAcceptor.class;
 	}
@@ -11,14 +11,22 @@
 package org.eclipse.n4js.ide.server;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.n4js.ide.N4JSIdeDataCollectors;
 import org.eclipse.n4js.resource.N4JSResource;
+import org.eclipse.n4js.smith.Measurement;
+import org.eclipse.n4js.utils.SharedMembersCache;
 import org.eclipse.n4js.xtext.ide.server.ResourceTaskContext;
+import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.CancelIndicator;
 
 /**
- * Overwritten to reference {@link N4JSResource}
+ * Overwritten to reference {@link N4JSResource}, to measure the latency of refreshing open files and to keep the
+ * {@link SharedMembersCache} up to date.
  */
 public class N4JSResourceTaskContext extends ResourceTaskContext {
 
@@ -29,4 +37,26 @@ public class N4JSResourceTaskContext extends ResourceTaskContext {
 		return options;
 	}
 
+	@Override
+	public void refreshContext(int version, Iterable<? extends TextDocumentContentChangeEvent> changes,
+			boolean validate, CancelIndicator cancelIndicator) {
+		try (Measurement m = N4JSIdeDataCollectors.dcRefreshContext.getMeasurement()) {
+			super.refreshContext(version, changes, validate, cancelIndicator);
+		}
+	}
+
+	@Override
+	protected void updateMainResource(int oldDocumentLength, String newContents) {
+		try (Measurement m = N4JSIdeDataCollectors.dcRefreshContextUpdate.getMeasurement()) {
+			super.updateMainResource(oldDocumentLength, newContents);
+		}
+		// the main resource is changed in place, so members shared with other resources may depend on it
+		SharedMembersCache.clear(getResourceSet());
+	}
+
+	@Override
+	protected void onDeltasDetected(List<IResourceDescription.Delta> deltas) {
+		SharedMembersCache.invalidate(getResourceSet(), deltas);
+	}
+
 }
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.server;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.n4js.N4JSGlobals;
+import org.eclipse.n4js.resource.N4JSResourceDescriptionManager;
+import org.eclipse.n4js.resource.UserDataMapper;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskManager;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+import com.google.inject.Singleton;
+
+/**
+ * Adjusts the {@link #isAffectingAll(IResourceDescription, IResourceDescription) dependencies} that are not based on
+ * imported names to those considered by the {@link N4JSResourceDescriptionManager}.
+ */
+@Singleton
+public class N4JSResourceTaskManager extends ResourceTaskManager {
+
+	/**
+	 * Changes of project descriptions affect all files of the project, and changes of the load-time dependencies of a
+	 * file affect the files it depends on.
+	 */
+	@Override
+	protected boolean isAffectingAll(IResourceDescription oldDesc, IResourceDescription newDesc) {
+		IResourceDescription desc = newDesc != null ? newDesc : oldDesc;
+		if (desc == null) {
+			return false;
+		}
+		if (N4JSGlobals.PACKAGE_JSON.equalsIgnoreCase(desc.getURI().lastSegment())) {
+			return true;
+		}
+		return !Objects.equals(getLoadtimeDependencies(oldDesc), getLoadtimeDependencies(newDesc));
+	}
+
+	private static List<String> getLoadtimeDependencies(IResourceDescription desc) {
+		if (desc == null) {
+			return Collections.emptyList();
+		}
+		return UserDataMapper.readDependenciesLoadtimeForInheritanceFromDescription(desc)
+				.orElse(Collections.emptyList());
+	}
+}
@@ -28,6 +28,7 @@ import org.eclipse.n4js.resource.N4JSResource;
 import org.eclipse.n4js.scoping.builtin.N4Scheme;
 import org.eclipse.n4js.smith.Measurement;
 import org.eclipse.n4js.smith.N4JSDataCollectors;
+import org.eclipse.n4js.utils.SharedMembersCache;
 import org.eclipse.n4js.utils.URIUtils;
 import org.eclipse.n4js.workspace.N4JSProjectConfigSnapshot;
 import org.eclipse.n4js.xtext.ide.server.XLanguageServerImpl;
@@ -39,6 +40,7 @@ import org.eclipse.n4js.xtext.ide.server.build.XBuildResult;
 import org.eclipse.n4js.xtext.ide.server.build.XStatefulIncrementalBuilder;
 import org.eclipse.n4js.xtext.ide.server.build.XWorkspaceManager;
 import org.eclipse.n4js.xtext.workspace.SourceFolderSnapshot;
+import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.util.IFileSystemScanner;
 import org.eclipse.xtext.validation.Issue;
@@ -145,6 +147,30 @@ public class N4JSStatefulIncrementalBuilder extends XStatefulIncrementalBuilder
 	@Inject
 	IFileSystemScanner fileSystemScanner;
 
+	/**
+	 * Evicts the members of types shared between the resources of the build that depend on the changed resources.
+	 */
+	@Override
+	protected void onDeltasDetected(List<Delta> deltas) {
+		SharedMembersCache.invalidate(getRequest().getResourceSet(), deltas);
+	}
+
+	/**
+	 * In addition to resolving the proxies of the cluster, post-processes all resources of the resource set that were
+	 * loaded from source, e.g. referenced resources of the cluster that are not contained in the index yet, since
+	 * post-processing them on demand would modify them while other workers read them.
+	 */
+	@Override
+	protected void prepareConcurrentValidation(List<IndexedResource> indexedResources) {
+		super.prepareConcurrentValidation(indexedResources);
+		for (Resource resource : getResourcesForConcurrentValidation()) {
+			if (resource instanceof N4JSResource && resource.isLoaded()
+					&& !((N4JSResource) resource).isLoadedFromDescription()) {
+				((N4JSResource) resource).performPostProcessing(getRequest().getCancelIndicator());
+			}
+		}
+	}
+
 	/**
 	 * Never unload built-in resources for performance considerations.
 	 */
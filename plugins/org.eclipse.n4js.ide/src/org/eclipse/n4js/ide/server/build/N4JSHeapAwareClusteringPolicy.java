@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.server.build;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.n4js.scoping.builtin.N4Scheme;
+import org.eclipse.n4js.smith.N4JSDataCollectors;
+import org.eclipse.n4js.xtext.ide.server.build.HeapAwareClusteringPolicy;
+
+/**
+ * Never evicts built-in resources and reports evictions to the {@link N4JSDataCollectors data collectors}.
+ */
+public class N4JSHeapAwareClusteringPolicy extends HeapAwareClusteringPolicy {
+
+	@Override
+	protected boolean isEvictable(Resource resource) {
+		// see N4JSStatefulIncrementalBuilder#unloadResource(URI)
+		return !N4Scheme.isN4Scheme(resource.getURI());
+	}
+
+	@Override
+	protected void onEvicted(List<Resource> evicted) {
+		N4JSDataCollectors.dcClusteringEvictions.count();
+		for (int i = 0; i < evicted.size(); i++) {
+			N4JSDataCollectors.dcClusteringEvictedResources.count();
+		}
+	}
+}
@@ -46,6 +46,7 @@ import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.IFileSystemScanner;
 
 import com.google.inject.Inject;
 
@@ -161,12 +162,13 @@ public class N4JSProjectBuilder extends ProjectBuilder {
 	protected Set<URI> scanForSourceFiles(boolean useTsConfigBuildSemantic) {
 		Set<URI> result = new TreeSet<>(Comparator.comparing(URI::toString)); // stable build order
 		N4JSProjectConfigSnapshot prjConfig = getProjectConfig();
+		IFileSystemScanner scanner = getSourceFileScanner();
 		if (useTsConfigBuildSemantic && prjConfig.hasTsConfigBuildSemantic()) {
-			for (URI startUri : prjConfig.computeStartUris(fileSystemScanner)) {
+			for (URI startUri : prjConfig.computeStartUris(scanner)) {
 				addToResults(result, startUri);
 			}
 		} else {
-			for (URI srcFileUri : prjConfig.getAllContents(fileSystemScanner)) {
+			for (URI srcFileUri : prjConfig.getAllContents(scanner)) {
 				addToResults(result, srcFileUri);
 			}
 		}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.server.build;
+
+import java.nio.file.Path;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.N4JSGlobals;
+import org.eclipse.n4js.workspace.locations.FileURI;
+import org.eclipse.n4js.workspace.utils.FileSystemScanner;
+import org.eclipse.n4js.xtext.ide.server.build.SourceFileScanner;
+
+import com.google.inject.Singleton;
+
+/**
+ * Scans the same files as the {@link FileSystemScanner}, i.e. skips <code>node_modules</code> folders and creates
+ * {@link FileURI file URIs}.
+ */
+@Singleton
+public class N4JSSourceFileScanner extends SourceFileScanner {
+
+	@Override
+	protected boolean isIgnoredDirectory(Path directory) {
+		return directory.endsWith(N4JSGlobals.NODE_MODULES);
+	}
+
+	@Override
+	protected URI toURI(Path file) {
+		return new FileURI(file.toFile()).toURI();
+	}
+}
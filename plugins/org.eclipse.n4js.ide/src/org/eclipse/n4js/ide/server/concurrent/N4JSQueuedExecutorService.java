@@ -26,10 +26,10 @@ import com.google.inject.Singleton;
 public class N4JSQueuedExecutorService extends QueuedExecutorService {
 
 	@Override
-	protected <T> QueuedTask<T> createQueuedTask(Object queueId, String description,
+	protected <T> QueuedTask<T> createQueuedTask(Object queueId, String description, Priority priority,
 			Function<CancelIndicator, T> task) {
 
-		return super.createQueuedTask(queueId, description, ci -> {
+		return super.createQueuedTask(queueId, description, priority, ci -> {
 			try (Measurement parent = N4JSIdeDataCollectors.dcN4JSRequest.getMeasurement();
 					Measurement measurement = N4JSIdeDataCollectors.request(description).getMeasurement()) {
 				return task.apply(ci);
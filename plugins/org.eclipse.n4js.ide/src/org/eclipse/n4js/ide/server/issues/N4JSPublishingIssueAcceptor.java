@@ -15,6 +15,7 @@ import java.util.List;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.n4js.utils.URIUtils;
 import org.eclipse.n4js.xtext.ide.server.issues.PublishingIssueAcceptor;
 import org.eclipse.xtext.validation.Issue;
@@ -28,13 +29,14 @@ import com.google.inject.Singleton;
 public class N4JSPublishingIssueAcceptor extends PublishingIssueAcceptor {
 
 	@Override
-	public void accept(URI uri, List<? extends Issue> issues) {
-		if (client != null) {
+	protected void publish(URI uri, List<? extends Issue> issues) {
+		LanguageClient currClient = client;
+		if (currClient != null) {
 			PublishDiagnosticsParams publishDiagnosticsParams = new PublishDiagnosticsParams();
 			publishDiagnosticsParams.setUri(uriExtensions.toUriString(URIUtils.getBaseOfVirtualResourceURI(uri)));
 			List<Diagnostic> diags = toDiagnostics(issues);
 			publishDiagnosticsParams.setDiagnostics(diags);
-			client.publishDiagnostics(publishDiagnosticsParams);
+			currClient.publishDiagnostics(publishDiagnosticsParams);
 		}
 	}
 }
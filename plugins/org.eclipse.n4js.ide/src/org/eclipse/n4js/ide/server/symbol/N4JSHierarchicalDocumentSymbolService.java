@@ -11,48 +11,303 @@
 package org.eclipse.n4js.ide.server.symbol;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.n4js.ide.N4JSIdeDataCollectors;
+import org.eclipse.n4js.n4JS.Script;
 import org.eclipse.n4js.resource.N4JSResource;
+import org.eclipse.n4js.smith.Measurement;
 import org.eclipse.n4js.ts.types.AbstractNamespace;
 import org.eclipse.n4js.ts.types.ContainerType;
+import org.eclipse.n4js.ts.types.SyntaxRelatedTElement;
 import org.eclipse.n4js.ts.types.TEnum;
 import org.eclipse.n4js.ts.types.TModule;
 import org.eclipse.n4js.ts.types.Type;
+import org.eclipse.n4js.utils.EcoreUtilN4;
+import org.eclipse.xtext.ide.server.symbol.DocumentSymbolMapper;
 import org.eclipse.xtext.ide.server.symbol.HierarchicalDocumentSymbolService;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.LineAndColumn;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.Iterators;
+import com.google.inject.Inject;
 
 /**
- *
+ * Computes the document symbols of N4JS resources from their {@link TModule} and caches them in the resource.
+ * <p>
+ * As long as the source text of a resource does not change, the cached symbols are returned. Otherwise, only the
+ * symbols of top-level declarations whose source text changed are computed again, while the symbols of all other
+ * top-level declarations are reused and moved to the new location of their declaration. This is possible because the
+ * symbols of a declaration only depend on its own source text.
  */
 public class N4JSHierarchicalDocumentSymbolService extends HierarchicalDocumentSymbolService {
 
-	@SuppressWarnings("unchecked")
-	@Override
-	protected Iterator<Object> getAllContents(Resource resource) {
-		if (resource instanceof N4JSResource) {
-			N4JSResource n4jsResource = (N4JSResource) resource;
-			EList<EObject> contents = n4jsResource.getContents();
-			if (contents.size() > 1) {
+	@Inject
+	private DocumentSymbolMapper symbolMapper;
+
+	@Inject
+	private OperationCanceledManager operationCanceledManager;
+
+	/** The document symbols cached in a resource. */
+	private static final class SymbolCache extends AdapterImpl {
+		/** The source text the {@link #symbols} were computed for. */
+		String text;
+		/** The document symbols of the whole resource. */
+		List<Either<SymbolInformation, DocumentSymbol>> symbols;
+		/** The symbols of each top-level declaration by its cache key. */
+		Map<String, CachedSymbols> declarationSymbols = new HashMap<>();
+
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == SymbolCache.class;
+		}
+
+		static SymbolCache getOrInstall(Resource resource) {
+			SymbolCache cache = (SymbolCache) EcoreUtil.getAdapter(resource.eAdapters(), SymbolCache.class);
+			if (cache == null) {
+				SymbolCache newCache = new SymbolCache();
+				EcoreUtilN4.doWithDeliver(false, () -> resource.eAdapters().add(newCache), resource);
+				cache = newCache;
+			}
+			return cache;
+		}
+	}
+
+	/** The document symbols of a top-level declaration and the location they were computed for. */
+	private static final class CachedSymbols {
+		final int line;
+		final int column;
+		final List<DocumentSymbol> symbols;
+
+		CachedSymbols(int line, int column, List<DocumentSymbol> symbols) {
+			this.line = line;
+			this.column = column;
+			this.symbols = symbols;
+		}
+	}
 
-				EObject tModuleObj = contents.get(1);
-				if (tModuleObj instanceof TModule) {
-					TModule tModule = (TModule) tModuleObj;
+	@Override
+	public List<Either<SymbolInformation, DocumentSymbol>> getSymbols(XtextResource resource,
+			CancelIndicator cancelIndicator) {
 
-					List<EObject> elements = new ArrayList<>();
-					collectNamespaceElements(elements, tModule);
-					return Iterators.concat(elements.iterator());
+		TModule tModule = getModule(resource);
+		IParseResult parseResult = resource.getParseResult();
+		if (tModule == null || parseResult == null || parseResult.getRootNode() == null) {
+			return super.getSymbols(resource, cancelIndicator);
+		}
+		try (Measurement m = N4JSIdeDataCollectors.dcDocumentSymbols.getMeasurement()) {
+			String text = parseResult.getRootNode().getText();
+			SymbolCache cache = SymbolCache.getOrInstall(resource);
+			synchronized (cache) {
+				if (cache.symbols == null || !text.equals(cache.text)) {
+					N4JSIdeDataCollectors.dcDocumentSymbolsCacheMisses.count();
+					cache.symbols = null;
+					cache.declarationSymbols = computeSymbols(tModule, cache.declarationSymbols, cancelIndicator);
+					List<Either<SymbolInformation, DocumentSymbol>> symbols = new ArrayList<>();
+					for (CachedSymbols declSymbols : cache.declarationSymbols.values()) {
+						declSymbols.symbols.forEach(symbol -> symbols.add(Either.forRight(symbol)));
+					}
+					cache.text = text;
+					cache.symbols = symbols;
+				} else {
+					N4JSIdeDataCollectors.dcDocumentSymbolsCacheHits.count();
 				}
+				return new ArrayList<>(cache.symbols);
+			}
+		}
+	}
+
+	/**
+	 * Returns the symbols of all top-level declarations of the given module in the order of {@link #getAllContents}, by
+	 * their cache key. The symbols of declarations with a key in the given map of old symbols are reused.
+	 */
+	private Map<String, CachedSymbols> computeSymbols(TModule tModule, Map<String, CachedSymbols> oldSymbols,
+			CancelIndicator cancelIndicator) {
+
+		// the elements of the module as returned by #getAllContents(), grouped by top-level element
+		Map<EObject, List<EObject>> topLevelElements = new LinkedHashMap<>();
+		tModule.getNamespaces().forEach(ns -> collectNamespace(newGroup(topLevelElements, ns), ns));
+		tModule.getTypes().forEach(type -> collectType(newGroup(topLevelElements, type), type));
+		tModule.getFunctions().forEach(fun -> newGroup(topLevelElements, fun).add(fun));
+		tModule.getExportedVariables().forEach(variable -> newGroup(topLevelElements, variable).add(variable));
+
+		Map<String, CachedSymbols> result = new LinkedHashMap<>();
+		int unkeyed = 0;
+		for (Map.Entry<EObject, List<EObject>> entry : topLevelElements.entrySet()) {
+			operationCanceledManager.checkCanceled(cancelIndicator);
+			EObject element = entry.getKey();
+			ICompositeNode node = getTopLevelNode(element);
+			String key = node != null ? getCacheKey((SyntaxRelatedTElement) element, node) : null;
+			LineAndColumn start = node != null ? NodeModelUtils.getLineAndColumn(node, node.getTotalOffset()) : null;
+			CachedSymbols cached = key != null ? oldSymbols.get(key) : null;
+			List<DocumentSymbol> symbols;
+			if (cached != null) {
+				N4JSIdeDataCollectors.dcDocumentSymbolsReusedDeclarations.count();
+				symbols = cached.line == start.getLine() && cached.column == start.getColumn()
+						? cached.symbols
+						: move(cached.symbols, cached.line, cached.column, start.getLine(), start.getColumn());
+			} else {
+				N4JSIdeDataCollectors.dcDocumentSymbolsComputedDeclarations.count();
+				symbols = toDocumentSymbols(entry.getValue(), cancelIndicator);
+			}
+			if (key == null || result.containsKey(key)) {
+				// never reuse symbols of declarations without a unique key
+				key = "\u0000" + (unkeyed++);
+			}
+			result.put(key, new CachedSymbols(start != null ? start.getLine() : -1,
+					start != null ? start.getColumn() : -1, symbols));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the node of the top-level statement of the script that contains the AST element of the given top-level
+	 * element of the module, or <code>null</code> if there is no such node.
+	 */
+	private ICompositeNode getTopLevelNode(EObject element) {
+		if (!(element instanceof SyntaxRelatedTElement)) {
+			return null;
+		}
+		EObject astElement = ((SyntaxRelatedTElement) element).getAstElementNoResolve();
+		if (astElement == null || astElement.eIsProxy()) {
+			return null;
+		}
+		EObject statement = astElement;
+		while (statement.eContainer() != null && !(statement.eContainer() instanceof Script)) {
+			statement = statement.eContainer();
+		}
+		return statement.eContainer() != null ? NodeModelUtils.findActualNodeFor(statement) : null;
+	}
+
+	/**
+	 * Returns the cache key of the given top-level element, i.e. the source text of the top-level statement containing
+	 * its AST element and the offset of the AST element in that statement, which distinguishes the elements declared
+	 * by the same statement.
+	 */
+	private String getCacheKey(SyntaxRelatedTElement element, ICompositeNode statementNode) {
+		ICompositeNode astNode = NodeModelUtils.findActualNodeFor(element.getAstElementNoResolve());
+		if (astNode == null) {
+			return null;
+		}
+		return (astNode.getTotalOffset() - statementNode.getTotalOffset()) + ":" + statementNode.getText();
+	}
+
+	/** Converts the given elements to document symbols, nesting them according to their containment. */
+	private List<DocumentSymbol> toDocumentSymbols(List<EObject> elements, CancelIndicator cancelIndicator) {
+		Map<EObject, DocumentSymbol> objectToSymbol = new HashMap<>();
+		List<DocumentSymbol> result = new ArrayList<>();
+		for (EObject element : elements) {
+			operationCanceledManager.checkCanceled(cancelIndicator);
+			Optional<EObject> object = toEObject(element);
+			if (!object.isPresent()) {
+				continue;
+			}
+			DocumentSymbol symbol = symbolMapper.toDocumentSymbol(object.get());
+			if (!isValid(symbol)) {
+				continue;
+			}
+			objectToSymbol.put(object.get(), symbol);
+			DocumentSymbol parentSymbol = null;
+			EObject container = object.get().eContainer();
+			while (parentSymbol == null && container != null) {
+				parentSymbol = objectToSymbol.get(container);
+				container = container.eContainer();
+			}
+			if (parentSymbol == null) {
+				result.add(symbol);
+			} else {
+				parentSymbol.getChildren().add(symbol);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns copies of the given symbols that are moved from the given old start of their declaration to the given new
+	 * start. Lines and columns are 1-based, as returned by {@link NodeModelUtils#getLineAndColumn}.
+	 */
+	@SuppressWarnings("deprecation")
+	private static List<DocumentSymbol> move(List<DocumentSymbol> symbols, int oldLine, int oldColumn, int newLine,
+			int newColumn) {
+		List<DocumentSymbol> result = new ArrayList<>(symbols.size());
+		for (DocumentSymbol symbol : symbols) {
+			DocumentSymbol copy = new DocumentSymbol(symbol.getName(), symbol.getKind(),
+					move(symbol.getRange(), oldLine, oldColumn, newLine, newColumn),
+					move(symbol.getSelectionRange(), oldLine, oldColumn, newLine, newColumn),
+					symbol.getDetail(),
+					symbol.getChildren() != null
+							? move(symbol.getChildren(), oldLine, oldColumn, newLine, newColumn)
+							: null);
+			copy.setTags(symbol.getTags());
+			copy.setDeprecated(symbol.getDeprecated());
+			result.add(copy);
+		}
+		return result;
+	}
+
+	private static Range move(Range range, int oldLine, int oldColumn, int newLine, int newColumn) {
+		return new Range(
+				move(range.getStart(), oldLine, oldColumn, newLine, newColumn),
+				move(range.getEnd(), oldLine, oldColumn, newLine, newColumn));
+	}
+
+	private static Position move(Position position, int oldLine, int oldColumn, int newLine, int newColumn) {
+		// LSP positions are 0-based
+		int line = position.getLine() + 1;
+		int character = position.getCharacter();
+		if (line == oldLine) {
+			character += newColumn - oldColumn;
+		}
+		return new Position(line - oldLine + newLine - 1, character);
+	}
+
+	private static TModule getModule(Resource resource) {
+		if (resource instanceof N4JSResource) {
+			EList<EObject> contents = resource.getContents();
+			if (contents.size() > 1 && contents.get(1) instanceof TModule) {
+				return (TModule) contents.get(1);
 			}
 		}
+		return null;
+	}
+
+	@Override
+	protected Iterator<Object> getAllContents(Resource resource) {
+		TModule tModule = getModule(resource);
+		if (tModule != null) {
+			List<EObject> elements = new ArrayList<>();
+			collectNamespaceElements(elements, tModule);
+			return Iterators.concat(elements.iterator());
+		}
 		return super.getAllContents(resource);
 	}
 
+	private static List<EObject> newGroup(Map<EObject, List<EObject>> groups, EObject topLevelElement) {
+		List<EObject> group = new ArrayList<>();
+		groups.put(topLevelElement, group);
+		return group;
+	}
+
 	private void collectNamespace(List<EObject> result, AbstractNamespace ns) {
 		result.add(ns);
 		collectNamespaceElements(result, ns);
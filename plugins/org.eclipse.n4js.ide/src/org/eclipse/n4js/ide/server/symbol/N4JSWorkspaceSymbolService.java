@@ -10,7 +10,6 @@
  */
 package org.eclipse.n4js.ide.server.symbol;
 
-import java.util.LinkedList;
 import java.util.List;
 
 import org.eclipse.emf.common.util.URI;
@@ -18,13 +17,13 @@ import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.n4js.utils.ResourceType;
+import org.eclipse.n4js.xtext.ide.server.symbol.SymbolNameIndex;
 import org.eclipse.xtext.findReferences.IReferenceFinder.IResourceAccess;
 import org.eclipse.xtext.ide.server.symbol.DocumentSymbolService;
 import org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolService;
-import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
-import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 
 import com.google.inject.Inject;
@@ -32,37 +31,42 @@ import com.google.inject.Singleton;
 
 /**
  * Customized to always use the {@link N4JSDocumentSymbolService} when collecting workspace symbols, not the
- * language-specific {@link DocumentSymbolService} returned by the {@link IResourceServiceProvider}.
+ * language-specific {@link DocumentSymbolService} returned by the {@link IResourceServiceProvider}. Instead of
+ * iterating over all resource descriptions, the matching symbols are looked up in the {@link SymbolNameIndex}.
  */
 @Singleton
 @SuppressWarnings({ "restriction", "deprecation" })
 public class N4JSWorkspaceSymbolService extends WorkspaceSymbolService {
 
+	/** The maximum number of workspace symbols returned for a single query. */
+	public static final int MAX_SYMBOL_COUNT = 1000;
+
 	@Inject // note: we deliberately inject >>N4JS<<DocumentSymbolService, not DocumentSymbolService!
 	private N4JSDocumentSymbolService n4jsDocumentSymbolService;
 
 	@Inject
-	private OperationCanceledManager operationCanceledManager;
+	private SymbolNameIndex symbolNameIndex;
 
 	@Override
 	public Either<List<? extends SymbolInformation>, List<? extends WorkspaceSymbol>> getSymbols(String query,
 			IResourceAccess resourceAccess, IResourceDescriptions indexData, CancelIndicator cancelIndicator) {
 
-		List<WorkspaceSymbol> result = new LinkedList<>();
-		for (IResourceDescription resourceDescription : indexData.getAllResourceDescriptions()) {
-			operationCanceledManager.checkCanceled(cancelIndicator);
-			URI uri = resourceDescription.getURI();
-			ResourceType resourceType = ResourceType.getResourceType(uri);
-			if (resourceType.isN4JS()) {
-				List<? extends WorkspaceSymbol> symbols = n4jsDocumentSymbolService.getWorkspaceSymbols(
-						resourceDescription, query, resourceAccess, cancelIndicator);
-				result.addAll(symbols);
-			} else {
-				// ignore this
-				// (plain JS files, package.json files, etc. do not contain any symbols we want to include in the list
-				// of workspace symbols)
-			}
-		}
+		List<IEObjectDescription> matchingObjects = symbolNameIndex.find(query, MAX_SYMBOL_COUNT,
+				description -> isVisible(description, indexData)
+						&& n4jsDocumentSymbolService.filter(description, query),
+				cancelIndicator);
+		List<? extends WorkspaceSymbol> result = n4jsDocumentSymbolService.getWorkspaceSymbols(matchingObjects,
+				resourceAccess, cancelIndicator);
 		return Either.forRight(result);
 	}
+
+	/**
+	 * Tells whether the given object is contained in the given index. Plain JS files, package.json files, etc. do not
+	 * contain any symbols we want to include in the list of workspace symbols.
+	 */
+	private static boolean isVisible(IEObjectDescription description, IResourceDescriptions indexData) {
+		URI uri = description.getEObjectURI().trimFragment();
+		ResourceType resourceType = ResourceType.getResourceType(uri);
+		return resourceType.isN4JS() && indexData.getResourceDescription(uri) != null;
+	}
 }
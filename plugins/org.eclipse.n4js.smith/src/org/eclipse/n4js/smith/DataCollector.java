@@ -66,6 +66,12 @@ public abstract class DataCollector {
 	 */
 	public abstract Measurement getMeasurement(String name);
 
+	/**
+	 * Counts an occurrence of some event without measuring a duration, e.g. a cache hit. The number of occurrences is
+	 * available via {@link DataPoint#count}. Does nothing while this collector is paused.
+	 */
+	public abstract void count();
+
 	/** Returns list of collected data. */
 	public abstract List<DataPoint> getData();
 
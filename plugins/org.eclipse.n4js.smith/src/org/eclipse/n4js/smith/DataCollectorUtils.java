@@ -54,11 +54,15 @@ public class DataCollectorUtils {
 	public static String dataToString(DataSeries series, String indent) {
 		StringJoiner sj = new StringJoiner("\n");
 		IndentLevel indentLevel = new IndentLevel(indent);
-		sj.add(indentLevel.get() + SimpleTimeFormat.convert(series.sum) + " - " + series.name);
+		sj.add(indentLevel.get() + seriesToString(series));
 		collectData(series, sj, indentLevel);
 		return sj.toString();
 	}
 
+	private static String seriesToString(DataSeries series) {
+		return SimpleTimeFormat.convert(series.sum) + " - " + series.name + " (" + series.count + "x)";
+	}
+
 	private static void collectData(DataSeries parentSeries, StringJoiner sj, IndentLevel indentLevel) {
 
 		if (parentSeries.hasNoChildren())
@@ -71,7 +75,7 @@ public class DataCollectorUtils {
 
 		long total = 0L;
 		for (DataSeries series : siblings) {
-			sj.add(indentLevel.get() + SimpleTimeFormat.convert(series.sum) + " - " + series.name);
+			sj.add(indentLevel.get() + seriesToString(series));
 			collectData(series, sj, indentLevel);
 
 			total += series.sum;
@@ -19,11 +19,19 @@ public class DataPoint {
 	public final Long nanos;
 	/** Name for a data point, helps humans distinguish instances. */
 	public final String name;
+	/** Number of measurements or {@link DataCollector#count() counted events} represented by this data point. */
+	public final long count;
 
 	/** The constructor. No data validation. */
 	public DataPoint(final String name, final Long nanos) {
+		this(name, nanos, 1);
+	}
+
+	/** The constructor. No data validation. */
+	public DataPoint(final String name, final Long nanos, final long count) {
 		this.name = name;
 		this.nanos = nanos;
+		this.count = count;
 	}
 
 }
@@ -22,6 +22,8 @@ public class DataSeries {
 	public final String name;
 	/** sum of data in this series */
 	public final Long sum;
+	/** number of measurements and counted events in this series */
+	public final long count;
 	private final List<DataPoint> data = new LinkedList<>();
 	private final List<DataSeries> children = new LinkedList<>();
 
@@ -30,6 +32,7 @@ public class DataSeries {
 		this.name = name;
 		this.data.addAll(data);
 		this.sum = this.data.stream().map(d -> d.nanos).reduce(0L, Long::sum);
+		this.count = this.data.stream().mapToLong(d -> d.count).sum();
 	}
 
 	/** add child series to this series. */
@@ -57,6 +57,7 @@ public final class N4JSDataCollectors {
 	public static final DataCollector dcCreateNodes = create("Create Nodes", dcCreateGraph);
 	public static final DataCollector dcConnectNodes = create("Connect Nodes", dcCreateGraph);
 	public static final DataCollector dcJumpEdges = create("Jump Edges", dcCreateGraph);
+	public static final DataCollector dcCompactGraph = create("Compact Graph", dcCreateGraph);
 	public static final DataCollector dcPerformAnalyses = create("Perform Analyses", dcFlowGraphs);
 	public static final DataCollector dcForwardAnalyses = create("Forward", dcPerformAnalyses);
 	public static final DataCollector dcBackwardAnalyses = create("Backward", dcPerformAnalyses);
@@ -72,11 +73,24 @@ public final class N4JSDataCollectors {
 	public static final DataCollector dcCacheMakeKeys = create("MakeKeys", dcCache);
 	public static final DataCollector dcCacheSetTarget = create("SetTarget", dcCache);
 
+	public static final DataCollector dcSubtypeCache = create("Subtype Cache");
+	public static final DataCollector dcSubtypeCacheHits = create("Hits", dcSubtypeCache);
+	public static final DataCollector dcSubtypeCacheMisses = create("Misses", dcSubtypeCache);
+
+	public static final DataCollector dcHeapAwareClustering = create("Heap Aware Clustering");
+	public static final DataCollector dcClusteringEvictions = create("Evictions", dcHeapAwareClustering);
+	public static final DataCollector dcClusteringEvictedResources = create("Evicted Resources",
+			dcHeapAwareClustering);
+
 	public static final DataCollector dcTypeHierachyTraverser = create("TypeHierachyTraverser");
 	public static final DataCollector dcTHT_AllMembersCollector = create("AllMembersCollector",
 			dcTypeHierachyTraverser);
+	public static final DataCollector dcTHT_AllMembersCollectorSaved = create("Saved Traversals",
+			dcTHT_AllMembersCollector);
 	public static final DataCollector dcTHT_CollectMembersHelper = create("CollectMembersHelper",
 			dcTypeHierachyTraverser);
+	public static final DataCollector dcTHT_CollectMembersHelperSaved = create("Saved Traversals",
+			dcTHT_CollectMembersHelper);
 	public static final DataCollector dcTHT_MemberEntriesCollector = create("MemberEntriesCollector",
 			dcTypeHierachyTraverser);
 	public static final DataCollector dcTHT_FindCallConstructSignatureHelper = create(
@@ -93,6 +107,15 @@ public final class N4JSDataCollectors {
 	public static final DataCollector dcTHT_SuperTypesMapper = create("SuperTypesMapper", dcTypeHierachyTraverser);
 
 	public static DataCollector createDataCollectorForCheckMethod(String methodName) {
+		return DataCollectors.INSTANCE.getOrCreateDataCollector(methodName,
+				getParentDataCollectorForCheckMethod(methodName));
+	}
+
+	/**
+	 * Returns the parent of the data collector of the given check method, depending on which validations are currently
+	 * being measured.
+	 */
+	public static DataCollector getParentDataCollectorForCheckMethod(String methodName) {
 		final DataCollector parent;
 		if (N4JSDataCollectors.dcValidationsPackageJson.hasActiveMeasurement()) {
 			parent = N4JSDataCollectors.dcValidationsPackageJson;
@@ -106,7 +129,7 @@ public final class N4JSDataCollectors {
 			}
 			parent = N4JSDataCollectors.dcValidations;
 		}
-		return DataCollectors.INSTANCE.getOrCreateDataCollector(methodName, parent);
+		return parent;
 	}
 
 	/**
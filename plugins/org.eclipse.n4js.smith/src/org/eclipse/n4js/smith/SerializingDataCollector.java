@@ -77,6 +77,11 @@ class SerializingDataCollector extends DataCollector {
 		return getMeasurement(() -> delegate.getMeasurement(name));
 	}
 
+	@Override
+	public void count() {
+		delegate.count();
+	}
+
 	@Override
 	public String getId() {
 		return delegate.getId();
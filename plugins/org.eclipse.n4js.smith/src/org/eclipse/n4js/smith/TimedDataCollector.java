@@ -11,6 +11,7 @@
 package org.eclipse.n4js.smith;
 
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -18,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
@@ -32,12 +34,15 @@ class TimedDataCollector extends DataCollector {
 	private final Map<String, DataCollector> children = new LinkedHashMap<>();
 
 	private static final TimedMeasurement NULL_MEASURMENT = new TimedMeasurement("NOOP", TimedDataCollector::noop);
-	private boolean paused = true;
+	private volatile boolean paused = true;
 
 	private Measurement activeMeasurement = null;
 
 	private final List<DataPoint> data = new LinkedList<>();
 
+	// counted events are kept apart from the data points, since #count() is called on hot paths without locking
+	private final LongAdder countedEvents = new LongAdder();
+
 	/** Creates instance of the collector. */
 	public TimedDataCollector(String id) {
 		this.id = id;
@@ -94,22 +99,42 @@ class TimedDataCollector extends DataCollector {
 			return;
 		}
 		activeMeasurement = null;
-		String name = measurement.name;
-		long elapsed = measurement.elapsed(TimeUnit.NANOSECONDS);
+		addDataPoint(measurement.name, measurement.elapsed(TimeUnit.NANOSECONDS));
+	}
+
+	@Override
+	public void count() {
+		if (!paused) {
+			countedEvents.increment();
+		}
+	}
+
+	private void addDataPoint(String name, long elapsed) {
+		long count = 1;
 		if (AVOID_EXCESSIVE_DATA_COLLECTION) {
 			// storing every individual data point causes memory issues in large builds;
 			// therefore we only keep a single data point accumulating all measurements:
 			for (DataPoint dp : data) {
 				elapsed += dp.nanos;
+				count += dp.count;
 			}
 			data.clear();
 		}
-		data.add(new DataPoint(name, elapsed));
+		data.add(new DataPoint(name, elapsed, count));
 	}
 
 	@Override
 	public List<DataPoint> getData() {
-		return Collections.unmodifiableList(data);
+		long counted = countedEvents.sum();
+		if (counted == 0) {
+			return Collections.unmodifiableList(data);
+		}
+		List<DataPoint> result;
+		synchronized (this) {
+			result = new ArrayList<>(data);
+		}
+		result.add(new DataPoint(id, 0L, counted));
+		return Collections.unmodifiableList(result);
 	}
 
 	@Override
@@ -162,6 +187,7 @@ class TimedDataCollector extends DataCollector {
 		synchronized (this) {
 			this.data.clear();
 		}
+		this.countedEvents.reset();
 		this.children.values().forEach(c -> c.resetData());
 	}
 
@@ -171,6 +197,7 @@ class TimedDataCollector extends DataCollector {
 		synchronized (this) {
 			this.data.clear();
 		}
+		this.countedEvents.reset();
 		this.children.values().forEach(c -> c.purgeData());
 	}
 
@@ -0,0 +1,564 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.utils.emf;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.util.Enumerator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+
+/**
+ * A compact binary encoding of a containment tree of {@link EObject}s, intended for storing types models in the index.
+ * In contrast to a binary XMI resource, no resource has to be set up for encoding or decoding and the result is a plain
+ * byte array.
+ * <p>
+ * The encoding is based on reflection and supports all metamodels. It persists the same features as XMI, i.e. all
+ * features that are set and neither transient nor derived. All numbers are written as variable length integers, signed
+ * numbers in zig-zag encoding. Strings and {@link EClass EClasses} are interned: they are written once on first
+ * occurrence and referenced by index afterwards. References to objects within the encoded tree are written as the
+ * index of the target object in the tree; all other references are written as proxies. References to the given
+ * resource URI are written without that URI and resolved against the resource URI given when decoding.
+ */
+public final class CompactEObjectCodec {
+
+	/** Version of the encoding, stored as last byte of the {@link #MAGIC}. */
+	public static final int VERSION = 1;
+
+	/** Leading bytes of all encoded data. Chosen such that they never occur at the start of XMI or Base64 data. */
+	private static final byte[] MAGIC = { 0, 'E', 'C', VERSION };
+
+	/** Object was null. */
+	private static final int OBJECT_NULL = 0;
+	/** Object follows with an EClass that was not written before. Other values are indices of known EClasses. */
+	private static final int OBJECT_NEW_CLASS = 1;
+	private static final int OBJECT_KNOWN_CLASS_OFFSET = 2;
+
+	/** Reference target was null. */
+	private static final int REF_NULL = 0;
+	/** Reference target is a proxy. Other values are indices of objects within the encoded tree. */
+	private static final int REF_PROXY = 1;
+	private static final int REF_LOCAL_OFFSET = 2;
+
+	/** String was null. */
+	private static final int STRING_NULL = 0;
+	/** String follows that was not written before. Other values are indices of known strings. */
+	private static final int STRING_NEW = 1;
+	private static final int STRING_KNOWN_OFFSET = 2;
+
+	private static final Map<EClass, EStructuralFeature[]> PERSISTED_FEATURES = new ConcurrentHashMap<>();
+
+	private CompactEObjectCodec() {
+		// no instances
+	}
+
+	/**
+	 * Encodes the given object and its contents.
+	 *
+	 * @param root
+	 *            the object to encode.
+	 * @param resourceURI
+	 *            the URI of the resource the object will be restored into. Cross references into this resource are
+	 *            stored relative to it.
+	 * @return the encoded data.
+	 */
+	public static byte[] encode(EObject root, URI resourceURI) {
+		return new Encoder(resourceURI).encode(root);
+	}
+
+	/**
+	 * Decodes an object encoded with {@link #encode(EObject, URI)}. The returned object is not contained in a resource.
+	 *
+	 * @param data
+	 *            the encoded data.
+	 * @param resourceURI
+	 *            the URI of the resource the object will be restored into.
+	 * @return the decoded object.
+	 * @throws IOException
+	 *             if the data is corrupted or refers to unknown metamodel elements.
+	 */
+	public static EObject decode(byte[] data, URI resourceURI) throws IOException {
+		if (!isEncoded(data)) {
+			throw new IOException("Not encoded with " + CompactEObjectCodec.class.getSimpleName());
+		}
+		try {
+			return new Decoder(data, resourceURI).decode();
+		} catch (IndexOutOfBoundsException | ClassCastException | IllegalArgumentException e) {
+			throw new IOException("Corrupted data", e);
+		}
+	}
+
+	/** @return true iff the given data starts with the header written by {@link #encode(EObject, URI)}. */
+	public static boolean isEncoded(byte[] data) {
+		if (data.length < MAGIC.length) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (data[i] != MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Same as {@link #isEncoded(byte[])}, but for data that was converted to a string with
+	 * {@link StandardCharsets#ISO_8859_1 ISO-8859-1}, i.e. one char per byte.
+	 */
+	public static boolean isEncoded(String data) {
+		if (data.length() < MAGIC.length) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (data.charAt(i) != (MAGIC[i] & 0xFF)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Returns the features of the given class that are persisted, in the order of their feature IDs. */
+	private static EStructuralFeature[] getPersistedFeatures(EClass eClass) {
+		EStructuralFeature[] result = PERSISTED_FEATURES.get(eClass);
+		if (result == null) {
+			List<EStructuralFeature> features = new ArrayList<>();
+			for (EStructuralFeature feature : eClass.getEAllStructuralFeatures()) {
+				if (feature.isTransient() || feature.isDerived()) {
+					continue;
+				}
+				if (feature instanceof EReference && ((EReference) feature).isContainer()) {
+					continue;
+				}
+				features.add(feature);
+			}
+			result = features.toArray(new EStructuralFeature[features.size()]);
+			PERSISTED_FEATURES.put(eClass, result);
+		}
+		return result;
+	}
+
+	private static final class Encoder {
+		private final URI resourceURI;
+		private final Map<String, Integer> strings = new HashMap<>();
+		private final Map<EClass, Integer> classes = new HashMap<>();
+		private final Map<EObject, Integer> objectIndices = new IdentityHashMap<>();
+		private byte[] buffer = new byte[1024];
+		private int size = 0;
+
+		Encoder(URI resourceURI) {
+			this.resourceURI = resourceURI;
+		}
+
+		byte[] encode(EObject root) {
+			assignIndices(root);
+			writeBytes(MAGIC, MAGIC.length);
+			writeObject(root);
+			return Arrays.copyOf(buffer, size);
+		}
+
+		/** Assigns indices in the same order in which the decoder creates the objects. */
+		private void assignIndices(EObject object) {
+			objectIndices.put(object, objectIndices.size());
+			for (EStructuralFeature feature : getPersistedFeatures(object.eClass())) {
+				if (!(feature instanceof EReference) || !((EReference) feature).isContainment()
+						|| !object.eIsSet(feature)) {
+					continue;
+				}
+				if (feature.isMany()) {
+					for (EObject child : getList(object, feature)) {
+						assignIndices(child);
+					}
+				} else {
+					EObject child = (EObject) object.eGet(feature, false);
+					if (child != null) {
+						assignIndices(child);
+					}
+				}
+			}
+		}
+
+		private void writeObject(EObject object) {
+			if (object == null) {
+				writeVarInt(OBJECT_NULL);
+				return;
+			}
+			EClass eClass = object.eClass();
+			Integer classIdx = classes.get(eClass);
+			if (classIdx != null) {
+				writeVarInt(OBJECT_KNOWN_CLASS_OFFSET + classIdx);
+			} else {
+				writeVarInt(OBJECT_NEW_CLASS);
+				writeString(eClass.getEPackage().getNsURI());
+				writeString(eClass.getName());
+				classes.put(eClass, classes.size());
+			}
+			EStructuralFeature[] features = getPersistedFeatures(eClass);
+			for (int i = 0; i < features.length; i++) {
+				EStructuralFeature feature = features[i];
+				if (!object.eIsSet(feature)) {
+					continue;
+				}
+				writeVarInt(i + 1);
+				if (feature instanceof EAttribute) {
+					EDataType dataType = ((EAttribute) feature).getEAttributeType();
+					if (feature.isMany()) {
+						List<?> values = (List<?>) object.eGet(feature);
+						writeVarInt(values.size());
+						for (Object value : values) {
+							writeValue(dataType, value);
+						}
+					} else {
+						writeValue(dataType, object.eGet(feature));
+					}
+				} else if (((EReference) feature).isContainment()) {
+					if (feature.isMany()) {
+						List<EObject> children = getList(object, feature);
+						writeVarInt(children.size());
+						for (EObject child : children) {
+							writeObject(child);
+						}
+					} else {
+						writeObject((EObject) object.eGet(feature, false));
+					}
+				} else {
+					if (feature.isMany()) {
+						List<EObject> targets = getList(object, feature);
+						writeVarInt(targets.size());
+						for (EObject target : targets) {
+							writeReference(target);
+						}
+					} else {
+						writeReference((EObject) object.eGet(feature, false));
+					}
+				}
+			}
+			writeVarInt(0);
+		}
+
+		private void writeReference(EObject target) {
+			if (target == null) {
+				writeVarInt(REF_NULL);
+				return;
+			}
+			Integer localIdx = target.eIsProxy() ? null : objectIndices.get(target);
+			if (localIdx != null) {
+				writeVarInt(REF_LOCAL_OFFSET + localIdx);
+				return;
+			}
+			URI uri = target.eIsProxy() ? ((InternalEObject) target).eProxyURI() : EcoreUtil.getURI(target);
+			writeVarInt(REF_PROXY);
+			EClass eClass = target.eClass();
+			writeString(eClass.getEPackage().getNsURI());
+			writeString(eClass.getName());
+			URI trimmed = uri.trimFragment();
+			writeString(trimmed.equals(resourceURI) ? null : trimmed.toString());
+			writeString(uri.fragment());
+		}
+
+		private void writeValue(EDataType dataType, Object value) {
+			Class<?> instanceClass = dataType.getInstanceClass();
+			if (dataType instanceof EEnum) {
+				writeVarLong(value == null ? 0 : zigZag(((Enumerator) value).getValue()) + 1);
+			} else if (instanceClass == boolean.class) {
+				writeVarInt(((Boolean) value).booleanValue() ? 1 : 0);
+			} else if (instanceClass == int.class) {
+				writeVarLong(zigZag(((Integer) value).intValue()));
+			} else if (instanceClass == long.class) {
+				writeVarLong(zigZag(((Long) value).longValue()));
+			} else if (instanceClass == String.class) {
+				writeString((String) value);
+			} else {
+				writeString(EcoreUtil.convertToString(dataType, value));
+			}
+		}
+
+		private void writeString(String value) {
+			if (value == null) {
+				writeVarInt(STRING_NULL);
+				return;
+			}
+			Integer idx = strings.get(value);
+			if (idx != null) {
+				writeVarInt(STRING_KNOWN_OFFSET + idx);
+				return;
+			}
+			strings.put(value, strings.size());
+			writeVarInt(STRING_NEW);
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length);
+			writeBytes(bytes, bytes.length);
+		}
+
+		private void writeVarInt(int value) {
+			writeVarLong(value & 0xFFFFFFFFL);
+		}
+
+		private void writeVarLong(long value) {
+			ensureCapacity(10);
+			while ((value & ~0x7FL) != 0) {
+				buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buffer[size++] = (byte) value;
+		}
+
+		private void writeBytes(byte[] bytes, int length) {
+			ensureCapacity(length);
+			System.arraycopy(bytes, 0, buffer, size, length);
+			size += length;
+		}
+
+		private void ensureCapacity(int additional) {
+			if (size + additional > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+			}
+		}
+
+		private static long zigZag(long value) {
+			return (value << 1) ^ (value >> 63);
+		}
+	}
+
+	private static final class Decoder {
+		private final byte[] data;
+		private final URI resourceURI;
+		private final List<String> strings = new ArrayList<>();
+		private final List<EClass> classes = new ArrayList<>();
+		private final List<EObject> objects = new ArrayList<>();
+		/** Non-containment references are set after all objects were created. */
+		private final List<Runnable> pendingReferences = new ArrayList<>();
+		private int pos = MAGIC.length;
+
+		Decoder(byte[] data, URI resourceURI) {
+			this.data = data;
+			this.resourceURI = resourceURI;
+		}
+
+		EObject decode() throws IOException {
+			EObject root = readObject();
+			for (Runnable pending : pendingReferences) {
+				pending.run();
+			}
+			if (pos != data.length) {
+				throw new IOException("Unexpected data after end of root object");
+			}
+			return root;
+		}
+
+		private EObject readObject() throws IOException {
+			int tag = readVarInt();
+			if (tag == OBJECT_NULL) {
+				return null;
+			}
+			EClass eClass;
+			if (tag == OBJECT_NEW_CLASS) {
+				eClass = readEClass();
+				classes.add(eClass);
+			} else {
+				eClass = classes.get(tag - OBJECT_KNOWN_CLASS_OFFSET);
+			}
+			EObject object = EcoreUtil.create(eClass);
+			objects.add(object);
+			EStructuralFeature[] features = getPersistedFeatures(eClass);
+			int featureTag;
+			while ((featureTag = readVarInt()) != 0) {
+				EStructuralFeature feature = features[featureTag - 1];
+				if (feature instanceof EAttribute) {
+					EDataType dataType = ((EAttribute) feature).getEAttributeType();
+					if (feature.isMany()) {
+						int count = readVarInt();
+						List<Object> values = new ArrayList<>(count);
+						for (int i = 0; i < count; i++) {
+							values.add(readValue(dataType));
+						}
+						object.eSet(feature, values);
+					} else {
+						object.eSet(feature, readValue(dataType));
+					}
+				} else if (((EReference) feature).isContainment()) {
+					if (feature.isMany()) {
+						int count = readVarInt();
+						if (count == 0) {
+							object.eSet(feature, Collections.emptyList());
+						}
+						InternalEList<EObject> list = getList(object, feature);
+						for (int i = 0; i < count; i++) {
+							list.addUnique(readObject());
+						}
+					} else {
+						object.eSet(feature, readObject());
+					}
+				} else {
+					readReferences(object, (EReference) feature);
+				}
+			}
+			return object;
+		}
+
+		private void readReferences(EObject object, EReference reference) throws IOException {
+			if (reference.isMany()) {
+				int count = readVarInt();
+				Object[] targets = new Object[count];
+				for (int i = 0; i < count; i++) {
+					targets[i] = readReference();
+				}
+				pendingReferences.add(() -> {
+					if (count == 0) {
+						object.eSet(reference, Collections.emptyList());
+						return;
+					}
+					InternalEList<EObject> list = getList(object, reference);
+					for (Object target : targets) {
+						list.addUnique(resolve(target));
+					}
+				});
+			} else {
+				Object target = readReference();
+				pendingReferences.add(() -> object.eSet(reference, resolve(target)));
+			}
+		}
+
+		/** Returns the index of a local object as {@link Integer}, a proxy or <code>null</code>. */
+		private Object readReference() throws IOException {
+			int tag = readVarInt();
+			if (tag == REF_NULL) {
+				return null;
+			}
+			if (tag >= REF_LOCAL_OFFSET) {
+				return tag - REF_LOCAL_OFFSET;
+			}
+			EClass eClass = readEClass();
+			String resource = readString();
+			String fragment = readString();
+			URI uri = (resource == null ? resourceURI : URI.createURI(resource)).appendFragment(fragment);
+			InternalEObject proxy = (InternalEObject) EcoreUtil.create(eClass);
+			proxy.eSetProxyURI(uri);
+			return proxy;
+		}
+
+		private EObject resolve(Object target) {
+			if (target instanceof Integer) {
+				return objects.get((Integer) target);
+			}
+			return (EObject) target;
+		}
+
+		private EClass readEClass() throws IOException {
+			String nsURI = readString();
+			String name = readString();
+			EPackage ePackage = EPackage.Registry.INSTANCE.getEPackage(nsURI);
+			if (ePackage == null) {
+				throw new IOException("Unknown EPackage: " + nsURI);
+			}
+			EClass eClass = (EClass) ePackage.getEClassifier(name);
+			if (eClass == null) {
+				throw new IOException("Unknown EClass: " + nsURI + "#" + name);
+			}
+			return eClass;
+		}
+
+		private Object readValue(EDataType dataType) throws IOException {
+			Class<?> instanceClass = dataType.getInstanceClass();
+			if (dataType instanceof EEnum) {
+				long tag = readVarLong();
+				if (tag == 0) {
+					return null;
+				}
+				int value = (int) unZigZag(tag - 1);
+				EEnumLiteral literal = ((EEnum) dataType).getEEnumLiteral(value);
+				if (literal == null) {
+					throw new IOException("Unknown literal " + value + " of " + dataType.getName());
+				}
+				return literal.getInstance();
+			} else if (instanceClass == boolean.class) {
+				return readVarInt() != 0;
+			} else if (instanceClass == int.class) {
+				return (int) unZigZag(readVarLong());
+			} else if (instanceClass == long.class) {
+				return unZigZag(readVarLong());
+			} else if (instanceClass == String.class) {
+				return readString();
+			} else {
+				return EcoreUtil.createFromString(dataType, readString());
+			}
+		}
+
+		private String readString() throws IOException {
+			int tag = readVarInt();
+			if (tag == STRING_NULL) {
+				return null;
+			}
+			if (tag >= STRING_KNOWN_OFFSET) {
+				return strings.get(tag - STRING_KNOWN_OFFSET);
+			}
+			int length = readVarInt();
+			if (length < 0 || pos + length > data.length) {
+				throw new IOException("Corrupted string");
+			}
+			String result = new String(data, pos, length, StandardCharsets.UTF_8);
+			pos += length;
+			strings.add(result);
+			return result;
+		}
+
+		private int readVarInt() throws IOException {
+			long result = readVarLong();
+			if ((result & ~0xFFFFFFFFL) != 0) {
+				throw new IOException("Corrupted number");
+			}
+			return (int) result;
+		}
+
+		private long readVarLong() throws IOException {
+			long result = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				if (pos >= data.length) {
+					throw new IOException("Unexpected end of data");
+				}
+				byte b = data[pos++];
+				result |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return result;
+				}
+			}
+			throw new IOException("Corrupted number");
+		}
+
+		private static long unZigZag(long value) {
+			return (value >>> 1) ^ -(value & 1);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static InternalEList<EObject> getList(EObject object, EStructuralFeature feature) {
+		return (InternalEList<EObject>) object.eGet(feature, false);
+	}
+}
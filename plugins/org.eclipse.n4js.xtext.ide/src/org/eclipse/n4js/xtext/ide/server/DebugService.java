@@ -168,6 +168,8 @@ public interface DebugService extends DebugEndpointDefinition {
 			sb.append(separator);
 			sb.append(getExecuterServiceDump());
 			sb.append(separator);
+			sb.append(getResourceTaskStatisticsDump());
+			sb.append(separator);
 			sb.append(getMemoryDump());
 			sb.append(separator);
 			sb.append(getThreadDump());
@@ -219,6 +221,11 @@ public interface DebugService extends DebugEndpointDefinition {
 			return dump;
 		}
 
+		protected String getResourceTaskStatisticsDump() {
+			String dump = resourceTaskManager.stringifyStatistics();
+			return dump;
+		}
+
 		protected String getMemoryDump() {
 			MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
 			MemoryUsage memoryUsage = memoryBean.getHeapMemoryUsage();
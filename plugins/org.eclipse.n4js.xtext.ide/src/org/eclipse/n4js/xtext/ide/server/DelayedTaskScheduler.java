@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.inject.Singleton;
+
+/**
+ * Runs tasks after a delay, e.g. the delayed validation and dirty state updates of the {@link ResourceTaskManager}.
+ * Tests may bind a subclass that controls the passing of time.
+ */
+@Singleton
+public class DelayedTaskScheduler {
+
+	/**
+	 * Runs the given task in another thread after the given number of milliseconds. Returns immediately.
+	 */
+	public void schedule(Runnable task, long delayMillis) {
+		CompletableFuture.runAsync(task, CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS));
+	}
+}
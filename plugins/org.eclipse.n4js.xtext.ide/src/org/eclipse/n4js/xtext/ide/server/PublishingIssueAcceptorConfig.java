@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server;
+
+import org.eclipse.n4js.xtext.ide.server.issues.PublishingIssueAcceptor;
+
+import com.google.inject.Singleton;
+
+/**
+ * Holds the configuration of the {@link PublishingIssueAcceptor}.
+ */
+@Singleton
+public class PublishingIssueAcceptorConfig {
+	/** Milliseconds to collect issues before they are published to the client. */
+	protected long publishDelay = 0;
+	/** Maximum number of diagnostics published per file. */
+	protected int maxDiagnosticsPerFile = 0;
+
+	/**
+	 * Sets the number of milliseconds to collect issues before they are published to the client at once. Issues of
+	 * the same file accepted within that time replace each other. Values less than 1 disable the delay, i.e. issues
+	 * are published immediately on the thread accepting them.
+	 */
+	public void setPublishDelay(long publishDelay) {
+		this.publishDelay = Math.max(0, publishDelay);
+	}
+
+	/** @return the number of milliseconds to collect issues before they are published to the client. */
+	public long getPublishDelay() {
+		return publishDelay;
+	}
+
+	/**
+	 * Sets the maximum number of diagnostics published per file. Values less than 1 disable the limit.
+	 */
+	public void setMaxDiagnosticsPerFile(int maxDiagnosticsPerFile) {
+		this.maxDiagnosticsPerFile = Math.max(0, maxDiagnosticsPerFile);
+	}
+
+	/** @return the maximum number of diagnostics published per file or 0 if there is no limit. */
+	public int getMaxDiagnosticsPerFile() {
+		return maxDiagnosticsPerFile;
+	}
+}
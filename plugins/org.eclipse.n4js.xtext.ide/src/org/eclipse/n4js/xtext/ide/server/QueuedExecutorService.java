@@ -10,11 +10,14 @@
  */
 package org.eclipse.n4js.xtext.ide.server;
 
-import java.util.ArrayList;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
@@ -58,6 +61,16 @@ import com.google.inject.Singleton;
  * {@link QueuedTaskFuture#cancel(boolean) #cancel(boolean)} for details.
  * </ol>
  *
+ * <h2>Priorities</h2>
+ *
+ * Each task is submitted with a {@link Priority}. Tasks whose queue ID is not blocked are dispatched in the order of
+ * their priority and at most {@link QueuedExecutorServiceConfig#getMaxBackgroundTasks() a configured number} of
+ * {@link Priority#BACKGROUND background} tasks are running at the same time, so that latency sensitive tasks never wait
+ * for background work on other queue IDs. Priorities only apply across queue IDs: tasks with equal queue ID are still
+ * executed in the order they were submitted and a running background task is never preempted, so the guarantees above
+ * and below hold regardless of priorities. If a task is waiting behind a background task with equal queue ID, that
+ * background task is dispatched with the priority of the waiting task.
+ *
  * <h2>Cancellation Handling</h2>
  *
  * Cancellation is handled entirely through Xtext's {@link CancelIndicator}s and a task's implementation can decide how
@@ -84,18 +97,45 @@ import com.google.inject.Singleton;
 public class QueuedExecutorService {
 	private static final Logger LOG = Logger.getLogger(QueuedExecutorService.class);
 
-	/** The underlying executor service that is used to actually execute the tasks. */
-	protected ExecutorService delegate = Executors.newCachedThreadPool();
+	/** The priorities in the order in which tasks are dispatched. */
+	private static final Priority[] PRIORITIES = Priority.values();
+
+	/** Priority of a task. */
+	public enum Priority {
+		/** Tasks someone is waiting for, e.g. requests of the client or builds. This is the default. */
+		NORMAL,
+		/** Tasks nobody is waiting for, e.g. writing caches to disk. */
+		BACKGROUND
+	}
+
+	/**
+	 * The underlying executor service that is used to actually execute the tasks. Created on first use, see
+	 * {@link #createDelegate()}.
+	 */
+	protected ExecutorService delegate;
 
 	/***/
 	@Inject
 	protected OperationCanceledManager operationCanceledManager;
 
-	/** Global queue of all pending tasks across all queue IDs. */
-	protected final List<QueuedTask<?>> pendingTasks = new ArrayList<>();
+	/***/
+	@Inject
+	protected QueuedExecutorServiceConfig config;
+
+	/** Queues of all queue IDs with pending or running tasks. */
+	protected final Map<Object, TaskQueue> queues = new LinkedHashMap<>();
+	/** Queues with pending tasks but without a running task, by the lane of their priority. */
+	protected final Map<Priority, LinkedHashSet<TaskQueue>> readyQueues = new EnumMap<>(Priority.class);
 	/** Queue IDs with currently running tasks. */
 	protected final Map<Object, QueuedTask<?>> submittedTasks = new LinkedHashMap<>();
 
+	/** Number of pending tasks across all queue IDs. */
+	protected int pendingTaskCount = 0;
+	/** Maximum number of pending tasks observed so far. */
+	protected int maxPendingTaskCount = 0;
+	/** Number of running tasks that were dispatched as {@link Priority#BACKGROUND background} tasks. */
+	protected int runningBackgroundTaskCount = 0;
+
 	/** Tells whether this service has been {@link #shutdown() shut down}. */
 	protected boolean isShutDown = false;
 
@@ -103,14 +143,18 @@ public class QueuedExecutorService {
 	protected final class QueuedTask<T> implements Runnable, XCancellable {
 		protected final Object queueId;
 		protected final String description;
+		protected final Priority priority;
 		protected final Function<? super CancelIndicator, ? extends T> operation;
 		protected final QueuedTaskFuture<T> result;
 		protected volatile boolean cancelled = false;
+		/** The priority this task was dispatched with, which may be higher than its own. */
+		protected Priority dispatchPriority;
 
-		protected QueuedTask(Object queueId, String description,
+		protected QueuedTask(Object queueId, String description, Priority priority,
 				Function<? super CancelIndicator, ? extends T> operation) {
 			this.queueId = Objects.requireNonNull(queueId);
 			this.description = Objects.requireNonNull(description);
+			this.priority = Objects.requireNonNull(priority);
 			this.operation = Objects.requireNonNull(operation);
 			this.result = createResult();
 		}
@@ -157,6 +201,47 @@ public class QueuedExecutorService {
 		}
 	}
 
+	/** The pending tasks of a single queue ID in the order they were submitted. */
+	protected final class TaskQueue {
+		/** The queue ID of all tasks in this queue. */
+		protected final Object queueId;
+		/** The pending tasks. */
+		protected final Deque<QueuedTask<?>> tasks = new ArrayDeque<>();
+		/** For each priority, the number of pending tasks having that priority. */
+		protected final int[] taskCounts = new int[PRIORITIES.length];
+		/** The lane in {@link #readyQueues} this queue is contained in or <code>null</code>. */
+		protected Priority lane;
+
+		protected TaskQueue(Object queueId) {
+			this.queueId = queueId;
+		}
+
+		/** Appends the given task. */
+		protected void add(QueuedTask<?> task) {
+			tasks.add(task);
+			taskCounts[task.priority.ordinal()]++;
+		}
+
+		/** Removes and returns the first task or returns <code>null</code> if there are no pending tasks. */
+		protected QueuedTask<?> poll() {
+			QueuedTask<?> task = tasks.poll();
+			if (task != null) {
+				taskCounts[task.priority.ordinal()]--;
+			}
+			return task;
+		}
+
+		/** Returns the highest priority of all pending tasks or <code>null</code> if there are no pending tasks. */
+		protected Priority getPriority() {
+			for (Priority priority : PRIORITIES) {
+				if (taskCounts[priority.ordinal()] > 0) {
+					return priority;
+				}
+			}
+			return null;
+		}
+	}
+
 	@SuppressWarnings("javadoc")
 	public static class QueuedTaskFuture<T> extends CompletableFuture<T> {
 
@@ -208,43 +293,105 @@ public class QueuedExecutorService {
 	 */
 	public synchronized <T> QueuedTaskFuture<T> submitAndCancelPrevious(Object queueId, String description,
 			Function<CancelIndicator, T> task) {
+		return submitAndCancelPrevious(queueId, description, Priority.NORMAL, task);
+	}
+
+	/**
+	 * Same as {@link #submit(Object, String, Priority, Function)}, but first cancels all running and pending tasks for
+	 * the given queue ID.
+	 */
+	public synchronized <T> QueuedTaskFuture<T> submitAndCancelPrevious(Object queueId, String description,
+			Priority priority, Function<CancelIndicator, T> task) {
 		cancelAll(queueId);
-		return submit(queueId, description, task);
+		return submit(queueId, description, priority, task);
+	}
+
+	/** Same as {@link #submit(Object, String, Priority, Function)} with {@link Priority#NORMAL normal} priority. */
+	public synchronized <T> QueuedTaskFuture<T> submit(Object queueId, String description,
+			Function<CancelIndicator, T> task) {
+		return submit(queueId, description, Priority.NORMAL, task);
 	}
 
 	/**
-	 * Submits the given task under the given queue ID. See {@link QueuedExecutorService} for details.
+	 * Submits the given task under the given queue ID and with the given priority. See {@link QueuedExecutorService}
+	 * for details.
 	 *
 	 * @throws RejectedExecutionException
 	 *             in case the receiving {@link QueuedExecutorService} has already been shut down.
 	 */
-	public synchronized <T> QueuedTaskFuture<T> submit(Object queueId, String description,
+	public synchronized <T> QueuedTaskFuture<T> submit(Object queueId, String description, Priority priority,
 			Function<CancelIndicator, T> task) {
 		if (isShutDown) {
 			throw new RejectedExecutionException(
 					"this " + QueuedExecutorService.class.getSimpleName() + " has been shut down");
 		}
-		QueuedTask<T> queuedTask = createQueuedTask(queueId, description, task);
+		QueuedTask<T> queuedTask = createQueuedTask(queueId, description, priority, task);
 		enqueue(queuedTask);
 		doSubmitAllPending();
 		return queuedTask.result;
 	}
 
-	/** Put the given task on the queue of pending tasks. */
+	/** Put the given task on the queue of pending tasks of its queue ID. */
 	protected synchronized void enqueue(QueuedTask<?> task) {
-		pendingTasks.add(task);
+		TaskQueue queue = queues.computeIfAbsent(task.queueId, TaskQueue::new);
+		queue.add(task);
+		pendingTaskCount++;
+		maxPendingTaskCount = Math.max(maxPendingTaskCount, pendingTaskCount);
+		if (!submittedTasks.containsKey(task.queueId)) {
+			updateLane(queue);
+		}
 	}
 
-	/** Remove and return the next pending, non-blocked task from the queue of pending tasks. */
+	/**
+	 * Moves the given queue to the lane of the highest priority of its pending tasks or removes it from all lanes if it
+	 * has no pending tasks. Must only be invoked for queues without a running task.
+	 */
+	protected synchronized void updateLane(TaskQueue queue) {
+		Priority newLane = queue.getPriority();
+		if (queue.lane == newLane) {
+			return;
+		}
+		if (queue.lane != null) {
+			readyQueues.get(queue.lane).remove(queue);
+		}
+		if (newLane != null) {
+			readyQueues.computeIfAbsent(newLane, lane -> new LinkedHashSet<>()).add(queue);
+		}
+		queue.lane = newLane;
+	}
+
+	/** Returns the number of tasks that are waiting on the queue, i.e. not yet running. */
+	public synchronized int getPendingTaskCount() {
+		return pendingTaskCount;
+	}
+
+	/** Returns the maximum number of tasks that were waiting on the queue at the same time. */
+	public synchronized int getMaxPendingTaskCount() {
+		return maxPendingTaskCount;
+	}
+
+	/**
+	 * Remove and return the next pending, non-blocked task with the highest priority from the queues of pending tasks.
+	 * Returns <code>null</code> if there is no such task or only background tasks while the maximum number of
+	 * background tasks are running.
+	 */
 	protected synchronized QueuedTask<?> pollNextPending() {
-		Iterator<QueuedTask<?>> iter = pendingTasks.iterator();
-		while (iter.hasNext()) {
-			QueuedTask<?> curr = iter.next();
-			boolean isBlocked = submittedTasks.containsKey(curr.queueId);
-			if (!isBlocked) {
-				iter.remove();
-				return curr;
+		for (Priority lane : PRIORITIES) {
+			if (lane == Priority.BACKGROUND && runningBackgroundTaskCount >= config.getMaxBackgroundTasks()) {
+				continue;
+			}
+			LinkedHashSet<TaskQueue> laneQueues = readyQueues.get(lane);
+			if (laneQueues == null || laneQueues.isEmpty()) {
+				continue;
 			}
+			Iterator<TaskQueue> iter = laneQueues.iterator();
+			TaskQueue queue = iter.next();
+			iter.remove();
+			queue.lane = null;
+			QueuedTask<?> next = queue.poll();
+			next.dispatchPriority = lane;
+			pendingTaskCount--;
+			return next;
 		}
 		return null;
 	}
@@ -262,9 +409,32 @@ public class QueuedExecutorService {
 		if (submittedTasks.putIfAbsent(task.queueId, task) != null) {
 			throw new IllegalStateException("executor inconsistency: queue ID already in progress: " + task.queueId);
 		}
+		if (task.dispatchPriority == Priority.BACKGROUND) {
+			runningBackgroundTaskCount++;
+		}
+		if (delegate == null) {
+			delegate = createDelegate();
+		}
 		delegate.submit(task); // will eventually invoke #onDone()
 	}
 
+	/**
+	 * Creates the {@link #delegate delegate executor service}. Creates an executor starting a virtual thread per task
+	 * if {@link QueuedExecutorServiceConfig#isUseVirtualThreads() configured} and supported by the Java runtime, and a
+	 * cached thread pool otherwise.
+	 */
+	protected ExecutorService createDelegate() {
+		if (config.isUseVirtualThreads()) {
+			try {
+				Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+				return (ExecutorService) factory.invoke(null);
+			} catch (ReflectiveOperationException e) {
+				LOG.warn("virtual threads are not supported by this Java runtime; using platform threads instead");
+			}
+		}
+		return Executors.newCachedThreadPool();
+	}
+
 	/** Invoked by each running task upon completion, see {@link QueuedTask#run()}. */
 	protected synchronized void onDone(QueuedTask<?> task) {
 		QueuedTask<?> inProgress = submittedTasks.remove(task.queueId);
@@ -275,22 +445,36 @@ public class QueuedExecutorService {
 			throw new IllegalStateException("executor inconsistency: task with queue ID not in progress: "
 					+ task.queueId + ". Expected " + task + " but was " + inProgress);
 		}
+		if (task.dispatchPriority == Priority.BACKGROUND) {
+			runningBackgroundTaskCount--;
+		}
+		TaskQueue queue = queues.get(task.queueId);
+		if (queue.tasks.isEmpty()) {
+			queues.remove(task.queueId);
+		} else {
+			updateLane(queue);
+		}
 		doSubmitAllPending();
 	}
 
+	/** Returns all pending tasks, ordered by queue ID and within each queue ID in the order they were submitted. */
+	protected synchronized Stream<QueuedTask<?>> streamPendingTasks() {
+		return queues.values().stream().flatMap(queue -> queue.tasks.stream());
+	}
+
 	/**
 	 * Marks all running and pending tasks as cancelled, i.e. their cancel indicator will return <code>true</code> from
 	 * {@link CancelIndicator#isCanceled() #isCanceled()}. Does not mark the tasks' result futures as cancelled, see
 	 * {@link QueuedExecutorService} for details.
 	 */
 	public synchronized void cancelAll() {
-		Stream.concat(submittedTasks.values().stream(), pendingTasks.stream())
+		Stream.concat(submittedTasks.values().stream(), streamPendingTasks())
 				.forEach(t -> t.cancel());
 	}
 
 	/** Same as {@link #cancelAll()}, but only affects tasks with a queue ID equal to the given ID. */
 	public synchronized void cancelAll(Object queueId) {
-		Stream.concat(submittedTasks.values().stream(), pendingTasks.stream())
+		Stream.concat(submittedTasks.values().stream(), streamPendingTasks())
 				.filter(t -> queueId.equals(t.queueId))
 				.forEach(t -> t.cancel());
 	}
@@ -320,7 +504,7 @@ public class QueuedExecutorService {
 
 	/** Same as {@link #allTasks()}, but returns <code>null</code> iff there are no running or pending tasks. */
 	private synchronized CompletableFuture<Void> allTasksOrNull() {
-		if (submittedTasks.isEmpty() && pendingTasks.isEmpty()) {
+		if (submittedTasks.isEmpty() && pendingTaskCount == 0) {
 			return null;
 		}
 		return allTasks();
@@ -332,7 +516,7 @@ public class QueuedExecutorService {
 	 * <code>null</code>.
 	 */
 	public synchronized CompletableFuture<Void> allTasks() {
-		CompletableFuture<?>[] allTasks = Stream.concat(submittedTasks.values().stream(), pendingTasks.stream())
+		CompletableFuture<?>[] allTasks = Stream.concat(submittedTasks.values().stream(), streamPendingTasks())
 				.map(t -> t.result)
 				.toArray(CompletableFuture[]::new);
 		return CompletableFuture.allOf(allTasks);
@@ -355,7 +539,13 @@ public class QueuedExecutorService {
 			cancelAll();
 			isShutDown = true;
 			submittedTasks.clear();
-			pendingTasks.clear();
+			queues.clear();
+			readyQueues.clear();
+			pendingTaskCount = 0;
+			runningBackgroundTaskCount = 0;
+			if (delegate == null) {
+				return;
+			}
 		}
 		// to give tasks a chance to orderly shut down during the first half of the timeout, the following line must be
 		// executed outside the synchronize block:
@@ -364,8 +554,8 @@ public class QueuedExecutorService {
 
 	/** May be invoked from arbitrary threads. */
 	protected /* NOT synchronized */ <T> QueuedTask<T> createQueuedTask(Object queueId, String description,
-			Function<CancelIndicator, T> task) {
-		return new QueuedTask<>(queueId, description, task);
+			Priority priority, Function<CancelIndicator, T> task) {
+		return new QueuedTask<>(queueId, description, priority, task);
 	}
 
 	/** Stringifies current state of the executer service. Indicates all currently running and pending tasks. */
@@ -375,12 +565,14 @@ public class QueuedExecutorService {
 		for (Map.Entry<Object, QueuedTask<?>> entry : submittedTasks.entrySet()) {
 			activeQueue.put(entry.getKey(), entry.getValue());
 		}
-		for (QueuedTask<?> pendingTask : pendingTasks) {
-			Object id = pendingTask.queueId;
-			if (activeQueue.containsKey(id)) {
-				activeQueue.put(id, pendingTask);
-			} else {
-				inactiveQueue.put(id, pendingTask);
+		for (TaskQueue queue : queues.values()) {
+			for (QueuedTask<?> pendingTask : queue.tasks) {
+				Object id = pendingTask.queueId;
+				if (activeQueue.containsKey(id)) {
+					activeQueue.put(id, pendingTask);
+				} else {
+					inactiveQueue.put(id, pendingTask);
+				}
 			}
 		}
 		if (activeQueue.isEmpty() && inactiveQueue.isEmpty()) {
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server;
+
+import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService.Priority;
+
+import com.google.inject.Singleton;
+
+/**
+ * Holds the configuration of the {@link QueuedExecutorService}.
+ */
+@Singleton
+public class QueuedExecutorServiceConfig {
+	/** Maximum number of {@link Priority#BACKGROUND background} tasks running at the same time. */
+	protected int maxBackgroundTasks = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+	/** True iff tasks should be run on virtual threads, if supported by the Java runtime. */
+	protected boolean useVirtualThreads = false;
+
+	/**
+	 * Sets the maximum number of {@link Priority#BACKGROUND background} tasks running at the same time. Values less
+	 * than 1 are treated as 1.
+	 */
+	public void setMaxBackgroundTasks(int maxBackgroundTasks) {
+		this.maxBackgroundTasks = Math.max(1, maxBackgroundTasks);
+	}
+
+	/** @return the maximum number of {@link Priority#BACKGROUND background} tasks running at the same time. */
+	public int getMaxBackgroundTasks() {
+		return maxBackgroundTasks;
+	}
+
+	/**
+	 * Sets whether tasks should be run on virtual threads instead of a pool of platform threads. Only has an effect if
+	 * set before the first task is submitted and if the Java runtime supports virtual threads.
+	 */
+	public void setUseVirtualThreads(boolean useVirtualThreads) {
+		this.useVirtualThreads = useVirtualThreads;
+	}
+
+	/** @return true iff tasks should be run on virtual threads, if supported by the Java runtime. */
+	public boolean isUseVirtualThreads() {
+		return useVirtualThreads;
+	}
+}
@@ -15,14 +15,23 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl.ResourceLocator;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.n4js.xtext.ide.server.build.BuilderFrontend;
 import org.eclipse.n4js.xtext.ide.server.issues.PublishingIssueAcceptor;
@@ -125,6 +134,20 @@ public class ResourceTaskContext {
 	/** The current textual content of the open file. */
 	private XDocument document = null;
 
+	/**
+	 * URIs of the resources whose resource description changed or was removed since the last
+	 * {@link #prepareRefresh() refresh}. Resources with these URIs must not be reused by the next refresh.
+	 */
+	private final Set<URI> outdatedURIs = new HashSet<>();
+	/** Tells whether no resource other than the main resource may be reused by the next refresh. */
+	private boolean allOutdated = false;
+	/**
+	 * For each resource other than the main resource that was kept by the last {@link #prepareRefresh() refresh},
+	 * whether it {@link #referencesMainResource(Resource) references} the main resource. Since only resources loaded
+	 * from the index are kept and their contents never change, this is computed only once for each loaded resource.
+	 */
+	private Map<Resource, Boolean> resource2ReferencesMain = new HashMap<>();
+
 	/** Within each resource task context, this provides text contents of all other context's main resources. */
 	protected class ResourceTaskContentProvider implements IExternalContentProvider {
 		@Override
@@ -297,7 +320,9 @@ public class ResourceTaskContext {
 	}
 
 	/**
-	 * Removes all the other resources from the resource set.
+	 * Removes all the other resources from the resource set, except those that can be {@link #isReusable(Resource)
+	 * reused}. This avoids loading the same dependencies again from the index after every change of the main
+	 * resource's source text.
 	 */
 	private void prepareRefresh() {
 		if (mainResource == null) {
@@ -308,23 +333,121 @@ public class ResourceTaskContext {
 		}
 
 		ResourceSet resSet = getResourceSet();
-		resSet.getResources().removeIf(res -> res != mainResource);
+		Map<Resource, Boolean> oldResource2ReferencesMain = resource2ReferencesMain;
+		resource2ReferencesMain = new HashMap<>();
+		if (allOutdated) {
+			resSet.getResources().removeIf(res -> res != mainResource);
+		} else {
+			List<Resource> removed = new ArrayList<>();
+			for (Resource res : resSet.getResources()) {
+				if (res == mainResource) {
+					continue;
+				}
+				if (isReusable(res)) {
+					Boolean referencesMain = oldResource2ReferencesMain.get(res);
+					if (referencesMain == null) {
+						referencesMain = referencesMainResource(res);
+					}
+					if (!referencesMain) {
+						resource2ReferencesMain.put(res, referencesMain);
+						continue;
+					}
+				}
+				removed.add(res);
+			}
+			for (Resource res : removed) {
+				// turn references from the reused resources into proxies, so they will be resolved again
+				res.unload();
+			}
+			resSet.getResources().removeAll(removed);
+		}
+		outdatedURIs.clear();
+		allOutdated = false;
+	}
+
+	/**
+	 * Tells whether the given resource, which is not the main resource, may be kept in the resource set when
+	 * refreshing this context. This is the case iff it was loaded from the index, i.e. without a parse result, and its
+	 * resource description did not change since then. Resources loaded from source are never reused, because their
+	 * derived state might depend on the previous state of the main resource. In addition, resources that
+	 * {@link #referencesMainResource(Resource) reference} the main resource are never kept.
+	 */
+	protected boolean isReusable(Resource resource) {
+		URI uri = resource.getURI();
+		return resource.isLoaded()
+				&& resource instanceof XtextResource
+				&& ((XtextResource) resource).getParseResult() == null
+				&& !outdatedURIs.contains(uri)
+				&& !isNestedInMainResource(uri)
+				&& indexSnapshot.getResourceDescription(uri) != null;
+	}
+
+	/**
+	 * Tells whether the given resource contains a cross reference into the main resource, e.g. in case of cyclic
+	 * imports. Resolved references would point to the outdated content of the main resource after the refresh. Since
+	 * unresolved references pointing to the main resource may be resolved later on, they are taken into account as
+	 * well, but they are not resolved by this method.
+	 * <p>
+	 * This has to check all contents of the given resource, so it is invoked only once for each loaded resource, see
+	 * {@link #resource2ReferencesMain}.
+	 */
+	private boolean referencesMainResource(Resource resource) {
+		TreeIterator<EObject> iter = EcoreUtil.getAllProperContents(resource, false);
+		while (iter.hasNext()) {
+			Iterator<EObject> targets = ((InternalEList<EObject>) iter.next().eCrossReferences()).basicIterator();
+			while (targets.hasNext()) {
+				EObject target = targets.next();
+				if (target.eIsProxy()
+						? mainURI.equals(((InternalEObject) target).eProxyURI().trimFragment())
+						: target.eResource() == mainResource) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isNestedInMainResource(URI uri) {
+		int mainSegmentCount = mainURI.segmentCount();
+		return uri.segmentCount() > mainSegmentCount
+				&& uri.trimSegments(uri.segmentCount() - mainSegmentCount).equals(mainURI);
 	}
 
 	/**
 	 * Refresh this context's main resource, i.e. change its source text and then parse, resolve, and validate it. Also
 	 * sends out dirty state index and issue updates (not for {@link #isTemporary() temporary} contexts).
 	 */
+	public void refreshContext(int version, Iterable<? extends TextDocumentContentChangeEvent> changes,
+			CancelIndicator cancelIndicator) {
+		refreshContext(version, changes, true, cancelIndicator);
+	}
+
+	/**
+	 * Same as {@link #refreshContext(int, Iterable, CancelIndicator)}, but validation may be skipped. In that case, the
+	 * caller is responsible for {@link #validateResource(CancelIndicator) validating} the main resource later on.
+	 */
 	public void refreshContext(@SuppressWarnings("unused") int version,
-			Iterable<? extends TextDocumentContentChangeEvent> changes, CancelIndicator cancelIndicator) {
+			Iterable<? extends TextDocumentContentChangeEvent> changes, boolean validate,
+			CancelIndicator cancelIndicator) {
 
 		prepareRefresh();
 
 		int oldDocumentLength = document.getContents().length();
 		document = document.applyTextDocumentChanges(changes);
-		mainResource.update(0, oldDocumentLength, document.getContents());
+		updateMainResource(oldDocumentLength, document.getContents());
 
-		resolveAndValidateResource(cancelIndicator);
+		if (validate) {
+			resolveAndValidateResource(cancelIndicator);
+		} else {
+			resolveResource(cancelIndicator);
+		}
+	}
+
+	/**
+	 * Replaces the entire source text of this context's main resource by the given text and reparses the main resource.
+	 */
+	protected void updateMainResource(int oldDocumentLength, String newContents) {
+		mainResource.update(0, oldDocumentLength, newContents);
 	}
 
 	/**
@@ -377,11 +500,13 @@ public class ResourceTaskContext {
 	}
 
 	/**
-	 * Invoked by {@link #parent} when a change happened in another open file (not the one represented by this
-	 * {@link ResourceTaskContext}). Will never be invoked for {@link #isTemporary() temporary} contexts.
+	 * Invoked by {@link #parent} with a batch of changes of the dirty state of other open files (not the one
+	 * represented by this {@link ResourceTaskContext}). The URIs of closed files are given as changed if they have a
+	 * persisted state, as removed otherwise. Will never be invoked for {@link #isTemporary() temporary} contexts.
 	 */
-	protected void onDirtyStateChanged(IResourceDescription changedDesc, CancelIndicator cancelIndicator) {
-		updateIndex(Collections.singletonList(changedDesc), Collections.emptySet(), workspaceConfig, cancelIndicator);
+	protected void onDirtyStateChanged(Collection<? extends IResourceDescription> changedDescs, Set<URI> removedURIs,
+			CancelIndicator cancelIndicator) {
+		updateIndex(changedDescs, removedURIs, workspaceConfig, cancelIndicator);
 	}
 
 	/**
@@ -403,6 +528,7 @@ public class ResourceTaskContext {
 		List<IResourceDescription.Delta> allDeltas = createDeltas(changedDescs, removedURIs);
 		for (IResourceDescription.Delta delta : allDeltas) {
 			URI deltaURI = delta.getUri();
+			outdatedURIs.add(deltaURI);
 			WorkspaceConfigSnapshot wcs = delta.getNew() != null ? newWorkspaceConfig : oldWorkspaceConfig;
 			ProjectConfigSnapshot project = wcs != null ? wcs.findProjectContaining(deltaURI) : null;
 			if (project != null) {
@@ -411,11 +537,13 @@ public class ResourceTaskContext {
 		}
 
 		workspaceConfig = newWorkspaceConfig;
+		onDeltasDetected(allDeltas);
 
 		boolean workspaceConfigChanged = workspaceConfig != null ? !workspaceConfig.equals(oldWorkspaceConfig)
 				: oldWorkspaceConfig != null;
 		if (workspaceConfigChanged) {
 			WorkspaceConfigAdapter.installWorkspaceConfig(mainResourceSet, workspaceConfig);
+			allOutdated = true;
 		}
 
 		// refresh if I am affected by the changes
@@ -434,6 +562,15 @@ public class ResourceTaskContext {
 		}
 	}
 
+	/**
+	 * Invoked with the deltas of changes of other files, before this context is refreshed. Overwrite this method to
+	 * evict information derived from the resources of this context's resource set that may have become outdated. Does
+	 * nothing by default.
+	 */
+	protected void onDeltasDetected(@SuppressWarnings("unused") List<IResourceDescription.Delta> deltas) {
+		// nothing to do by default
+	}
+
 	/**
 	 * Checks whether the given candidate resource description is affected by the given deltas, by delegating to the
 	 * given resource description manager.
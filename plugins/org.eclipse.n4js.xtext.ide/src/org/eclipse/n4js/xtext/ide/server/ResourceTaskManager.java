@@ -11,9 +11,12 @@
 package org.eclipse.n4js.xtext.ide.server;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -26,13 +29,18 @@ import java.util.function.BiFunction;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService.Priority;
 import org.eclipse.n4js.xtext.ide.server.build.BuilderFrontend;
+import org.eclipse.n4js.xtext.ide.server.findReferences.ImportedNamesIndex;
+import org.eclipse.n4js.xtext.ide.server.symbol.SymbolNameIndex;
 import org.eclipse.n4js.xtext.ide.server.util.CancelIndicatorUtil;
 import org.eclipse.n4js.xtext.ide.server.util.WorkspaceConfigAllContainerState;
 import org.eclipse.n4js.xtext.ide.server.util.XChunkedResourceDescriptions;
 import org.eclipse.n4js.xtext.workspace.ProjectConfigSnapshot;
 import org.eclipse.n4js.xtext.workspace.WorkspaceConfigAdapter;
 import org.eclipse.n4js.xtext.workspace.WorkspaceConfigSnapshot;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.containers.DelegatingIAllContainerAdapter;
@@ -42,7 +50,10 @@ import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.xbase.lib.Pair;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
@@ -89,6 +100,18 @@ public class ResourceTaskManager {
 	@Inject
 	private QueuedExecutorService queuedExecutorService;
 
+	@Inject
+	private ResourceTaskManagerConfig config;
+
+	@Inject
+	private DelayedTaskScheduler delayedTaskScheduler;
+
+	@Inject
+	private SymbolNameIndex symbolNameIndex;
+
+	@Inject
+	private ImportedNamesIndex importedNamesIndex;
+
 	/**
 	 * Contains all non-temporary contexts created with {@link #createContext(URI, int, String)} and not yet discarded
 	 * with {@link #disposeContext(URI)}, no matter whether those contexts were already created/disposed on the queue.
@@ -123,6 +146,69 @@ public class ResourceTaskManager {
 	/** Most recent workspace configuration. */
 	protected WorkspaceConfigSnapshot workspaceConfig = null;
 
+	/**
+	 * Source text changes of open files that were not yet applied to their context. An entry is removed as soon as
+	 * another task is submitted for the file, so changes are only combined if no other task lies in between.
+	 */
+	protected final Map<URI, PendingSourceTextChanges> uri2PendingChanges = new HashMap<>();
+	/** The most recent source text change of each open file, used to skip out-dated delayed validations. */
+	protected final Map<URI, PendingSourceTextChanges> uri2LatestChanges = new HashMap<>();
+	/** URIs of open files whose dirty state changed but was not yet sent to the other contexts. */
+	protected final Set<URI> pendingDirtyStateURIs = new LinkedHashSet<>();
+	/** Names exported by the old or new dirty state of the {@link #pendingDirtyStateURIs}, in lower case. */
+	protected final Set<QualifiedName> pendingDirtyStateNames = new HashSet<>();
+	/** Tells whether a change of the {@link #pendingDirtyStateURIs} {@link #isAffectingAll affects all} contexts. */
+	protected boolean pendingDirtyStateAffectsAll = false;
+
+	/** For each open file, the names imported by its dirty state, in lower case. */
+	protected final Map<URI, Set<QualifiedName>> uri2ImportedNames = new HashMap<>();
+	/** Reverse of {@link #uri2ImportedNames}: for each name, the URIs of the open files importing it. */
+	protected final SetMultimap<QualifiedName, URI> importedName2URIs = HashMultimap.create();
+	/**
+	 * Changes of the dirty or persisted state that were not yet sent to a context because it does not depend on them.
+	 * They are sent right before the next task of that context is submitted, to keep its index up to date.
+	 */
+	protected final Map<URI, DeferredIndexChanges> uri2DeferredChanges = new HashMap<>();
+
+	/** Number of source text changes that were combined with a preceding change instead of refreshing on their own. */
+	protected long coalescedChangeCount = 0;
+	/** Number of delayed validations that were skipped because the file was changed again. */
+	protected long skippedValidationCount = 0;
+	/** Number of dirty state changes that were combined with other changes before being sent to the other contexts. */
+	protected long batchedDirtyStateCount = 0;
+	/** Number of notifications of contexts that were deferred because the context did not depend on the changes. */
+	protected long deferredNotificationCount = 0;
+
+	/** Source text changes of an open file, collected until they are applied by a single refresh. */
+	protected static final class PendingSourceTextChanges {
+		/** The version of the document after applying the changes. */
+		protected int version;
+		/** The changes in the order they were received. */
+		protected final List<TextDocumentContentChangeEvent> changes = new ArrayList<>();
+		/** Identifies the task that will apply the changes; tasks submitted for earlier changes do nothing. */
+		protected Object applyingTask;
+	}
+
+	/** Changes of the index, collected for a context until they are sent to it. */
+	protected static final class DeferredIndexChanges {
+		/** The changed descriptions by URI. */
+		protected final Map<URI, IResourceDescription> changed = new LinkedHashMap<>();
+		/** The URIs of the removed descriptions. */
+		protected final Set<URI> removed = new LinkedHashSet<>();
+
+		/** Adds the given changes, replacing the changes of the same URIs added before. */
+		protected void add(Collection<? extends IResourceDescription> changedDescs, Collection<URI> removedURIs) {
+			for (IResourceDescription desc : changedDescs) {
+				removed.remove(desc.getURI());
+				changed.put(desc.getURI(), desc);
+			}
+			for (URI uri : removedURIs) {
+				changed.remove(uri);
+				removed.add(uri);
+			}
+		}
+	}
+
 	/***/
 	protected final List<IResourceTaskListener> listeners = new CopyOnWriteArrayList<>();
 
@@ -192,16 +278,61 @@ public class ResourceTaskManager {
 		return future;
 	}
 
-	/** Change the source text of the main resource of the resource task context for the given URI. */
+	/**
+	 * Change the source text of the main resource of the resource task context for the given URI.
+	 * <p>
+	 * If the preceding task of the context is a source text change that did not start yet, the given changes are
+	 * appended to that change's changes and only the task submitted by this invocation will refresh the context. If a
+	 * {@link ResourceTaskManagerConfig#getValidationDelay() validation delay} is configured, the main resource will
+	 * only be validated if it was not changed again within that delay.
+	 */
 	public synchronized CompletableFuture<Void> changeSourceTextOfExistingContext(URI uri, int version,
 			Iterable<? extends TextDocumentContentChangeEvent> changes) {
 
 		// cancel current tasks for this context (they are now out-dated, anyway)
 		doCancelCurrentTasks(uri);
 
+		PendingSourceTextChanges pending = uri2PendingChanges.get(uri);
+		if (pending != null) {
+			coalescedChangeCount++;
+		} else {
+			pending = new PendingSourceTextChanges();
+		}
+		Object applyingTask = new Object();
+		pending.version = version;
+		Iterables.addAll(pending.changes, changes);
+		pending.applyingTask = applyingTask;
+		uri2LatestChanges.put(uri, pending);
+
 		// refresh the context
-		return runInExistingContextVoid(uri, "changeSourceTextOfExistingContext", (rtc, ci) -> {
-			rtc.refreshContext(version, changes, ci);
+		PendingSourceTextChanges captured = pending;
+		long validationDelay = config.getValidationDelay();
+		CompletableFuture<Void> result = runInExistingContextVoid(uri, "changeSourceTextOfExistingContext",
+				(rtc, ci) -> {
+					synchronized (ResourceTaskManager.this) {
+						if (captured.applyingTask != applyingTask) {
+							return; // changes will be applied by the succeeding task
+						}
+						uri2PendingChanges.remove(uri, captured);
+					}
+					rtc.refreshContext(captured.version, captured.changes, validationDelay <= 0, ci);
+					if (validationDelay > 0) {
+						delayedTaskScheduler.schedule(() -> validateIfUpToDate(uri, captured), validationDelay);
+					}
+				});
+
+		uri2PendingChanges.put(uri, pending); // n.b.: after submitting, because submitting removes the entry
+		return result;
+	}
+
+	/** Validates the context of the given URI, unless its source text was changed again since the given change. */
+	protected synchronized void validateIfUpToDate(URI uri, PendingSourceTextChanges change) {
+		if (uri2LatestChanges.get(uri) != change || !hasContext(uri)) {
+			skippedValidationCount++;
+			return;
+		}
+		runInExistingContextVoid(uri, "validateResource", (rtc, ci) -> {
+			rtc.validateResource(ci);
 		});
 	}
 
@@ -222,6 +353,7 @@ public class ResourceTaskManager {
 
 		// cancel current tasks for this context (they are now out-dated, anyway)
 		doCancelCurrentTasks(uri);
+		uri2DeferredChanges.remove(uri); // n.b.: the context is about to be disposed, anyway
 
 		CompletableFuture<Void> future = runInExistingContextVoid(uri, "disposeContext", (rtc, ci) -> {
 			doDisposeContext(rtc);
@@ -231,6 +363,7 @@ public class ResourceTaskManager {
 		});
 
 		uri2RTCs.remove(uri); // n.b.: remove from this map immediately, not later on the queue
+		uri2LatestChanges.remove(uri);
 
 		return future;
 	}
@@ -313,12 +446,32 @@ public class ResourceTaskManager {
 	/** Submit a task for execution within a resource task context to the executor service. */
 	protected <T> CompletableFuture<T> doSubmitTask(ResourceTaskContext rtc, String description,
 			BiFunction<ResourceTaskContext, CancelIndicator, T> task) {
+		return doSubmitTask(rtc, description, Priority.NORMAL, task);
+	}
+
+	/** Same as {@link #doSubmitTask(ResourceTaskContext, String, BiFunction)}, but with the given priority. */
+	protected <T> CompletableFuture<T> doSubmitTask(ResourceTaskContext rtc, String description, Priority priority,
+			BiFunction<ResourceTaskContext, CancelIndicator, T> task) {
 
 		Object queueId = getQueueIdForContext(rtc.getURI(), rtc.isTemporary());
+		if (!rtc.isTemporary()) {
+			// changes submitted later on must not be applied before this task
+			uri2PendingChanges.remove(rtc.getURI());
+			// changes deferred earlier on must be applied before this task
+			DeferredIndexChanges deferred = uri2DeferredChanges.remove(rtc.getURI());
+			if (deferred != null) {
+				WorkspaceConfigSnapshot capturedWorkspaceConfig = workspaceConfig;
+				doSubmitTask(rtc, "apply deferred index changes", (_rtc, ci) -> {
+					_rtc.onPersistedStateChanged(deferred.changed.values(), deferred.removed, capturedWorkspaceConfig,
+							ci);
+					return null;
+				});
+			}
+		}
 		if (LOG_RESOURCE_TASK_EXECUTION) {
 			System.out.println("===> queuing: " + description + " " + rtc.getURI().toFileString());
 		}
-		return queuedExecutorService.submit(queueId, description, ci -> {
+		return queuedExecutorService.submit(queueId, description, priority, ci -> {
 
 			final long start;
 			if (LOG_RESOURCE_TASK_EXECUTION) {
@@ -481,25 +634,47 @@ public class ResourceTaskManager {
 		// compute "flat" modification info (not per project but on a global URI->description basis)
 		List<IResourceDescription> changed = new ArrayList<>();
 		Set<URI> removed = new HashSet<>();
+		Set<QualifiedName> changedNames = new HashSet<>();
+		boolean affectsAll = false;
 		for (Entry<String, ? extends ResourceDescriptionsData> entry : changedDescriptions.entrySet()) {
 			String projectName = entry.getKey();
 			ResourceDescriptionsData newData = entry.getValue();
 
 			ResourceDescriptionsData oldData = persistedIndex.getContainer(projectName);
+			Set<URI> removedFromProject = new HashSet<>();
 			if (oldData != null) {
-				removed.addAll(oldData.getAllURIs());
+				removedFromProject.addAll(oldData.getAllURIs());
 			}
 
 			for (IResourceDescription desc : newData.getAllResourceDescriptions()) {
 				URI descURI = desc.getURI();
 				changed.add(desc);
-				removed.remove(descURI);
+				removedFromProject.remove(descURI);
+				IResourceDescription oldDesc = oldData != null ? oldData.getResourceDescription(descURI) : null;
+				if (oldDesc != desc) {
+					updateNameIndices(descURI, desc);
+					addExportedNames(changedNames, oldDesc);
+					addExportedNames(changedNames, desc);
+					affectsAll |= isAffectingAll(oldDesc, desc);
+				}
+			}
+			for (URI removedURI : removedFromProject) {
+				IResourceDescription oldDesc = oldData.getResourceDescription(removedURI);
+				updateNameIndices(removedURI, null);
+				addExportedNames(changedNames, oldDesc);
+				affectsAll |= isAffectingAll(oldDesc, null);
 			}
+			removed.addAll(removedFromProject);
 		}
 
 		// update my internal state
 		for (String removedProject : removedProjects) {
-			persistedIndex.removeContainer(removedProject);
+			ResourceDescriptionsData removedData = persistedIndex.removeContainer(removedProject);
+			if (removedData != null) {
+				for (URI removedURI : removedData.getAllURIs()) {
+					updateNameIndices(removedURI, null);
+				}
+			}
 		}
 		for (Entry<String, ? extends ResourceDescriptionsData> entry : changedDescriptions.entrySet()) {
 			persistedIndex.setContainer(entry.getKey(), entry.getValue());
@@ -512,13 +687,20 @@ public class ResourceTaskManager {
 		removed.removeAll(uri2RTCsOnQueue.keySet());
 
 		// update internal state of all contexts
-		if (Iterables.isEmpty(changed) && removed.isEmpty() && workspaceConfig.equals(oldWC)) {
+		boolean workspaceConfigChanged = !workspaceConfig.equals(oldWC);
+		if (Iterables.isEmpty(changed) && removed.isEmpty() && !workspaceConfigChanged) {
 			return;
 		}
+		Set<URI> dependentURIs = workspaceConfigChanged || affectsAll ? uri2RTCsOnQueue.keySet()
+				: findDependents(changedNames);
 		WorkspaceConfigSnapshot capturedWorkspaceConfig = workspaceConfig;
 		for (Entry<URI, ResourceTaskContext> currEntry : uri2RTCsOnQueue.entrySet()) {
+			if (!dependentURIs.contains(currEntry.getKey())) {
+				deferChanges(currEntry.getKey(), changed, removed);
+				continue;
+			}
 			ResourceTaskContext currRTC = currEntry.getValue();
-			doSubmitTask(currRTC, "updatePersistedState of existing context", (rtc, ci) -> {
+			doSubmitTask(currRTC, "updatePersistedState of existing context", Priority.BACKGROUND, (rtc, ci) -> {
 				rtc.onPersistedStateChanged(changed, removed, capturedWorkspaceConfig, ci);
 				return null;
 			});
@@ -536,40 +718,190 @@ public class ResourceTaskManager {
 	 *            the new resource description or <code>null</code> if the resource was deleted.
 	 */
 	protected synchronized void updateSharedDirtyState(URI uri, IResourceDescription newDesc) {
+		// remember the names that might be affected by the change
+		IResourceDescription oldDesc = dirtyIndex.getResourceDescription(uri);
+		if (oldDesc == null) {
+			oldDesc = getPersistedIndexDescription(uri);
+		}
+		IResourceDescription replacementDesc = newDesc != null ? newDesc : getPersistedIndexDescription(uri);
+		addExportedNames(pendingDirtyStateNames, oldDesc);
+		addExportedNames(pendingDirtyStateNames, replacementDesc);
+		pendingDirtyStateAffectsAll |= isAffectingAll(oldDesc, replacementDesc);
 		// update my dirty state instance
 		if (newDesc != null) {
 			dirtyIndex.addDescription(uri, newDesc);
 		} else {
 			dirtyIndex.removeDescription(uri);
 		}
+		symbolNameIndex.update(uri, replacementDesc);
+		importedNamesIndex.update(uri, replacementDesc);
+		setImportedNames(uri, newDesc);
 		// update dirty state instance in each resource task context (except the one that caused the change)
+		if (!pendingDirtyStateURIs.add(uri) || pendingDirtyStateURIs.size() > 1) {
+			batchedDirtyStateCount++;
+			return; // will be sent along with the changes already pending
+		}
+		long dirtyStateDelay = config.getDirtyStateDelay();
+		if (dirtyStateDelay > 0) {
+			delayedTaskScheduler.schedule(this::flushSharedDirtyState, dirtyStateDelay);
+		} else {
+			flushSharedDirtyState();
+		}
+	}
+
+	/**
+	 * Sends the current dirty state of all open files with {@link #pendingDirtyStateURIs pending changes} to all other
+	 * contexts. Files that were closed in the meantime are sent with their persisted state, if any, as a change of the
+	 * persisted state.
+	 */
+	protected synchronized void flushSharedDirtyState() {
+		Map<URI, IResourceDescription> changed = new LinkedHashMap<>();
+		Map<URI, IResourceDescription> changedPersisted = new LinkedHashMap<>();
+		Set<URI> removed = new LinkedHashSet<>();
+		for (URI uri : pendingDirtyStateURIs) {
+			IResourceDescription desc = dirtyIndex.getResourceDescription(uri);
+			if (desc != null) {
+				// happens in case a resource context has changed
+				changed.put(uri, desc);
+				continue;
+			}
+			// happens in case a resource context was disposed
+			desc = getPersistedIndexDescription(uri);
+			if (desc != null) {
+				changedPersisted.put(uri, desc);
+			} else {
+				removed.add(uri);
+			}
+		}
+		pendingDirtyStateURIs.clear();
+		Set<URI> dependentURIs = pendingDirtyStateAffectsAll ? uri2RTCsOnQueue.keySet()
+				: findDependents(pendingDirtyStateNames);
+		pendingDirtyStateNames.clear();
+		pendingDirtyStateAffectsAll = false;
+
 		WorkspaceConfigSnapshot capturedWorkspaceConfig = workspaceConfig;
-		IResourceDescription replacementDesc = newDesc == null ? getPersistedIndexDescription(uri) : null;
 		for (Entry<URI, ResourceTaskContext> currEntry : uri2RTCsOnQueue.entrySet()) {
 			URI currURI = currEntry.getKey();
 			ResourceTaskContext currRTC = currEntry.getValue();
-			if (currURI.equals(uri)) {
+			List<IResourceDescription> currChanged = getAllExcept(changed, currURI);
+			List<IResourceDescription> currChangedPersisted = getAllExcept(changedPersisted, currURI);
+			Set<URI> currRemoved = Sets.difference(removed, Collections.singleton(currURI)).immutableCopy();
+			if (currChanged.isEmpty() && currChangedPersisted.isEmpty() && currRemoved.isEmpty()) {
+				continue;
+			}
+			if (!dependentURIs.contains(currURI)) {
+				// deferred changes are sent as changes of the persisted state, anyway
+				List<IResourceDescription> currAllChanged = new ArrayList<>(currChanged);
+				currAllChanged.addAll(currChangedPersisted);
+				deferChanges(currURI, currAllChanged, currRemoved);
 				continue;
 			}
 			doSubmitTask(currRTC, "updateSharedDirtyState of existing context", (rtc, ci) -> {
-				if (newDesc != null) {
-					// happens in case a resource context has changed
-					rtc.onDirtyStateChanged(newDesc, ci);
-				} else {
-					// happens in case a resource context was disposed
-					if (replacementDesc != null) {
-						rtc.onPersistedStateChanged(Collections.singleton(replacementDesc), Collections.emptySet(),
-								capturedWorkspaceConfig, ci);
-					} else {
-						rtc.onPersistedStateChanged(Collections.emptyList(), Collections.singleton(uri),
-								capturedWorkspaceConfig, ci);
-					}
+				if (!currChanged.isEmpty()) {
+					rtc.onDirtyStateChanged(currChanged, Collections.emptySet(), ci);
+				}
+				if (!currChangedPersisted.isEmpty() || !currRemoved.isEmpty()) {
+					rtc.onPersistedStateChanged(currChangedPersisted, currRemoved, capturedWorkspaceConfig, ci);
 				}
 				return null;
 			});
 		}
 	}
 
+	private static List<IResourceDescription> getAllExcept(Map<URI, IResourceDescription> descs, URI uri) {
+		List<IResourceDescription> result = new ArrayList<>(descs.size());
+		for (Entry<URI, IResourceDescription> entry : descs.entrySet()) {
+			if (!entry.getKey().equals(uri)) {
+				result.add(entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the URIs of the open files that import any of the given names (in lower case) or whose imported names
+	 * are not yet known. Only these files may be affected by a change of the descriptions exporting the given names.
+	 */
+	protected Set<URI> findDependents(Set<QualifiedName> names) {
+		Set<URI> result = new HashSet<>();
+		for (URI uri : uri2RTCsOnQueue.keySet()) {
+			if (!uri2ImportedNames.containsKey(uri)) {
+				result.add(uri);
+			}
+		}
+		for (QualifiedName name : names) {
+			result.addAll(importedName2URIs.get(name));
+		}
+		return result;
+	}
+
+	/**
+	 * Tells whether a change from the given old to the given new description of a file may affect open files that do
+	 * not import any of the names exported by it, e.g. because it configures the files of a project. Either
+	 * description may be <code>null</code>. Returns <code>false</code> by default.
+	 */
+	protected boolean isAffectingAll(@SuppressWarnings("unused") IResourceDescription oldDesc,
+			@SuppressWarnings("unused") IResourceDescription newDesc) {
+		return false;
+	}
+
+	/** Records the names imported by the given new dirty state of the open file with the given URI. */
+	protected void setImportedNames(URI uri, IResourceDescription newDesc) {
+		Set<QualifiedName> oldNames = uri2ImportedNames.remove(uri);
+		if (oldNames != null) {
+			for (QualifiedName name : oldNames) {
+				importedName2URIs.remove(name, uri);
+			}
+		}
+		if (newDesc != null) {
+			Set<QualifiedName> newNames = new HashSet<>();
+			for (QualifiedName name : newDesc.getImportedNames()) {
+				newNames.add(name.toLowerCase());
+			}
+			uri2ImportedNames.put(uri, newNames);
+			for (QualifiedName name : newNames) {
+				importedName2URIs.put(name, uri);
+			}
+		}
+	}
+
+	/** Defers sending the given changes to the context of the given URI until its next task is submitted. */
+	protected void deferChanges(URI uri, Collection<? extends IResourceDescription> changedDescs,
+			Collection<URI> removedURIs) {
+		uri2DeferredChanges.computeIfAbsent(uri, key -> new DeferredIndexChanges()).add(changedDescs, removedURIs);
+		deferredNotificationCount++;
+	}
+
+	private static void addExportedNames(Set<QualifiedName> names, IResourceDescription desc) {
+		if (desc != null) {
+			for (IEObjectDescription objDesc : desc.getExportedObjects()) {
+				names.add(objDesc.getName().toLowerCase());
+			}
+		}
+	}
+
+	/**
+	 * Returns a description of the number of pending tasks and of the tasks saved by combining source text changes,
+	 * skipping delayed validations, and batching dirty state changes.
+	 */
+	public synchronized String stringifyStatistics() {
+		return "Resource Task Statistics:"
+				+ "\n  pending tasks: " + queuedExecutorService.getPendingTaskCount()
+				+ " (max: " + queuedExecutorService.getMaxPendingTaskCount() + ")"
+				+ "\n  coalesced source text changes: " + coalescedChangeCount
+				+ "\n  skipped validations: " + skippedValidationCount
+				+ "\n  batched dirty state changes: " + batchedDirtyStateCount
+				+ "\n  deferred notifications of independent contexts: " + deferredNotificationCount;
+	}
+
+	/** Updates the name indices with a change of the persisted state, unless shadowed by the dirty state. */
+	private void updateNameIndices(URI uri, IResourceDescription newPersistedDesc) {
+		if (dirtyIndex.getResourceDescription(uri) == null) {
+			symbolNameIndex.update(uri, newPersistedDesc);
+			importedNamesIndex.update(uri, newPersistedDesc);
+		}
+	}
+
 	private IResourceDescription getPersistedIndexDescription(URI uri) {
 		ProjectConfigSnapshot project = workspaceConfig.findProjectContaining(uri);
 		if (project != null) {
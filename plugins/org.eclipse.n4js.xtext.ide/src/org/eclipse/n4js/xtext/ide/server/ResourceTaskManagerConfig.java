@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server;
+
+import com.google.inject.Singleton;
+
+/**
+ * Holds the configuration of the {@link ResourceTaskManager}.
+ */
+@Singleton
+public class ResourceTaskManagerConfig {
+	/** Milliseconds to wait after a change of an open file before it is validated. */
+	protected long validationDelay = 0;
+	/** Milliseconds to collect dirty state changes of open files before they are sent to the other open files. */
+	protected long dirtyStateDelay = 0;
+
+	/**
+	 * Sets the number of milliseconds to wait after a change of an open file before it is validated. The file is
+	 * resolved immediately, but only validated if it was not changed again in the meantime. Values less than 1
+	 * disable the delay.
+	 */
+	public void setValidationDelay(long validationDelay) {
+		this.validationDelay = Math.max(0, validationDelay);
+	}
+
+	/** @return the number of milliseconds to wait after a change of an open file before it is validated. */
+	public long getValidationDelay() {
+		return validationDelay;
+	}
+
+	/**
+	 * Sets the number of milliseconds to collect dirty state changes of open files before they are sent to the other
+	 * open files at once. Values less than 1 disable the delay.
+	 */
+	public void setDirtyStateDelay(long dirtyStateDelay) {
+		this.dirtyStateDelay = Math.max(0, dirtyStateDelay);
+	}
+
+	/**
+	 * @return the number of milliseconds to collect dirty state changes of open files before they are sent to the
+	 *         other open files.
+	 */
+	public long getDirtyStateDelay() {
+		return dirtyStateDelay;
+	}
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server;
+
+import org.eclipse.n4js.xtext.ide.server.build.HeapAwareClusteringPolicy;
+import org.eclipse.n4js.xtext.ide.server.build.ParallelBuildScheduler;
+import org.eclipse.n4js.xtext.ide.server.build.SourceFileWatcher;
+import org.eclipse.n4js.xtext.ide.server.build.XWorkspaceBuilder;
+
+import com.google.inject.Singleton;
+
+/**
+ * Holds the configuration of the {@link XWorkspaceBuilder}.
+ */
+@Singleton
+public class WorkspaceBuilderConfig {
+	/** True iff independent projects will be built concurrently by the {@link ParallelBuildScheduler}. */
+	protected boolean isParallelBuild = false;
+	/** True iff the resources of a project will be validated and generated concurrently. */
+	protected boolean isParallelValidation = false;
+	/** Maximum number of projects or resources that will be processed concurrently. */
+	protected int buildThreads = Runtime.getRuntime().availableProcessors();
+	/** True iff the source folders will be watched for changes by the {@link SourceFileWatcher}. */
+	protected boolean isWatchFileSystem = false;
+	/** True iff the resources of a project will be processed in clusters by a {@link HeapAwareClusteringPolicy}. */
+	protected boolean isHeapAwareClustering = false;
+
+	/** Sets whether independent projects will be built concurrently. */
+	public void setParallelBuild(boolean isParallelBuild) {
+		this.isParallelBuild = isParallelBuild;
+	}
+
+	/**
+	 * @return true iff independent projects will be built concurrently. Always false if the number of
+	 *         {@link #getBuildThreads() build threads} is less than 2.
+	 */
+	public boolean isParallelBuild() {
+		return isParallelBuild && buildThreads > 1;
+	}
+
+	/** Sets whether the resources of a project will be validated and generated concurrently. */
+	public void setParallelValidation(boolean isParallelValidation) {
+		this.isParallelValidation = isParallelValidation;
+	}
+
+	/**
+	 * @return true iff the resources of a project will be validated and generated concurrently. Always false if the
+	 *         number of {@link #getBuildThreads() build threads} is less than 2.
+	 */
+	public boolean isParallelValidation() {
+		return isParallelValidation && buildThreads > 1;
+	}
+
+	/**
+	 * Sets the maximum number of projects or resources that will be processed concurrently. Values less than 1 are
+	 * ignored.
+	 */
+	public void setBuildThreads(int buildThreads) {
+		if (buildThreads > 0) {
+			this.buildThreads = buildThreads;
+		}
+	}
+
+	/**
+	 * @return the maximum number of projects or resources that will be processed concurrently. Defaults to the number
+	 *         of cores.
+	 */
+	public int getBuildThreads() {
+		return buildThreads;
+	}
+
+	/**
+	 * Sets whether the source folders will be watched for changes. Should only be enabled if the LSP client does not
+	 * send 'didChangeWatchedFiles' notifications, since each change would trigger two builds otherwise.
+	 */
+	public void setWatchFileSystem(boolean isWatchFileSystem) {
+		this.isWatchFileSystem = isWatchFileSystem;
+	}
+
+	/** @return true iff the source folders will be watched for changes by the {@link SourceFileWatcher}. */
+	public boolean isWatchFileSystem() {
+		return isWatchFileSystem;
+	}
+
+	/**
+	 * Sets whether the resources of a project will be processed in clusters depending on the heap usage. If disabled,
+	 * all resources of a project are kept in memory during a build.
+	 */
+	public void setHeapAwareClustering(boolean isHeapAwareClustering) {
+		this.isHeapAwareClustering = isHeapAwareClustering;
+	}
+
+	/** @return true iff the resources of a project will be processed in clusters depending on the heap usage. */
+	public boolean isHeapAwareClustering() {
+		return isHeapAwareClustering;
+	}
+}
@@ -10,9 +10,12 @@
  */
 package org.eclipse.n4js.xtext.ide.server.build;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
@@ -22,7 +25,10 @@ import org.eclipse.lsp4j.DidSaveTextDocumentParams;
 import org.eclipse.lsp4j.FileChangeType;
 import org.eclipse.lsp4j.FileEvent;
 import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService;
+import org.eclipse.n4js.xtext.ide.server.WorkspaceBuilderConfig;
 import org.eclipse.n4js.xtext.ide.server.util.ParamHelper;
+import org.eclipse.n4js.xtext.workspace.ProjectConfigSnapshot;
+import org.eclipse.n4js.xtext.workspace.SourceFolderSnapshot;
 import org.eclipse.n4js.xtext.workspace.WorkspaceConfigSnapshot;
 import org.eclipse.xtext.validation.Issue;
 
@@ -52,6 +58,15 @@ public class BuilderFrontend {
 	@Inject
 	private ConcurrentIndex concurrentIndex;
 
+	@Inject
+	private WorkspaceBuilderConfig builderConfig;
+
+	@Inject
+	private SourceFileScanner sourceFileScanner;
+
+	@Inject
+	private SourceFileWatcher sourceFileWatcher;
+
 	/**
 	 * Returns the base directory of the workspace.
 	 */
@@ -89,7 +104,8 @@ public class BuilderFrontend {
 	 * Trigger an initial build in the background.
 	 */
 	public void initialBuild() {
-		asyncRunBuildTask("initialBuild", workspaceBuilder::createInitialBuildTask);
+		asyncRunBuildTask("initialBuild", workspaceBuilder::createInitialBuildTask)
+				.whenComplete((result, throwable) -> watchSourceFolders());
 	}
 
 	/**
@@ -105,7 +121,8 @@ public class BuilderFrontend {
 	 * Triggers rebuild of the whole workspace
 	 */
 	public void reinitWorkspace() {
-		asyncRunBuildTask("reinitWorkspace", workspaceBuilder::createReinitialBuildTask);
+		asyncRunBuildTask("reinitWorkspace", workspaceBuilder::createReinitialBuildTask)
+				.whenComplete((result, throwable) -> watchSourceFolders());
 	}
 
 	/**
@@ -118,7 +135,8 @@ public class BuilderFrontend {
 	 */
 	public void refresh() {
 		asyncRunBuildTask("refresh", () -> workspaceBuilder.createIncrementalBuildTask(Collections.emptyList(),
-				Collections.emptyList(), true));
+				Collections.emptyList(), true))
+						.whenComplete((result, throwable) -> watchSourceFolders());
 	}
 
 	/**
@@ -163,6 +181,60 @@ public class BuilderFrontend {
 		}
 	}
 
+	/**
+	 * Starts watching the source folders of all projects with the {@link SourceFileWatcher}, if enabled in the
+	 * {@link WorkspaceBuilderConfig}, or updates the watched folders after the workspace configuration has changed.
+	 * Changes detected by the watcher trigger an incremental build just like 'didChangeWatchedFiles' notifications.
+	 */
+	protected void watchSourceFolders() {
+		if (!builderConfig.isWatchFileSystem()) {
+			return;
+		}
+		Set<Path> roots = new LinkedHashSet<>();
+		for (ProjectConfigSnapshot project : concurrentIndex.getWorkspaceConfigSnapshot().getProjects()) {
+			for (SourceFolderSnapshot sourceFolder : project.getSourceFolders()) {
+				Path root = sourceFileScanner.toPath(sourceFolder.getPath());
+				if (root != null) {
+					roots.add(root);
+				}
+			}
+		}
+		sourceFileWatcher.watch(roots, this::didChangeSourceFiles);
+	}
+
+	/** Invoked by the {@link SourceFileWatcher} with the files that changed on disk. */
+	private void didChangeSourceFiles(List<URI> changedFiles, List<URI> removedFiles) {
+		WorkspaceConfigSnapshot workspaceConfig = concurrentIndex.getWorkspaceConfigSnapshot();
+		List<URI> dirtyFiles = new ArrayList<>();
+		for (URI uri : changedFiles) {
+			if (isWatchedSourceFile(workspaceConfig, uri)) {
+				dirtyFiles.add(uri);
+			}
+		}
+		List<URI> deletedFiles = new ArrayList<>();
+		for (URI uri : removedFiles) {
+			if (isWatchedSourceFile(workspaceConfig, uri)) {
+				deletedFiles.add(uri);
+			}
+		}
+		if (!dirtyFiles.isEmpty() || !deletedFiles.isEmpty()) {
+			asyncRunBuildTask("sourceFileWatcher",
+					() -> workspaceBuilder.createIncrementalBuildTask(dirtyFiles, deletedFiles, false))
+							// changes of project descriptions may have changed the source folders
+							.whenComplete((result, throwable) -> watchSourceFolders());
+		}
+	}
+
+	/**
+	 * Tells whether a change of the given URI reported by the {@link SourceFileWatcher} is to be considered by the
+	 * builder. Unlike {@link #isSourceFile(WorkspaceConfigSnapshot, URI)}, only files contained in a source folder are
+	 * considered, because source folders may be nested in watched folders, e.g. the output folder in the project
+	 * folder.
+	 */
+	protected boolean isWatchedSourceFile(WorkspaceConfigSnapshot workspaceConfig, URI uri) {
+		return workspaceConfig.findSourceFolderContaining(uri) != null && isSourceFile(workspaceConfig, uri);
+	}
+
 	/**
 	 * Tells whether the given URI denotes a source file to be considered by the builder. This is used for an early
 	 * filtering of file events, i.e. URIs for which this method returns <code>false</code> will not trigger an
@@ -196,6 +268,7 @@ public class BuilderFrontend {
 	 * Initiate an orderly shutdown.
 	 */
 	public void shutdown() {
+		sourceFileWatcher.stop();
 		queuedExecutorService.shutdown();
 	}
 
@@ -11,7 +11,6 @@
 package org.eclipse.n4js.xtext.ide.server.build;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -19,6 +18,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.n4js.xtext.workspace.ConfigSnapshotFactory;
@@ -31,8 +31,8 @@ import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -41,6 +41,11 @@ import com.google.inject.Singleton;
  * {@link ConcurrentMap} but with some added functionality such as tracking visible projects and support for
  * {@link IIndexListener listeners}.
  * <p>
+ * The project indices and the workspace configuration are kept in an immutable {@link State state} that is replaced
+ * atomically by each modification. Thus, reading from this index never blocks, even while the builder is updating it,
+ * and readers always see a consistent combination of project indices and workspace configuration. Modifications are
+ * serialized among each other.
+ * <p>
  * IMPORTANT: just as {@link ConcurrentMap}, this class does not ensure the thread-safety of the values (i.e. the
  * {@link ResourceDescriptionsData} instances) being passed in. Thus, client code must either
  * <ul>
@@ -55,13 +60,29 @@ public class ConcurrentIndex {
 	@Inject
 	private ConfigSnapshotFactory configSnapshotFactory;
 
-	/** Map of all project indices. */
-	private final Map<String, ResourceDescriptionsData> projectID2Index = new HashMap<>();
-	/** A snapshot of the current workspace configuration. */
-	private WorkspaceConfigSnapshot workspaceConfig = null;
+	/** The current state; replaced as a whole on every modification. */
+	private final AtomicReference<State> state = new AtomicReference<>(State.EMPTY);
+	/** Serializes modifications; never acquired by readers. */
+	private final Object writeLock = new Object();
 	/** Registered listeners. */
 	private final List<IIndexListener> listeners = new CopyOnWriteArrayList<>();
 
+	/** An immutable snapshot of the project indices and the workspace configuration. */
+	private static final class State {
+		static final State EMPTY = new State(ImmutableMap.of(), null);
+
+		/** Map of all project indices. */
+		final ImmutableMap<String, ResourceDescriptionsData> projectID2Index;
+		/** A snapshot of the current workspace configuration. */
+		final WorkspaceConfigSnapshot workspaceConfig;
+
+		State(ImmutableMap<String, ResourceDescriptionsData> projectID2Index,
+				WorkspaceConfigSnapshot workspaceConfig) {
+			this.projectID2Index = projectID2Index;
+			this.workspaceConfig = workspaceConfig;
+		}
+	}
+
 	/** Listens for changes in a {@link ConcurrentIndex}. */
 	public interface IIndexListener {
 		/**
@@ -82,15 +103,14 @@ public class ConcurrentIndex {
 
 	/** Set an initial workspace configuration. */
 	public void initialize(WorkspaceConfigSnapshot initialWorkspaceConfig) {
-		ImmutableSet.Builder<String> removedProjectIDsBuilder = ImmutableSet.builder();
-		synchronized (this) {
-			if (workspaceConfig != null) {
-				removedProjectIDsBuilder.addAll(projectID2Index.keySet());
-			}
-			projectID2Index.clear();
-			workspaceConfig = initialWorkspaceConfig;
+		ImmutableSet<String> removedProjectIDs;
+		synchronized (writeLock) {
+			State oldState = state.get();
+			removedProjectIDs = oldState.workspaceConfig != null
+					? oldState.projectID2Index.keySet()
+					: ImmutableSet.of();
+			state.set(new State(ImmutableMap.of(), initialWorkspaceConfig));
 		}
-		ImmutableSet<String> removedProjectIDs = removedProjectIDsBuilder.build();
 		notifyListeners(initialWorkspaceConfig, ImmutableMap.of(),
 				ImmutableList.copyOf(initialWorkspaceConfig.getProjects()), removedProjectIDs);
 	}
@@ -99,30 +119,30 @@ public class ConcurrentIndex {
 	public void removeAllProjects() {
 		ImmutableSet<String> removedProjectIDs;
 		WorkspaceConfigSnapshot workspaceConfigNew;
-		synchronized (this) {
-			removedProjectIDs = ImmutableSet.copyOf(projectID2Index.keySet());
-			projectID2Index.clear();
-			workspaceConfigNew = configSnapshotFactory.clear(workspaceConfig);
-			workspaceConfig = workspaceConfigNew;
+		synchronized (writeLock) {
+			State oldState = state.get();
+			removedProjectIDs = oldState.projectID2Index.keySet();
+			workspaceConfigNew = configSnapshotFactory.clear(oldState.workspaceConfig);
+			state.set(new State(ImmutableMap.of(), workspaceConfigNew));
 		}
 		notifyListeners(workspaceConfigNew, ImmutableMap.of(), ImmutableList.of(), removedProjectIDs);
 	}
 
 	/** Returns the index for the given project name or <code>null</code> if no such project name exists. */
-	public synchronized ResourceDescriptionsData getProjectIndex(String projectID) {
+	public ResourceDescriptionsData getProjectIndex(String projectID) {
 		Objects.requireNonNull(projectID);
-		return projectID2Index.get(projectID);
+		return state.get().projectID2Index.get(projectID);
 	}
 
 	/** Returns the current configuration of the workspace. */
-	public synchronized WorkspaceConfigSnapshot getWorkspaceConfigSnapshot() {
-		return workspaceConfig;
+	public WorkspaceConfigSnapshot getWorkspaceConfigSnapshot() {
+		return state.get().workspaceConfig;
 	}
 
 	/** Returns the project configuration of the given project name. */
-	public synchronized ProjectConfigSnapshot getProjectConfig(String projectID) {
+	public ProjectConfigSnapshot getProjectConfig(String projectID) {
 		Objects.requireNonNull(projectID);
-		return workspaceConfig.findProjectByID(projectID);
+		return state.get().workspaceConfig.findProjectByID(projectID);
 	}
 
 	/** Sets the index for the given project name. */
@@ -131,9 +151,11 @@ public class ConcurrentIndex {
 		Objects.requireNonNull(projectIndex);
 		ResourceDescriptionsData oldProjectIndex;
 		WorkspaceConfigSnapshot currWorkspaceConfig;
-		synchronized (this) {
-			oldProjectIndex = projectID2Index.put(projectID, projectIndex);
-			currWorkspaceConfig = workspaceConfig;
+		synchronized (writeLock) {
+			State oldState = state.get();
+			oldProjectIndex = oldState.projectID2Index.get(projectID);
+			currWorkspaceConfig = oldState.workspaceConfig;
+			state.set(new State(put(oldState.projectID2Index, projectID, projectIndex), currWorkspaceConfig));
 		}
 		if ((oldProjectIndex != null && !oldProjectIndex.isEmpty()) || !projectIndex.isEmpty()) {
 			// check avoids many notifications during initialization
@@ -143,6 +165,25 @@ public class ConcurrentIndex {
 		return oldProjectIndex;
 	}
 
+	/** Returns a copy of the given map with the given entry added or replaced, retaining the order of the keys. */
+	private static ImmutableMap<String, ResourceDescriptionsData> put(
+			ImmutableMap<String, ResourceDescriptionsData> map, String key, ResourceDescriptionsData value) {
+
+		ImmutableMap.Builder<String, ResourceDescriptionsData> builder = ImmutableMap
+				.builderWithExpectedSize(map.size() + 1);
+		for (Entry<String, ResourceDescriptionsData> entry : map.entrySet()) {
+			if (!entry.getKey().equals(key)) {
+				builder.put(entry);
+			} else {
+				builder.put(key, value);
+			}
+		}
+		if (!map.containsKey(key)) {
+			builder.put(key, value);
+		}
+		return builder.build();
+	}
+
 	/** Sets the contents of the project with the given name to the empty set, but does not remove the project. */
 	public ResourceDescriptionsData clearProjectIndex(String projectID) {
 		return setProjectIndex(projectID, new ResourceDescriptionsData(Collections.emptyList()));
@@ -162,20 +203,21 @@ public class ConcurrentIndex {
 		ImmutableList<? extends ProjectConfigSnapshot> changedProjectsCpy = ImmutableList.copyOf(changedProjects);
 		ImmutableSet<String> removedProjectIDsCpy = ImmutableSet.copyOf(removedProjectIDs);
 		WorkspaceConfigSnapshot newWorkspaceConfig;
-		ImmutableSet.Builder<String> actuallyRemovedProjectsBuilder = ImmutableSet.builder();
-		synchronized (this) {
-			for (String removedProjectID : removedProjectIDsCpy) {
-				if (projectID2Index.remove(removedProjectID) != null) {
-					actuallyRemovedProjectsBuilder.add(removedProjectID);
-				}
-			}
+		ImmutableSet<String> actuallyRemovedProjects;
+		synchronized (writeLock) {
+			State oldState = state.get();
+			actuallyRemovedProjects = Sets.intersection(removedProjectIDsCpy, oldState.projectID2Index.keySet())
+					.immutableCopy();
+			ImmutableMap<String, ResourceDescriptionsData> newProjectID2Index = actuallyRemovedProjects.isEmpty()
+					? oldState.projectID2Index
+					: ImmutableMap.copyOf(Maps.filterKeys(oldState.projectID2Index,
+							projectID -> !actuallyRemovedProjects.contains(projectID)));
 
-			newWorkspaceConfig = configSnapshotFactory.update(workspaceConfig, changedProjectsCpy,
+			newWorkspaceConfig = configSnapshotFactory.update(oldState.workspaceConfig, changedProjectsCpy,
 					removedProjectIDsCpy);
 
-			workspaceConfig = newWorkspaceConfig;
+			state.set(new State(newProjectID2Index, newWorkspaceConfig));
 		}
-		ImmutableSet<String> actuallyRemovedProjects = actuallyRemovedProjectsBuilder.build();
 		if (!changedProjectsCpy.isEmpty() || !actuallyRemovedProjects.isEmpty()) {
 			notifyListeners(newWorkspaceConfig, ImmutableMap.of(), changedProjectsCpy, actuallyRemovedProjects);
 		}
@@ -188,12 +230,8 @@ public class ConcurrentIndex {
 	 * The caveat regarding the non-thread-safety of {@link ResourceDescriptionsData} still applies, see
 	 * {@link ConcurrentIndex} for details.
 	 */
-	public synchronized ImmutableList<Entry<String, ResourceDescriptionsData>> entries() {
-		return ImmutableList.<Entry<String, ResourceDescriptionsData>> builder()
-				.addAll(Iterables.transform(
-						projectID2Index.entrySet(),
-						e -> Maps.immutableEntry(e.getKey(), e.getValue())))
-				.build();
+	public ImmutableList<Entry<String, ResourceDescriptionsData>> entries() {
+		return state.get().projectID2Index.entrySet().asList();
 	}
 
 	/** Adds the given listener. */
@@ -219,12 +257,12 @@ public class ConcurrentIndex {
 	}
 
 	/** Create a snapshot of this index. */
-	public synchronized ChunkedResourceDescriptions toDescriptions() {
-		return new ChunkedResourceDescriptions(projectID2Index);
+	public ChunkedResourceDescriptions toDescriptions() {
+		return new ChunkedResourceDescriptions(state.get().projectID2Index);
 	}
 
 	/** Create a snapshot of this index and attach it to the given resource set. */
-	public synchronized ChunkedResourceDescriptions toDescriptions(ResourceSet resourceSet) {
-		return new ChunkedResourceDescriptions(projectID2Index, resourceSet);
+	public ChunkedResourceDescriptions toDescriptions(ResourceSet resourceSet) {
+		return new ChunkedResourceDescriptions(state.get().projectID2Index, resourceSet);
 	}
 }
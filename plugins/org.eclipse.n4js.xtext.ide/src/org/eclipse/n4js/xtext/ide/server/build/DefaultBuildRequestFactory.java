@@ -13,8 +13,8 @@ package org.eclipse.n4js.xtext.ide.server.build;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.n4js.xtext.workspace.ProjectConfigSnapshot;
@@ -29,7 +29,8 @@ import com.google.inject.Singleton;
  */
 @Singleton
 public class DefaultBuildRequestFactory implements IBuildRequestFactory {
-	private final List<OnPostCreateListener> onPostCreateListeners = new LinkedList<>();
+	/** Thread-safe, because build requests may be created concurrently (see {@link ParallelBuildScheduler}). */
+	private final List<OnPostCreateListener> onPostCreateListeners = new CopyOnWriteArrayList<>();
 
 	@Override
 	public XBuildRequest createEmptyBuildRequest(WorkspaceConfigSnapshot workspaceConfig,
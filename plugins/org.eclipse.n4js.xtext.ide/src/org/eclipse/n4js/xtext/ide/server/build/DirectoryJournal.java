@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server.build;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records the contents of the directories of a project as seen by the last scan for source files, i.e. the names of
+ * the files and sub directories of each directory together with the modification time of the directory.
+ * <p>
+ * Since adding, removing or renaming an entry of a directory updates the modification time of that directory, a
+ * directory whose modification time did not change since it was recorded need not be listed again, e.g. after a
+ * restart; only its attributes are read. Changes of the contents of files are not tracked here, but by the
+ * {@link HashedFileContent fingerprints}, so the attributes of each file are still read once per scan.
+ * <p>
+ * The journal is persisted next to the project state (see {@link ProjectStatePersister#writeDirectoryJournal}).
+ * Instances are thread-safe.
+ */
+final class DirectoryJournal {
+
+	/** The recorded contents of a single directory. */
+	static final class Entry {
+		/** The modification time of the directory or {@link HashedFileContent#UNKNOWN}. */
+		final long lastModified;
+		/** The names of the files in the directory. */
+		final String[] files;
+		/** The names of the sub directories of the directory. */
+		final String[] directories;
+
+		Entry(long lastModified, String[] files, String[] directories) {
+			this.lastModified = lastModified;
+			this.files = files;
+			this.directories = directories;
+		}
+	}
+
+	private final Map<Path, Entry> entries = new HashMap<>();
+
+	private boolean modified = false;
+
+	/** Returns the recorded entry of the given directory if it is still valid for the given modification time. */
+	synchronized Entry get(Path directory, long lastModified) {
+		Entry entry = entries.get(directory);
+		if (entry != null && entry.lastModified != HashedFileContent.UNKNOWN && entry.lastModified == lastModified) {
+			return entry;
+		}
+		return null;
+	}
+
+	/** Records the contents of the given directory. */
+	synchronized void put(Path directory, Entry entry) {
+		entries.put(directory, entry);
+		modified = true;
+	}
+
+	/** Removes the entries of all directories in the given root directory that are not contained in the given set. */
+	synchronized void retain(Path root, Set<Path> visited) {
+		Iterator<Path> iter = entries.keySet().iterator();
+		while (iter.hasNext()) {
+			Path directory = iter.next();
+			if (directory.startsWith(root) && !visited.contains(directory)) {
+				iter.remove();
+				modified = true;
+			}
+		}
+	}
+
+	/** Removes all entries. */
+	synchronized void clear() {
+		modified |= !entries.isEmpty();
+		entries.clear();
+	}
+
+	/** Returns the number of recorded directories. */
+	synchronized int size() {
+		return entries.size();
+	}
+
+	/** Tells whether this journal was changed since it was created, read or {@link #write(DataOutput) written}. */
+	synchronized boolean isModified() {
+		return modified;
+	}
+
+	/** Writes this journal to the given output. */
+	synchronized void write(DataOutput output) throws IOException {
+		output.writeInt(entries.size());
+		for (Map.Entry<Path, Entry> mapEntry : entries.entrySet()) {
+			Entry entry = mapEntry.getValue();
+			output.writeUTF(mapEntry.getKey().toString());
+			output.writeLong(entry.lastModified);
+			writeNames(entry.files, output);
+			writeNames(entry.directories, output);
+		}
+		modified = false;
+	}
+
+	private static void writeNames(String[] names, DataOutput output) throws IOException {
+		output.writeInt(names.length);
+		for (String name : names) {
+			output.writeUTF(name);
+		}
+	}
+
+	/** Reads a journal from the given input. */
+	static DirectoryJournal read(DataInput input) throws IOException {
+		DirectoryJournal result = new DirectoryJournal();
+		int size = input.readInt();
+		for (int i = 0; i < size; i++) {
+			Path directory = Paths.get(input.readUTF());
+			long lastModified = input.readLong();
+			String[] files = readNames(input);
+			String[] directories = readNames(input);
+			result.entries.put(directory, new Entry(lastModified, files, directories));
+		}
+		return result;
+	}
+
+	private static String[] readNames(DataInput input) throws IOException {
+		String[] result = new String[input.readInt()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = input.readUTF();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.xtext.ide.server.WorkspaceBuilderConfig;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Creates the {@link HashedFileContent fingerprints} of source files.
+ * <p>
+ * The hash of a previous fingerprint is reused without reading the file if the modification time and size of the file
+ * did not change. Larger numbers of files are fingerprinted concurrently by up to
+ * {@link WorkspaceBuilderConfig#getBuildThreads()} threads.
+ */
+@Singleton
+public class FileFingerprintService {
+
+	/** Minimum number of files that are fingerprinted concurrently. */
+	private static final int MIN_FILES_FOR_PARALLEL_HASHING = 16;
+
+	@Inject
+	private WorkspaceBuilderConfig builderConfig;
+
+	private ThreadPoolExecutor pool;
+
+	/**
+	 * Returns the fingerprint of the file with the given URI or <code>null</code> if the file does not exist or cannot
+	 * be read.
+	 *
+	 * @param previous
+	 *            a previous fingerprint of the file or <code>null</code>. Returned as is if the modification time and
+	 *            size of the file are unchanged.
+	 */
+	public HashedFileContent getFingerprint(URI uri, HashedFileContent previous) {
+		try {
+			File file = new File(uri.path());
+			if (previous != null) {
+				BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+				if (!attributes.isRegularFile()) {
+					return null;
+				}
+				if (previous.hasSameMetadata(attributes.lastModifiedTime().toMillis(), attributes.size())) {
+					return previous;
+				}
+			} else if (!file.isFile()) {
+				return null;
+			}
+			return new HashedFileContent(uri, file);
+		} catch (IOException e) {
+			// includes NoSuchFileException
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the fingerprints of the files with the given URIs, see {@link #getFingerprint(URI, HashedFileContent)}.
+	 * The returned map has the same iteration order as the given map and contains no entries for files that do not
+	 * exist.
+	 *
+	 * @param previous
+	 *            maps the URIs of the files to fingerprint to their previous fingerprints; values may be
+	 *            <code>null</code>.
+	 */
+	public Map<URI, HashedFileContent> getFingerprints(Map<URI, HashedFileContent> previous) {
+		Map<URI, HashedFileContent> result = new LinkedHashMap<>();
+		int threads = builderConfig.getBuildThreads();
+		if (previous.size() < MIN_FILES_FOR_PARALLEL_HASHING || threads < 2) {
+			previous.forEach((uri, prev) -> {
+				HashedFileContent fingerprint = getFingerprint(uri, prev);
+				if (fingerprint != null) {
+					result.put(uri, fingerprint);
+				}
+			});
+			return result;
+		}
+
+		ThreadPoolExecutor executor = getPool(threads);
+		List<Future<HashedFileContent>> futures = new ArrayList<>(previous.size());
+		previous.forEach((uri, prev) -> futures.add(executor.submit(() -> getFingerprint(uri, prev))));
+		Throwable failure = null;
+		for (Future<HashedFileContent> future : futures) {
+			try {
+				HashedFileContent fingerprint = Uninterruptibles.getUninterruptibly(future);
+				if (fingerprint != null) {
+					result.put(fingerprint.getUri(), fingerprint);
+				}
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause();
+				}
+			}
+		}
+		if (failure != null) {
+			Throwables.throwIfUnchecked(failure);
+			throw new RuntimeException(failure);
+		}
+		return result;
+	}
+
+	private synchronized ThreadPoolExecutor getPool(int threads) {
+		if (pool == null) {
+			ThreadFactory threadFactory = new ThreadFactoryBuilder()
+					.setNameFormat("FileFingerprintService-%d")
+					.setDaemon(true)
+					.build();
+			pool = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+					threadFactory);
+			// threads are only needed while the workspace is scanned for changes
+			pool.allowCoreThreadTimeOut(true);
+		} else if (pool.getMaximumPoolSize() != threads) {
+			if (threads > pool.getMaximumPoolSize()) {
+				pool.setMaximumPoolSize(threads);
+				pool.setCorePoolSize(threads);
+			} else {
+				pool.setCorePoolSize(threads);
+				pool.setMaximumPoolSize(threads);
+			}
+		}
+		return pool;
+	}
+}
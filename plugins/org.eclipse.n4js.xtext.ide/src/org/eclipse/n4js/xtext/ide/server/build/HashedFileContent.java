@@ -13,56 +13,105 @@ package org.eclipse.n4js.xtext.ide.server.build;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 
 import org.eclipse.emf.common.util.URI;
-import org.eclipse.n4js.utils.URIUtils;
 
-import com.google.common.hash.Funnels;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 
 /**
- * A naive mapping of URIs to content hashes.
+ * A mapping of URIs to content hashes.
+ * <p>
+ * The hash is computed from the content of the file, which is read at once or, if it is large, memory mapped instead
+ * of streamed. In addition, the modification time and size of the file are recorded, so that a later fingerprint of
+ * an unmodified file can reuse the hash without reading the file again (see {@link #hasSameMetadata(long, long)}).
  */
 public class HashedFileContent {
 
+	/** Value of {@link #getLastModified()} and {@link #getSize()} if unknown. */
+	public static final long UNKNOWN = -1;
+
+	/**
+	 * Files modified less than this many milliseconds before they are hashed do not record their modification time,
+	 * because a modification within the granularity of the file system's time stamps could go unnoticed otherwise.
+	 */
+	static final long MIN_AGE_FOR_METADATA = 2000;
+
+	/**
+	 * Files of at least this many bytes are memory mapped. Smaller files are read into a buffer, since mapping a file
+	 * costs more than reading it unless the file is large.
+	 */
+	static final long MIN_MAPPED_SIZE = 1024 * 1024;
+
+	/** Maximum number of bytes that are mapped at once. */
+	private static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
 	private static final HashFunction hashFunction = Hashing.murmur3_128();
 
 	private final URI uri;
 	private final long hash;
+	private final long lastModified;
+	private final long size;
 
 	/** Create a fingerprint of the given file at the given location. */
 	public HashedFileContent(URI uri, File file) throws IOException {
+		BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		long modified = attributes.lastModifiedTime().toMillis();
 		this.uri = uri;
-		String ext = URIUtils.fileExtension(uri);
-		if (ext == null || "ts".equals(ext) || "js".equals(ext) || "jsx".equals(ext) || "map".equals(ext)
-				|| "md".equals(ext)
-				|| "hbs".equals(ext)
-				|| "json".equals(ext) && !"package.json".equals(uri.lastSegment())) {
-			this.hash = file.length();
-		} else {
-			Hasher hasher = hashFunction.newHasher();
-			try (InputStream s = new FileInputStream(file); OutputStream os = Funnels.asOutputStream(hasher);) {
-				s.transferTo(os);
-			}
-			this.hash = hasher.hash().asLong();
-		}
+		this.size = attributes.size();
+		this.lastModified = System.currentTimeMillis() - modified >= MIN_AGE_FOR_METADATA ? modified : UNKNOWN;
+		this.hash = computeHash(file);
 	}
 
 	/** Assign the given hash to the given uri */
 	public HashedFileContent(URI uri, long hash) {
+		this(uri, hash, UNKNOWN, UNKNOWN);
+	}
+
+	/** Assign the given hash, modification time and size to the given uri */
+	public HashedFileContent(URI uri, long hash, long lastModified, long size) {
 		this.uri = uri;
 		this.hash = hash;
+		this.lastModified = lastModified;
+		this.size = size;
+	}
+
+	private static long computeHash(File file) throws IOException {
+		Hasher hasher = hashFunction.newHasher();
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long length = channel.size();
+			if (length < MIN_MAPPED_SIZE) {
+				ByteBuffer buffer = ByteBuffer.allocate((int) length);
+				while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+					// read the entire file
+				}
+				buffer.flip();
+				hasher.putBytes(buffer);
+				return hasher.hash().asLong();
+			}
+			for (long position = 0; position < length; position += MAX_CHUNK_SIZE) {
+				MappedByteBuffer chunk = channel.map(MapMode.READ_ONLY, position,
+						Math.min(MAX_CHUNK_SIZE, length - position));
+				hasher.putBytes(chunk);
+			}
+		}
+		return hasher.hash().asLong();
 	}
 
 	HashedFileContent(DataInput input) throws IOException {
 		this.uri = URI.createURI(input.readUTF());
 		this.hash = input.readLong();
+		this.lastModified = UNKNOWN;
+		this.size = UNKNOWN;
 	}
 
 	void write(DataOutput out) throws IOException {
@@ -80,6 +129,25 @@ public class HashedFileContent {
 		return hash;
 	}
 
+	/** The modification time of the file in milliseconds or {@link #UNKNOWN}. */
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	/** The size of the file in bytes or {@link #UNKNOWN}. */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Tells whether the file had the given modification time and size when this fingerprint was created, i.e. whether
+	 * the {@link #getHash() hash} can be reused for a file with these attributes. Always false if the attributes of
+	 * this fingerprint are unknown.
+	 */
+	public boolean hasSameMetadata(long otherLastModified, long otherSize) {
+		return lastModified != UNKNOWN && size != UNKNOWN && lastModified == otherLastModified && size == otherSize;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
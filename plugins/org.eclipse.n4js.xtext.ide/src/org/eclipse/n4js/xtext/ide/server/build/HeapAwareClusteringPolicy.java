@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server.build;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
+
+/**
+ * A clustering policy that ends a cluster when the used heap exceeds a {@link #HIGH_WATER_MARK high water mark} and
+ * then {@link #evict(ResourceSet) evicts} only as many resources as needed to get back to the
+ * {@link #LOW_WATER_MARK low water mark}, instead of clearing the entire resource set.
+ * <p>
+ * The heap usage is measured after the last collection of the tenured memory pool, because the currently used heap
+ * includes garbage and would end clusters that would fit into the heap. Until the next collection, the usage after
+ * an eviction is estimated from the fraction of evicted resources.
+ * <p>
+ * Resources are evicted in least recently used order, based on the requests for resources reported via
+ * {@link #recordAccess(URI)}, e.g. by the linker. Resources that were requested frequently, like the modules many
+ * other modules depend on, are only evicted after all others. Thus, they usually stay resident across cluster
+ * boundaries instead of being loaded again by the next cluster.
+ * <p>
+ * Instances are stateful and must not be shared between resource sets.
+ */
+public class HeapAwareClusteringPolicy implements IResourceClusteringPolicy {
+
+	/** Fraction of the maximum heap size that ends a cluster when exceeded. */
+	public static final double HIGH_WATER_MARK = 0.75;
+
+	/** Fraction of the maximum heap size the usage is to be reduced to by an eviction. */
+	public static final double LOW_WATER_MARK = 0.5;
+
+	/** Minimum number of resources per cluster to avoid thrashing if the heap is mostly used by other objects. */
+	public static final int MIN_CLUSTER_SIZE = 20;
+
+	/** Number of requests after which a resource is considered to be hot. */
+	public static final int HOT_ACCESS_COUNT = 8;
+
+	private static final MemoryMXBean MEMORY_BEAN = ManagementFactory.getMemoryMXBean();
+
+	/** The pool of long-lived objects or <code>null</code> if the garbage collector does not have such a pool. */
+	private static final MemoryPoolMXBean TENURED_POOL = findTenuredPool();
+
+	/**
+	 * Number of requests per resource URI, in least recently used order. Halved by each eviction, resources without
+	 * requests are removed.
+	 */
+	private final LinkedHashMap<URI, Integer> accessCounts = new LinkedHashMap<>(256, 0.75f, true);
+
+	/** The {@link #getHeapUsageAfterCollection() heap usage after collection} at the time of the last eviction. */
+	private double usageAfterCollectionAtEviction = -1;
+
+	/** The estimated heap usage after the last eviction, valid until the next collection. */
+	private double estimatedUsage;
+
+	@Override
+	public boolean continueProcessing(ResourceSet resourceSet, URI next, int alreadyProcessed) {
+		return alreadyProcessed < MIN_CLUSTER_SIZE || getHeapUsage() < HIGH_WATER_MARK;
+	}
+
+	/** Records a request for the resource with the given URI. */
+	public synchronized void recordAccess(URI uri) {
+		accessCounts.merge(uri, 1, Integer::sum);
+	}
+
+	/**
+	 * Removes and unloads resources from the given resource set in least recently used order, cold resources first,
+	 * until the number of evicted resources is expected to reduce the heap usage to the low water mark. Notifications
+	 * are not delivered while resources are removed.
+	 *
+	 * @return the number of evicted resources.
+	 */
+	public int evict(ResourceSet resourceSet) {
+		List<Resource> candidates = getEvictionCandidates(resourceSet);
+		double usageAfterCollection = getHeapUsageAfterCollection();
+		double usage = getHeapUsage();
+		int count = usage <= LOW_WATER_MARK ? 0
+				: (int) Math.ceil(candidates.size() * (1 - LOW_WATER_MARK / usage));
+		List<Resource> evicted = candidates.subList(0, Math.min(count, candidates.size()));
+		boolean wasDeliver = resourceSet.eDeliver();
+		try {
+			resourceSet.eSetDeliver(false);
+			for (Resource resource : evicted) {
+				// unloading turns references from resident resources into proxies, so the memory can be reclaimed
+				resource.unload();
+			}
+			resourceSet.getResources().removeAll(evicted);
+		} finally {
+			resourceSet.eSetDeliver(wasDeliver);
+		}
+		synchronized (this) {
+			for (Resource resource : evicted) {
+				accessCounts.remove(resource.getURI());
+			}
+			// let formerly hot resources cool down over time and forget the ones that were not requested recently, so
+			// the map does not grow with every resource that was ever requested
+			Iterator<Map.Entry<URI, Integer>> iterator = accessCounts.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<URI, Integer> entry = iterator.next();
+				int accessCount = entry.getValue() / 2;
+				if (accessCount == 0) {
+					iterator.remove();
+				} else {
+					entry.setValue(accessCount);
+				}
+			}
+			if (!evicted.isEmpty()) {
+				usageAfterCollectionAtEviction = usageAfterCollection;
+				estimatedUsage = usage * (candidates.size() - evicted.size()) / candidates.size();
+			}
+		}
+		onEvicted(evicted);
+		return evicted.size();
+	}
+
+	/** Returns the evictable resources of the given resource set, ordered by priority of eviction. */
+	private List<Resource> getEvictionCandidates(ResourceSet resourceSet) {
+		Map<URI, Integer> rank = new HashMap<>();
+		synchronized (this) {
+			int i = 0;
+			for (Map.Entry<URI, Integer> entry : accessCounts.entrySet()) {
+				boolean hot = entry.getValue() >= HOT_ACCESS_COUNT;
+				rank.put(entry.getKey(), hot ? accessCounts.size() + i : i);
+				i++;
+			}
+		}
+		List<Resource> result = new ArrayList<>();
+		for (Resource resource : new ArrayList<>(resourceSet.getResources())) {
+			if (isEvictable(resource)) {
+				result.add(resource);
+			}
+		}
+		// resources that were never requested via the resource set come first
+		result.sort(Comparator.comparingInt(resource -> rank.getOrDefault(resource.getURI(), -1)));
+		return result;
+	}
+
+	/** Tells whether the given resource may be evicted. By default, all resources may be evicted. */
+	protected boolean isEvictable(@SuppressWarnings("unused") Resource resource) {
+		return true;
+	}
+
+	/** Invoked after the given resources were evicted. Does nothing by default. */
+	protected void onEvicted(@SuppressWarnings("unused") List<Resource> evicted) {
+		// nothing to do
+	}
+
+	/**
+	 * Returns the {@link #getHeapUsageAfterCollection() heap usage after the last collection} or, if it did not change
+	 * since the last eviction, i.e. no collection happened in the meantime, the usage estimated by that eviction.
+	 */
+	protected double getHeapUsage() {
+		double usageAfterCollection = getHeapUsageAfterCollection();
+		synchronized (this) {
+			if (usageAfterCollection == usageAfterCollectionAtEviction) {
+				return estimatedUsage;
+			}
+		}
+		return usageAfterCollection;
+	}
+
+	/**
+	 * Returns the used memory of the tenured pool after its last collection as a fraction of the pool's maximum size
+	 * or, if the maximum is undefined, of its committed size. Falls back to the currently used heap if there is no
+	 * tenured pool.
+	 */
+	protected double getHeapUsageAfterCollection() {
+		MemoryUsage usage = TENURED_POOL != null ? TENURED_POOL.getCollectionUsage() : null;
+		if (usage == null) {
+			usage = MEMORY_BEAN.getHeapMemoryUsage();
+		}
+		long max = usage.getMax() > 0 ? usage.getMax() : usage.getCommitted();
+		return max > 0 ? (double) usage.getUsed() / max : 0;
+	}
+
+	private static MemoryPoolMXBean findTenuredPool() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			// the young generation pools do not support usage thresholds
+			if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported()
+					&& pool.isCollectionUsageThresholdSupported()) {
+				return pool;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,838 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server.build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.ENamedElement;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.n4js.xtext.ide.server.build.ProjectStatePersister.URITransformer;
+import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableReferenceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.eclipse.xtext.validation.CheckType;
+import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.validation.Issue.IssueImpl;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Reads and writes the uncompressed, random access file format of the project state (version 4 of the
+ * {@link ProjectStatePersister}). The format is designed to be memory mapped:
+ * only the parts of the project state that are required to build the index are decoded eagerly, i.e. URIs,
+ * {@link EClass EClasses} and qualified names of the exported objects. User data of exported objects (which includes
+ * the serialized TModule), reference descriptions, imported names and validation issues are decoded on first access.
+ * <p>
+ * All strings are stored only once in a string pool and referenced by their index; index {@code -1} denotes
+ * <code>null</code>. All numbers are big-endian, all offsets are relative to the start of the respective section.
+ *
+ * <pre>
+ * - Version byte (written by the caller)
+ * - Magic number {@link #MAGIC}
+ * - Language version: length, UTF-8 bytes
+ * - Number #s of strings in the string pool
+ * - Size in bytes of the string pool, the index section and the data section
+ * - String pool: #s times length, UTF-8 bytes
+ * - Index section:
+ * 	- Number #r of resource descriptions
+ * 	- #r times:
+ * 		- URI of the resource
+ * 		- offset of the references and imported names in the data section
+ * 		- Number #o of exported objects
+ * 		- #o times: object URI, EClass URI, qualified name, offset of the user data in the data section or -1
+ * 	- Number #g of generated files
+ * 	- #g times: generated URI, output configuration name, number #gs of sources, #gs times a source URI
+ * 	- Number #f of fingerprints
+ * 	- #f times: URI, hash, modification time and size of the file
+ * 	- Number #vs of source files that have issues
+ * 	- #vs times: source URI, number #vi of issues, #vi times the offset of the issue in the data section
+ * 	- Number #d of dependencies
+ * 	- #d times: project name, a boolean telling whether the dependency existed
+ * - Data section: user data, references and imported names, validation issues
+ * </pre>
+ *
+ * User data values are stored with a leading flag that tells whether the value consists of ISO-8859-1 characters only,
+ * which are stored as one byte each, or as UTF-8 bytes. This keeps binary data encoded as an ISO-8859-1 string (like
+ * the serialized modules) at its original size.
+ *
+ * A qualified name is stored as its number of segments followed by the segments.
+ */
+@SuppressWarnings("restriction")
+final class MappedProjectStateFormat {
+
+	/** Distinguishes this format from a corrupted file with a matching version byte. */
+	static final int MAGIC = 0x50535441; // "PSTA"
+
+	private static final Severity[] SEVERITIES = Severity.values();
+
+	private static final CheckType[] CHECK_TYPES = CheckType.values();
+
+	private MappedProjectStateFormat() {
+		// no instances
+	}
+
+	/** Writes a project state in the mapped format. Not thread-safe, use one instance per written state. */
+	static final class Writer {
+		private final URITransformer uriTransformer;
+		private final URI baseURI;
+
+		private final Map<String, Integer> stringIndices = new HashMap<>();
+		private final ByteArrayOutputStream stringPoolBytes = new ByteArrayOutputStream();
+		private final DataOutputStream stringPool = new DataOutputStream(stringPoolBytes);
+		private final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+		private final DataOutputStream index = new DataOutputStream(indexBytes);
+		private final ByteArrayOutputStream dataBytes = new ByteArrayOutputStream();
+		private final DataOutputStream data = new DataOutputStream(dataBytes);
+
+		Writer(URITransformer uriTransformer, URI baseURI) {
+			this.uriTransformer = uriTransformer;
+			this.baseURI = baseURI;
+		}
+
+		/** Writes the given state to the given stream, which is not closed. The version byte is not written. */
+		void write(String languageVersion, ImmutableProjectState state, OutputStream stream) throws IOException {
+			writeResourceDescriptions(state);
+			writeFileMappings(state);
+			writeFingerprints(state);
+			writeValidationIssues(state);
+			writeDependencies(state);
+
+			DataOutputStream output = new DataOutputStream(stream);
+			output.writeInt(MAGIC);
+			byte[] languageVersionBytes = languageVersion.getBytes(StandardCharsets.UTF_8);
+			output.writeInt(languageVersionBytes.length);
+			output.write(languageVersionBytes);
+			output.writeInt(stringIndices.size());
+			output.writeInt(stringPool.size());
+			output.writeInt(index.size());
+			output.writeInt(data.size());
+			stringPoolBytes.writeTo(output);
+			indexBytes.writeTo(output);
+			dataBytes.writeTo(output);
+			output.flush();
+		}
+
+		private void writeResourceDescriptions(ImmutableProjectState state) throws IOException {
+			Iterable<IResourceDescription> descriptions = state.getResourceDescriptions()
+					.getAllResourceDescriptions();
+			List<SerializableResourceDescription> serializable = new ArrayList<>();
+			for (IResourceDescription description : descriptions) {
+				if (description instanceof SerializableResourceDescription) {
+					serializable.add((SerializableResourceDescription) description);
+				} else {
+					throw new IOException("Unexpected type: " + description.getClass().getName());
+				}
+			}
+			index.writeInt(serializable.size());
+			for (SerializableResourceDescription description : serializable) {
+				index.writeInt(uri(description.getURI()));
+				index.writeInt(writeReferencesAndImportedNames(description));
+				List<SerializableEObjectDescription> objects = description.getDescriptions();
+				index.writeInt(objects.size());
+				for (SerializableEObjectDescription object : objects) {
+					index.writeInt(uri(object.getEObjectURI()));
+					index.writeInt(uri(EcoreUtil.getURI(object.getEClass())));
+					writeQualifiedName(object.getQualifiedName(), index);
+					index.writeInt(writeUserData(object.getUserData()));
+				}
+			}
+		}
+
+		private int writeUserData(Map<String, String> userData) throws IOException {
+			if (userData == null || userData.isEmpty()) {
+				return -1;
+			}
+			int offset = data.size();
+			data.writeInt(userData.size());
+			for (Map.Entry<String, String> entry : userData.entrySet()) {
+				data.writeInt(string(entry.getKey()));
+				// user data values tend to be very long and unique, so they are not added to the string pool
+				String value = entry.getValue();
+				boolean latin1 = isLatin1(value);
+				byte[] bytes = value.getBytes(latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+				data.writeBoolean(latin1);
+				data.writeInt(bytes.length);
+				data.write(bytes);
+			}
+			return offset;
+		}
+
+		private static boolean isLatin1(String value) {
+			for (int i = 0, length = value.length(); i < length; i++) {
+				if (value.charAt(i) > 0xFF) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private int writeReferencesAndImportedNames(SerializableResourceDescription description)
+				throws IOException {
+			int offset = data.size();
+			List<SerializableReferenceDescription> references = description.getReferences();
+			data.writeInt(references.size());
+			for (SerializableReferenceDescription reference : references) {
+				data.writeInt(uri(reference.getSourceEObjectUri()));
+				data.writeInt(uri(reference.getTargetEObjectUri()));
+				data.writeInt(uri(reference.getContainerEObjectURI()));
+				data.writeInt(uri(EcoreUtil.getURI(reference.getEReference())));
+				data.writeInt(reference.getIndexInList());
+			}
+			List<QualifiedName> importedNames = IterableExtensions.toList(description.getImportedNames());
+			data.writeInt(importedNames.size());
+			for (QualifiedName importedName : importedNames) {
+				writeQualifiedName(importedName, data);
+			}
+			return offset;
+		}
+
+		private void writeFileMappings(ImmutableProjectState state) throws IOException {
+			XSource2GeneratedMapping fileMappings = state.getFileMappings();
+			List<URI> allGenerated = fileMappings.getAllGenerated();
+			index.writeInt(allGenerated.size());
+			for (URI generated : allGenerated) {
+				index.writeInt(string(generated.toString()));
+				index.writeInt(string(fileMappings.getOutputConfigName(generated)));
+				List<URI> sources = fileMappings.getSource(generated);
+				index.writeInt(sources.size());
+				for (URI source : sources) {
+					index.writeInt(string(source.toString()));
+				}
+			}
+		}
+
+		private void writeFingerprints(ImmutableProjectState state) throws IOException {
+			Collection<HashedFileContent> files = state.getFileHashes().values();
+			index.writeInt(files.size());
+			for (HashedFileContent fingerprint : files) {
+				index.writeInt(string(fingerprint.getUri().toString()));
+				index.writeLong(fingerprint.getHash());
+				index.writeLong(fingerprint.getLastModified());
+				index.writeLong(fingerprint.getSize());
+			}
+		}
+
+		private void writeValidationIssues(ImmutableProjectState state) throws IOException {
+			Set<URI> allSources = state.getValidationIssues().keySet();
+			index.writeInt(allSources.size());
+			for (URI source : allSources) {
+				List<Issue> issues = state.getValidationIssues().get(source);
+				index.writeInt(uri(source));
+				index.writeInt(issues.size());
+				for (Issue issue : issues) {
+					index.writeInt(writeValidationIssue(issue));
+				}
+			}
+		}
+
+		private int writeValidationIssue(Issue issue) throws IOException {
+			int offset = data.size();
+			data.writeInt(issue.getOffset());
+			data.writeInt(issue.getLength());
+			data.writeInt(issue.getColumn());
+			data.writeInt(issue.getColumnEnd());
+			data.writeInt(issue.getLineNumber());
+			data.writeInt(issue.getLineNumberEnd());
+			data.writeInt(string(issue.getCode()));
+			data.writeInt(string(issue.getMessage()));
+			URI uriToProblem = issue.getUriToProblem();
+			data.writeInt(uriToProblem == null ? -1 : string(uriToProblem.toString()));
+			Severity severity = issue.getSeverity();
+			data.writeInt(severity == null ? 0 : severity.ordinal() + 1);
+			CheckType checkType = issue.getType();
+			data.writeInt(checkType == null ? 0 : checkType.ordinal() + 1);
+			String[] issueData = issue.getData();
+			if (issueData == null) {
+				data.writeInt(0);
+			} else {
+				data.writeInt(issueData.length);
+				for (String s : issueData) {
+					data.writeInt(string(s));
+				}
+			}
+			return offset;
+		}
+
+		private void writeDependencies(ImmutableProjectState state) throws IOException {
+			ImmutableMap<String, Boolean> dependencies = state.getDependencies();
+			index.writeInt(dependencies.size());
+			for (Map.Entry<String, Boolean> dep : dependencies.entrySet()) {
+				index.writeInt(string(dep.getKey()));
+				index.writeBoolean(dep.getValue());
+			}
+		}
+
+		private void writeQualifiedName(QualifiedName qualifiedName, DataOutputStream output) throws IOException {
+			output.writeInt(qualifiedName.getSegmentCount());
+			for (int i = 0, max = qualifiedName.getSegmentCount(); i < max; i++) {
+				output.writeInt(string(qualifiedName.getSegment(i)));
+			}
+		}
+
+		private int uri(URI uri) throws IOException {
+			return string(uriTransformer.serialize(baseURI, uri));
+		}
+
+		private int string(String value) throws IOException {
+			if (value == null) {
+				return -1;
+			}
+			Integer existing = stringIndices.get(value);
+			if (existing != null) {
+				return existing;
+			}
+			int idx = stringIndices.size();
+			stringIndices.put(value, idx);
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			stringPool.writeInt(bytes.length);
+			stringPool.write(bytes);
+			return idx;
+		}
+	}
+
+	/**
+	 * Reads a project state in the mapped format. The given buffer must not be modified afterwards, since lazily
+	 * decoded parts of the project state keep reading from it. Only absolute accesses are used on the buffer, so the
+	 * lazily decoded parts may be accessed from any thread.
+	 */
+	static final class Reader {
+		private final ByteBuffer buffer;
+		private final URITransformer uriTransformer;
+		private final URI baseURI;
+
+		private int[] stringOffsets;
+		private String[] strings;
+		private URI[] uris;
+		private int indexStart;
+		private int dataStart;
+
+		Reader(ByteBuffer buffer, URITransformer uriTransformer, URI baseURI) {
+			this.buffer = buffer;
+			this.uriTransformer = uriTransformer;
+			this.baseURI = baseURI;
+		}
+
+		/**
+		 * Reads the project state, starting at the current position of the buffer (i.e. after the version byte).
+		 *
+		 * @return the project state or <code>null</code> if the buffer does not contain this format or the language
+		 *         version does not match.
+		 */
+		ImmutableProjectState read(String expectedLanguageVersion) throws IOException {
+			if (buffer.remaining() < 4 || buffer.getInt(buffer.position()) != MAGIC) {
+				return null;
+			}
+			try {
+				Cursor header = new Cursor(buffer.position() + 4);
+				byte[] languageVersion = header.readBytes(header.readInt());
+				if (!expectedLanguageVersion.equals(new String(languageVersion, StandardCharsets.UTF_8))) {
+					return null;
+				}
+				int stringCount = header.readInt();
+				int stringPoolSize = header.readInt();
+				int indexSize = header.readInt();
+				int dataSize = header.readInt();
+				int stringPoolStart = header.pos;
+				indexStart = stringPoolStart + stringPoolSize;
+				dataStart = indexStart + indexSize;
+				if (stringCount < 0 || stringPoolSize < 0 || indexSize < 0 || dataSize < 0
+						|| (long) dataStart + dataSize > buffer.limit()) {
+					throw new IOException("Corrupted project state");
+				}
+
+				stringOffsets = new int[stringCount];
+				strings = new String[stringCount];
+				uris = new URI[stringCount];
+				int pos = stringPoolStart;
+				for (int i = 0; i < stringCount; i++) {
+					stringOffsets[i] = pos;
+					pos += 4 + buffer.getInt(pos);
+				}
+				if (pos != indexStart) {
+					throw new IOException("Corrupted project state");
+				}
+
+				Cursor input = new Cursor(indexStart);
+				ResourceDescriptionsData resourceDescriptions = readResourceDescriptions(input);
+				XSource2GeneratedMapping fileMappings = readFileMappings(input);
+				ImmutableMap<URI, HashedFileContent> fingerprints = readFingerprints(input);
+				ImmutableListMultimap<URI, Issue> validationIssues = readValidationIssues(input);
+				ImmutableMap<String, Boolean> dependencies = readDependencies(input);
+				if (input.pos != dataStart) {
+					throw new IOException("Corrupted project state");
+				}
+				return ImmutableProjectState.withoutCopy(resourceDescriptions, fileMappings, fingerprints,
+						validationIssues, dependencies);
+			} catch (IndexOutOfBoundsException | BufferUnderflowException | NegativeArraySizeException
+					| IllegalArgumentException e) {
+				throw new IOException("Corrupted project state", e);
+			}
+		}
+
+		private ResourceDescriptionsData readResourceDescriptions(Cursor input) {
+			int size = input.readInt();
+			List<IResourceDescription> descriptions = new ArrayList<>(size);
+			while (size > 0) {
+				size--;
+				MappedResourceDescription description = new MappedResourceDescription(this);
+				description.setURI(uri(input.readInt()));
+				description.referencesOffset = input.readInt();
+				int objectCount = input.readInt();
+				List<SerializableEObjectDescription> objects = new ArrayList<>(objectCount);
+				while (objectCount > 0) {
+					objectCount--;
+					MappedEObjectDescription object = new MappedEObjectDescription();
+					object.setEObjectURI(uri(input.readInt()));
+					object.setEClass((EClass) readEcoreElement(input.readInt()));
+					object.setQualifiedName(readQualifiedName(input));
+					int userDataOffset = input.readInt();
+					if (userDataOffset >= 0) {
+						object.reader = this;
+						object.userDataOffset = userDataOffset;
+					} else {
+						object.setUserData(new HashMap<>());
+					}
+					objects.add(object);
+				}
+				description.setDescriptions(objects);
+				descriptions.add(description);
+			}
+			return new ResourceDescriptionsData(descriptions);
+		}
+
+		/** Decodes the user data at the given offset of the data section. */
+		HashMap<String, String> readUserData(int offset) {
+			Cursor input = new Cursor(dataStart + offset);
+			int size = input.readInt();
+			HashMap<String, String> userData = new HashMap<>();
+			while (size > 0) {
+				size--;
+				String key = string(input.readInt());
+				boolean latin1 = input.readBoolean();
+				byte[] value = input.readBytes(input.readInt());
+				userData.put(key, new String(value, latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8));
+			}
+			return userData;
+		}
+
+		/** Decodes the references and imported names at the given offset of the data section. */
+		void readReferencesAndImportedNames(int offset, MappedResourceDescription description) {
+			Cursor input = new Cursor(dataStart + offset);
+			int size = input.readInt();
+			List<SerializableReferenceDescription> references = size == 0 ? Collections.emptyList()
+					: new ArrayList<>(size);
+			while (size > 0) {
+				size--;
+				SerializableReferenceDescription reference = new SerializableReferenceDescription();
+				reference.setSourceEObjectUri(uri(input.readInt()));
+				reference.setTargetEObjectUri(uri(input.readInt()));
+				reference.setContainerEObjectURI(uri(input.readInt()));
+				reference.setEReference((EReference) readEcoreElement(input.readInt()));
+				reference.setIndexInList(input.readInt());
+				references.add(reference);
+			}
+			size = input.readInt();
+			List<QualifiedName> importedNames = size == 0 ? Collections.emptyList() : new ArrayList<>(size);
+			while (size > 0) {
+				size--;
+				importedNames.add(readQualifiedName(input));
+			}
+			description.setReferences(references);
+			description.setImportedNames(importedNames);
+		}
+
+		private XSource2GeneratedMapping readFileMappings(Cursor input) {
+			XSource2GeneratedMapping fileMappings = new XSource2GeneratedMapping();
+			int size = input.readInt();
+			while (size > 0) {
+				size--;
+				URI generated = URI.createURI(string(input.readInt()));
+				String outputConfig = string(input.readInt());
+				int sourceCount = input.readInt();
+				while (sourceCount > 0) {
+					sourceCount--;
+					URI source = URI.createURI(string(input.readInt()));
+					fileMappings.addSource2Generated(source, generated, outputConfig);
+				}
+			}
+			return fileMappings;
+		}
+
+		private ImmutableMap<URI, HashedFileContent> readFingerprints(Cursor input) {
+			int size = input.readInt();
+			ImmutableMap.Builder<URI, HashedFileContent> fingerprints = ImmutableMap.builderWithExpectedSize(size);
+			while (size > 0) {
+				size--;
+				URI uri = URI.createURI(string(input.readInt()));
+				long hash = input.readLong();
+				long lastModified = input.readLong();
+				long fileSize = input.readLong();
+				fingerprints.put(uri, new HashedFileContent(uri, hash, lastModified, fileSize));
+			}
+			return fingerprints.build();
+		}
+
+		private ImmutableListMultimap<URI, Issue> readValidationIssues(Cursor input) {
+			int numberOfSources = input.readInt();
+			ImmutableListMultimap.Builder<URI, Issue> validationIssues = ImmutableListMultimap.builder();
+			while (numberOfSources > 0) {
+				numberOfSources--;
+				URI source = uri(input.readInt());
+				int numberOfIssues = input.readInt();
+				while (numberOfIssues > 0) {
+					numberOfIssues--;
+					validationIssues.put(source, new MappedIssue(this, input.readInt()));
+				}
+			}
+			return validationIssues.build();
+		}
+
+		/** Decodes the validation issue at the given offset of the data section. */
+		IssueImpl readValidationIssue(int offset) {
+			Cursor input = new Cursor(dataStart + offset);
+			IssueImpl issue = new IssueImpl();
+			issue.setOffset(input.readInt());
+			issue.setLength(input.readInt());
+			issue.setColumn(input.readInt());
+			issue.setColumnEnd(input.readInt());
+			issue.setLineNumber(input.readInt());
+			issue.setLineNumberEnd(input.readInt());
+			issue.setCode(string(input.readInt()));
+			issue.setMessage(string(input.readInt()));
+			int uriToProblem = input.readInt();
+			issue.setUriToProblem(uriToProblem < 0 ? null : URI.createURI(string(uriToProblem)));
+			int severityKey = input.readInt();
+			issue.setSeverity(severityKey == 0 ? null : SEVERITIES[severityKey - 1]);
+			int checkTypeKey = input.readInt();
+			issue.setType(checkTypeKey == 0 ? null : CHECK_TYPES[checkTypeKey - 1]);
+			int dataLength = input.readInt();
+			if (dataLength > 0) {
+				String[] data = new String[dataLength];
+				for (int i = 0; i < dataLength; i++) {
+					data[i] = string(input.readInt());
+				}
+				issue.setData(data);
+			}
+			return issue;
+		}
+
+		private ImmutableMap<String, Boolean> readDependencies(Cursor input) {
+			int numberOfDeps = input.readInt();
+			ImmutableMap.Builder<String, Boolean> dependencies = ImmutableMap.builder();
+			while (numberOfDeps > 0) {
+				numberOfDeps--;
+				String depName = string(input.readInt());
+				dependencies.put(depName, input.readBoolean());
+			}
+			return dependencies.build();
+		}
+
+		private QualifiedName readQualifiedName(Cursor input) {
+			int size = input.readInt();
+			QualifiedName.Builder builder = new QualifiedName.Builder(size);
+			while (size > 0) {
+				size--;
+				builder.add(string(input.readInt()));
+			}
+			return builder.build();
+		}
+
+		private ENamedElement readEcoreElement(int idx) {
+			URI uri = uri(idx);
+			EPackage ePackage = EPackage.Registry.INSTANCE.getEPackage(uri.trimFragment().toString());
+			if (ePackage != null) {
+				Resource resource = ePackage.eResource();
+				return (ENamedElement) resource.getEObject(uri.fragment());
+			}
+			return null;
+		}
+
+		private URI uri(int idx) {
+			if (idx < 0) {
+				return null;
+			}
+			// benign race: URIs are immutable, so concurrent lazy decoding at worst creates an equal instance twice
+			URI result = uris[idx];
+			if (result == null) {
+				result = uriTransformer.deserialize(baseURI, string(idx));
+				uris[idx] = result;
+			}
+			return result;
+		}
+
+		private String string(int idx) {
+			if (idx < 0) {
+				return null;
+			}
+			String result = strings[idx];
+			if (result == null) {
+				int offset = stringOffsets[idx];
+				byte[] bytes = new byte[buffer.getInt(offset)];
+				buffer.get(offset + 4, bytes);
+				result = new String(bytes, StandardCharsets.UTF_8);
+				strings[idx] = result;
+			}
+			return result;
+		}
+
+		/** Reads sequentially from the buffer using absolute accesses only. */
+		private final class Cursor {
+			int pos;
+
+			Cursor(int pos) {
+				this.pos = pos;
+			}
+
+			int readInt() {
+				int result = buffer.getInt(pos);
+				pos += 4;
+				return result;
+			}
+
+			long readLong() {
+				long result = buffer.getLong(pos);
+				pos += 8;
+				return result;
+			}
+
+			boolean readBoolean() {
+				return buffer.get(pos++) != 0;
+			}
+
+			byte[] readBytes(int length) {
+				byte[] result = new byte[length];
+				buffer.get(pos, result);
+				pos += length;
+				return result;
+			}
+		}
+	}
+
+	/** A resource description whose references and imported names are decoded on first access. */
+	static final class MappedResourceDescription extends SerializableResourceDescription {
+		private Reader reader;
+		int referencesOffset;
+
+		MappedResourceDescription(Reader reader) {
+			this.reader = reader;
+		}
+
+		private synchronized void ensureLoaded() {
+			Reader r = reader;
+			if (r != null) {
+				reader = null;
+				r.readReferencesAndImportedNames(referencesOffset, this);
+			}
+		}
+
+		@Override
+		public List<SerializableReferenceDescription> getReferences() {
+			ensureLoaded();
+			return super.getReferences();
+		}
+
+		@Override
+		public Iterable<IReferenceDescription> getReferenceDescriptions() {
+			ensureLoaded();
+			return super.getReferenceDescriptions();
+		}
+
+		@Override
+		public Iterable<QualifiedName> getImportedNames() {
+			ensureLoaded();
+			return super.getImportedNames();
+		}
+
+		@Override
+		public void setReferences(List<SerializableReferenceDescription> references) {
+			ensureLoaded();
+			super.setReferences(references);
+		}
+
+		@Override
+		public void setImportedNames(List<QualifiedName> importedNames) {
+			ensureLoaded();
+			super.setImportedNames(importedNames);
+		}
+
+		@Override
+		public void updateResourceURI(URI uri) {
+			ensureLoaded();
+			super.updateResourceURI(uri);
+		}
+
+		@Override
+		public void writeExternal(ObjectOutput out) throws IOException {
+			ensureLoaded();
+			super.writeExternal(out);
+		}
+	}
+
+	/** An exported object whose user data is decoded on first access. */
+	static final class MappedEObjectDescription extends SerializableEObjectDescription {
+		private Reader reader;
+		int userDataOffset;
+
+		private synchronized void ensureLoaded() {
+			Reader r = reader;
+			if (r != null) {
+				reader = null;
+				userData = r.readUserData(userDataOffset);
+			}
+		}
+
+		@Override
+		public String getUserData(String key) {
+			ensureLoaded();
+			return super.getUserData(key);
+		}
+
+		@Override
+		public String[] getUserDataKeys() {
+			ensureLoaded();
+			return super.getUserDataKeys();
+		}
+
+		@Override
+		public HashMap<String, String> getUserData() {
+			ensureLoaded();
+			return super.getUserData();
+		}
+
+		@Override
+		public synchronized void setUserData(HashMap<String, String> userData) {
+			reader = null;
+			super.setUserData(userData);
+		}
+
+		@Override
+		public void writeExternal(ObjectOutput out) throws IOException {
+			ensureLoaded();
+			super.writeExternal(out);
+		}
+	}
+
+	/** A validation issue that is decoded on first access. */
+	static final class MappedIssue implements Issue {
+		private Reader reader;
+		private final int offset;
+		private IssueImpl delegate;
+
+		MappedIssue(Reader reader, int offset) {
+			this.reader = reader;
+			this.offset = offset;
+		}
+
+		private synchronized IssueImpl delegate() {
+			if (delegate == null) {
+				delegate = reader.readValidationIssue(offset);
+				reader = null;
+			}
+			return delegate;
+		}
+
+		@Override
+		public Severity getSeverity() {
+			return delegate().getSeverity();
+		}
+
+		@Override
+		public String getMessage() {
+			return delegate().getMessage();
+		}
+
+		@Override
+		public String getCode() {
+			return delegate().getCode();
+		}
+
+		@Override
+		public CheckType getType() {
+			return delegate().getType();
+		}
+
+		@Override
+		public URI getUriToProblem() {
+			return delegate().getUriToProblem();
+		}
+
+		@Override
+		public Integer getLineNumber() {
+			return delegate().getLineNumber();
+		}
+
+		@Override
+		public Integer getLineNumberEnd() {
+			return delegate().getLineNumberEnd();
+		}
+
+		@Override
+		public Integer getColumn() {
+			return delegate().getColumn();
+		}
+
+		@Override
+		public Integer getColumnEnd() {
+			return delegate().getColumnEnd();
+		}
+
+		@Override
+		public Integer getOffset() {
+			return delegate().getOffset();
+		}
+
+		@Override
+		public Integer getLength() {
+			return delegate().getLength();
+		}
+
+		@Override
+		public boolean isSyntaxError() {
+			return delegate().isSyntaxError();
+		}
+
+		@Override
+		public String[] getData() {
+			return delegate().getData();
+		}
+
+		@Override
+		public String toString() {
+			return delegate().toString();
+		}
+	}
+}
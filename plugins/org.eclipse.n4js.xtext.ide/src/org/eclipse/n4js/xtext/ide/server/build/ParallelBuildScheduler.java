@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server.build;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.util.CancelIndicator;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.inject.Inject;
+
+/**
+ * Builds a set of projects concurrently while respecting their dependencies, i.e. a project is only built after all
+ * of its dependencies have been built.
+ * <p>
+ * The projects must be given in build order. Dependencies of a project on projects that come later in the build order
+ * are ignored. Since the build order is a linearization of the dependency graph, this only affects dependencies that
+ * close a dependency cycle and thus yields an acyclic graph that is consistent with the sequential build.
+ * <p>
+ * Each project receives the deltas of all its direct and indirect dependencies as external deltas. Those deltas are
+ * passed in build order, independent of the order in which the projects actually finished building. Likewise, the
+ * overall result contains the deltas of all projects in build order.
+ * <p>
+ * All bookkeeping happens in the thread that invokes
+ * {@link #run(List, Function, ProjectBuildJob, int, CancelIndicator) run()}; the worker threads only execute the given
+ * {@link ProjectBuildJob}.
+ */
+public class ParallelBuildScheduler {
+	private static final Logger LOG = LogManager.getLogger(ParallelBuildScheduler.class);
+
+	/** Interval in which the cancel indicator is checked while waiting for projects to finish. */
+	private static final long CANCEL_CHECK_INTERVAL_MS = 100;
+
+	@Inject
+	private OperationCanceledManager operationCanceledManager;
+
+	/** Builds a single project. Invoked concurrently for independent projects. */
+	@FunctionalInterface
+	public interface ProjectBuildJob {
+		/**
+		 * Builds the project with the given ID.
+		 *
+		 * @param projectID
+		 *            the project to build.
+		 * @param upstreamDeltas
+		 *            deltas of all direct and indirect dependencies of the project, in build order.
+		 * @return the deltas of the built project.
+		 */
+		List<IResourceDescription.Delta> build(String projectID, List<IResourceDescription.Delta> upstreamDeltas);
+	}
+
+	/**
+	 * Builds the given projects with at most the given number of threads. Blocks until all projects are built.
+	 * <p>
+	 * If a project build fails, no further projects are started and the failure is rethrown after the running project
+	 * builds have finished. The same applies in case of cancellation, which results in an operation canceled
+	 * exception.
+	 *
+	 * @param sortedProjectIDs
+	 *            the projects to build, in build order.
+	 * @param getDependencies
+	 *            returns the IDs of the projects the given project depends on. IDs of projects not contained in
+	 *            {@code sortedProjectIDs} are ignored.
+	 * @param job
+	 *            builds a single project.
+	 * @param threads
+	 *            the maximum number of projects built concurrently.
+	 * @param cancelIndicator
+	 *            the cancel indicator to check while waiting for projects to finish.
+	 * @return the deltas of all projects in build order.
+	 */
+	public List<IResourceDescription.Delta> run(List<String> sortedProjectIDs,
+			Function<String, ? extends Collection<String>> getDependencies, ProjectBuildJob job, int threads,
+			CancelIndicator cancelIndicator) {
+
+		int count = sortedProjectIDs.size();
+		if (count == 0) {
+			return Collections.emptyList();
+		}
+
+		Map<String, Integer> projectIndices = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			projectIndices.put(sortedProjectIDs.get(i), i);
+		}
+
+		// compute the dependency graph (restricted to dependencies on earlier projects)
+		int[] pendingDependencies = new int[count];
+		List<List<Integer>> dependents = new ArrayList<>(count);
+		BitSet[] upstream = new BitSet[count];
+		for (int i = 0; i < count; i++) {
+			dependents.add(new ArrayList<>());
+			upstream[i] = new BitSet(count);
+			for (String depID : getDependencies.apply(sortedProjectIDs.get(i))) {
+				Integer depIdx = projectIndices.get(depID);
+				if (depIdx != null && depIdx < i && !upstream[i].get(depIdx)) {
+					upstream[i].set(depIdx);
+					pendingDependencies[i]++;
+					dependents.get(depIdx).add(i);
+				}
+			}
+		}
+		// transitive closure; dependencies always have a smaller index, so a single pass in build order suffices
+		for (int i = 0; i < count; i++) {
+			BitSet direct = (BitSet) upstream[i].clone();
+			for (int d = direct.nextSetBit(0); d >= 0; d = direct.nextSetBit(d + 1)) {
+				upstream[i].or(upstream[d]);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		List<IResourceDescription.Delta>[] results = new List[count];
+		ThreadFactory threadFactory = new ThreadFactoryBuilder()
+				.setNameFormat(ParallelBuildScheduler.class.getSimpleName() + "-%d")
+				.setDaemon(true)
+				.build();
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, count)), threadFactory);
+		CompletionService<Integer> completionService = new ExecutorCompletionService<>(pool);
+
+		int running = 0;
+		int finished = 0;
+		Throwable failure = null;
+		boolean canceled = false;
+		boolean interrupted = false;
+		try {
+			for (int i = 0; i < count; i++) {
+				if (pendingDependencies[i] == 0) {
+					submit(completionService, job, sortedProjectIDs, upstream, results, i);
+					running++;
+				}
+			}
+
+			while (running > 0) {
+				Future<Integer> done;
+				try {
+					done = completionService.poll(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					interrupted = true;
+					done = null;
+				}
+
+				if (!canceled && (interrupted || cancelIndicator.isCanceled())) {
+					canceled = true;
+				}
+				if (done == null) {
+					continue;
+				}
+				running--;
+
+				int idx;
+				try {
+					idx = Uninterruptibles.getUninterruptibly(done);
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+					}
+					continue;
+				}
+				finished++;
+
+				if (failure != null || canceled) {
+					continue; // let running project builds finish, but do not start new ones
+				}
+				for (int dependent : dependents.get(idx)) {
+					if (--pendingDependencies[dependent] == 0) {
+						submit(completionService, job, sortedProjectIDs, upstream, results, dependent);
+						running++;
+					}
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		if (failure != null) {
+			Throwables.throwIfUnchecked(failure);
+			throw new RuntimeException(failure);
+		}
+		if (canceled) {
+			operationCanceledManager.throwOperationCanceledException();
+		}
+		if (finished != count) {
+			// cannot happen, since all dependencies point to earlier projects
+			LOG.error("parallel build did not finish all projects: " + finished + " of " + count);
+		}
+
+		List<IResourceDescription.Delta> allDeltas = new ArrayList<>();
+		for (List<IResourceDescription.Delta> result : results) {
+			if (result != null) {
+				allDeltas.addAll(result);
+			}
+		}
+		return allDeltas;
+	}
+
+	private void submit(CompletionService<Integer> completionService, ProjectBuildJob job,
+			List<String> sortedProjectIDs, BitSet[] upstream, List<IResourceDescription.Delta>[] results, int idx) {
+
+		// collected in the scheduling thread: the results of all upstream projects are final at this point
+		List<IResourceDescription.Delta> upstreamDeltas = new ArrayList<>();
+		for (int u = upstream[idx].nextSetBit(0); u >= 0; u = upstream[idx].nextSetBit(u + 1)) {
+			upstreamDeltas.addAll(results[u]);
+		}
+		String projectID = sortedProjectIDs.get(idx);
+
+		completionService.submit(() -> {
+			results[idx] = job.build(projectID, upstreamDeltas);
+			return idx;
+		});
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server.build;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.n4js.xtext.ide.server.WorkspaceBuilderConfig;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * The threads used to validate and generate the resources of a cluster concurrently, see
+ * {@link XStatefulIncrementalBuilder#buildClusterInParallel(java.util.List, XSource2GeneratedMapping,
+ * XIndexer.XIndexResult) XStatefulIncrementalBuilder#buildClusterInParallel}.
+ * <p>
+ * The pool is shared by the builds of all projects, including projects built at the same time by the
+ * {@link ParallelBuildScheduler}, so that at most {@link WorkspaceBuilderConfig#getBuildThreads() the configured number}
+ * of resources are validated at the same time. Threads are created on demand and terminate after a minute without
+ * work.
+ */
+@Singleton
+public class ParallelValidationPool {
+
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	@Inject
+	private WorkspaceBuilderConfig builderConfig;
+
+	private ThreadPoolExecutor executor;
+
+	/** Submits the given task, which is executed as soon as one of the threads of this pool is idle. */
+	public <T> Future<T> submit(Callable<T> task) {
+		return getExecutor().submit(task);
+	}
+
+	private synchronized ThreadPoolExecutor getExecutor() {
+		int threads = builderConfig.getBuildThreads();
+		if (executor == null) {
+			executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(),
+					new ThreadFactoryBuilder()
+							.setNameFormat(ParallelValidationPool.class.getSimpleName() + "-%d")
+							.setDaemon(true)
+							.build());
+			executor.allowCoreThreadTimeOut(true);
+		} else if (executor.getMaximumPoolSize() != threads) {
+			// the configuration may change, e.g. in tests
+			if (threads > executor.getMaximumPoolSize()) {
+				executor.setMaximumPoolSize(threads);
+				executor.setCorePoolSize(threads);
+			} else {
+				executor.setCorePoolSize(threads);
+				executor.setMaximumPoolSize(threads);
+			}
+		}
+		return executor;
+	}
+}
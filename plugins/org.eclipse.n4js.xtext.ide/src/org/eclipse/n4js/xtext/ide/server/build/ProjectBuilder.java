@@ -8,7 +8,6 @@
 package org.eclipse.n4js.xtext.ide.server.build;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -34,6 +33,7 @@ import org.eclipse.n4js.utils.UtilN4;
 import org.eclipse.n4js.xtext.ide.server.ProjectStatePersisterConfig;
 import org.eclipse.n4js.xtext.ide.server.ResourceChangeSet;
 import org.eclipse.n4js.xtext.ide.server.ResourceTaskManager;
+import org.eclipse.n4js.xtext.ide.server.WorkspaceBuilderConfig;
 import org.eclipse.n4js.xtext.ide.server.XIProjectDescriptionFactory;
 import org.eclipse.n4js.xtext.ide.server.build.XBuildRequest.AfterBuildRequestListener;
 import org.eclipse.n4js.xtext.ide.server.build.XBuildRequest.AfterDeleteListener;
@@ -48,6 +48,8 @@ import org.eclipse.xtext.resource.IExternalContentSupport;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.clustering.DisabledClusteringPolicy;
+import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
 import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
 import org.eclipse.xtext.resource.impl.ProjectDescription;
@@ -136,10 +138,26 @@ public class ProjectBuilder {
 	@Inject
 	private ResourceTaskManager resourceTaskManager;
 
+	@Inject
+	private FileFingerprintService fingerprintService;
+
+	@Inject
+	private WorkspaceBuilderConfig builderConfig;
+
+	@Inject
+	private Provider<HeapAwareClusteringPolicy> heapAwareClusteringPolicyProvider;
+
+	@Inject
+	private SourceFileScanner sourceFileScanner;
+
 	private ProjectConfigSnapshot projectConfig;
 
 	private WorkspaceAwareResourceSet resourceSet;
 
+	private DirectoryJournal directoryJournal;
+
+	private HeapAwareClusteringPolicy heapAwareClusteringPolicy;
+
 	private final AtomicReference<ImmutableProjectState> projectStateSnapshot = new AtomicReference<>(
 			ImmutableProjectState.empty());
 
@@ -276,7 +294,17 @@ public class ProjectBuilder {
 		ImmutableProjectState oldProjectState = this.projectStateSnapshot.get();
 		Map<URI, HashedFileContent> oldHashes = oldProjectState.getFileHashes();
 		Set<URI> oldSourceFilesURIs = oldProjectState.internalGetResourceDescriptions().getAllURIs();
-		for (URI currURI : Sets.union(oldSourceFilesURIs, currSourceFileURIsToConsider)) {
+		Set<URI> allURIs = Sets.union(oldSourceFilesURIs, currSourceFileURIsToConsider);
+		// fingerprint all files that need to be compared upfront, so they can be hashed concurrently
+		Map<URI, HashedFileContent> hashesToCompare = new LinkedHashMap<>();
+		for (URI currURI : allURIs) {
+			HashedFileContent hfc = oldHashes.get(currURI);
+			if (hfc != null && oldSourceFilesURIs.contains(currURI) && currSourceFileURIsOnDisk.contains(currURI)) {
+				hashesToCompare.put(currURI, hfc);
+			}
+		}
+		Map<URI, HashedFileContent> newHashes = fingerprintService.getFingerprints(hashesToCompare);
+		for (URI currURI : allURIs) {
 			boolean isOld = oldSourceFilesURIs.contains(currURI);
 			boolean isNew = currSourceFileURIsOnDisk.contains(currURI);
 			if (!isOld && isNew) {
@@ -289,7 +317,7 @@ public class ProjectBuilder {
 				// compare hash ...
 				HashedFileContent hfc = oldHashes.get(currURI);
 				if (hfc != null) {
-					switch (getSourceChangeKind(hfc, oldProjectState)) {
+					switch (getSourceChangeKind(hfc, newHashes.get(currURI), oldProjectState)) {
 					case UNCHANGED: {
 						break;
 					}
@@ -308,6 +336,7 @@ public class ProjectBuilder {
 				}
 			}
 		}
+		writeDirectoryJournal();
 		return result;
 	}
 
@@ -357,13 +386,30 @@ public class ProjectBuilder {
 		projectStateUpdater.attachTo(request);
 
 		try {
-			return incrementalBuilder.build(request);
+			return incrementalBuilder.build(request, getClusteringPolicy());
 		} catch (Throwable t) {
 			updateResourceSetIndex(getProjectIndex());
 			throw t;
 		}
 	}
 
+	/**
+	 * Returns the clustering policy for the next build of this project. Unless
+	 * {@link WorkspaceBuilderConfig#isHeapAwareClustering() heap aware clustering} is enabled, all resources are
+	 * processed in a single cluster.
+	 */
+	protected IResourceClusteringPolicy getClusteringPolicy() {
+		if (!builderConfig.isHeapAwareClustering()) {
+			resourceSet.setResourceAccessListener(null);
+			return new DisabledClusteringPolicy();
+		}
+		if (heapAwareClusteringPolicy == null) {
+			heapAwareClusteringPolicy = heapAwareClusteringPolicyProvider.get();
+		}
+		resourceSet.setResourceAccessListener(heapAwareClusteringPolicy::recordAccess);
+		return heapAwareClusteringPolicy;
+	}
+
 	/** Deletes the contents of the output directory */
 	public void doClean(XBuildRequest buildRequest, CancelIndicator cancelIndicator) {
 		deletePersistenceFile();
@@ -628,13 +674,42 @@ public class ProjectBuilder {
 		}
 	}
 
-	/** Deletes the persistence file on disk */
+	/** Deletes the persistence file and the directory journal on disk */
 	private void deletePersistenceFile() {
 		URI persistenceFileURI = getPersistenceFile();
 		File persistenceFile = URIUtils.toFile(persistenceFileURI);
 		if (persistenceFile.isFile()) {
 			persistenceFile.delete();
 		}
+		projectStatePersister.deleteDirectoryJournal(projectConfig);
+	}
+
+	/**
+	 * Returns a file system scanner for the source folders of this project that only lists directories which changed
+	 * since they were scanned the last time, even in a previous session (see {@link SourceFileScanner}).
+	 */
+	protected IFileSystemScanner getSourceFileScanner() {
+		return sourceFileScanner.withJournal(getDirectoryJournal());
+	}
+
+	private synchronized DirectoryJournal getDirectoryJournal() {
+		if (directoryJournal == null) {
+			if (!persisterConfig.isDeleteState(projectConfig)) {
+				directoryJournal = projectStatePersister.readDirectoryJournal(projectConfig);
+			}
+			if (directoryJournal == null) {
+				directoryJournal = new DirectoryJournal();
+			}
+		}
+		return directoryJournal;
+	}
+
+	/** Persists the directory journal to disk, if it was changed. */
+	private void writeDirectoryJournal() {
+		DirectoryJournal journal = directoryJournal;
+		if (journal != null && journal.isModified() && persisterConfig.isWriteToDisk(projectConfig)) {
+			projectStatePersister.writeDirectoryJournal(projectConfig, journal);
+		}
 	}
 
 	/** Persists the project state to disk */
@@ -667,6 +742,7 @@ public class ProjectBuilder {
 
 		if (fullBuildRequired) {
 			result.getDirty().addAll(scanForSourceFiles());
+			writeDirectoryJournal();
 		} else {
 			result.addAll(scanForSourceFileChanges());
 		}
@@ -679,8 +755,9 @@ public class ProjectBuilder {
 	 */
 	protected Set<URI> scanForSourceFiles() {
 		Set<URI> result = new TreeSet<>(Comparator.comparing(URI::toString)); // stable build order
+		IFileSystemScanner scanner = getSourceFileScanner();
 		for (SourceFolderSnapshot srcFolder : projectConfig.getSourceFolders()) {
-			List<URI> allSourceFileUris = srcFolder.getAllResources(fileSystemScanner);
+			List<URI> allSourceFileUris = srcFolder.getAllResources(scanner);
 			for (URI srcFileUri : allSourceFileUris) {
 				if (!srcFileUri.hasTrailingPathSeparator()) {
 					IResourceServiceProvider rsp = resourceServiceProviders.getResourceServiceProvider(srcFileUri);
@@ -739,13 +816,22 @@ public class ProjectBuilder {
 		ImmutableMap<String, Boolean> newDependencies = newDependenciesBuilder.build();
 		boolean dependenciesChanged = !newDependencies.equals(projectStateSnapshot.get().getDependencies());
 
+		Map<URI, HashedFileContent> oldHashes = projectStateSnapshot.get().getFileHashes();
+		Map<URI, HashedFileContent> hashesToUpdate = new LinkedHashMap<>();
+		for (Delta delta : result.getAffectedResources()) {
+			if (delta.getNew() != null) {
+				hashesToUpdate.put(delta.getUri(), oldHashes.get(delta.getUri()));
+			}
+		}
+		Map<URI, HashedFileContent> updatedHashes = fingerprintService.getFingerprints(hashesToUpdate);
+
 		ImmutableProjectState newState = this.projectStateSnapshot.updateAndGet(snapshot -> {
 			Map<URI, HashedFileContent> newHashedFileContents = new LinkedHashMap<>(snapshot.getFileHashes());
 			// TODO where do we update the generated file hashes?
 			for (Delta delta : result.getAffectedResources()) {
 				URI uri = delta.getUri();
 				if (delta.getNew() != null) {
-					storeHash(newHashedFileContents, uri);
+					storeHash(newHashedFileContents, uri, updatedHashes.get(uri));
 				} else {
 					newHashedFileContents.remove(uri);
 				}
@@ -777,11 +863,11 @@ public class ProjectBuilder {
 		UNCHANGED, CHANGED, DELETED
 	}
 
-	private SourceChangeKind getSourceChangeKind(HashedFileContent hfc, ImmutableProjectState projectState) {
+	private SourceChangeKind getSourceChangeKind(HashedFileContent hfc, HashedFileContent newHash,
+			ImmutableProjectState projectState) {
 		URI sourceUri = hfc.getUri();
 		long loadedHash = hfc.getHash();
 
-		HashedFileContent newHash = doHash(sourceUri);
 		if (newHash == null) {
 			return SourceChangeKind.DELETED;
 		}
@@ -801,21 +887,7 @@ public class ProjectBuilder {
 		return SourceChangeKind.UNCHANGED;
 	}
 
-	private HashedFileContent doHash(URI uri) {
-		try {
-			File srcFile = new File(uri.path());
-			if (!srcFile.isFile()) {
-				return null;
-			}
-			HashedFileContent generatedTargetContent = new HashedFileContent(uri, srcFile);
-			return generatedTargetContent;
-		} catch (IOException e) {
-			return null;
-		}
-	}
-
-	private void storeHash(Map<URI, HashedFileContent> newFileContents, URI uri) {
-		HashedFileContent fileHash = doHash(uri);
+	private void storeHash(Map<URI, HashedFileContent> newFileContents, URI uri, HashedFileContent fileHash) {
 		if (fileHash != null) {
 			newFileContents.put(uri, fileHash);
 		} else {
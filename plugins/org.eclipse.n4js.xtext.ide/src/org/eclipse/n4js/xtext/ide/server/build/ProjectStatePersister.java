@@ -12,6 +12,7 @@ package org.eclipse.n4js.xtext.ide.server.build;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
@@ -21,7 +22,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -41,8 +48,10 @@ import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.n4js.utils.OSInfo;
 import org.eclipse.n4js.utils.URIUtils;
 import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService;
+import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService.Priority;
 import org.eclipse.n4js.xtext.workspace.ProjectConfigSnapshot;
 import org.eclipse.xtext.build.Source2GeneratedMapping;
 import org.eclipse.xtext.diagnostics.Severity;
@@ -106,8 +115,19 @@ public class ProjectStatePersister {
 	 */
 	private static final int VERSION_3 = 3;
 
-	/** The current version of the persistence format. Increment to support backwards compatible deserialization. */
-	private static final int CURRENT_VERSION = VERSION_3;
+	/**
+	 * After the version, the file contains an uncompressed, random access representation of the project state that is
+	 * memory mapped when read. Strings are stored in a shared string pool and the expensive parts of the project state
+	 * (user data, references, imported names and issues) are decoded lazily. The format is documented in
+	 * {@link MappedProjectStateFormat}.
+	 * <p>
+	 * Since lazily decoded project states keep reading from the mapped file, the file is never modified in place but
+	 * replaced by writing a temporary file that is then moved over the existing file.
+	 */
+	private static final int VERSION_4 = 4;
+
+	/** Version of the file format of the {@link DirectoryJournal}. */
+	private static final int DIRECTORY_JOURNAL_VERSION = 1;
 
 	/** Used to serialize a null string value. */
 	private static final String EMPTY_STRING = "";
@@ -154,14 +174,22 @@ public class ProjectStatePersister {
 	 */
 	public void writeProjectState(ProjectConfigSnapshot project, ImmutableProjectState state) {
 		queuedExecutorService.submitAndCancelPrevious(Tuples.create(ProjectStatePersister.class, project.getName()),
-				"writeProjectState", (cancelIndicator) -> {
+				"writeProjectState", Priority.BACKGROUND, (cancelIndicator) -> {
 					if (!cancelIndicator.isCanceled()) {
 						URI baseURI = getBaseURI(project);
 						File file = getDataFile(project);
-						try (OutputStream nativeOut = Files.asByteSink(file).openBufferedStream()) {
-							writeProjectState(baseURI, nativeOut, state);
+						File tmpFile = new File(file.getPath() + ".tmp");
+						try {
+							try (OutputStream nativeOut = Files.asByteSink(tmpFile).openBufferedStream()) {
+								writeMappedProjectState(baseURI, nativeOut, state);
+							}
+							// never overwrite the file in place: it might be mapped by a previously read project state
+							replaceFile(tmpFile, file);
 						} catch (IOException e) {
 							e.printStackTrace();
+							if (tmpFile.isFile()) {
+								tmpFile.delete();
+							}
 							if (file.isFile()) {
 								file.delete();
 							}
@@ -171,7 +199,20 @@ public class ProjectStatePersister {
 				});
 	}
 
+	private void replaceFile(File source, File target) throws IOException {
+		try {
+			java.nio.file.Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			java.nio.file.Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
 	/**
+	 * Writes the project state in the legacy compressed stream format ({@link #VERSION_3}). The project state files
+	 * are written in the random access format, see {@link #writeMappedProjectState(URI, OutputStream,
+	 * ImmutableProjectState)}, but streams of both formats can be read by {@link #readProjectState(URI, InputStream)}.
+	 *
 	 * @param stream
 	 *            the output stream. Will not be closed.
 	 * @param state
@@ -184,7 +225,7 @@ public class ProjectStatePersister {
 
 		String languageVersion = getLanguageVersion();
 		LOG.info("write project state (file version " + languageVersion + ")");
-		stream.write(CURRENT_VERSION);
+		stream.write(VERSION_3);
 		try (DataOutputStream output = new DataOutputStream(
 				new BufferedOutputStream(new GZIPOutputStream(stream, 8192)))) {
 
@@ -202,6 +243,27 @@ public class ProjectStatePersister {
 		}
 	}
 
+	/**
+	 * Writes the project state in the random access format ({@link #VERSION_4}) that is memory mapped when read from a
+	 * file.
+	 *
+	 * @param stream
+	 *            the output stream. Will not be closed.
+	 * @param state
+	 *            the state to be written
+	 * @throws IOException
+	 *             if things go bananas.
+	 */
+	public void writeMappedProjectState(URI baseURI, OutputStream stream, ImmutableProjectState state)
+			throws IOException {
+
+		String languageVersion = getLanguageVersion();
+		LOG.info("write project state (file version " + languageVersion + ")");
+		stream.write(VERSION_4);
+		new MappedProjectStateFormat.Writer(uriTransformer, baseURI).write(languageVersion, state, stream);
+		stream.flush();
+	}
+
 	private void writeResourceDescriptions(ImmutableProjectState state, URI baseURI, DataOutput output)
 			throws IOException {
 		Iterable<IResourceDescription> descriptions = state.getResourceDescriptions().getAllResourceDescriptions();
@@ -380,13 +442,25 @@ public class ProjectStatePersister {
 		File file = getDataFile(project);
 		try {
 			if (file.isFile()) {
-				try (InputStream nativeIn = Files.asByteSource(file).openBufferedStream()) {
-					ImmutableProjectState result = readProjectState(baseURI, nativeIn);
-					if (result == null && file.isFile()) {
-						file.delete();
+				ImmutableProjectState result;
+				try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+					ByteBuffer buffer;
+					if (isMapProjectStateFile()) {
+						// the mapping stays valid after the channel was closed
+						buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+					} else {
+						buffer = ByteBuffer.allocate((int) channel.size());
+						while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+							// read the entire file
+						}
+						buffer.flip();
 					}
-					return result;
+					result = readProjectState(baseURI, buffer);
+				}
+				if (result == null && file.isFile()) {
+					file.delete();
 				}
+				return result;
 			}
 		} catch (IOException | ClassNotFoundException e) {
 			e.printStackTrace();
@@ -397,6 +471,75 @@ public class ProjectStatePersister {
 		return null;
 	}
 
+	/**
+	 * Tells whether the project state file is memory mapped when read. Since a project state of the random access
+	 * format keeps reading from the mapped file, the file is later replaced by moving a new file over it. On Windows,
+	 * a file cannot be replaced while it is mapped, so the file is read into memory instead.
+	 */
+	protected boolean isMapProjectStateFile() {
+		return !OSInfo.isWindows();
+	}
+
+	/**
+	 * Writes the directory journal of the given project next to its project state file.
+	 */
+	void writeDirectoryJournal(ProjectConfigSnapshot project, DirectoryJournal journal) {
+		queuedExecutorService.submitAndCancelPrevious(Tuples.create(DirectoryJournal.class, project.getName()),
+				"writeDirectoryJournal", Priority.BACKGROUND, (cancelIndicator) -> {
+					if (!cancelIndicator.isCanceled()) {
+						File file = getDirectoryJournalFile(project);
+						File tmpFile = new File(file.getPath() + ".tmp");
+						try {
+							try (DataOutputStream output = new DataOutputStream(
+									new BufferedOutputStream(Files.asByteSink(tmpFile).openStream()))) {
+								output.writeInt(DIRECTORY_JOURNAL_VERSION);
+								journal.write(output);
+							}
+							replaceFile(tmpFile, file);
+						} catch (IOException e) {
+							LOG.warn("cannot write directory journal " + file, e);
+							tmpFile.delete();
+							file.delete();
+						}
+					}
+					return null;
+				});
+	}
+
+	/**
+	 * Reads the directory journal of the given project.
+	 *
+	 * @return the journal or <code>null</code> if not available.
+	 */
+	DirectoryJournal readDirectoryJournal(ProjectConfigSnapshot project) {
+		File file = getDirectoryJournalFile(project);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(Files.asByteSource(file).openStream()))) {
+			if (input.readInt() == DIRECTORY_JOURNAL_VERSION) {
+				return DirectoryJournal.read(input);
+			}
+		} catch (IOException e) {
+			LOG.warn("cannot read directory journal " + file, e);
+		}
+		file.delete();
+		return null;
+	}
+
+	/** Deletes the directory journal of the given project. */
+	void deleteDirectoryJournal(ProjectConfigSnapshot project) {
+		File file = getDirectoryJournalFile(project);
+		if (file.isFile()) {
+			file.delete();
+		}
+	}
+
+	private File getDirectoryJournalFile(ProjectConfigSnapshot project) {
+		return new File(getDataFile(project).getPath() + ".journal");
+	}
+
 	/**
 	 * @param stream
 	 *            the stream to read from.
@@ -411,7 +554,10 @@ public class ProjectStatePersister {
 			throws IOException, ClassNotFoundException {
 
 		int version = stream.read();
-		if (version != CURRENT_VERSION) {
+		if (version == VERSION_4) {
+			return readMappedProjectState(baseURI, ByteBuffer.wrap(stream.readAllBytes()));
+		}
+		if (version != VERSION_3) {
 			return null;
 		}
 
@@ -435,6 +581,44 @@ public class ProjectStatePersister {
 		}
 	}
 
+	/**
+	 * Reads a project state from the given buffer, e.g. a memory mapped project state file. Project states of the
+	 * random access format ({@link #VERSION_4}) are decoded lazily and keep reading from the
+	 * buffer, so the buffer must not be modified afterwards.
+	 *
+	 * @param buffer
+	 *            the buffer to read from, starting at its current position.
+	 * @return the project state or <code>null</code> if not available (e.g. file does not exist, was corrupted, was of
+	 *         an incompatible file format or language version).
+	 * @throws IOException
+	 *             if things go bananas.
+	 * @throws ClassNotFoundException
+	 *             if things go bananas.
+	 */
+	public ImmutableProjectState readProjectState(URI baseURI, ByteBuffer buffer)
+			throws IOException, ClassNotFoundException {
+
+		if (!buffer.hasRemaining()) {
+			return null;
+		}
+		int version = buffer.get(buffer.position());
+		if (version == VERSION_4) {
+			buffer.position(buffer.position() + 1);
+			return readMappedProjectState(baseURI, buffer);
+		}
+		if (buffer.hasArray()) {
+			return readProjectState(baseURI, new ByteArrayInputStream(buffer.array(),
+					buffer.arrayOffset() + buffer.position(), buffer.remaining()));
+		}
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return readProjectState(baseURI, new ByteArrayInputStream(bytes));
+	}
+
+	private ImmutableProjectState readMappedProjectState(URI baseURI, ByteBuffer buffer) throws IOException {
+		return new MappedProjectStateFormat.Reader(buffer, uriTransformer, baseURI).read(getLanguageVersion());
+	}
+
 	private ResourceDescriptionsData readResourceDescriptions(URI baseURI, DataInput input) throws IOException {
 		List<IResourceDescription> descriptions = new ArrayList<>();
 		int size = input.readInt();
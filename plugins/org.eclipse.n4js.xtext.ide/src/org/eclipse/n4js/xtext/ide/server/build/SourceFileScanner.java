@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.utils.URIUtils;
+import org.eclipse.xtext.util.IAcceptor;
+import org.eclipse.xtext.util.IFileSystemScanner;
+import org.eclipse.xtext.util.RuntimeIOException;
+
+import com.google.inject.Singleton;
+
+/**
+ * Scans source folders for files with the help of a {@link DirectoryJournal}, i.e. only directories that changed since
+ * they were recorded in the journal are listed. Also used by the {@link SourceFileWatcher} to traverse the watched
+ * directories.
+ * <p>
+ * Languages that exclude directories from their {@link IFileSystemScanner} or that use a specific form of file URIs
+ * have to override {@link #isIgnoredDirectory(Path)} and {@link #toURI(Path)} accordingly.
+ */
+@Singleton
+public class SourceFileScanner {
+
+	/**
+	 * Tells whether the given directory and its contents are to be ignored when scanning for source files. By default,
+	 * no directories are ignored.
+	 */
+	protected boolean isIgnoredDirectory(@SuppressWarnings("unused") Path directory) {
+		return false;
+	}
+
+	/** Returns the URI of the given file as reported to the builder. */
+	protected URI toURI(Path file) {
+		return URI.createFileURI(file.toAbsolutePath().toString());
+	}
+
+	/** Returns the path of the file with the given URI or <code>null</code> if the URI does not denote a file. */
+	protected Path toPath(URI uri) {
+		if (!uri.isFile()) {
+			return null;
+		}
+		File file = URIUtils.toFile(uri);
+		return file != null ? file.toPath() : null;
+	}
+
+	/**
+	 * Returns a file system scanner that uses and updates the given journal. The returned scanner does not report
+	 * files in {@link #isIgnoredDirectory(Path) ignored} directories.
+	 */
+	IFileSystemScanner withJournal(DirectoryJournal journal) {
+		return new IFileSystemScanner() {
+			@Override
+			public void scan(URI root, IAcceptor<URI> acceptor) {
+				Path rootPath = toPath(root);
+				if (rootPath != null) {
+					SourceFileScanner.this.scan(rootPath, journal, file -> acceptor.accept(toURI(file)));
+				}
+			}
+		};
+	}
+
+	/**
+	 * Passes all files in the given root directory and its sub directories to the given acceptor, except for the
+	 * contents of {@link #isIgnoredDirectory(Path) ignored} directories. Directories are only listed if they are not
+	 * recorded in the given journal or changed since they were recorded; the journal is updated accordingly. Nothing
+	 * is reported if the root is not a directory.
+	 *
+	 * @param journal
+	 *            the journal to use or <code>null</code>.
+	 * @return the visited directories.
+	 * @throws RuntimeIOException
+	 *             if a directory cannot be read.
+	 */
+	Set<Path> scan(Path root, DirectoryJournal journal, Consumer<Path> acceptor) {
+		Set<Path> visited = new HashSet<>();
+		if (!Files.isDirectory(root)) {
+			return visited;
+		}
+		scan(root, journal, acceptor, visited, new HashSet<>());
+		if (journal != null) {
+			journal.retain(root, visited);
+		}
+		return visited;
+	}
+
+	private void scan(Path directory, DirectoryJournal journal, Consumer<Path> acceptor, Set<Path> visited,
+			Set<Object> ancestors) {
+
+		if (isIgnoredDirectory(directory)) {
+			return;
+		}
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(directory, BasicFileAttributes.class);
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+		Object fileKey = attributes.fileKey();
+		if (!attributes.isDirectory() || fileKey != null && ancestors.contains(fileKey) || !visited.add(directory)) {
+			return; // not a directory or a cycle due to symbolic links
+		}
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		DirectoryJournal.Entry entry = journal != null ? journal.get(directory, lastModified) : null;
+		if (entry == null) {
+			entry = list(directory, lastModified);
+			if (journal != null) {
+				journal.put(directory, entry);
+			}
+		}
+		for (String file : entry.files) {
+			acceptor.accept(directory.resolve(file));
+		}
+		if (fileKey != null) {
+			ancestors.add(fileKey);
+		}
+		for (String subDirectory : entry.directories) {
+			scan(directory.resolve(subDirectory), journal, acceptor, visited, ancestors);
+		}
+		if (fileKey != null) {
+			ancestors.remove(fileKey);
+		}
+	}
+
+	/** Lists the contents of the given directory. */
+	private static DirectoryJournal.Entry list(Path directory, long lastModified) {
+		long now = System.currentTimeMillis();
+		List<String> files = new ArrayList<>();
+		List<String> directories = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path child : stream) {
+				String name = child.getFileName().toString();
+				if (Files.isDirectory(child)) {
+					directories.add(name);
+				} else {
+					files.add(name);
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+		// changes within the granularity of the file system's time stamps would go unnoticed for recent directories
+		long recordedLastModified = now - lastModified >= HashedFileContent.MIN_AGE_FOR_METADATA
+				? lastModified
+				: HashedFileContent.UNKNOWN;
+		return new DirectoryJournal.Entry(recordedLastModified, files.toArray(new String[0]),
+				directories.toArray(new String[0]));
+	}
+}
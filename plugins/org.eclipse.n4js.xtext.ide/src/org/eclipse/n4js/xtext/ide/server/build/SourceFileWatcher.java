@@ -0,0 +1,339 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server.build;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Detects changes of the files in a set of root directories, e.g. the source folders of the workspace, and reports
+ * them as dirty and deleted files.
+ * <p>
+ * Uses a {@link WatchService} if possible. If no watch service is available or not all directories can be registered
+ * (e.g. because the limit of watches of the operating system is exceeded), the root directories are polled instead.
+ * In both cases the changes are determined by comparing the modification time and size of the files with the last
+ * seen state; the events of the watch service only tell which directories have to be compared. Changes are reported
+ * after a short period without further changes. Directories {@link SourceFileScanner#isIgnoredDirectory(Path) ignored}
+ * by the {@link SourceFileScanner} are not watched.
+ */
+@Singleton
+public class SourceFileWatcher {
+	private static final Logger LOG = LogManager.getLogger(SourceFileWatcher.class);
+
+	/** Time in milliseconds without further changes after which changes are reported. */
+	static final long QUIET_PERIOD = 200;
+
+	/** Time in milliseconds between two scans of the root directories if polling is used. */
+	static final long POLLING_INTERVAL = 2000;
+
+	@Inject
+	private SourceFileScanner scanner;
+
+	private Watcher watcher;
+
+	/**
+	 * Starts watching the given root directories and reports changes to the given listener, which is invoked with the
+	 * URIs of the dirty and the deleted files from the watcher's thread. Changes made before this method returns are
+	 * not reported. If already watching other root directories, these are no longer watched.
+	 */
+	public synchronized void watch(Collection<Path> roots, BiConsumer<List<URI>, List<URI>> listener) {
+		Set<Path> newRoots = new LinkedHashSet<>(roots);
+		if (watcher != null && watcher.roots.equals(newRoots)) {
+			return;
+		}
+		stop();
+		watcher = new Watcher(newRoots, listener);
+		watcher.start();
+	}
+
+	/** Tells whether the watched directories are polled, because no {@link WatchService} is available. */
+	public synchronized boolean isPolling() {
+		return watcher != null && watcher.service == null;
+	}
+
+	/** Stops watching. */
+	public synchronized void stop() {
+		if (watcher != null) {
+			watcher.stop();
+			watcher = null;
+		}
+	}
+
+	/** The state of a directory as last seen by the watcher. */
+	private static final class DirectoryState {
+		/** The modification time and size of each file. */
+		final Map<Path, List<Long>> files;
+		final Set<Path> directories;
+
+		DirectoryState(Map<Path, List<Long>> files, Set<Path> directories) {
+			this.files = files;
+			this.directories = directories;
+		}
+	}
+
+	/** Owns the last seen state of the watched directories. All methods but start and stop run in the thread. */
+	private final class Watcher implements Runnable {
+		final Set<Path> roots;
+		final BiConsumer<List<URI>, List<URI>> listener;
+		final Thread thread;
+		volatile WatchService service;
+
+		final Map<Path, DirectoryState> directories = new HashMap<>();
+		final Map<WatchKey, Path> keys = new HashMap<>();
+		/** The values of {@link #keys}, to look up whether a directory is registered in constant time. */
+		final Set<Path> registered = new HashSet<>();
+
+		final Set<Path> dirty = new LinkedHashSet<>();
+		final Set<Path> deleted = new LinkedHashSet<>();
+
+		Watcher(Set<Path> roots, BiConsumer<List<URI>, List<URI>> listener) {
+			this.roots = roots;
+			this.listener = listener;
+			this.thread = new Thread(this, "SourceFileWatcher");
+			this.thread.setDaemon(true);
+			try {
+				service = FileSystems.getDefault().newWatchService();
+			} catch (IOException | UnsupportedOperationException e) {
+				LOG.info("no watch service available, polling for file changes instead: " + e);
+			}
+			// the initial state is known to the builder already
+			compareRoots();
+			dirty.clear();
+			deleted.clear();
+		}
+
+		void start() {
+			thread.start();
+		}
+
+		void stop() {
+			thread.interrupt();
+			closeService();
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (service != null && !thread.isInterrupted()) {
+					WatchKey key = dirty.isEmpty() && deleted.isEmpty()
+							? service.take()
+							: service.poll(QUIET_PERIOD, TimeUnit.MILLISECONDS);
+					if (key != null) {
+						handle(key);
+					} else {
+						notifyListener();
+					}
+				}
+				while (!thread.isInterrupted()) {
+					Thread.sleep(POLLING_INTERVAL);
+					compareRoots();
+					notifyListener();
+				}
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				// stopped
+			}
+		}
+
+		private void handle(WatchKey key) {
+			Path directory = keys.get(key);
+			boolean overflow = false;
+			for (WatchEvent<?> event : key.pollEvents()) {
+				overflow |= event.kind() == OVERFLOW;
+			}
+			if (!key.reset()) {
+				registered.remove(keys.remove(key));
+			}
+			if (overflow) {
+				compareRoots();
+			} else if (directory != null) {
+				compare(directory, false, new HashSet<>());
+			}
+		}
+
+		private void compareRoots() {
+			Set<Object> visited = new HashSet<>();
+			for (Path root : roots) {
+				compare(root, true, visited);
+			}
+		}
+
+		/**
+		 * Compares the current contents of the given directory with the last seen state and records the differences.
+		 * If recursive, all sub directories are compared as well; otherwise only new sub directories are scanned.
+		 */
+		private void compare(Path directory, boolean recursive, Set<Object> visited) {
+			if (scanner.isIgnoredDirectory(directory)) {
+				return;
+			}
+			DirectoryState oldState = directories.get(directory);
+			DirectoryState newState = list(directory, visited);
+			if (newState == null) {
+				removed(directory);
+				return;
+			}
+			if (oldState != null) {
+				for (Path oldFile : oldState.files.keySet()) {
+					if (!newState.files.containsKey(oldFile)) {
+						deleted.add(oldFile);
+						dirty.remove(oldFile);
+					}
+				}
+				for (Path oldDirectory : oldState.directories) {
+					if (!newState.directories.contains(oldDirectory)) {
+						removed(oldDirectory);
+					}
+				}
+			}
+			for (Map.Entry<Path, List<Long>> entry : newState.files.entrySet()) {
+				if (oldState == null || !entry.getValue().equals(oldState.files.get(entry.getKey()))) {
+					dirty.add(entry.getKey());
+					deleted.remove(entry.getKey());
+				}
+			}
+			directories.put(directory, newState);
+			register(directory);
+			for (Path subDirectory : newState.directories) {
+				if (recursive || !directories.containsKey(subDirectory)) {
+					compare(subDirectory, true, visited);
+				}
+			}
+		}
+
+		/** Lists the given directory or returns <code>null</code> if it does not exist (anymore). */
+		private DirectoryState list(Path directory, Set<Object> visited) {
+			Map<Path, List<Long>> files = new HashMap<>();
+			Set<Path> subDirectories = new LinkedHashSet<>();
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(directory, BasicFileAttributes.class);
+				if (!attributes.isDirectory()) {
+					return null;
+				}
+				if (attributes.fileKey() != null && !visited.add(attributes.fileKey())) {
+					// already visited via another path, e.g. a cycle due to symbolic links
+					return new DirectoryState(files, subDirectories);
+				}
+				try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+					for (Path child : stream) {
+						BasicFileAttributes childAttributes;
+						try {
+							childAttributes = Files.readAttributes(child, BasicFileAttributes.class);
+						} catch (IOException e) {
+							continue; // deleted in the meantime or a broken link
+						}
+						if (childAttributes.isDirectory()) {
+							subDirectories.add(child);
+						} else {
+							files.put(child, List.of(childAttributes.lastModifiedTime().toMillis(),
+									childAttributes.size()));
+						}
+					}
+				}
+			} catch (IOException e) {
+				return null;
+			}
+			return new DirectoryState(files, subDirectories);
+		}
+
+		/** Records the removal of the given directory and all its contents. */
+		private void removed(Path directory) {
+			DirectoryState state = directories.remove(directory);
+			if (state != null) {
+				deleted.addAll(state.files.keySet());
+				dirty.removeAll(state.files.keySet());
+				for (Path subDirectory : state.directories) {
+					removed(subDirectory);
+				}
+			}
+		}
+
+		private void register(Path directory) {
+			WatchService currentService = service;
+			if (currentService == null || registered.contains(directory)) {
+				return;
+			}
+			try {
+				keys.put(directory.register(currentService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), directory);
+				registered.add(directory);
+			} catch (ClosedWatchServiceException e) {
+				// stopped
+			} catch (IOException e) {
+				// e.g. the limit of watches of the operating system is exceeded
+				LOG.warn("cannot watch " + directory + ", polling for file changes instead: " + e);
+				keys.clear();
+				registered.clear();
+				closeService();
+			}
+		}
+
+		private void closeService() {
+			WatchService currentService = service;
+			service = null;
+			if (currentService != null) {
+				try {
+					currentService.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+
+		private void notifyListener() {
+			if (dirty.isEmpty() && deleted.isEmpty()) {
+				return;
+			}
+			List<URI> dirtyURIs = new ArrayList<>(dirty.size());
+			for (Path file : dirty) {
+				dirtyURIs.add(scanner.toURI(file));
+			}
+			List<URI> deletedURIs = new ArrayList<>(deleted.size());
+			for (Path file : deleted) {
+				deletedURIs.add(scanner.toURI(file));
+			}
+			dirty.clear();
+			deleted.clear();
+			try {
+				listener.accept(dirtyURIs, deletedURIs);
+			} catch (RuntimeException e) {
+				LOG.error("error while reporting file changes", e);
+			}
+		}
+	}
+}
@@ -11,8 +11,10 @@
 package org.eclipse.n4js.xtext.ide.server.build;
 
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.n4js.xtext.workspace.IWorkspaceAwareResourceSet;
 import org.eclipse.n4js.xtext.workspace.WorkspaceConfigSnapshot;
@@ -21,12 +23,22 @@ import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
 /**
  * A resource set that distributes resources across several resource sets, using one resource set per project in the
  * {@link #workspaceManager workspace}.
+ * <p>
+ * Besides the list of resources and the URI map, which are synchronized by the super class, the loading of resources
+ * and the resolution of objects by URI, i.e. proxy resolution, are performed while holding the {@link #getLock()
+ * lock} of this resource set. Thus, several threads may work on different resources of this resource set, as long as
+ * the shared resources were completed before, such that the threads only read them (see
+ * {@link XStatefulIncrementalBuilder#buildClusterInParallel(java.util.List, XSource2GeneratedMapping,
+ * XIndexer.XIndexResult) XStatefulIncrementalBuilder#buildClusterInParallel}).
  */
 public class WorkspaceAwareResourceSet extends SynchronizedXtextResourceSet implements IWorkspaceAwareResourceSet {
 
 	/** The workspace manager that represents the workspace that is the context of this resource set. */
 	protected XWorkspaceManager workspaceManager;
 
+	/** Notified about requests for resources of this resource set or <code>null</code>. */
+	protected volatile Consumer<URI> resourceAccessListener;
+
 	/** Returns the workspace manager that represents the workspace context of this resource set. */
 	public XWorkspaceManager getWorkspaceManager() {
 		return workspaceManager;
@@ -46,6 +58,39 @@ public class WorkspaceAwareResourceSet extends SynchronizedXtextResourceSet impl
 		return new WorkspaceAwareResourceLocator(this, workspaceManager);
 	}
 
+	/**
+	 * Sets the listener to notify about requests for resources of this resource set, e.g. from the linker. Requests for
+	 * resources that are delegated to the resource set of another project are not reported.
+	 *
+	 * @param resourceAccessListener
+	 *            the listener or <code>null</code>.
+	 */
+	public void setResourceAccessListener(Consumer<URI> resourceAccessListener) {
+		this.resourceAccessListener = resourceAccessListener;
+	}
+
+	@Override
+	public Resource getResource(URI uri, boolean loadOnDemand) {
+		Resource result = super.getResource(uri, loadOnDemand);
+		Consumer<URI> listener = resourceAccessListener;
+		if (listener != null && result != null && result.getResourceSet() == this) {
+			listener.accept(result.getURI());
+		}
+		return result;
+	}
+
+	/**
+	 * Resolves the object with the given URI while holding the lock of this resource set, since resolving an object
+	 * may load its resource or modify it, e.g. by lazy linking or by loading the AST of a resource that was loaded from
+	 * the index.
+	 */
+	@Override
+	public EObject getEObject(URI uri, boolean loadOnDemand) {
+		synchronized (getLock()) {
+			return super.getEObject(uri, loadOnDemand);
+		}
+	}
+
 	// no need to override #createResource(URI) and #demandCreateResource(URI)
 	// (they delegate to #createResource(URI,String))
 
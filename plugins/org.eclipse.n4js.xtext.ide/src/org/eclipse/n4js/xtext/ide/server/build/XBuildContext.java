@@ -62,6 +62,14 @@ public class XBuildContext {
 		return this.loader.executeClustered(this, Iterables.filter(uri, this::canHandle), operation);
 	}
 
+	/**
+	 * Run the given logic on all uris with clustering enabled, passing all load results of a cluster at once.
+	 */
+	public <T> List<T> executeClusteredBatched(Iterable<URI> uri,
+			Function1<? super List<LoadResult>, ? extends List<? extends T>> operation) {
+		return this.loader.executeClusteredBatched(this, Iterables.filter(uri, this::canHandle), operation);
+	}
+
 	/**
 	 * Return true, if the given can be handled by any available language.
 	 */
@@ -10,6 +10,7 @@ package org.eclipse.n4js.xtext.ide.server.build;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -22,6 +23,7 @@ import org.eclipse.n4js.utils.URIUtils;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.IResourceServiceProviderExtension;
 import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
 import org.eclipse.xtext.resource.persistence.SourceLevelURIsAdapter;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
@@ -72,6 +74,17 @@ public class XClusteringStorageAwareResourceLoader {
 	public <T> List<T> executeClustered(XBuildContext context, Iterable<URI> uris,
 			Function1<? super LoadResult, ? extends T> operation) {
 
+		return executeClusteredBatched(context, uris, cluster -> ListExtensions.map(cluster, operation::apply));
+	}
+
+	/**
+	 * Like {@link #executeClustered(XBuildContext, Iterable, Function1)}, but the given operation is invoked once per
+	 * cluster with the load results of all resources of that cluster, in load order. This allows the operation to
+	 * process the resources of a cluster concurrently, after all of them have been loaded.
+	 */
+	public <T> List<T> executeClusteredBatched(XBuildContext context, Iterable<URI> uris,
+			Function1<? super List<LoadResult>, ? extends List<? extends T>> operation) {
+
 		int loadedURIsCount = 0;
 		Set<URI> sourceLevelURIs = new HashSet<>();
 		List<LoadResult> resources = new ArrayList<>();
@@ -85,9 +98,9 @@ public class XClusteringStorageAwareResourceLoader {
 			iterator.remove();
 			XtextResourceSet resourceSet = context.getResourceSet();
 			if (!context.getClusteringPolicy().continueProcessing(resourceSet, uri, loadedURIsCount)) {
-				result.addAll(ListExtensions.map(resources, operation::apply));
-				this.clearResourceSet(context);
-				resources.clear();
+				result.addAll(operation.apply(Collections.unmodifiableList(resources)));
+				this.releaseResources(context);
+				resources = new ArrayList<>();
 				loadedURIsCount = 0;
 			}
 			loadedURIsCount++;
@@ -104,7 +117,9 @@ public class XClusteringStorageAwareResourceLoader {
 			resources.add(loadResource(resourceSet, uri, urisCopy, urisDone));
 			urisDone.add(uri);
 		}
-		result.addAll(ListExtensions.map(resources, operation::apply));
+		if (!resources.isEmpty()) {
+			result.addAll(operation.apply(Collections.unmodifiableList(resources)));
+		}
 		return result;
 	}
 
@@ -141,6 +156,19 @@ public class XClusteringStorageAwareResourceLoader {
 				&& ((IResourceServiceProviderExtension) provider).isSource(uri));
 	}
 
+	/**
+	 * Release memory at the end of a cluster. If the clustering policy is a {@link HeapAwareClusteringPolicy}, only
+	 * some of the resources are evicted; otherwise the resource set is cleared.
+	 */
+	protected void releaseResources(XBuildContext context) {
+		IResourceClusteringPolicy clusteringPolicy = context.getClusteringPolicy();
+		if (clusteringPolicy instanceof HeapAwareClusteringPolicy) {
+			((HeapAwareClusteringPolicy) clusteringPolicy).evict(context.getResourceSet());
+		} else {
+			clearResourceSet(context);
+		}
+	}
+
 	/**
 	 * Remove all resources from the resource set without delivering notifications.
 	 */
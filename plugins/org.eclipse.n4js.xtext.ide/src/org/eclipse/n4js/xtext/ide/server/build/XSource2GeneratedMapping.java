@@ -26,6 +26,8 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 
 /**
+ * Mapping between source files and the files generated from them. Thread-safe.
+ *
  * @author Jan Koehnlein - Initial contribution and API
  */
 public class XSource2GeneratedMapping {
@@ -55,7 +57,7 @@ public class XSource2GeneratedMapping {
 	/**
 	 * Create a copy of this mapping.
 	 */
-	public XSource2GeneratedMapping copy() {
+	public synchronized XSource2GeneratedMapping copy() {
 		return new XSource2GeneratedMapping(
 				HashMultimap.create(this.source2generated),
 				HashMultimap.create(this.generated2source),
@@ -72,7 +74,7 @@ public class XSource2GeneratedMapping {
 	/**
 	 * Add a source to gen mapping.
 	 */
-	public void addSource2Generated(URI source, URI generated, String outputCfgName) {
+	public synchronized void addSource2Generated(URI source, URI generated, String outputCfgName) {
 		this.source2generated.put(source, generated);
 		this.generated2source.put(generated, source);
 		this.generated2OutputConfigName.put(generated,
@@ -82,7 +84,7 @@ public class XSource2GeneratedMapping {
 	/**
 	 * Remove a source to gen mapping.
 	 */
-	public void removeSource2Generated(URI source, URI generated) {
+	public synchronized void removeSource2Generated(URI source, URI generated) {
 		this.source2generated.remove(source, generated);
 		this.generated2source.remove(generated, source);
 		if (!generated2source.containsKey(generated)) {
@@ -93,7 +95,7 @@ public class XSource2GeneratedMapping {
 	/**
 	 * Mark the source as deleted and return all the former generated uris.
 	 */
-	public Set<URI> deleteSource(URI source) {
+	public synchronized Set<URI> deleteSource(URI source) {
 		Set<URI> generated = new HashSet<>(this.source2generated.removeAll(source));
 		for (URI gen : generated) {
 			this.generated2source.remove(gen, source);
@@ -107,7 +109,7 @@ public class XSource2GeneratedMapping {
 	/**
 	 * Mark the source as deleted and return all the former generated uris.
 	 */
-	public Map<URI, String> deleteSourceAndGetOutputConfigs(URI source) {
+	public synchronized Map<URI, String> deleteSourceAndGetOutputConfigs(URI source) {
 		Set<URI> generated = new HashSet<>(source2generated.removeAll(source));
 		Map<URI, String> result = new HashMap<>();
 		for (URI gen : generated) {
@@ -123,7 +125,7 @@ public class XSource2GeneratedMapping {
 	/**
 	 * Remove the generated file from this mapping.
 	 */
-	public void deleteGenerated(URI generated) {
+	public synchronized void deleteGenerated(URI generated) {
 		this.generated2source.removeAll(generated).forEach((it) -> {
 			this.source2generated.remove(it, generated);
 		});
@@ -133,35 +135,35 @@ public class XSource2GeneratedMapping {
 	/**
 	 * Get the output configuration that led to the given generated URI.
 	 */
-	public String getOutputConfigName(URI generated) {
+	public synchronized String getOutputConfigName(URI generated) {
 		return this.generated2OutputConfigName.get(generated);
 	}
 
 	/**
 	 * Return all the generated resources for the given source.
 	 */
-	public List<URI> getGenerated(URI source) {
+	public synchronized List<URI> getGenerated(URI source) {
 		return new ArrayList<>(this.source2generated.get(source));
 	}
 
 	/**
 	 * Return all the source resources for the given generated resource.
 	 */
-	public List<URI> getSource(URI generated) {
+	public synchronized List<URI> getSource(URI generated) {
 		return new ArrayList<>(this.generated2source.get(generated));
 	}
 
 	/**
 	 * Return all the generated resources.
 	 */
-	public List<URI> getAllGenerated() {
+	public synchronized List<URI> getAllGenerated() {
 		return new ArrayList<>(this.generated2source.keySet());
 	}
 
 	/**
 	 * @see Externalizable#readExternal(java.io.ObjectInput)
 	 */
-	public void readExternal(DataInput in) throws IOException {
+	public synchronized void readExternal(DataInput in) throws IOException {
 		int numEntries = in.readInt();
 		while (numEntries > 0) {
 			numEntries--;
@@ -179,7 +181,7 @@ public class XSource2GeneratedMapping {
 	/**
 	 * @see Externalizable#writeExternal(java.io.ObjectOutput)
 	 */
-	public void writeExternal(DataOutput out) throws IOException {
+	public synchronized void writeExternal(DataOutput out) throws IOException {
 		Set<Map.Entry<URI, Collection<URI>>> entries = this.source2generated.asMap().entrySet();
 		out.writeInt(entries.size());
 		for (Map.Entry<URI, Collection<URI>> it : entries) {
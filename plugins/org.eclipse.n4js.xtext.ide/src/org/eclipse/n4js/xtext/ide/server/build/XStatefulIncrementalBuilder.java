@@ -20,13 +20,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.n4js.utils.URIUtils;
+import org.eclipse.n4js.xtext.ide.server.WorkspaceBuilderConfig;
 import org.eclipse.n4js.xtext.ide.server.build.XClusteringStorageAwareResourceLoader.LoadResult;
 import org.eclipse.n4js.xtext.workspace.ProjectConfigSnapshot;
 import org.eclipse.xtext.EcoreUtil2;
@@ -48,6 +52,8 @@ import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.IResourceScopeCache;
+import org.eclipse.xtext.util.OnChangeEvictingCache;
 import org.eclipse.xtext.validation.CheckMode;
 import org.eclipse.xtext.validation.IResourceValidator;
 import org.eclipse.xtext.validation.Issue;
@@ -56,6 +62,7 @@ import org.eclipse.xtext.xbase.lib.Exceptions;
 
 import com.google.common.base.Throwables;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.inject.Inject;
 
 /** Builder instance that is bound to a single running build. */
@@ -72,6 +79,19 @@ public class XStatefulIncrementalBuilder {
 	@Inject
 	private OperationCanceledManager operationCanceledManager;
 
+	@Inject
+	private WorkspaceBuilderConfig builderConfig;
+
+	@Inject
+	private ParallelValidationPool validationPool;
+
+	/**
+	 * Build events that are reported later on, in a deterministic order. Only set in threads of the
+	 * {@link #validationPool}, see
+	 * {@link #buildClusterInParallel(List, XSource2GeneratedMapping, XIndexer.XIndexResult)}.
+	 */
+	private final ThreadLocal<List<Runnable>> deferredEvents = new ThreadLocal<>();
+
 	/** Unload a resource with the given URI. */
 	protected void unloadResource(URI uri) {
 		XtextResourceSet resourceSet = this.request.getResourceSet();
@@ -113,6 +133,7 @@ public class XStatefulIncrementalBuilder {
 			XSource2GeneratedMapping newSource2GeneratedMapping = request.getFileMappings();
 
 			List<Delta> allProcessedAndExternalDeltas = new ArrayList<>(request.getExternalDeltas());
+			onDeltasDetected(request.getExternalDeltas());
 
 			ResourceDescriptionsData oldIndex = context.getOldIndex();
 			Set<URI> remainingURIs = new LinkedHashSet<>(oldIndex.getAllURIs()); // note: creating a copy!
@@ -131,6 +152,7 @@ public class XStatefulIncrementalBuilder {
 			// continue as long as there are more deltas to be processed (either the deltas representing the initial
 			// deletions/changes or in later iterations the deltas representing affected resources)
 			while (!deltasToBeProcessed.isEmpty()) {
+				onDeltasDetected(deltasToBeProcessed);
 
 				// process the deltas
 				List<Delta> newDeltas = new ArrayList<>();
@@ -151,8 +173,15 @@ public class XStatefulIncrementalBuilder {
 					remainingURIs.remove(uri);
 				}
 
-				List<IResourceDescription.Delta> deltasBuilt = context.executeClustered(urisToBeBuilt,
-						(loadResult) -> buildClustered(loadResult, newSource2GeneratedMapping, result));
+				List<IResourceDescription.Delta> deltasBuilt;
+				if (builderConfig.isParallelValidation() && request.canValidate()
+						&& request.getResourceSet() instanceof WorkspaceAwareResourceSet) {
+					deltasBuilt = context.executeClusteredBatched(urisToBeBuilt,
+							(cluster) -> buildClusterInParallel(cluster, newSource2GeneratedMapping, result));
+				} else {
+					deltasBuilt = context.executeClustered(urisToBeBuilt,
+							(loadResult) -> buildClustered(loadResult, newSource2GeneratedMapping, result));
+				}
 				newDeltas.addAll(deltasBuilt);
 
 				allProcessedDeltas.addAll(newDeltas);
@@ -172,6 +201,15 @@ public class XStatefulIncrementalBuilder {
 		return new XBuildResult(request, allProcessedDeltas);
 	}
 
+	/**
+	 * Invoked with the deltas of changed, deleted or affected resources, as well as with the external deltas, before
+	 * the corresponding resources are built. Overwrite this method to evict information derived from the resources of
+	 * the build request's resource set that may have become outdated. Does nothing by default.
+	 */
+	protected void onDeltasDetected(@SuppressWarnings("unused") List<Delta> deltas) {
+		// nothing to do by default
+	}
+
 	/** Overwrite this method to adjust the build request while working / loading resources already. */
 	protected XBuildRequest initializeBuildRequest(XBuildRequest initialRequest,
 			@SuppressWarnings({ "hiding", "unused" }) XBuildContext context) {
@@ -203,7 +241,7 @@ public class XStatefulIncrementalBuilder {
 			if (config != null && config.isCleanUpDerivedResources()) {
 				try {
 					uriConverter.delete(generated, CollectionLiterals.emptyMap());
-					request.afterDelete(generated);
+					notifyAfterDelete(generated);
 				} catch (IOException e) {
 					Exceptions.sneakyThrow(e);
 				}
@@ -216,13 +254,157 @@ public class XStatefulIncrementalBuilder {
 			XSource2GeneratedMapping newSource2GeneratedMapping,
 			XIndexer.XIndexResult result) {
 
+		IndexedResource indexed = indexClustered(loadResult, newSource2GeneratedMapping, result);
+		if (indexed.resource != null) {
+			validateAndGenerate(indexed, newSource2GeneratedMapping);
+			request.afterBuildFile(indexed.source);
+		}
+		return indexed.delta;
+	}
+
+	/**
+	 * Build the given cluster of resources. All resources are indexed first, one after the other. After that, they are
+	 * validated and generated concurrently. All build events (issues, generated and deleted files) are reported in the
+	 * order of the given cluster, independent of the order in which the resources were actually processed.
+	 * <p>
+	 * Only used if the build's resource set is a {@link WorkspaceAwareResourceSet}, which is shared between the
+	 * worker threads of the {@link ParallelValidationPool}. Before the resources are handed to the workers, the calling
+	 * thread {@link #prepareConcurrentValidation(List) prepares} the resource set, such that the workers only read the
+	 * resources of the cluster and the resources they reference:
+	 * <ul>
+	 * <li>The resources of the cluster are loaded, linked, post-processed and indexed, and all their proxies are
+	 * resolved, which also loads the resources they reference.
+	 * <li>Resource scoped caches are attached to all resources of the resource set, so the workers do not modify the
+	 * adapters of shared resources.
+	 * <li>Resources that are still loaded by the workers, e.g. indirectly referenced ones, are loaded and their objects
+	 * are resolved while holding the lock of the resource set (see
+	 * {@link WorkspaceAwareResourceSet#getEObject(URI, boolean)}).
+	 * <li>Build events are collected per worker and reported by the calling thread, and the index is only modified by
+	 * the calling thread.
+	 * </ul>
+	 */
+	protected List<Delta> buildClusterInParallel(List<LoadResult> cluster,
+			XSource2GeneratedMapping newSource2GeneratedMapping,
+			XIndexer.XIndexResult result) {
+
+		List<IndexedResource> indexedResources = new ArrayList<>(cluster.size());
+		for (LoadResult loadResult : cluster) {
+			indexedResources.add(indexClustered(loadResult, newSource2GeneratedMapping, result));
+		}
+		prepareConcurrentValidation(indexedResources);
+
+		List<Future<List<Runnable>>> futures = new ArrayList<>(indexedResources.size());
+		for (IndexedResource indexed : indexedResources) {
+			if (indexed.resource == null) {
+				futures.add(null);
+				continue;
+			}
+			futures.add(validationPool.submit(() -> {
+				List<Runnable> events = new ArrayList<>();
+				deferredEvents.set(events);
+				try {
+					validateAndGenerate(indexed, newSource2GeneratedMapping);
+				} finally {
+					deferredEvents.remove();
+				}
+				return events;
+			}));
+		}
+
+		// merge results in cluster order
+		Throwable failure = null;
+		List<Delta> deltas = new ArrayList<>(indexedResources.size());
+		for (int i = 0; i < indexedResources.size(); i++) {
+			IndexedResource indexed = indexedResources.get(i);
+			Future<List<Runnable>> future = futures.get(i);
+			if (future != null) {
+				List<Runnable> events;
+				try {
+					events = Uninterruptibles.getUninterruptibly(future);
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+					}
+					continue;
+				}
+				if (failure != null) {
+					continue;
+				}
+				events.forEach(Runnable::run);
+				request.afterBuildFile(indexed.source);
+			}
+			deltas.add(indexed.delta);
+		}
+		if (failure != null) {
+			Throwables.throwIfUnchecked(failure);
+			throw new WrappedException((Exception) failure);
+		}
+		return deltas;
+	}
+
+	/**
+	 * Invoked in the calling thread before the given resources of a cluster are validated and generated concurrently.
+	 * Resolves all proxies of the given resources and attaches the resource scoped cache to each resource of the
+	 * resource set. Overwrite this method to complete further lazily computed state of the resources that would
+	 * otherwise be computed by several workers at the same time.
+	 */
+	protected void prepareConcurrentValidation(List<IndexedResource> indexedResources) {
+		CancelIndicator cancelIndicator = request.getCancelIndicator();
+		for (IndexedResource indexed : indexedResources) {
+			if (indexed.resource != null) {
+				EcoreUtil.resolveAll(indexed.resource);
+				operationCanceledManager.checkCanceled(cancelIndicator);
+			}
+		}
+		for (Resource resource : getResourcesForConcurrentValidation()) {
+			if (resource instanceof XtextResource) {
+				IResourceScopeCache cache = ((XtextResource) resource).getCache();
+				if (cache instanceof OnChangeEvictingCache) {
+					((OnChangeEvictingCache) cache).getOrCreate(resource);
+				}
+			}
+		}
+	}
+
+	/** Returns a copy of the resources of the build's {@link WorkspaceAwareResourceSet resource set}. */
+	protected List<Resource> getResourcesForConcurrentValidation() {
+		WorkspaceAwareResourceSet resourceSet = (WorkspaceAwareResourceSet) request.getResourceSet();
+		synchronized (resourceSet.getLock()) {
+			return new ArrayList<>(resourceSet.getResources());
+		}
+	}
+
+	/** A resource that has been loaded and indexed, but not yet validated and generated. */
+	protected static class IndexedResource {
+		/** The URI of the resource. */
+		public final URI source;
+		/** The resource or <code>null</code> if the resource could not be loaded, because it does not exist. */
+		public final Resource resource;
+		/** The service provider of the resource. */
+		public final IResourceServiceProvider serviceProvider;
+		/** The delta of the resource. */
+		public final Delta delta;
+
+		/** Constructor */
+		public IndexedResource(URI source, Resource resource, IResourceServiceProvider serviceProvider, Delta delta) {
+			this.source = source;
+			this.resource = resource;
+			this.serviceProvider = serviceProvider;
+			this.delta = delta;
+		}
+	}
+
+	/** Load, resolve and index the given resource. */
+	protected IndexedResource indexClustered(LoadResult loadResult,
+			XSource2GeneratedMapping newSource2GeneratedMapping,
+			XIndexer.XIndexResult result) {
+
 		CancelIndicator cancelIndicator = request.getCancelIndicator();
 		operationCanceledManager.checkCanceled(cancelIndicator);
 
 		URI source = loadResult.uri;
 		IResourceServiceProvider serviceProvider = getResourceServiceProvider(loadResult);
 		IResourceDescription.Manager manager = serviceProvider.getResourceDescriptionManager();
-		IResourceValidator resourceValidator = serviceProvider.getResourceValidator();
 
 		Resource resource = loadResult.resource;
 
@@ -237,7 +419,7 @@ public class XStatefulIncrementalBuilder {
 				request.afterValidate(source, Collections.emptyList());
 				removeGeneratedFiles(source, newSource2GeneratedMapping);
 				IResourceDescription old = context.getOldIndex().getResourceDescription(loadResult.uri);
-				return manager.createDelta(old, null);
+				return new IndexedResource(source, null, serviceProvider, manager.createDelta(old, null));
 			}
 			Throwables.throwIfUnchecked(loadResult.throwable);
 			throw new WrappedException((Exception) loadResult.throwable);
@@ -253,25 +435,54 @@ public class XStatefulIncrementalBuilder {
 		result.getNewIndex().addDescription(source, copiedDescription);
 		operationCanceledManager.checkCanceled(cancelIndicator);
 
-		if (request.canValidate()) {
-			List<Issue> issues = resourceValidator.validate(resource, CheckMode.ALL, cancelIndicator);
-			// next line required, because #validate() sometimes returns null when canceled:
-			operationCanceledManager.checkCanceled(cancelIndicator);
-			request.afterValidate(source, issues);
+		IResourceDescription old = context.getOldIndex().getResourceDescription(source);
+		return new IndexedResource(source, resource, serviceProvider, manager.createDelta(old, copiedDescription));
+	}
 
-			boolean proceedGenerate = !containsValidationErrors(issues);
-			if (proceedGenerate) {
-				operationCanceledManager.checkCanceled(cancelIndicator);
-				generate(resource, newSource2GeneratedMapping, serviceProvider);
-			} else {
-				removeGeneratedFiles(resource.getURI(), newSource2GeneratedMapping);
-			}
+	/** Validate the given, already indexed resource and generate code for it if it does not contain errors. */
+	protected void validateAndGenerate(IndexedResource indexed, XSource2GeneratedMapping newSource2GeneratedMapping) {
+		if (!request.canValidate()) {
+			return;
 		}
+		CancelIndicator cancelIndicator = request.getCancelIndicator();
+		IResourceValidator resourceValidator = indexed.serviceProvider.getResourceValidator();
 
-		request.afterBuildFile(source);
+		List<Issue> issues = resourceValidator.validate(indexed.resource, CheckMode.ALL, cancelIndicator);
+		// next line required, because #validate() sometimes returns null when canceled:
+		operationCanceledManager.checkCanceled(cancelIndicator);
+		notifyAfterValidate(indexed.source, issues);
 
-		IResourceDescription old = context.getOldIndex().getResourceDescription(source);
-		return manager.createDelta(old, copiedDescription);
+		boolean proceedGenerate = !containsValidationErrors(issues);
+		if (proceedGenerate) {
+			operationCanceledManager.checkCanceled(cancelIndicator);
+			generate(indexed.resource, newSource2GeneratedMapping, indexed.serviceProvider);
+		} else {
+			removeGeneratedFiles(indexed.resource.getURI(), newSource2GeneratedMapping);
+		}
+	}
+
+	/** Reports the given issues to the build request, possibly {@link #deferredEvents deferred}. */
+	private void notifyAfterValidate(URI source, List<? extends Issue> issues) {
+		notify(() -> request.afterValidate(source, issues));
+	}
+
+	/** Reports a generated file to the build request, possibly {@link #deferredEvents deferred}. */
+	private void notifyAfterGenerate(URI source, URI generated) {
+		notify(() -> request.afterGenerate(source, generated));
+	}
+
+	/** Reports a deleted file to the build request, possibly {@link #deferredEvents deferred}. */
+	private void notifyAfterDelete(URI file) {
+		notify(() -> request.afterDelete(file));
+	}
+
+	private void notify(Runnable event) {
+		List<Runnable> events = deferredEvents.get();
+		if (events != null) {
+			events.add(event);
+		} else {
+			event.run();
+		}
 	}
 
 	/** @return true iff the given source has issues of severity ERROR */
@@ -312,12 +523,12 @@ public class XStatefulIncrementalBuilder {
 		fileSystemAccess.setBeforeWrite((uri, outputCfgName, contents) -> {
 			newMappings.addSource2Generated(source, uri, outputCfgName);
 			previous.remove(uri);
-			request.afterGenerate(source, uri);
+			notifyAfterGenerate(source, uri);
 			return contents;
 		});
 		fileSystemAccess.setBeforeDelete((uri) -> {
 			newMappings.deleteGenerated(uri);
-			request.afterDelete(uri);
+			notifyAfterDelete(uri);
 			return true;
 		});
 		fileSystemAccess.setContext(resource);
@@ -336,7 +547,7 @@ public class XStatefulIncrementalBuilder {
 			for (URI noLongerCreated : previous) {
 				try {
 					resourceSet.getURIConverter().delete(noLongerCreated, CollectionLiterals.emptyMap());
-					request.afterDelete(noLongerCreated);
+					notifyAfterDelete(noLongerCreated);
 				} catch (IOException e) {
 					Exceptions.sneakyThrow(e);
 				}
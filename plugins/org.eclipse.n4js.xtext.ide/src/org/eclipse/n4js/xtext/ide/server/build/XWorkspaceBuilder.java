@@ -30,9 +30,9 @@ import org.eclipse.lsp4j.WorkDoneProgressReport;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.n4js.utils.UtilN4;
 import org.eclipse.n4js.xtext.ide.server.ResourceChangeSet;
+import org.eclipse.n4js.xtext.ide.server.WorkspaceBuilderConfig;
 import org.eclipse.n4js.xtext.ide.server.XLanguageServerImpl;
 import org.eclipse.n4js.xtext.ide.server.build.IBuildRequestFactory.OnPostCreateListener;
-import org.eclipse.n4js.xtext.ide.server.build.ParallelBuildManager.ParallelJob;
 import org.eclipse.n4js.xtext.ide.server.build.XWorkspaceManager.UpdateResult;
 import org.eclipse.n4js.xtext.ide.server.util.LspLogger;
 import org.eclipse.n4js.xtext.workspace.BuildOrderFactory;
@@ -45,7 +45,6 @@ import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.impl.CoarseGrainedChangeEvent;
 import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
-import org.eclipse.xtext.resource.impl.ProjectDescription;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionChangeEvent;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
@@ -93,6 +92,12 @@ public class XWorkspaceBuilder {
 	@Inject
 	private XLanguageServerImpl languageServer;
 
+	@Inject
+	private WorkspaceBuilderConfig builderConfig;
+
+	@Inject
+	private ParallelBuildScheduler parallelBuildScheduler;
+
 	private final Set<URI> newDirtyFiles = new LinkedHashSet<>();
 	private final Set<URI> newDeletedFiles = new LinkedHashSet<>();
 	private boolean newRefreshRequest = false;
@@ -104,18 +109,27 @@ public class XWorkspaceBuilder {
 	/** Holds all deltas of all projects. In case of a cancelled build, this set is not empty at start of next build. */
 	private final List<IResourceDescription.Delta> toBeConsideredDeltas = new ArrayList<>();
 
+	/**
+	 * True iff the last initial build was canceled. Only a {@link WorkspaceBuilderConfig#isParallelBuild() parallel}
+	 * initial build can be canceled; in that case the next incremental build performs an initial build instead.
+	 */
+	private boolean initialBuildCanceled = false;
+
 	private WorkDoneProgressCreateParams currentProgress;
 
 	/**
-	 * Initializes the workspace and triggers an initial build (always non-cancelable).
+	 * Initializes the workspace and triggers an initial build. The initial build is non-cancelable unless it is a
+	 * {@link WorkspaceBuilderConfig#isParallelBuild() parallel build}; if a parallel initial build is canceled, the
+	 * next incremental build task will perform the initial build instead.
 	 */
 	public BuildTask createInitialBuildTask() {
 		startProgress("Init build", "Loading...");
-		return (cancelIndicator) -> this.doInitialBuild();
+		return this::doInitialBuild;
 	}
 
 	/**
-	 * Re-initializes the workspace and triggers the equivalent to an initial build (also non-cancelable).
+	 * Re-initializes the workspace and triggers the equivalent to an initial build (cancelable under the same
+	 * conditions as the initial build, see {@link #createInitialBuildTask()}).
 	 */
 	public BuildTask createReinitialBuildTask() {
 		startProgress("Full build", "Re-initialize...");
@@ -126,15 +140,16 @@ public class XWorkspaceBuilder {
 		newDeletedFiles.clear();
 
 		workspaceManager.reinitialize();
-		return (cancelIndicator) -> this.doInitialBuild();
+		return this::doInitialBuild;
 	}
 
 	/**
-	 * Run a full build on the entire workspace, i.e. build all projects.
+	 * Run a full build on the entire workspace, i.e. build all projects. The given cancel indicator is only taken into
+	 * account by a {@link WorkspaceBuilderConfig#isParallelBuild() parallel build}.
 	 *
 	 * @return the delta.
 	 */
-	private IResourceDescription.Event doInitialBuild() {
+	private IResourceDescription.Event doInitialBuild(CancelIndicator cancelIndicator) {
 		Stopwatch stopwatch = Stopwatch.createStarted();
 
 		OnPostCreateListener postCreateListener = null;
@@ -147,16 +162,22 @@ public class XWorkspaceBuilder {
 			postCreateListener = getPostCreateListener(workspaceConfig, allProjects);
 			buildRequestFactory.addOnPostCreateListener(postCreateListener);
 
-			List<IResourceDescription.Delta> allDeltas = new ArrayList<>();
-			while (pboIterator.hasNext()) {
-				ProjectConfigSnapshot projectConfig = pboIterator.next();
-				String projectID = projectConfig.getName();
-				ProjectBuilder projectBuilder = workspaceManager.getProjectBuilder(projectID);
-
-				XBuildResult partialresult = projectBuilder.doInitialBuild(buildRequestFactory, allDeltas);
-				allDeltas.addAll(partialresult.getAffectedResources());
+			List<IResourceDescription.Delta> allDeltas;
+			if (builderConfig.isParallelBuild()) {
+				allDeltas = doInitialBuildInParallel(pboIterator, cancelIndicator);
+			} else {
+				allDeltas = new ArrayList<>();
+				while (pboIterator.hasNext()) {
+					ProjectConfigSnapshot projectConfig = pboIterator.next();
+					String projectID = projectConfig.getName();
+					ProjectBuilder projectBuilder = workspaceManager.getProjectBuilder(projectID);
+
+					XBuildResult partialresult = projectBuilder.doInitialBuild(buildRequestFactory, allDeltas);
+					allDeltas.addAll(partialresult.getAffectedResources());
+				}
 			}
 
+			initialBuildCanceled = false;
 			onBuildDone(true, false, postCreateListener, Optional.absent());
 
 			stopwatch.stop();
@@ -168,6 +189,7 @@ public class XWorkspaceBuilder {
 		} catch (Throwable th) {
 			boolean wasCanceled = operationCanceledManager.isOperationCanceledException(th);
 
+			initialBuildCanceled = wasCanceled;
 			onBuildDone(true, wasCanceled, postCreateListener, Optional.of(th));
 
 			if (wasCanceled) {
@@ -183,6 +205,32 @@ public class XWorkspaceBuilder {
 		}
 	}
 
+	/**
+	 * Builds the projects of the given iterator concurrently using the {@link ParallelBuildScheduler}. Independent
+	 * projects are built at the same time; each project receives the deltas of its direct and indirect dependencies.
+	 * <p>
+	 * Unlike the sequential initial build, this build can be canceled. Cancellation only takes effect between project
+	 * builds, i.e. the projects already being built are completed.
+	 *
+	 * @return the deltas of all projects in build order.
+	 */
+	private List<IResourceDescription.Delta> doInitialBuildInParallel(BuildOrderIterator pboIterator,
+			CancelIndicator cancelIndicator) {
+		List<String> sortedProjectIDs = new ArrayList<>();
+		Map<String, Set<String>> dependencies = new HashMap<>();
+		while (pboIterator.hasNext()) {
+			ProjectConfigSnapshot projectConfig = pboIterator.next();
+			sortedProjectIDs.add(projectConfig.getName());
+			dependencies.put(projectConfig.getName(), projectConfig.getDependencies());
+		}
+
+		return parallelBuildScheduler.run(sortedProjectIDs, dependencies::get, (projectID, upstreamDeltas) -> {
+			ProjectBuilder projectBuilder = workspaceManager.getProjectBuilder(projectID);
+			XBuildResult partialresult = projectBuilder.doInitialBuild(buildRequestFactory, upstreamDeltas);
+			return partialresult.getAffectedResources();
+		}, builderConfig.getBuildThreads(), cancelIndicator);
+	}
+
 	@SafeVarargs
 	private OnPostCreateListener getPostCreateListener(WorkspaceConfigSnapshot workspaceConfig,
 			Collection<? extends ProjectConfigSnapshot> allProjects, Map<String, Set<URI>>... project2UriMaps) {
@@ -191,8 +239,13 @@ public class XWorkspaceBuilder {
 		Multimap<String, URI> todoList = HashMultimap.create();
 		if (allProjects != null) {
 			for (ProjectConfigSnapshot project : allProjects) {
+				// the project builder's scanner only lists directories that changed since the last scan
+				ProjectBuilder projectBuilder = workspaceManager.getProjectBuilder(project.getName());
+				IFileSystemScanner projectScanner = projectBuilder != null
+						? projectBuilder.getSourceFileScanner()
+						: scanner;
 				for (SourceFolderSnapshot srcFld : project.getSourceFolders()) {
-					List<URI> allResources = srcFld.getAllResources(scanner);
+					List<URI> allResources = srcFld.getAllResources(projectScanner);
 					todoList.putAll(project.getName(), allResources);
 				}
 			}
@@ -205,15 +258,20 @@ public class XWorkspaceBuilder {
 			}
 		}
 		int totalFileCount = Math.max(1, todoList.size());
+		// note: synchronized, because projects may be built concurrently (see ParallelBuildScheduler)
 		postCreateListener = request -> {
 			request.addBeforeBuildFileListener(uri -> {
-				todoList.remove(request.getProjectName(), uri);
-				String msg = workspaceConfig.makeWorkspaceRelative(uri).toString();
-				int doneCnt = totalFileCount - todoList.size();
-				updateProgress(msg, (100 * doneCnt) / totalFileCount);
+				synchronized (todoList) {
+					todoList.remove(request.getProjectName(), uri);
+					String msg = workspaceConfig.makeWorkspaceRelative(uri).toString();
+					int doneCnt = totalFileCount - todoList.size();
+					updateProgress(msg, (100 * doneCnt) / totalFileCount);
+				}
 			});
 			request.addAfterBuildRequestListener((req, res) -> {
-				todoList.removeAll(request.getProjectName());
+				synchronized (todoList) {
+					todoList.removeAll(request.getProjectName());
+				}
 			});
 		};
 		return postCreateListener;
@@ -261,62 +319,6 @@ public class XWorkspaceBuilder {
 		}
 	}
 
-	/**
-	 * Run a full build on the workspace
-	 *
-	 * @return the delta.
-	 */
-	@SuppressWarnings("unused")
-	@Deprecated // GH-1552: Experimental parallelization
-	// TODO: use ProjectBuildOrderProvider
-	private List<IResourceDescription.Delta> doInitialBuild2(List<ProjectDescription> projects) {
-
-		class BuildInitialProjectJob extends ParallelJob<String> {
-			ProjectBuilder projectManager;
-			List<IResourceDescription.Delta> result;
-
-			BuildInitialProjectJob(ProjectBuilder projectManager, List<IResourceDescription.Delta> result) {
-				this.projectManager = projectManager;
-				this.result = result;
-			}
-
-			@Override
-			public void runJob() {
-				// TODO: properly propagate external deltas across jobs
-				List<IResourceDescription.Delta> externalDeltas = Collections.emptyList();
-				XBuildResult partialresult = projectManager.doInitialBuild(buildRequestFactory, externalDeltas);
-				synchronized (result) {
-					result.addAll(partialresult.getAffectedResources());
-				}
-			}
-
-			@Override
-			public String getID() {
-				return projectManager.getProjectConfig().getName();
-			}
-
-			@Override
-			public Collection<String> getDependencyIDs() {
-				return projectManager.getProjectConfig().getDependencies();
-			}
-		}
-
-		List<IResourceDescription.Delta> result = Collections.synchronizedList(new ArrayList<>());
-		List<BuildInitialProjectJob> jobs = new ArrayList<>();
-
-		for (ProjectDescription description : projects) {
-			String projectName = description.getName();
-			ProjectBuilder projectManager = workspaceManager.getProjectBuilder(projectName);
-			BuildInitialProjectJob bpj = new BuildInitialProjectJob(projectManager, result);
-			jobs.add(bpj);
-		}
-
-		ParallelBuildManager parallelBuildManager = new ParallelBuildManager(jobs);
-		parallelBuildManager.run();
-
-		return result;
-	}
-
 	/** Cleans all projects in the workspace */
 	public BuildTask createCleanTask() {
 		return cancelIndicator -> {
@@ -448,6 +450,13 @@ public class XWorkspaceBuilder {
 			}
 		}
 
+		if (initialBuildCanceled) {
+			// the projects not built by the canceled initial build are unknown to the index, so build all projects;
+			// this also covers the changes queued above, since the initial build compares all files with the
+			// persisted project states
+			return doInitialBuild(cancelIndicator);
+		}
+
 		if (dirtyFiles.isEmpty() && deletedFiles.isEmpty() && affectedByDeletedProjects.isEmpty()) {
 			endProgress("Empty change set.");
 			return new ResourceDescriptionChangeEvent(Collections.emptyList());
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server.findReferences;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskManager;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.inject.Singleton;
+
+/**
+ * An inverted index from the {@link IResourceDescription#getImportedNames() imported names} of all resources in the
+ * workspace to the URIs of the importing resources. It is updated incrementally by the {@link ResourceTaskManager} with
+ * the changes of the persisted state and the dirty state of open files, so that reference finders can restrict their
+ * search to the resources importing the names of the targets instead of checking every resource description.
+ * <p>
+ * The imported names are part of the resource descriptions stored in the project state files, so the index is rebuilt
+ * from them when the persisted state is loaded.
+ * <p>
+ * All methods are synchronized, since the index is updated by the builder and queried by requests concurrently.
+ */
+@Singleton
+public class ImportedNamesIndex {
+
+	/** For each indexed resource, the description whose imported names were indexed. */
+	private final Map<URI, IResourceDescription> uri2Desc = new HashMap<>();
+	/** For each imported name, the URIs of the resources importing it. */
+	private final SetMultimap<QualifiedName, URI> name2URIs = HashMultimap.create();
+	/** Tells whether this index was populated and reflects the state of the workspace. */
+	private boolean active = false;
+
+	/**
+	 * Sets the imported names of the resource with the given URI to those of the given description, replacing the ones
+	 * indexed before. If the description is <code>null</code>, the resource is removed from the index.
+	 */
+	public synchronized void update(URI uri, IResourceDescription desc) {
+		active = true;
+		IResourceDescription oldDesc = desc != null ? uri2Desc.put(uri, desc) : uri2Desc.remove(uri);
+		if (oldDesc == desc) {
+			return;
+		}
+		if (oldDesc != null) {
+			for (QualifiedName name : oldDesc.getImportedNames()) {
+				name2URIs.remove(name, uri);
+			}
+		}
+		if (desc != null) {
+			for (QualifiedName name : desc.getImportedNames()) {
+				name2URIs.put(name, uri);
+			}
+		}
+	}
+
+	/**
+	 * Tells whether this index is maintained, i.e. it was updated at least once. If not, e.g. when running headless
+	 * without a {@link ResourceTaskManager}, clients have to check all resource descriptions.
+	 */
+	public synchronized boolean isActive() {
+		return active;
+	}
+
+	/** Returns the number of indexed resources. */
+	public synchronized int getResourceCount() {
+		return uri2Desc.size();
+	}
+
+	/** Returns the URIs of all resources importing at least one of the given names. */
+	public synchronized Set<URI> findImportingResources(Iterable<QualifiedName> names) {
+		Set<URI> result = new LinkedHashSet<>();
+		for (QualifiedName name : names) {
+			result.addAll(name2URIs.get(name));
+		}
+		return result;
+	}
+}
@@ -12,12 +12,21 @@ package org.eclipse.n4js.xtext.ide.server.issues;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.services.LanguageClient;
+import org.eclipse.n4js.xtext.ide.server.PublishingIssueAcceptorConfig;
+import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService;
 import org.eclipse.xtext.diagnostics.Severity;
 import org.eclipse.xtext.ide.server.UriExtensions;
 import org.eclipse.xtext.validation.Issue;
@@ -26,7 +35,12 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 /**
- *
+ * Publishes issues as diagnostics to the client.
+ * <p>
+ * If a {@link PublishingIssueAcceptorConfig#getPublishDelay() publish delay} is configured, accepted issues are
+ * collected and published in batches by a task of the {@link QueuedExecutorService}, so that conversion and
+ * serialization do not happen on the thread accepting them, e.g. the builder. Issues of the same file accepted within
+ * one batch replace each other, and issues equal to the ones last published for a file are not published again.
  */
 @Singleton
 public class PublishingIssueAcceptor implements IssueAcceptor {
@@ -38,42 +52,161 @@ public class PublishingIssueAcceptor implements IssueAcceptor {
 	@Inject
 	protected IssueToDiagnosticConverter diagnosticIssueConverter;
 	/***/
+	@Inject
+	protected QueuedExecutorService queuedExecutorService;
+	/***/
+	@Inject
+	protected PublishingIssueAcceptorConfig config;
+	/***/
 	protected LanguageClient client;
 
+	/** Issues accepted but not yet published, by the URI of their file. */
+	private final Map<URI, List<? extends Issue>> pendingIssues = new LinkedHashMap<>();
+	/** The issues last published with a delay, by the URI of their file. Without issues of severity ignore. */
+	private final Map<URI, List<Issue>> publishedIssues = new HashMap<>();
+	/** Tells whether publishing the {@link #pendingIssues pending issues} is scheduled. */
+	private boolean isPublishScheduled = false;
+
 	/** Sets the client to communicate to */
-	public void connect(LanguageClient languageClient) {
+	public synchronized void connect(LanguageClient languageClient) {
 		this.client = languageClient;
+		this.publishedIssues.clear();
 	}
 
 	/**
 	 * The issue acceptor is disconnected on a clients message to shutdown the connection.
 	 */
-	public void disconnect() {
+	public synchronized void disconnect() {
 		this.client = null;
+		this.pendingIssues.clear();
+		this.publishedIssues.clear();
 	}
 
-	/** Converts given issues to {@link Diagnostic}s and sends them to LSP client */
+	/**
+	 * Converts given issues to {@link Diagnostic}s and sends them to LSP client, either immediately or after the
+	 * configured {@link PublishingIssueAcceptorConfig#getPublishDelay() publish delay}.
+	 */
 	@Override
 	public void accept(URI uri, List<? extends Issue> issues) {
-		if (client != null) {
+		long publishDelay = config.getPublishDelay();
+		if (publishDelay <= 0) {
+			publish(uri, issues);
+			return;
+		}
+		synchronized (this) {
+			if (client == null) {
+				return;
+			}
+			pendingIssues.put(uri, issues);
+			if (!isPublishScheduled) {
+				isPublishScheduled = true;
+				CompletableFuture.runAsync(this::submitPublishPending,
+						CompletableFuture.delayedExecutor(publishDelay, TimeUnit.MILLISECONDS));
+			}
+		}
+	}
+
+	private void submitPublishPending() {
+		try {
+			queuedExecutorService.submit(PublishingIssueAcceptor.class, "publishDiagnostics", cancelIndicator -> {
+				publishPending();
+				return null;
+			});
+		} catch (RejectedExecutionException e) {
+			// shutting down
+		}
+	}
+
+	/**
+	 * Publishes the pending issues of all files whose issues differ from the ones last published for them. Files
+	 * without issues for which nothing was published before are skipped, too.
+	 */
+	protected void publishPending() {
+		Map<URI, List<? extends Issue>> batch;
+		synchronized (this) {
+			batch = new LinkedHashMap<>(pendingIssues);
+			pendingIssues.clear();
+			isPublishScheduled = false;
+		}
+		for (Map.Entry<URI, List<? extends Issue>> entry : batch.entrySet()) {
+			URI uri = entry.getKey();
+			List<? extends Issue> issues = entry.getValue();
+			List<Issue> relevantIssues = getRelevantIssues(issues);
+			synchronized (this) {
+				if (client == null) {
+					return;
+				}
+				List<Issue> oldIssues = publishedIssues.put(uri, relevantIssues);
+				if (oldIssues != null ? isEqual(oldIssues, relevantIssues) : relevantIssues.isEmpty()) {
+					continue;
+				}
+			}
+			publish(uri, issues);
+		}
+	}
+
+	/** Converts given issues to {@link Diagnostic}s and sends them to LSP client */
+	protected void publish(URI uri, List<? extends Issue> issues) {
+		LanguageClient currClient = client;
+		if (currClient != null) {
 			PublishDiagnosticsParams publishDiagnosticsParams = new PublishDiagnosticsParams();
 			publishDiagnosticsParams.setUri(uriExtensions.toUriString(uri));
 			List<Diagnostic> diags = toDiagnostics(issues);
 			publishDiagnosticsParams.setDiagnostics(diags);
-			client.publishDiagnostics(publishDiagnosticsParams);
+			currClient.publishDiagnostics(publishDiagnosticsParams);
+		}
+	}
+
+	/** Returns the given issues without the ones with severity {@link Severity#IGNORE ignore}. */
+	protected List<Issue> getRelevantIssues(List<? extends Issue> issues) {
+		List<Issue> result = new ArrayList<>(issues.size());
+		for (Issue issue : issues) {
+			if (issue.getSeverity() != Severity.IGNORE) {
+				result.add(issue);
+			}
+		}
+		return result;
+	}
+
+	/** Tells whether the given issue lists are equal with respect to the {@link #isEqual(Issue, Issue)} relation. */
+	protected boolean isEqual(List<? extends Issue> issues1, List<? extends Issue> issues2) {
+		if (issues1.size() != issues2.size()) {
+			return false;
 		}
+		for (int i = 0; i < issues1.size(); i++) {
+			if (!isEqual(issues1.get(i), issues2.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Tells whether the given issues are equal with respect to all properties converted to {@link Diagnostic}s. */
+	protected boolean isEqual(Issue issue1, Issue issue2) {
+		return issue1.getSeverity() == issue2.getSeverity()
+				&& Objects.equals(issue1.getCode(), issue2.getCode())
+				&& Objects.equals(issue1.getMessage(), issue2.getMessage())
+				&& Objects.equals(issue1.getLineNumber(), issue2.getLineNumber())
+				&& Objects.equals(issue1.getColumn(), issue2.getColumn())
+				&& Objects.equals(issue1.getLineNumberEnd(), issue2.getLineNumberEnd())
+				&& Objects.equals(issue1.getColumnEnd(), issue2.getColumnEnd());
 	}
 
 	/**
-	 * Convert the given issues to diagnostics. Does not return any issue with severity {@link Severity#IGNORE ignore}.
+	 * Convert the given issues to diagnostics. Does not return any issue with severity {@link Severity#IGNORE ignore}
+	 * and not more than the {@link PublishingIssueAcceptorConfig#getMaxDiagnosticsPerFile() configured maximum}.
 	 */
 	protected List<Diagnostic> toDiagnostics(List<? extends Issue> issues) {
 		if (issues.isEmpty()) {
 			return Collections.emptyList();
 		}
 
+		int maxDiagnostics = config.getMaxDiagnosticsPerFile();
 		List<Diagnostic> result = new ArrayList<>();
 		for (Issue issue : issues) {
+			if (maxDiagnostics > 0 && result.size() >= maxDiagnostics) {
+				break;
+			}
 			if (issue.getSeverity() != Severity.IGNORE) {
 				result.add(diagnosticIssueConverter.toDiagnostic(issue));
 			}
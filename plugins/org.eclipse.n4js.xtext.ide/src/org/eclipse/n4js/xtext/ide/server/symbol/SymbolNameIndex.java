@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.ide.server.symbol;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskManager;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.util.CancelIndicator;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * An index of the names of all exported objects in the workspace, keyed by their lower case name and the initials of
+ * their camel case humps (e.g. {@code "gfb"} for {@code "getFooBar"}). It is updated incrementally by the
+ * {@link ResourceTaskManager} with the changes of the persisted state and the dirty state of open files, so that name
+ * queries do not need to iterate over all resource descriptions. Names that match a query neither by prefix nor by
+ * camel case initials are looked up via the characters they contain, so that only names containing all characters of
+ * the query are checked for a match.
+ * <p>
+ * All methods are synchronized, since the index is updated by the builder and queried by requests concurrently.
+ */
+@Singleton
+public class SymbolNameIndex {
+
+	@Inject
+	private OperationCanceledManager operationCanceledManager;
+
+	/** For each indexed resource, its exported objects. */
+	private final Map<URI, List<IEObjectDescription>> uri2Objects = new HashMap<>();
+	/** For each lower case name, the exported objects having that name. */
+	private final NavigableMap<String, Set<IEObjectDescription>> name2Objects = new TreeMap<>();
+	/** For each lower case camel case initials, the exported objects having those initials. */
+	private final NavigableMap<String, Set<IEObjectDescription>> humps2Objects = new TreeMap<>();
+	/** For each character, the IDs of the lower case names containing it. */
+	private final Map<Character, BitSet> char2NameIds = new HashMap<>();
+	/** The ID of each lower case name in {@link #name2Objects}. */
+	private final Map<String, Integer> name2Id = new HashMap<>();
+	/** The lower case names by their ID, with <code>null</code> for unused IDs. */
+	private final List<String> id2Name = new ArrayList<>();
+	/** The unused IDs below the size of {@link #id2Name}. */
+	private final Deque<Integer> freeIds = new ArrayDeque<>();
+
+	/**
+	 * Sets the exported objects of the resource with the given URI to those of the given description, replacing the
+	 * ones indexed before. If the description is <code>null</code>, the resource is removed from the index.
+	 */
+	public synchronized void update(URI uri, IResourceDescription desc) {
+		List<IEObjectDescription> oldObjects = desc != null ? uri2Objects.put(uri, getExportedObjects(desc))
+				: uri2Objects.remove(uri);
+		if (oldObjects != null) {
+			for (IEObjectDescription object : oldObjects) {
+				String name = getName(object);
+				String lowerCaseName = name.toLowerCase();
+				if (removeEntry(name2Objects, lowerCaseName, object)) {
+					removeName(lowerCaseName);
+				}
+				removeEntry(humps2Objects, getHumps(name), object);
+			}
+		}
+		if (desc != null) {
+			for (IEObjectDescription object : uri2Objects.get(uri)) {
+				String name = getName(object);
+				String lowerCaseName = name.toLowerCase();
+				name2Objects.computeIfAbsent(lowerCaseName, key -> {
+					addName(key);
+					return new LinkedHashSet<>();
+				}).add(object);
+				humps2Objects.computeIfAbsent(getHumps(name), key -> new LinkedHashSet<>()).add(object);
+			}
+		}
+	}
+
+	private void addName(String lowerCaseName) {
+		int id;
+		if (freeIds.isEmpty()) {
+			id = id2Name.size();
+			id2Name.add(lowerCaseName);
+		} else {
+			id = freeIds.pop();
+			id2Name.set(id, lowerCaseName);
+		}
+		name2Id.put(lowerCaseName, id);
+		for (int i = 0; i < lowerCaseName.length(); i++) {
+			char2NameIds.computeIfAbsent(lowerCaseName.charAt(i), c -> new BitSet()).set(id);
+		}
+	}
+
+	private void removeName(String lowerCaseName) {
+		int id = name2Id.remove(lowerCaseName);
+		for (int i = 0; i < lowerCaseName.length(); i++) {
+			char c = lowerCaseName.charAt(i);
+			BitSet ids = char2NameIds.get(c);
+			if (ids == null) {
+				continue; // character occurs more than once
+			}
+			ids.clear(id);
+			if (ids.isEmpty()) {
+				char2NameIds.remove(c);
+			}
+		}
+		id2Name.set(id, null);
+		freeIds.push(id);
+	}
+
+	/** Returns the number of indexed resources. */
+	public synchronized int getResourceCount() {
+		return uri2Objects.size();
+	}
+
+	/**
+	 * Returns at most {@code limit} exported objects whose name matches the given query, i.e. contains all characters
+	 * of the query in the given order ignoring case. Objects whose name starts with the query come first, followed by
+	 * those whose camel case initials start with it and finally all others. The filter is applied to each candidate
+	 * after the lookup, e.g. to check its visibility.
+	 * <p>
+	 * The returned objects are grouped by their resource and sorted in the order they are exported by it.
+	 */
+	public synchronized List<IEObjectDescription> find(String query, int limit,
+			Predicate<? super IEObjectDescription> filter, CancelIndicator cancelIndicator) {
+
+		String lowerCaseQuery = query.toLowerCase();
+		Set<IEObjectDescription> result = new LinkedHashSet<>();
+		collect(prefixMap(name2Objects, lowerCaseQuery).values(), limit, filter, result, cancelIndicator);
+		collect(prefixMap(humps2Objects, lowerCaseQuery).values(), limit, filter, result, cancelIndicator);
+		if (result.size() < limit && !lowerCaseQuery.isEmpty()) {
+			List<String> otherNames = new ArrayList<>();
+			BitSet candidates = getIdsOfNamesContainingAll(lowerCaseQuery);
+			for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+				String name = id2Name.get(id);
+				if (!name.startsWith(lowerCaseQuery) && isMatch(lowerCaseQuery, name)) {
+					otherNames.add(name);
+				}
+			}
+			Collections.sort(otherNames);
+			List<Set<IEObjectDescription>> others = new ArrayList<>(otherNames.size());
+			for (String name : otherNames) {
+				others.add(name2Objects.get(name));
+			}
+			collect(others, limit, filter, result, cancelIndicator);
+		}
+		return sortByResource(result);
+	}
+
+	/** Returns the IDs of all lower case names that contain all characters of the given non-empty string. */
+	private BitSet getIdsOfNamesContainingAll(String lowerCaseQuery) {
+		BitSet result = null;
+		for (int i = 0; i < lowerCaseQuery.length(); i++) {
+			BitSet ids = char2NameIds.get(lowerCaseQuery.charAt(i));
+			if (ids == null) {
+				return new BitSet();
+			}
+			if (result == null) {
+				result = (BitSet) ids.clone();
+			} else {
+				result.and(ids);
+			}
+		}
+		return result;
+	}
+
+	private List<IEObjectDescription> sortByResource(Collection<IEObjectDescription> objects) {
+		Map<URI, List<IEObjectDescription>> uri2Matches = new LinkedHashMap<>();
+		for (IEObjectDescription object : objects) {
+			uri2Matches.computeIfAbsent(object.getEObjectURI().trimFragment(), uri -> new ArrayList<>()).add(object);
+		}
+		List<IEObjectDescription> result = new ArrayList<>(objects.size());
+		for (Map.Entry<URI, List<IEObjectDescription>> entry : uri2Matches.entrySet()) {
+			List<IEObjectDescription> exported = uri2Objects.getOrDefault(entry.getKey(), Collections.emptyList());
+			List<IEObjectDescription> matches = entry.getValue();
+			matches.sort(Comparator.comparingInt(exported::indexOf));
+			result.addAll(matches);
+		}
+		return result;
+	}
+
+	private void collect(Collection<Set<IEObjectDescription>> candidates, int limit,
+			Predicate<? super IEObjectDescription> filter, Set<IEObjectDescription> result,
+			CancelIndicator cancelIndicator) {
+
+		for (Set<IEObjectDescription> objects : candidates) {
+			operationCanceledManager.checkCanceled(cancelIndicator);
+			for (IEObjectDescription object : objects) {
+				if (result.size() >= limit) {
+					return;
+				}
+				if (!result.contains(object) && filter.test(object)) {
+					result.add(object);
+				}
+			}
+		}
+	}
+
+	/** Returns the exported objects of the given description that will be indexed. */
+	protected List<IEObjectDescription> getExportedObjects(IResourceDescription desc) {
+		List<IEObjectDescription> result = new ArrayList<>();
+		for (IEObjectDescription object : desc.getExportedObjects()) {
+			QualifiedName qualifiedName = object.getQualifiedName();
+			if (qualifiedName != null && qualifiedName.getSegmentCount() > 0) {
+				result.add(object);
+			}
+		}
+		return result;
+	}
+
+	/** Returns the name of the given exported object used for lookups. By default, the last qualified name segment. */
+	protected String getName(IEObjectDescription object) {
+		return object.getQualifiedName().getLastSegment();
+	}
+
+	/**
+	 * Returns the lower case initials of the camel case humps of the given name, i.e. its first character and every
+	 * upper case character or digit that starts a new hump, as well as every character following an underscore.
+	 */
+	public static String getHumps(String name) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c == '_') {
+				continue;
+			}
+			char prev = i > 0 ? name.charAt(i - 1) : '_';
+			char next = i + 1 < name.length() ? name.charAt(i + 1) : '_';
+			boolean startsHump = prev == '_'
+					|| Character.isUpperCase(c) && (!Character.isUpperCase(prev) || Character.isLowerCase(next))
+					|| Character.isDigit(c) && !Character.isDigit(prev);
+			if (startsHump) {
+				result.append(Character.toLowerCase(c));
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Tells whether the given lower case name contains all characters of the given lower case query in the given
+	 * order. Only invoked for names that contain all characters of the query and do not start with it.
+	 */
+	protected boolean isMatch(String query, String name) {
+		int iq = 0;
+		for (int in = 0; in < name.length() && iq < query.length(); in++) {
+			if (name.charAt(in) == query.charAt(iq)) {
+				iq++;
+			}
+		}
+		return iq == query.length();
+	}
+
+	private static NavigableMap<String, Set<IEObjectDescription>> prefixMap(
+			NavigableMap<String, Set<IEObjectDescription>> map, String prefix) {
+		if (prefix.isEmpty()) {
+			return map;
+		}
+		return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+	}
+
+	/** Removes the given object from the given map and returns <code>true</code> iff the key was removed, too. */
+	private static boolean removeEntry(Map<String, Set<IEObjectDescription>> map, String key,
+			IEObjectDescription object) {
+		Set<IEObjectDescription> objects = map.getOrDefault(key, Collections.emptySet());
+		if (objects.remove(object) && objects.isEmpty()) {
+			map.remove(key);
+			return true;
+		}
+		return false;
+	}
+}
@@ -11,9 +11,12 @@
 package org.eclipse.n4js.xtext.ide.server.symbol;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
@@ -74,12 +77,19 @@ public class XDocumentSymbolService extends DocumentSymbolService {
 			}
 		}
 
+		return createSymbols(resourceDescription.getURI(), matchingObjects, resourceAccess, cancelIndicator);
+	}
+
+	/** Creates the symbols of the given matching objects, all of which must be contained in the given resource. */
+	protected List<SymbolInformation> createSymbols(URI resourceURI, List<IEObjectDescription> matchingObjects,
+			IResourceAccess resourceAccess, CancelIndicator cancelIndicator) {
+
 		if (matchingObjects.isEmpty()) {
 			return CollectionLiterals.newLinkedList();
 		}
 
 		AtomicReference<List<SymbolInformation>> refSymbols = new AtomicReference<>(CollectionLiterals.newLinkedList());
-		resourceAccess.readOnly(resourceDescription.getURI(), (resourceSet) -> {
+		resourceAccess.readOnly(resourceURI, (resourceSet) -> {
 			List<SymbolInformation> symbols = refSymbols.get();
 			for (IEObjectDescription description : matchingObjects) {
 				operationCanceledManager.checkCanceled(cancelIndicator);
@@ -129,6 +139,29 @@ public class XDocumentSymbolService extends DocumentSymbolService {
 		return wSymbols;
 	}
 
+	/**
+	 * Returns the workspace symbols of the given matching objects, e.g. as found by the {@link SymbolNameIndex}. The
+	 * objects are grouped by their resource, such that each resource is accessed only once.
+	 */
+	public List<? extends WorkspaceSymbol> getWorkspaceSymbols(Iterable<IEObjectDescription> matchingObjects,
+			IResourceAccess resourceAccess, CancelIndicator cancelIndicator) {
+
+		Map<URI, List<IEObjectDescription>> resourceURI2Objects = new LinkedHashMap<>();
+		for (IEObjectDescription description : matchingObjects) {
+			URI resourceURI = description.getEObjectURI().trimFragment();
+			resourceURI2Objects.computeIfAbsent(resourceURI, uri -> new ArrayList<>()).add(description);
+		}
+		List<WorkspaceSymbol> wSymbols = new ArrayList<>();
+		for (Map.Entry<URI, List<IEObjectDescription>> entry : resourceURI2Objects.entrySet()) {
+			operationCanceledManager.checkCanceled(cancelIndicator);
+			for (SymbolInformation symbol : createSymbols(entry.getKey(), entry.getValue(), resourceAccess,
+					cancelIndicator)) {
+				wSymbols.add(convert(symbol));
+			}
+		}
+		return wSymbols;
+	}
+
 	private WorkspaceSymbol convert(SymbolInformation symbol) {
 		return new WorkspaceSymbol(
 				symbol.getName(),
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xtext.workspace;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.utils.URIUtils;
+
+/**
+ * Immutable trie of URIs, keyed by their segments, for finding the value of the longest URI that is a prefix of a given
+ * URI. Other than {@link URIUtils#findInMapByNestedURI(Map, URI)}, lookups do not create any intermediate URIs.
+ * <p>
+ * Two URIs are only considered to share a prefix if they have the same scheme, authority and device and both have an
+ * absolute or both have a relative path. Trailing path separators and fragments are ignored.
+ */
+public class PathTrie<T> {
+
+	/** Key used for a component of a URI that is <code>null</code>. */
+	private static final String NULL_KEY = "\u0000";
+	/** Key used for an absolute path. */
+	private static final String ABSOLUTE_PATH_KEY = "/";
+	/** Key used for a relative path. */
+	private static final String RELATIVE_PATH_KEY = "";
+
+	/** A node of the trie. */
+	private static final class Node<T> {
+		/** The value of the URI ending at this node or <code>null</code>. */
+		T value;
+		/** The child nodes by the key of the next URI component or <code>null</code> if there are none. */
+		Map<String, Node<T>> children;
+
+		Node<T> getChild(String key) {
+			return children != null ? children.get(key) : null;
+		}
+
+		Node<T> getOrCreateChild(String key) {
+			if (children == null) {
+				children = new HashMap<>(4);
+			}
+			return children.computeIfAbsent(key, k -> new Node<>());
+		}
+	}
+
+	private final Node<T> root = new Node<>();
+
+	/** Creates a new trie containing the entries of the given map. Keys must be hierarchical URIs. */
+	public PathTrie(Map<URI, ? extends T> map) {
+		for (Entry<URI, ? extends T> entry : map.entrySet()) {
+			URI uri = entry.getKey();
+			if (!uri.isHierarchical()) {
+				throw new IllegalArgumentException("not a hierarchical URI: " + uri);
+			}
+			Node<T> node = root.getOrCreateChild(key(uri.scheme()))
+					.getOrCreateChild(key(uri.authority()))
+					.getOrCreateChild(key(uri.device()))
+					.getOrCreateChild(uri.hasAbsolutePath() ? ABSOLUTE_PATH_KEY : RELATIVE_PATH_KEY);
+			int segmentCount = getSegmentCount(uri);
+			for (int i = 0; i < segmentCount; i++) {
+				node = node.getOrCreateChild(uri.segment(i));
+			}
+			node.value = entry.getValue();
+		}
+	}
+
+	/**
+	 * Returns the value of the longest URI in this trie that is equal to the given URI or a prefix of it, or
+	 * <code>null</code> if there is no such URI.
+	 */
+	public T findByNestedURI(URI nestedURI) {
+		if (!nestedURI.isHierarchical()) {
+			return null;
+		}
+		Node<T> node = root.getChild(key(nestedURI.scheme()));
+		node = node != null ? node.getChild(key(nestedURI.authority())) : null;
+		node = node != null ? node.getChild(key(nestedURI.device())) : null;
+		node = node != null ? node.getChild(nestedURI.hasAbsolutePath() ? ABSOLUTE_PATH_KEY : RELATIVE_PATH_KEY)
+				: null;
+		T result = null;
+		int segmentCount = getSegmentCount(nestedURI);
+		for (int i = 0; node != null; i++) {
+			if (node.value != null) {
+				result = node.value;
+			}
+			node = i < segmentCount ? node.getChild(nestedURI.segment(i)) : null;
+		}
+		return result;
+	}
+
+	private static String key(String uriComponent) {
+		return uriComponent != null ? uriComponent : NULL_KEY;
+	}
+
+	/** Returns the number of segments of the given URI, ignoring a trailing path separator. */
+	private static int getSegmentCount(URI uri) {
+		return uri.hasTrailingPathSeparator() ? uri.segmentCount() - 1 : uri.segmentCount();
+	}
+}
@@ -43,6 +43,10 @@ public class ProjectSet {
 	protected final ImmutableMap<URI, ? extends ProjectConfigSnapshot> projectPath2Project;
 	/** Keys are URIs <em>without</em> trailing path separator! */
 	protected final ImmutableMap<URI, ? extends ProjectConfigSnapshot> sourceFolderPath2Project;
+	/** Same as {@link #projectPath2Project}, but for lookups by nested location. */
+	protected final PathTrie<ProjectConfigSnapshot> projectPathTrie;
+	/** Same as {@link #sourceFolderPath2Project}, but for lookups by nested location. */
+	protected final PathTrie<ProjectConfigSnapshot> sourceFolderPathTrie;
 
 	/** Create a new {@link ProjectSet} containing the given projects. */
 	public ProjectSet(Iterable<? extends ProjectConfigSnapshot> projects) {
@@ -58,6 +62,8 @@ public class ProjectSet {
 		this.id2DependentProjects = ImmutableSetMultimap.copyOf(lookupId2DependentProjects);
 		this.projectPath2Project = ImmutableMap.copyOf(lookupProjectPath2Project);
 		this.sourceFolderPath2Project = ImmutableMap.copyOf(lookupSourceFolderPath2Project);
+		this.projectPathTrie = new PathTrie<>(this.projectPath2Project);
+		this.sourceFolderPathTrie = new PathTrie<>(this.sourceFolderPath2Project);
 	}
 
 	/** Internal. Create an instance with existing lookup maps. */
@@ -69,6 +75,8 @@ public class ProjectSet {
 		this.id2DependentProjects = id2DependentProjects;
 		this.projectPath2Project = projectPath2Project;
 		this.sourceFolderPath2Project = sourceFolderPath2Project;
+		this.projectPathTrie = new PathTrie<>(projectPath2Project);
+		this.sourceFolderPathTrie = new PathTrie<>(sourceFolderPath2Project);
 	}
 
 	/**
@@ -214,7 +222,7 @@ public class ProjectSet {
 	 * of <code>P</code>.
 	 */
 	public ProjectConfigSnapshot findProjectByNestedLocation(URI nestedLocation) {
-		return URIUtils.findInMapByNestedURI(projectPath2Project, nestedLocation);
+		return projectPathTrie.findByNestedURI(nestedLocation);
 	}
 
 	/**
@@ -246,7 +254,7 @@ public class ProjectSet {
 	/** Same as {@link #findProjectContaining(URI)}, but returns both the containing project and source folder. */
 	public Pair<ProjectConfigSnapshot, SourceFolderSnapshot> findProjectAndSourceFolderContaining(
 			URI nestedSourceLocation) {
-		ProjectConfigSnapshot candidate = URIUtils.findInMapByNestedURI(sourceFolderPath2Project, nestedSourceLocation);
+		ProjectConfigSnapshot candidate = sourceFolderPathTrie.findByNestedURI(nestedSourceLocation);
 		if (candidate != null) {
 			// in addition to checking the source folder paths, we have to make sure the source folder actually
 			// "contains" the URI as defined by method SourceFolderSnapshot#contains(URI) (note that based on the
@@ -69,7 +69,28 @@ public class SourceFolderSnapshot extends Snapshot {
 	 * @see ISourceFolder#contains(URI)
 	 */
 	public boolean contains(URI uri) {
-		return UriUtil.isPrefixOf(getPath(), uri);
+		return isPrefixOf(getPath(), uri);
+	}
+
+	/** Same as {@link UriUtil#isPrefixOf(URI, URI)}, but without copying the segments of the given URIs. */
+	private static boolean isPrefixOf(URI prefix, URI uri) {
+		if (prefix.scheme() == null || !prefix.scheme().equals(uri.scheme())) {
+			return false;
+		}
+		int prefixSegmentCount = prefix.segmentCount();
+		int uriSegmentCount = uri.segmentCount();
+		if (prefixSegmentCount == 0 || uriSegmentCount == 0 || !prefix.hasTrailingPathSeparator()) {
+			return false;
+		}
+		if (uriSegmentCount < prefixSegmentCount - 1) {
+			return false;
+		}
+		for (int i = 0; i < prefixSegmentCount - 1; i++) {
+			if (!uri.segment(i).equals(prefix.segment(i))) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
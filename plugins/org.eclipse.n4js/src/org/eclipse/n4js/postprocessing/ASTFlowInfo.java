@@ -43,7 +43,8 @@ public class ASTFlowInfo {
 	private final N4JSFlowAnalyser flowAnalyzer = new N4JSFlowAnalyser();
 
 	/** Constructor */
-	public ASTFlowInfo(TypeSystemHelper typeSystemHelper, JavaScriptVariantHelper jsVariantHelper) {
+	public ASTFlowInfo(TypeSystemHelper typeSystemHelper, JavaScriptVariantHelper jsVariantHelper,
+			FlowAnalysisConfig config) {
 		this.deadCodeAnalyser = new DeadCodeAnalyser();
 		this.instanceofGuardAnalyser = new InstanceofGuardAnalyser();
 		this.usedBeforeDeclaredAnalyser = new UsedBeforeDeclaredAnalyser();
@@ -51,6 +52,10 @@ public class ASTFlowInfo {
 		this.missingReturnOrThrowAnalyser = new MissingReturnOrThrowAnalyser(typeSystemHelper, jsVariantHelper);
 		this.allAnalysers = new FlowAnalyser[] { deadCodeAnalyser, instanceofGuardAnalyser, usedBeforeDeclaredAnalyser,
 				nullDereferenceAnalyser, missingReturnOrThrowAnalyser };
+		// all analysers except the missing return or throw analyser, which uses the type system, analyse the
+		// containers of large scripts in parallel
+		this.flowAnalyzer.setParallel(config.isParallel());
+		this.flowAnalyzer.setParallelThreshold(config.getParallelThreshold());
 	}
 
 	/** Creates the control flow graph. Call first and only once. */
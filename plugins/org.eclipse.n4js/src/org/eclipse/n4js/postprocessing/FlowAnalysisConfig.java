@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.postprocessing;
+
+import org.eclipse.n4js.flowgraphs.N4JSFlowAnalyser;
+
+import com.google.inject.Singleton;
+
+/**
+ * Holds the configuration of the control and data flow analyses performed by {@link ASTFlowInfo}.
+ */
+@Singleton
+public class FlowAnalysisConfig {
+	/** True iff the containers of large scripts will be analysed in parallel. */
+	protected boolean isParallel = true;
+	/** Minimal number of control flow elements of a script to analyse it in parallel. */
+	protected int parallelThreshold = N4JSFlowAnalyser.DEFAULT_PARALLEL_THRESHOLD;
+
+	/**
+	 * Sets whether the containers of large scripts will be analysed in parallel. Should be disabled if several
+	 * resources are processed concurrently anyway, e.g. by a parallel build.
+	 */
+	public void setParallel(boolean isParallel) {
+		this.isParallel = isParallel;
+	}
+
+	/** @return true iff the containers of large scripts will be analysed in parallel. */
+	public boolean isParallel() {
+		return isParallel;
+	}
+
+	/** Sets the minimal number of control flow elements of a script to analyse it in parallel. */
+	public void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * @return the minimal number of control flow elements of a script to analyse it in parallel. Defaults to
+	 *         {@value N4JSFlowAnalyser#DEFAULT_PARALLEL_THRESHOLD}.
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+}
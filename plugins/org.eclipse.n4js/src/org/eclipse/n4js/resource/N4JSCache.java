@@ -89,13 +89,18 @@ public class N4JSCache extends OnChangeEvictingCache {
 		// to get the correct providers for the N4JS language.
 		// a nice example is found in:
 		// org.eclipse.n4js.validation.validators.N4JSProjectSetupValidator.getAllPolyfills(Resource)
-		N4JSCacheAdapter adapter = (N4JSCacheAdapter) EcoreUtil.getAdapter(resource.eAdapters(), CacheAdapter.class);
-		if (adapter == null) {
-			adapter = new N4JSCacheAdapter(); // changed from CacheAdapter to N4JSCacheAdapter
-			resource.eAdapters().add(adapter);
-			adapter.setResource(resource);
+		// synchronized, because resources may be validated concurrently (see XStatefulIncrementalBuilder) and the
+		// validation of one resource may access the cache of another resource
+		synchronized (resource) {
+			N4JSCacheAdapter adapter = (N4JSCacheAdapter) EcoreUtil.getAdapter(resource.eAdapters(),
+					CacheAdapter.class);
+			if (adapter == null) {
+				adapter = new N4JSCacheAdapter(); // changed from CacheAdapter to N4JSCacheAdapter
+				resource.eAdapters().add(adapter);
+				adapter.setResource(resource);
+			}
+			return adapter;
 		}
-		return adapter;
 	}
 
 	/**
@@ -70,6 +70,7 @@ import org.eclipse.n4js.parser.conversion.N4JSStringValueConverter;
 import org.eclipse.n4js.parser.conversion.RegExLiteralConverter;
 import org.eclipse.n4js.postprocessing.ASTFlowInfo;
 import org.eclipse.n4js.postprocessing.ASTMetaInfoCache;
+import org.eclipse.n4js.postprocessing.FlowAnalysisConfig;
 import org.eclipse.n4js.scoping.diagnosing.N4JSScopingDiagnostician;
 import org.eclipse.n4js.scoping.utils.CanLoadFromDescriptionHelper;
 import org.eclipse.n4js.smith.Measurement;
@@ -318,6 +319,9 @@ public class N4JSResource extends PostProcessingAwareResource implements ProxyRe
 	@Inject
 	private JavaScriptVariantHelper jsVariantHelper;
 
+	@Inject
+	private FlowAnalysisConfig flowAnalysisConfig;
+
 	/*
 	 * Even though the constructor is empty, it simplifies debugging (allows to set a breakpoint) thus we keep it here.
 	 */
@@ -470,6 +474,22 @@ public class N4JSResource extends PostProcessingAwareResource implements ProxyRe
 			return false;
 		}
 
+		loadFromModule(deserializedModule);
+		return true;
+	}
+
+	/**
+	 * Populate the contents list with an AST proxy and the given, deserialized TModule, i.e. bring this resource into
+	 * the same state as {@link #loadFromDescription(IResourceDescription)}. The module must have been fully
+	 * post-processed prior to serialization and must not be contained in a resource.
+	 *
+	 * @param deserializedModule
+	 *            the module to install in this resource
+	 */
+	public synchronized void loadFromModule(TModule deserializedModule) {
+		if (isLoaded)
+			throw new IllegalStateException("Resource was already loaded");
+
 		boolean wasDeliver = eDeliver();
 		try {
 			eSetDeliver(false);
@@ -485,7 +505,6 @@ public class N4JSResource extends PostProcessingAwareResource implements ProxyRe
 		} finally {
 			eSetDeliver(wasDeliver);
 		}
-		return true;
 	}
 
 	/**
@@ -647,7 +666,7 @@ public class N4JSResource extends PostProcessingAwareResource implements ProxyRe
 	/** Creates and sets a new {@link ASTMetaInfoCache}. Overwrites the old cache if not null. */
 	public ASTMetaInfoCache createASTMetaInfoCache() {
 		final boolean hasBrokenAST = !getErrors().isEmpty();
-		final ASTFlowInfo flowInfo = new ASTFlowInfo(typeSystemHelper, jsVariantHelper);
+		final ASTFlowInfo flowInfo = new ASTFlowInfo(typeSystemHelper, jsVariantHelper, flowAnalysisConfig);
 		final ASTMetaInfoCache newCache = new ASTMetaInfoCache(this, hasBrokenAST, flowInfo);
 		setASTMetaInfoCache(newCache);
 		return newCache;
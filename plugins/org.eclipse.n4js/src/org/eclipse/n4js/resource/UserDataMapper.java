@@ -14,6 +14,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -40,6 +41,7 @@ import org.eclipse.n4js.ts.types.TypesPackage;
 import org.eclipse.n4js.types.utils.TypeUtils;
 import org.eclipse.n4js.utils.EcoreUtilN4;
 import org.eclipse.n4js.utils.URIUtils;
+import org.eclipse.n4js.utils.emf.CompactEObjectCodec;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 
@@ -51,7 +53,8 @@ import com.google.common.collect.ImmutableMap;
 
 /**
  * The user data for exported modules contains a serialized representation of the module's content. This allows to
- * restore the type model without parsing or linking the complete JS file.
+ * restore the type model without parsing or linking the complete JS file. The module is serialized with the
+ * {@link CompactEObjectCodec} and stored as an ISO-8859-1 string, i.e. one char per byte of serialized data.
  *
  * The {@code UserDataMapper} provides this serialized representation and the logic to recreate the {@link EObject
  * types} from that.
@@ -96,11 +99,6 @@ public final class UserDataMapper {
 	 */
 	public static final String USER_DATA_KEY_AST_MD5 = "astMD5";
 
-	/**
-	 * Flag indicating whether the string representation contains binary or human readable data.
-	 */
-	private final static Boolean BINARY = Boolean.TRUE;
-
 	private final static String TRANSFORMATION_CHARSET_NAME = Charsets.UTF_8.name();
 
 	private static class LocalResourceAwareURIHandler extends URIHandlerImpl {
@@ -173,20 +171,13 @@ public final class UserDataMapper {
 			return ret;
 		}
 
-		// add copy -- EObjects can only be contained in a single resource, and
-		// we do not want to mess up the original resource
+		// add copy -- we do not want to mess up the original resource
 		URI resourceURI = originalResource.getURI();
-		XMIResource resourceForUserData = new XMIResourceImpl(resourceURI);
-
 		TModule copyWithProxies = TypeUtils.copyWithProxies(exportedModule);
-		resourceForUserData.getContents().add(copyWithProxies);
 
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-		resourceForUserData.save(baos, getOptions(resourceURI, BINARY));
-
-		String serializedScript = BINARY ? Base64.getEncoder().encodeToString(baos.toByteArray())
-				: baos.toString(TRANSFORMATION_CHARSET_NAME);
+		// one char per byte: ISO-8859-1 strings are stored compactly by the JVM and the project state
+		byte[] serializedBytes = CompactEObjectCodec.encode(copyWithProxies, resourceURI);
+		String serializedScript = new String(serializedBytes, StandardCharsets.ISO_8859_1);
 
 		final HashMap<String, String> ret = new HashMap<>();
 		ret.put(USER_DATA_KEY_SERIALIZED_SCRIPT, serializedScript);
@@ -259,6 +250,34 @@ public final class UserDataMapper {
 		if (Strings.isNullOrEmpty(serializedData)) {
 			return null;
 		}
+		final TModule module = CompactEObjectCodec.isEncoded(serializedData)
+				? deserializeCompactModule(serializedData, uri)
+				: deserializeXMIModule(serializedData, uri);
+		if (module == null) {
+			LOGGER.warn("error deserializing module from IEObjectDescription: " + uri); //$NON-NLS-1$
+			return null;
+		}
+
+		final String astMD5 = eObjectDescription.getUserData(USER_DATA_KEY_AST_MD5);
+		module.setAstMD5(astMD5);
+
+		return module;
+	}
+
+	private static TModule deserializeCompactModule(String serializedData, URI uri) {
+		try {
+			EObject result = CompactEObjectCodec.decode(serializedData.getBytes(StandardCharsets.ISO_8859_1), uri);
+			return result instanceof TModule ? (TModule) result : null;
+		} catch (IOException e) {
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("error deserializing module: " + uri, e); //$NON-NLS-1$
+			}
+			return null;
+		}
+	}
+
+	/** Reads modules written by previous versions, which stored them as (Base64 encoded, binary) XMI. */
+	private static TModule deserializeXMIModule(String serializedData, URI uri) {
 		final XMIResource xres = new XMIResourceImpl(uri);
 		try {
 			final boolean binary = !serializedData.startsWith("<");
@@ -267,10 +286,8 @@ public final class UserDataMapper {
 							: serializedData.getBytes(TRANSFORMATION_CHARSET_NAME));
 			xres.load(bais, getOptions(uri, binary));
 		} catch (Exception e) {
-			LOGGER.warn("error deserializing module from IEObjectDescription: " + uri); //$NON-NLS-1$
 			if (LOGGER.isTraceEnabled()) {
-				LOGGER.trace("error deserializing module from IEObjectDescription=" + eObjectDescription
-						+ ": " + uri, e); //$NON-NLS-1$
+				LOGGER.trace("error deserializing module: " + uri, e); //$NON-NLS-1$
 			}
 			// fail safe, because not uncommon (serialized data might have been created with an old version of the N4JS
 			// IDE, so the format could be out of date (after an update of the IDE))
@@ -282,10 +299,6 @@ public final class UserDataMapper {
 		}
 		final TModule module = (TModule) contents.get(0);
 		xres.getContents().clear();
-
-		final String astMD5 = eObjectDescription.getUserData(USER_DATA_KEY_AST_MD5);
-		module.setAstMD5(astMD5);
-
 		return module;
 	}
 
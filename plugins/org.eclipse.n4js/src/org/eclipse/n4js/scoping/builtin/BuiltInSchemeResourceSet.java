@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.scoping.builtin;
+
+import java.io.IOException;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.n4js.resource.N4JSResource;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
+
+/**
+ * The resource set holding the built-in resources. Built-in type definition files are loaded from the
+ * {@link BuiltInTypesSnapshot} on the classpath, if it is up to date, and parsed otherwise.
+ */
+public class BuiltInSchemeResourceSet extends SynchronizedXtextResourceSet {
+
+	private static final Logger LOGGER = Logger.getLogger(BuiltInSchemeResourceSet.class);
+
+	private final ClassLoader classLoader;
+
+	private boolean useSnapshot = true;
+
+	private BuiltInTypesSnapshot snapshot;
+
+	/**
+	 * Creates a new resource set that looks up the snapshot with the given class loader.
+	 */
+	public BuiltInSchemeResourceSet(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Sets whether resources should be loaded from the snapshot. Only has an effect if set before the first built-in
+	 * resource is loaded.
+	 */
+	public void setUseSnapshot(boolean useSnapshot) {
+		this.useSnapshot = useSnapshot;
+	}
+
+	@Override
+	protected void demandLoad(Resource resource) throws IOException {
+		if (resource instanceof N4JSResource && N4Scheme.isResourceWithN4Scheme(resource)
+				&& resource.getContents().isEmpty()) {
+			BuiltInTypesSnapshot theSnapshot = getSnapshot();
+			if (theSnapshot != null && theSnapshot.loadResource((N4JSResource) resource)) {
+				// marks the resource as loaded, see N4JSResource#load(Map)
+				resource.load(getLoadOptions());
+				return;
+			}
+		}
+		super.demandLoad(resource);
+	}
+
+	private BuiltInTypesSnapshot getSnapshot() {
+		synchronized (getLock()) {
+			if (useSnapshot && snapshot == null) {
+				snapshot = BuiltInTypesSnapshot.load(classLoader);
+				if (snapshot != null && !snapshot.isUpToDate(getURIConverter())) {
+					LOGGER.info("Snapshot of built-in types is stale, parsing built-in type definition files");
+					snapshot = null;
+				}
+				// do not look up the snapshot again
+				useSnapshot = snapshot != null;
+			}
+			return snapshot;
+		}
+	}
+}
@@ -695,8 +695,12 @@ public final class BuiltInTypeScope extends EnumerableScope {
 		N4JSResource resource = (N4JSResource) resourceRaw;
 		String fileName = resource.getURI().lastSegment();
 		TModule module = (TModule) resource.getContents().get(1); // do not change this to resource.getModule()
+		// modules of the snapshot were captured after registration and post-processing
+		boolean fromSnapshot = BuiltInTypesSnapshot.isLoadedFromSnapshot(resource);
 
-		beforeRegistration(fileName, module);
+		if (!fromSnapshot) {
+			beforeRegistration(fileName, module);
+		}
 
 		// register exported elements
 		for (TExportableElement elem : Iterables.concat(module.getTypesAndFunctions(), module.getExportedVariables())) {
@@ -705,14 +709,16 @@ public final class BuiltInTypeScope extends EnumerableScope {
 		}
 
 		// trigger post-processing
-		try {
-			resource.performPostProcessing();
-		} catch (Throwable th) {
-			throw new IllegalStateException("exception while post-processing built-in type definition file: "
-					+ resource.getURI().lastSegment(), th);
+		if (!fromSnapshot) {
+			try {
+				resource.performPostProcessing();
+			} catch (Throwable th) {
+				throw new IllegalStateException("exception while post-processing built-in type definition file: "
+						+ resource.getURI().lastSegment(), th);
+			}
+
+			afterPostProcessing(fileName);
 		}
-
-		afterPostProcessing(fileName);
 	}
 
 	private void beforeRegistration(String fileName, TModule module) {
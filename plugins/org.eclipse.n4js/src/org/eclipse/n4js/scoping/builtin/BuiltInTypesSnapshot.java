@@ -0,0 +1,390 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.scoping.builtin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.n4js.resource.N4JSResource;
+import org.eclipse.n4js.resource.UserDataMapper;
+import org.eclipse.n4js.ts.typeRefs.TypeRefsPackage;
+import org.eclipse.n4js.ts.types.TModule;
+import org.eclipse.n4js.ts.types.TypesPackage;
+import org.eclipse.n4js.typesbuilder.N4JSTypesBuilder;
+import org.eclipse.n4js.utils.N4JSLanguageUtils;
+import org.eclipse.n4js.utils.emf.CompactEObjectCodec;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * A precompiled snapshot of the built-in type definition files, i.e. the fully post-processed {@link TModule}s of the
+ * files of the {@link BuiltInTypeScope} and the {@link GlobalObjectScope}. The snapshot is created at build time by
+ * the {@link BuiltInTypesSnapshotGenerator} and stored on the classpath next to the definition files. The
+ * {@link BuiltInSchemeResourceSet} loads its resources from the snapshot in the same way as resources are loaded from
+ * the index, i.e. the AST is replaced by a proxy that is resolved by parsing the definition file on demand.
+ * <p>
+ * A snapshot is only used if it was created by the same code, see {@link #getGeneratorHash()}, if it contains all
+ * built-in type definition files and if the hash of the source of each of these files matches the hash stored in the
+ * snapshot. Otherwise, the snapshot is stale and the files are parsed.
+ * <p>
+ * The snapshot is designed to be memory mapped: only the header is read eagerly, a module is decoded when its resource
+ * is loaded. Strings are stored as length followed by UTF-8 bytes, length {@code -1} denotes <code>null</code>. All
+ * numbers are big-endian, all offsets are relative to the start of the data section.
+ *
+ * <pre>
+ * - Magic number {@link #MAGIC} and format {@link #VERSION}
+ * - {@link #getGeneratorHash() Hash of the generator}
+ * - Number #f of files
+ * - #f times: file name, source hash, AST hash of the module, offset and length of the module in the data section
+ * - Data section: the modules encoded by the {@link CompactEObjectCodec}
+ * </pre>
+ */
+public final class BuiltInTypesSnapshot {
+
+	/** Name of the snapshot file, located in the same classpath folder as the built-in type definition files. */
+	public static final String FILE_NAME = "builtin_types.snapshot";
+
+	/** Distinguishes this format from other files. */
+	static final int MAGIC = 0x4E344254; // "N4BT"
+
+	/** Version of the format; snapshots of other versions are treated as stale. */
+	static final int VERSION = 2;
+
+	/** Names of all built-in type definition files, each of which must be contained in a snapshot. */
+	static final List<String> ALL_FILE_NAMES = ImmutableList.<String> builder()
+			.add(BuiltInTypeScope.FILE_NAMES)
+			.add(GlobalObjectScope.FILE_NAMES)
+			.build();
+
+	private static final Logger LOGGER = Logger.getLogger(BuiltInTypesSnapshot.class);
+
+	/** The hash of the running code, computed on first access. */
+	private static String currentGeneratorHash;
+
+	/** Location of a module within the data section. */
+	private static final class Entry {
+		final String sourceHash;
+		final String astMD5;
+		final int offset;
+		final int length;
+
+		Entry(String sourceHash, String astMD5, int offset, int length) {
+			this.sourceHash = sourceHash;
+			this.astMD5 = astMD5;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	/** Marks resources that were loaded from a snapshot. */
+	private static final class LoadedFromSnapshot extends AdapterImpl {
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == LoadedFromSnapshot.class;
+		}
+	}
+
+	private final ByteBuffer buffer;
+	private final String generatorHash;
+	private final int dataStart;
+	private final Map<String, Entry> entries;
+
+	private BuiltInTypesSnapshot(ByteBuffer buffer, String generatorHash, int dataStart, Map<String, Entry> entries) {
+		this.buffer = buffer;
+		this.generatorHash = generatorHash;
+		this.dataStart = dataStart;
+		this.entries = entries;
+	}
+
+	/**
+	 * Loads the snapshot from the classpath of the given class loader. The snapshot file is memory mapped if it is
+	 * available in the file system, e.g. when running from the class folders of the build, and read into memory
+	 * otherwise, e.g. when running from a jar file.
+	 *
+	 * @return the snapshot or <code>null</code> if there is no snapshot or it could not be read.
+	 */
+	public static BuiltInTypesSnapshot load(ClassLoader classLoader) {
+		URL url = classLoader.getResource("env/" + FILE_NAME);
+		if (url == null) {
+			return null;
+		}
+		try {
+			ByteBuffer buffer;
+			if ("file".equals(url.getProtocol())) {
+				try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+					// the mapping stays valid after the channel was closed
+					buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+				}
+			} else {
+				try (InputStream in = url.openStream()) {
+					buffer = ByteBuffer.wrap(in.readAllBytes());
+				}
+			}
+			return read(buffer);
+		} catch (IOException | URISyntaxException | IllegalArgumentException e) {
+			LOGGER.warn("Cannot read snapshot of built-in types: " + url, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the header of a snapshot from the given buffer, which must not be modified afterwards. Only absolute
+	 * accesses are used on the buffer.
+	 *
+	 * @return the snapshot or <code>null</code> if the buffer does not contain a snapshot of the current version.
+	 */
+	static BuiltInTypesSnapshot read(ByteBuffer buffer) throws IOException {
+		try {
+			if (buffer.limit() < 8 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+				return null;
+			}
+			int[] pos = { 8 };
+			String generatorHash = readString(buffer, pos);
+			int count = buffer.getInt(pos[0]);
+			pos[0] += 4;
+			Map<String, Entry> entries = new HashMap<>();
+			for (int i = 0; i < count; i++) {
+				String fileName = readString(buffer, pos);
+				String sourceHash = readString(buffer, pos);
+				String astMD5 = readString(buffer, pos);
+				int offset = buffer.getInt(pos[0]);
+				int length = buffer.getInt(pos[0] + 4);
+				pos[0] += 8;
+				entries.put(fileName, new Entry(sourceHash, astMD5, offset, length));
+			}
+			int dataStart = pos[0];
+			for (Entry entry : entries.values()) {
+				if (entry.offset < 0 || entry.length < 0
+						|| (long) dataStart + entry.offset + entry.length > buffer.limit()) {
+					throw new IOException("Corrupted snapshot of built-in types");
+				}
+			}
+			return new BuiltInTypesSnapshot(buffer, generatorHash, dataStart, entries);
+		} catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+			throw new IOException("Corrupted snapshot of built-in types", e);
+		}
+	}
+
+	private static String readString(ByteBuffer buffer, int[] pos) {
+		int length = buffer.getInt(pos[0]);
+		pos[0] += 4;
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(pos[0], bytes);
+		pos[0] += length;
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Tells whether this snapshot was created by the running code and contains all built-in type definition files in
+	 * the version provided by the given URI converter, which must be able to read URIs of the {@link N4Scheme}.
+	 */
+	public boolean isUpToDate(URIConverter uriConverter) {
+		if (!getGeneratorHash().equals(generatorHash)) {
+			return false;
+		}
+		for (String fileName : ALL_FILE_NAMES) {
+			Entry entry = entries.get(fileName);
+			if (entry == null) {
+				return false;
+			}
+			try {
+				if (!entry.sourceHash.equals(hash(readSource(uriConverter, fileName)))) {
+					return false;
+				}
+			} catch (IOException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Loads the given, empty resource from this snapshot, leaving it in the state
+	 * {@link N4JSResource#isLoadedFromDescription() loaded from description}.
+	 *
+	 * @return <code>true</code> iff the resource was loaded, <code>false</code> if this snapshot does not contain the
+	 *         resource or the module could not be decoded.
+	 */
+	public boolean loadResource(N4JSResource resource) {
+		URI uri = resource.getURI();
+		Entry entry = N4Scheme.isN4Scheme(uri) && uri.segmentCount() == 1 ? entries.get(uri.lastSegment()) : null;
+		if (entry == null) {
+			return false;
+		}
+		byte[] data = new byte[entry.length];
+		buffer.get(dataStart + entry.offset, data);
+		EObject module;
+		try {
+			module = CompactEObjectCodec.decode(data, uri);
+		} catch (IOException e) {
+			LOGGER.error("Cannot decode module from snapshot of built-in types: " + uri, e);
+			return false;
+		}
+		if (!(module instanceof TModule)) {
+			return false;
+		}
+		((TModule) module).setAstMD5(entry.astMD5);
+		resource.loadFromModule((TModule) module);
+		resource.eAdapters().add(new LoadedFromSnapshot());
+		return true;
+	}
+
+	/** Tells whether the given resource was {@link #loadResource(N4JSResource) loaded} from a snapshot. */
+	public static boolean isLoadedFromSnapshot(Resource resource) {
+		return EcoreUtil.getAdapter(resource.eAdapters(), LoadedFromSnapshot.class) != null;
+	}
+
+	/**
+	 * Writes a snapshot of the given, fully post-processed resources to the given stream, which is not closed.
+	 *
+	 * @throws IOException
+	 *             if writing fails or if one of the modules cannot be serialized, e.g. due to unresolved proxies.
+	 */
+	public static void write(Collection<? extends N4JSResource> resources, OutputStream stream) throws IOException {
+		ByteArrayOutputStream dataBytes = new ByteArrayOutputStream();
+		ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+		DataOutputStream header = new DataOutputStream(headerBytes);
+		header.writeInt(MAGIC);
+		header.writeInt(VERSION);
+		writeString(getGeneratorHash(), header);
+		header.writeInt(resources.size());
+		for (N4JSResource resource : resources) {
+			URI uri = resource.getURI();
+			TModule module = resource.getModule();
+			String serializedModule = module != null
+					? UserDataMapper.createUserData(module).get(UserDataMapper.USER_DATA_KEY_SERIALIZED_SCRIPT)
+					: null;
+			if (serializedModule == null) {
+				throw new IOException("Cannot serialize module of built-in type definition file: " + uri);
+			}
+			// the serialized module is a string of one char per byte
+			byte[] data = serializedModule.getBytes(StandardCharsets.ISO_8859_1);
+			byte[] source = readSource(resource.getResourceSet().getURIConverter(), uri.lastSegment());
+			writeString(uri.lastSegment(), header);
+			writeString(hash(source), header);
+			writeString(module.getAstMD5(), header);
+			header.writeInt(dataBytes.size());
+			header.writeInt(data.length);
+			dataBytes.write(data);
+		}
+		header.flush();
+		headerBytes.writeTo(stream);
+		dataBytes.writeTo(stream);
+		stream.flush();
+	}
+
+	private static void writeString(String value, DataOutputStream output) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static byte[] readSource(URIConverter uriConverter, String fileName) throws IOException {
+		try (InputStream in = uriConverter.createInputStream(N4Scheme.N4URI.create(fileName))) {
+			return in.readAllBytes();
+		}
+	}
+
+	private static String hash(byte[] source) {
+		return Hashing.murmur3_128().hashBytes(source).toString();
+	}
+
+	/**
+	 * Returns a hash of the code the modules of a snapshot depend on besides the definition files, i.e. the commit of
+	 * the language version, the format and class file of the {@link CompactEObjectCodec}, the class file of the
+	 * {@link N4JSTypesBuilder} and the structure of the types metamodel. Since the commit is only set by publishing
+	 * builds, the class files and the metamodel detect snapshots that became stale during development.
+	 */
+	static synchronized String getGeneratorHash() {
+		if (currentGeneratorHash == null) {
+			currentGeneratorHash = computeGeneratorHash();
+		}
+		return currentGeneratorHash;
+	}
+
+	private static String computeGeneratorHash() {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		String languageCommit;
+		try {
+			languageCommit = N4JSLanguageUtils.getLanguageCommit();
+		} catch (RuntimeException e) {
+			languageCommit = N4JSLanguageUtils.DEFAULT_LANGUAGE_COMMIT;
+		}
+		hasher.putString(languageCommit, StandardCharsets.UTF_8);
+		hasher.putInt(CompactEObjectCodec.VERSION);
+		for (Class<?> clazz : List.of(CompactEObjectCodec.class, N4JSTypesBuilder.class)) {
+			try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+				hasher.putBytes(in != null ? in.readAllBytes() : new byte[0]);
+			} catch (IOException e) {
+				LOGGER.warn("Cannot read class file: " + clazz.getName(), e);
+			}
+		}
+		for (EPackage ePackage : List.of(TypesPackage.eINSTANCE, TypeRefsPackage.eINSTANCE)) {
+			for (EClassifier classifier : ePackage.getEClassifiers()) {
+				hasher.putString(classifier.getName(), StandardCharsets.UTF_8);
+				if (classifier instanceof EClass) {
+					for (EClass superType : ((EClass) classifier).getESuperTypes()) {
+						hasher.putString(superType.getName(), StandardCharsets.UTF_8);
+					}
+					for (EStructuralFeature feature : ((EClass) classifier).getEStructuralFeatures()) {
+						hasher.putString(feature.getName(), StandardCharsets.UTF_8);
+						hasher.putString(feature.getEType().getName(), StandardCharsets.UTF_8);
+						hasher.putBoolean(feature.isMany());
+						hasher.putBoolean(feature.isTransient());
+					}
+				} else if (classifier instanceof EEnum) {
+					for (EEnumLiteral literal : ((EEnum) classifier).getELiterals()) {
+						hasher.putString(literal.getLiteral(), StandardCharsets.UTF_8);
+					}
+				}
+			}
+		}
+		return hasher.hash().toString();
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.scoping.builtin;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.n4js.N4JSStandaloneSetup;
+import org.eclipse.n4js.resource.N4JSResource;
+
+import com.google.inject.Injector;
+
+/**
+ * Creates the {@link BuiltInTypesSnapshot} by parsing and post-processing all built-in type definition files. Invoked
+ * during the Maven build of this bundle, after the classes were compiled and the definition files were copied to the
+ * output folder.
+ */
+public class BuiltInTypesSnapshotGenerator {
+
+	/**
+	 * Writes the snapshot into the given folder, i.e. the output folder of the built-in type definition files.
+	 *
+	 * @param args
+	 *            the path of the target folder.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			throw new IllegalArgumentException("Expected the target folder as single argument");
+		}
+		Injector injector = N4JSStandaloneSetup.doSetup();
+		ResourceSet resourceSet = injector.getInstance(ResourceSetWithBuiltInSchemeProvider.class).getResourceSet();
+		File file = new File(args[0], BuiltInTypesSnapshot.FILE_NAME);
+		generate(resourceSet, file);
+		System.out.println("Wrote snapshot of built-in types to " + file);
+	}
+
+	/**
+	 * Loads all built-in types into the given resource set, which must not contain any built-in resources yet, and
+	 * writes their snapshot to the given file.
+	 */
+	public static void generate(ResourceSet builtInSchemeResourceSet, File file) throws IOException {
+		if (builtInSchemeResourceSet instanceof BuiltInSchemeResourceSet) {
+			((BuiltInSchemeResourceSet) builtInSchemeResourceSet).setUseSnapshot(false);
+		}
+		// trigger registration and post-processing of all built-in types
+		BuiltInTypeScope.get(builtInSchemeResourceSet).getAllElementNames();
+		GlobalObjectScope.get(builtInSchemeResourceSet).getAllElementNames();
+
+		List<N4JSResource> resources = new ArrayList<>();
+		for (String fileName : BuiltInTypesSnapshot.ALL_FILE_NAMES) {
+			Resource resource = builtInSchemeResourceSet.getResource(N4Scheme.N4URI.create(fileName), false);
+			if (!(resource instanceof N4JSResource) || BuiltInTypesSnapshot.isLoadedFromSnapshot(resource)) {
+				throw new IllegalStateException("Built-in type definition file was not parsed: " + fileName);
+			}
+			resources.add((N4JSResource) resource);
+		}
+
+		file.getParentFile().mkdirs();
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+			BuiltInTypesSnapshot.write(resources, out);
+		}
+	}
+}
@@ -18,6 +18,7 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.n4js.naming.N4JSQualifiedNameProvider;
+import org.eclipse.n4js.resource.N4JSResource;
 import org.eclipse.n4js.ts.types.TClass;
 import org.eclipse.n4js.ts.types.TField;
 import org.eclipse.xtext.naming.QualifiedName;
@@ -92,13 +93,18 @@ public final class GlobalObjectScope extends EnumerableScope {
 	protected void buildMap(Resource resource, Map<QualifiedName, IEObjectDescription> elements) {
 		IDefaultResourceDescriptionStrategy strategy = ((XtextResource) resource).getResourceServiceProvider()
 				.get(IDefaultResourceDescriptionStrategy.class);
-		TreeIterator<EObject> allProperContents = EcoreUtil.getAllProperContents(resource, false);
 		IAcceptor<IEObjectDescription> acceptor = new IAcceptor<>() {
 			@Override
 			public void accept(IEObjectDescription description) {
 				elements.put(description.getQualifiedName(), description);
 			}
 		};
+		if (BuiltInTypesSnapshot.isLoadedFromSnapshot(resource)) {
+			// only the module yields descriptions; avoid loading the AST by iterating over the contents
+			strategy.createEObjectDescriptions(((N4JSResource) resource).getModule(), acceptor);
+			return;
+		}
+		TreeIterator<EObject> allProperContents = EcoreUtil.getAllProperContents(resource, false);
 		while (allProperContents.hasNext()) {
 			EObject content = allProperContents.next();
 			if (!strategy.createEObjectDescriptions(content, acceptor)) {
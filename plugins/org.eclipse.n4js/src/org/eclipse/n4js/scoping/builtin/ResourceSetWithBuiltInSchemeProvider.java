@@ -37,7 +37,7 @@ public class ResourceSetWithBuiltInSchemeProvider {
 			ClassLoader classLoader,
 			UriExtensions uriExtensions) {
 		@SuppressWarnings("hiding")
-		SynchronizedXtextResourceSet resourceSet = new SynchronizedXtextResourceSet();
+		SynchronizedXtextResourceSet resourceSet = new BuiltInSchemeResourceSet(classLoader);
 		attachXtextResourceLocator(resourceSet);
 		resourceSet.setClasspathURIContext(classLoader);
 		registrar.registerScheme(resourceSet);
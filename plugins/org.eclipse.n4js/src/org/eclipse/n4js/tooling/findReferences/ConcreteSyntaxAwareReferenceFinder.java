@@ -10,11 +10,14 @@
  */
 package org.eclipse.n4js.tooling.findReferences;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
@@ -34,6 +37,7 @@ import org.eclipse.n4js.n4JS.Script;
 import org.eclipse.n4js.resource.N4JSResource;
 import org.eclipse.n4js.ts.types.TMember;
 import org.eclipse.n4js.utils.FindReferenceHelper;
+import org.eclipse.n4js.xtext.ide.server.findReferences.ImportedNamesIndex;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.findReferences.ReferenceFinder;
 import org.eclipse.xtext.findReferences.TargetURIs;
@@ -43,6 +47,7 @@ import org.eclipse.xtext.linking.lazy.LazyURIEncoder;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Predicate;
@@ -68,6 +73,39 @@ public class ConcreteSyntaxAwareReferenceFinder extends ReferenceFinder {
 	@Inject
 	private FindReferenceHelper findReferenceHelper;
 
+	@Inject
+	private ImportedNamesIndex importedNamesIndex;
+
+	/**
+	 * Overridden to only check the resources that import one of the types or modules to find according to the
+	 * {@link ImportedNamesIndex}, if available, instead of all resource descriptions of the given index.
+	 */
+	@Override
+	public void findAllReferences(TargetURIs targetURIs, IResourceAccess resourceAccess,
+			IResourceDescriptions indexData, Acceptor acceptor, IProgressMonitor monitor) {
+
+		if (targetURIs.isEmpty() || !importedNamesIndex.isActive()) {
+			super.findAllReferences(targetURIs, resourceAccess, indexData, acceptor, monitor);
+			return;
+		}
+		TargetURIKey.Data findReferencesData = keys.getData(targetURIs, resourceAccess);
+		Set<URI> candidateURIs = new LinkedHashSet<>(targetURIs.getTargetResourceURIs());
+		candidateURIs.addAll(importedNamesIndex.findImportingResources(findReferencesData.getTypesOrModulesToFind()));
+
+		SubMonitor subMonitor = SubMonitor.convert(monitor, candidateURIs.size());
+		for (URI candidateURI : candidateURIs) {
+			if (subMonitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			IResourceDescription resourceDescription = indexData.getResourceDescription(candidateURI);
+			if (resourceDescription != null) {
+				// the language specific finder checks the imported names of the description again
+				getLanguageSpecificReferenceFinder(candidateURI).findReferences(targetURIs, resourceDescription,
+						resourceAccess, acceptor, subMonitor.newChild(1));
+			}
+		}
+	}
+
 	@Override
 	protected void findReferencesInDescription(TargetURIs targetURIs, IResourceDescription resourceDescription,
 			IResourceAccess resourceAccess, Acceptor acceptor, IProgressMonitor monitor) {
@@ -18,7 +18,9 @@ import org.eclipse.n4js.n4JS.Expression;
 import org.eclipse.n4js.n4JS.TypeDefiningElement;
 import org.eclipse.n4js.postprocessing.ASTProcessor;
 import org.eclipse.n4js.postprocessing.TypeProcessor;
+import org.eclipse.n4js.resource.N4JSCache;
 import org.eclipse.n4js.resource.N4JSResource;
+import org.eclipse.n4js.smith.N4JSDataCollectors;
 import org.eclipse.n4js.ts.typeRefs.BoundThisTypeRef;
 import org.eclipse.n4js.ts.typeRefs.ExistentialTypeRef;
 import org.eclipse.n4js.ts.typeRefs.FunctionTypeExprOrRef;
@@ -70,6 +72,8 @@ public class N4JSTypeSystem {
 	@Inject
 	private TypeProcessor typeProcessor;
 	@Inject
+	private N4JSCache cache;
+	@Inject
 	private TypeSystemHelper tsh;
 
 	// ###############################################################################################################
@@ -132,6 +136,8 @@ public class N4JSTypeSystem {
 	/**
 	 * Tells if {@code left} is a subtype of {@code right}. Never returns <code>null</code>.
 	 * <p>
+	 * Results of checks that only depend on the two type references are cached per resource, see {@link SubtypeCache}.
+	 * <p>
 	 * If a type argument representing a range of types (e.g. a wildcard) appears on one or both sides, this method will
 	 * check whether the subtype relation holds for *all* types represented by the range. For example, given classes A,
 	 * B, and C with C &lt;: B &lt;: A, the following applies:
@@ -150,7 +156,24 @@ public class N4JSTypeSystem {
 	 * for such bounds checks.
 	 */
 	public Result subtype(RuleEnvironment G, TypeArgument left, TypeArgument right) {
-		return subtypeJudgment.apply(G, left, right);
+		final Resource resource = G.getContextResource();
+		if (!(resource instanceof N4JSResource)) {
+			return subtypeJudgment.apply(G, left, right);
+		}
+		final List<Object> key = SubtypeCache.createKey(G, left, right);
+		if (key == null) {
+			return subtypeJudgment.apply(G, left, right);
+		}
+		final SubtypeCache subtypeCache = cache.get(resource, SubtypeCache::new, SubtypeCache.class);
+		final Result cachedResult = subtypeCache.get(key);
+		if (cachedResult != null) {
+			N4JSDataCollectors.dcSubtypeCacheHits.count();
+			return cachedResult;
+		}
+		N4JSDataCollectors.dcSubtypeCacheMisses.count();
+		final Result result = subtypeJudgment.apply(G, left, right);
+		subtypeCache.put(key, result);
+		return result;
 	}
 
 	/** Tells if {@code left} is a subtype of {@code right}. */
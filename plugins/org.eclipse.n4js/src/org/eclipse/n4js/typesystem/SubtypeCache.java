@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.typesystem;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.n4js.resource.N4JSCache;
+import org.eclipse.n4js.ts.typeRefs.ComposedTypeRef;
+import org.eclipse.n4js.ts.typeRefs.ParameterizedTypeRef;
+import org.eclipse.n4js.ts.typeRefs.TypeArgument;
+import org.eclipse.n4js.ts.typeRefs.TypeRef;
+import org.eclipse.n4js.ts.typeRefs.TypeRefsPackage;
+import org.eclipse.n4js.ts.types.TFunction;
+import org.eclipse.n4js.ts.types.Type;
+import org.eclipse.n4js.ts.types.TypeAlias;
+import org.eclipse.n4js.ts.types.TypeVariable;
+import org.eclipse.n4js.ts.types.TypingStrategy;
+import org.eclipse.n4js.typesystem.utils.Result;
+import org.eclipse.n4js.typesystem.utils.RuleEnvironment;
+
+/**
+ * Caches the results of subtype checks of a single resource; instances are stored in the {@link N4JSCache} and thus
+ * evicted together with all other cached information of the resource when the resource changes.
+ * <p>
+ * Only those checks are cached, whose result depends on nothing else but the declared types and modifiers of the two
+ * type references, i.e. checks in an {@link RuleEnvironment#isEmpty() empty} rule environment of nominal,
+ * non-raw {@link ParameterizedTypeRef}s without type variables and of unions and intersections of such type
+ * references. All other checks always yield a cache miss.
+ * <p>
+ * The types are only weakly referenced by the cache keys. Otherwise, the cache of a resource would keep the types of
+ * other resources reachable after those resources were unloaded and replaced, e.g. in the resource set of an open
+ * file.
+ */
+/* package */ final class SubtypeCache {
+
+	/**
+	 * Maximum number of cached results; the entries of collected types are removed and, if that does not suffice, the
+	 * cache is cleared when this number is exceeded.
+	 */
+	static final int MAX_SIZE = 10000;
+
+	private final Map<List<Object>, Result> results = new ConcurrentHashMap<>();
+
+	/** Returns the cache key for checking {@code left <: right} in the given environment or <code>null</code>. */
+	static List<Object> createKey(RuleEnvironment G, TypeArgument left, TypeArgument right) {
+		if (!G.isEmpty()) {
+			return null;
+		}
+		Object leftKey = createKey(left);
+		if (leftKey == null) {
+			return null;
+		}
+		Object rightKey = createKey(right);
+		if (rightKey == null) {
+			return null;
+		}
+		return List.of(leftKey, rightKey);
+	}
+
+	private static Object createKey(TypeArgument typeArg) {
+		if (!(typeArg instanceof TypeRef) || ((TypeRef) typeArg).getOriginalAliasTypeRef() != null) {
+			return null;
+		}
+		EClass eClass = typeArg.eClass();
+		if (eClass == TypeRefsPackage.Literals.PARAMETERIZED_TYPE_REF) {
+			ParameterizedTypeRef typeRef = (ParameterizedTypeRef) typeArg;
+			Type declaredType = typeRef.getDeclaredType();
+			if (declaredType == null || declaredType.eIsProxy() || declaredType instanceof TypeVariable
+					|| declaredType instanceof TypeAlias || declaredType instanceof TFunction
+					|| typeRef.getTypingStrategy() != TypingStrategy.NOMINAL || typeRef.isRaw()) {
+				return null;
+			}
+			List<Object> key = new ArrayList<>(3 + typeRef.getDeclaredTypeArgs().size());
+			key.add(new TypeKey(declaredType));
+			key.add(typeRef.isDynamic());
+			key.add(typeRef.isFollowedByQuestionMark());
+			for (TypeArgument typeArgOfRef : typeRef.getDeclaredTypeArgs()) {
+				Object argKey = createKey(typeArgOfRef);
+				if (argKey == null) {
+					return null;
+				}
+				key.add(argKey);
+			}
+			return key;
+		}
+		if (eClass == TypeRefsPackage.Literals.UNION_TYPE_EXPRESSION
+				|| eClass == TypeRefsPackage.Literals.INTERSECTION_TYPE_EXPRESSION) {
+			List<TypeRef> members = ((ComposedTypeRef) typeArg).getTypeRefs();
+			List<Object> key = new ArrayList<>(2 + members.size());
+			key.add(eClass);
+			key.add(((TypeRef) typeArg).isFollowedByQuestionMark());
+			for (TypeRef member : members) {
+				Object memberKey = createKey(member);
+				if (memberKey == null) {
+					return null;
+				}
+				key.add(memberKey);
+			}
+			return key;
+		}
+		return null;
+	}
+
+	/** Returns the cached result for the given key or <code>null</code>. */
+	Result get(List<Object> key) {
+		return results.get(key);
+	}
+
+	/** Caches the given result. */
+	void put(List<Object> key, Result result) {
+		if (results.size() >= MAX_SIZE) {
+			results.keySet().removeIf(SubtypeCache::isStale);
+			if (results.size() >= MAX_SIZE) {
+				results.clear();
+			}
+		}
+		results.put(key, result);
+	}
+
+	/** Returns the number of cached results. */
+	int size() {
+		return results.size();
+	}
+
+	/** Tells if the given key refers to a type that was garbage collected, so it can never be looked up again. */
+	private static boolean isStale(Object key) {
+		if (key instanceof TypeKey) {
+			return ((TypeKey) key).get() == null;
+		}
+		if (key instanceof List<?>) {
+			for (Object element : (List<?>) key) {
+				if (isStale(element)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/** Part of a cache key that refers to a type by identity, without keeping it reachable. */
+	private static final class TypeKey extends WeakReference<Type> {
+
+		private final int hashCode;
+
+		TypeKey(Type type) {
+			super(type);
+			this.hashCode = System.identityHashCode(type);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof TypeKey)) {
+				return false;
+			}
+			Type type = get();
+			return type != null && type == ((TypeKey) obj).get();
+		}
+	}
+}
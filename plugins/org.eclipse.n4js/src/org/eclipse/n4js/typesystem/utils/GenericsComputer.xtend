@@ -183,7 +183,7 @@ package class GenericsComputer extends TypeSystemHelperStrategy {
 
 		while(G.hasSubstitutionFor(actualTypeArg)) {
 			val actualTypeArgCasted = actualTypeArg as TypeRef; // otherwise #hasSubstitutionFor() would not have returned true
-			val fromEnv = G.environment.get(actualTypeArgCasted.declaredType);
+			val fromEnv = G.get(actualTypeArgCasted.declaredType);
 			actualTypeArg = if(fromEnv instanceof TypeRef) {
 				TypeUtils.mergeTypeModifiers(fromEnv, actualTypeArgCasted, false)
 			} else {
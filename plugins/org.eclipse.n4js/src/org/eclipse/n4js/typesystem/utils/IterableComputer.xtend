@@ -139,7 +139,7 @@ class IterableComputer extends TypeSystemHelperStrategy {
 			// -> we actually look for a member "public Iterator<T> [Symbol.iterator]() {...}"
 			// and are interested in the type argument T
 			if(result===null) {
-				val res = G.get(Resource);
+				val res = G.contextResource;
 				if(res instanceof Resource) {
 					val memberName = if(iterableType===G.asyncIterableType) {
 						N4JSLanguageUtils.SYMBOL_ASYNC_ITERATOR_MANGLED;
@@ -10,57 +10,265 @@
  */
 package org.eclipse.n4js.typesystem.utils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 
-// FIXME clean up chained environments vs. copied upon wrap
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.n4js.ts.types.TypeVariable;
+import org.eclipse.xtext.util.CancelIndicator;
+
+/**
+ * A rule environment of the type system.
+ * <p>
+ * The key/value pairs are stored in persistent (i.e. immutable, structure-sharing) lists, so wrapping a rule
+ * environment with {@link #RuleEnvironment(RuleEnvironment)} is O(1) and does not copy any entries: the new
+ * environment shares the entries of the wrapped environment, but changes to either of them are not visible in the
+ * other. Each {@link #put(Object, Object) put} prepends a node to the list of the receiving environment; once a list
+ * gets longer than {@link #MAX_CHAIN_LENGTH} it is compacted into a hash map, which bounds the cost of lookups.
+ * <p>
+ * Type variable mappings are kept in a list of their own and the predefined types, context resource and cancel
+ * indicator are stored in fields, because they are looked up far more often than all other entries.
+ */
 @SuppressWarnings("javadoc")
 public class RuleEnvironment {
 
-	private final Map<Object, Object> entries = new LinkedHashMap<>();
+	/** Maximum number of nodes in front of a compacted map before the list is compacted. */
+	static final int MAX_CHAIN_LENGTH = 16;
+
+	/**
+	 * Key of the context resource, see {@link #getContextResource()}. Kept for {@link #get(Object)},
+	 * {@link #put(Object, Object)} and {@link #getEnvironment()}; the resource is stored in a field.
+	 */
+	public static final Object CONTEXT_RESOURCE_KEY = Resource.class;
+	/**
+	 * Key of the cancel indicator, see {@link #getCancelIndicator()}. Kept for {@link #get(Object)},
+	 * {@link #put(Object, Object)} and {@link #getEnvironment()}; the cancel indicator is stored in a field.
+	 */
+	public static final Object CANCEL_INDICATOR_KEY = "cancelIndicator";
+
+	private Node entries;
+	private Node typeMappings;
+
+	private PredefinedTypes predefinedTypes;
+	private Resource contextResource;
+	private CancelIndicator cancelIndicator;
 
 	public RuleEnvironment() {
 	}
 
 	public RuleEnvironment(RuleEnvironment env) {
 		if (env != null) {
-			entries.putAll(env.entries);
+			entries = env.entries;
+			typeMappings = env.typeMappings;
+			predefinedTypes = env.predefinedTypes;
+			contextResource = env.contextResource;
+			cancelIndicator = env.cancelIndicator;
 		}
 	}
 
+	public PredefinedTypes getPredefinedTypes() {
+		if (predefinedTypes == null) {
+			throw new IllegalStateException(
+					"Predefined types not set, call type system with configured rule environment");
+		}
+		return predefinedTypes;
+	}
+
+	public void setPredefinedTypes(PredefinedTypes predefinedTypes) {
+		this.predefinedTypes = predefinedTypes;
+	}
+
+	public Resource getContextResource() {
+		return contextResource;
+	}
+
+	public void setContextResource(Resource contextResource) {
+		this.contextResource = contextResource;
+	}
+
+	public CancelIndicator getCancelIndicator() {
+		return cancelIndicator;
+	}
+
+	public void setCancelIndicator(CancelIndicator cancelIndicator) {
+		this.cancelIndicator = cancelIndicator;
+	}
+
 	public boolean put(Object key, Object value) {
 		return put(key, value, false);
 	}
 
 	public boolean put(Object key, Object value, boolean checkExist) {
-		if (checkExist && entries.containsKey(key)) {
+		if (key == PredefinedTypes.PREDEFINED_TYPES_KEY) {
+			if (checkExist && predefinedTypes != null) {
+				return false;
+			}
+			predefinedTypes = (PredefinedTypes) value;
+			return true;
+		}
+		if (key == CONTEXT_RESOURCE_KEY) {
+			if (checkExist && contextResource != null) {
+				return false;
+			}
+			contextResource = (Resource) value;
+			return true;
+		}
+		if (key == CANCEL_INDICATOR_KEY) {
+			if (checkExist && cancelIndicator != null) {
+				return false;
+			}
+			cancelIndicator = (CancelIndicator) value;
+			return true;
+		}
+		if (key instanceof TypeVariable) {
+			if (checkExist && lookup(typeMappings, key) != ABSENT) {
+				return false;
+			}
+			typeMappings = Node.prepend(typeMappings, key, value);
+			return true;
+		}
+		if (checkExist && lookup(entries, key) != ABSENT) {
 			return false;
 		}
-
-		entries.put(key, value);
-
+		entries = Node.prepend(entries, key, value);
 		return true;
 	}
 
 	public Object get(Object key) {
-		Object value = entries.get(key);
-		// if (value == null && next != null) {
-		// return next.get(key);
-		// }
-		return value;
+		if (key == PredefinedTypes.PREDEFINED_TYPES_KEY) {
+			return predefinedTypes;
+		}
+		if (key == CONTEXT_RESOURCE_KEY) {
+			return contextResource;
+		}
+		if (key == CANCEL_INDICATOR_KEY) {
+			return cancelIndicator;
+		}
+		Object value = lookup(key instanceof TypeVariable ? typeMappings : entries, key);
+		return value != ABSENT ? value : null;
+	}
+
+	/**
+	 * Tells if this environment contains neither key/value pairs nor type variable mappings. The predefined types,
+	 * context resource and cancel indicator are not taken into account.
+	 */
+	public boolean isEmpty() {
+		return entries == null && typeMappings == null;
+	}
+
+	/**
+	 * Returns a new map containing the type variable mappings of this environment.
+	 */
+	public Map<TypeVariable, Object> getTypeMappings() {
+		Map<TypeVariable, Object> result = new LinkedHashMap<>();
+		Node.collect(typeMappings, result);
+		return result;
 	}
 
+	/**
+	 * Returns a new map containing all key/value pairs of this environment, including the type variable mappings, the
+	 * predefined types, the context resource and the cancel indicator. Changes to the returned map do not affect this
+	 * environment.
+	 */
 	public Map<Object, Object> getEnvironment() {
-		return entries;
+		Map<Object, Object> result = new LinkedHashMap<>();
+		if (predefinedTypes != null) {
+			result.put(PredefinedTypes.PREDEFINED_TYPES_KEY, predefinedTypes);
+		}
+		if (contextResource != null) {
+			result.put(CONTEXT_RESOURCE_KEY, contextResource);
+		}
+		if (cancelIndicator != null) {
+			result.put(CANCEL_INDICATOR_KEY, cancelIndicator);
+		}
+		Node.collect(entries, result);
+		Node.collect(typeMappings, result);
+		return result;
 	}
 
 	public Set<Entry<Object, Object>> entrySet() {
-		return entries.entrySet();
+		return Collections.unmodifiableMap(getEnvironment()).entrySet();
 	}
 
 	public RuleEnvironment getNext() {
 		return null;
 	}
+
+	private static final Object ABSENT = new Object();
+
+	private static Object lookup(Node node, Object key) {
+		while (node != null) {
+			if (node.compacted != null) {
+				Object value = node.compacted.get(key);
+				return value != null || node.compacted.containsKey(key) ? value : ABSENT;
+			}
+			if (Objects.equals(node.key, key)) {
+				return node.value;
+			}
+			node = node.next;
+		}
+		return ABSENT;
+	}
+
+	/**
+	 * An immutable node of a persistent list of key/value pairs. Either holds a single key/value pair in front of the
+	 * {@link #next} nodes, or all key/value pairs of a compacted list.
+	 */
+	private static final class Node {
+		final Object key;
+		final Object value;
+		final Node next;
+		/** Number of nodes up to and including the next compacted node. */
+		final int length;
+		final Map<Object, Object> compacted;
+
+		Node(Object key, Object value, Node next) {
+			this.key = key;
+			this.value = value;
+			this.next = next;
+			this.length = next != null ? next.length + 1 : 1;
+			this.compacted = null;
+		}
+
+		Node(Map<Object, Object> compacted) {
+			this.key = null;
+			this.value = null;
+			this.next = null;
+			this.length = 1;
+			this.compacted = compacted;
+		}
+
+		static Node prepend(Node head, Object key, Object value) {
+			Node result = new Node(key, value, head);
+			if (result.length > MAX_CHAIN_LENGTH) {
+				Map<Object, Object> map = new LinkedHashMap<>();
+				collect(result, map);
+				result = new Node(map);
+			}
+			return result;
+		}
+
+		/** Adds the key/value pairs of the given list to the given map, in the order they were added to the list. */
+		@SuppressWarnings("unchecked")
+		static <K> void collect(Node head, Map<K, Object> result) {
+			List<Node> nodes = new ArrayList<>();
+			for (Node node = head; node != null; node = node.next) {
+				nodes.add(node);
+			}
+			for (int i = nodes.size() - 1; i >= 0; i--) {
+				Node node = nodes.get(i);
+				if (node.compacted != null) {
+					result.putAll((Map<? extends K, ?>) node.compacted);
+				} else {
+					result.put((K) node.key, node.value);
+				}
+			}
+		}
+	}
 }
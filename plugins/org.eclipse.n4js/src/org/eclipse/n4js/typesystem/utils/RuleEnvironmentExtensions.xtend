@@ -69,14 +69,6 @@ import static extension org.eclipse.n4js.types.utils.TypeUtils.*
  */
 class RuleEnvironmentExtensions {
 
-	/**
-	 * Key used for storing a cancel indicator in a rule environment. Client code should not use this constant
-	 * directly, but instead use methods
-	 * {@link RuleEnvironmentExtensions#addCancelIndicator(RuleEnvironment,CancelIndicator)} and
-	 * {@link RuleEnvironmentExtensions#getCancelIndicator(RuleEnvironment)}.
-	 */
-	private static final String KEY__CANCEL_INDICATOR = "cancelIndicator";
-
 	/**
 	 * Key used for storing a 'this' binding in a rule environment. Client code should not use this constant
 	 * directly, but instead use methods
@@ -143,7 +135,7 @@ class RuleEnvironmentExtensions {
 
 		var G = new RuleEnvironment();
 		G.setPredefinedTypesFromObjectsResourceSet(res.resourceSet);
-		G.put(Resource, res);
+		G.contextResource = res;
 		return G;
 	}
 
@@ -153,7 +145,7 @@ class RuleEnvironmentExtensions {
 	public def static RuleEnvironment newRuleEnvironment(Resource resource) {
 		var G = new RuleEnvironment();
 		G.setPredefinedTypesFromObjectsResourceSet(resource.resourceSet);
-		G.put(Resource, resource)
+		G.contextResource = resource;
 		return G;
 	}
 
@@ -167,7 +159,7 @@ class RuleEnvironmentExtensions {
 	public def static RuleEnvironment newRuleEnvironment(RuleEnvironment G) {
 		var Gnew = new RuleEnvironment();
 		Gnew.setPredefinedTypes(G.getPredefinedTypes());
-		Gnew.put(Resource, G.get(Resource));
+		Gnew.contextResource = G.contextResource;
 		Gnew.addCancelIndicator(G.getCancelIndicator());
 		return Gnew;
 	}
@@ -186,21 +178,11 @@ class RuleEnvironmentExtensions {
 		}
 		val builtInTypeScope = BuiltInTypeScope.get(resourceSet);
 		val globalObjectTypeScope = GlobalObjectScope.get(resourceSet);
-		G.put(PredefinedTypes.PREDEFINED_TYPES_KEY,
-			new PredefinedTypes(builtInTypeScope, globalObjectTypeScope));
-	}
-
-	def static setPredefinedTypes(RuleEnvironment G, PredefinedTypes predefinedTypes) {
-		G.put(PredefinedTypes.PREDEFINED_TYPES_KEY, predefinedTypes);
+		G.setPredefinedTypes(new PredefinedTypes(builtInTypeScope, globalObjectTypeScope));
 	}
 
 	def static PredefinedTypes getPredefinedTypes(RuleEnvironment G) {
-		val predefinedTypes = G.get(PredefinedTypes.PREDEFINED_TYPES_KEY) as PredefinedTypes;
-		if (predefinedTypes === null) {
-			throw new IllegalStateException(
-				"Predefined types not set, call type system with configured rule environment")
-		}
-		return predefinedTypes;
+		return G.getPredefinedTypes();
 	}
 
 	/**
@@ -221,21 +203,21 @@ class RuleEnvironmentExtensions {
 	 * Returns the resource used to load built-in types and to resolve proxies. This is the resource of the object
 	 */
 	public def static Resource getContextResource(RuleEnvironment G) {
-		return G.get(Resource) as Resource;
+		return G.getContextResource();
 	}
 
 	/**
 	 * Add a cancel indicator to the given rule environment.
 	 */
 	def static void addCancelIndicator(RuleEnvironment G, CancelIndicator cancelIndicator) {
-		G.put(KEY__CANCEL_INDICATOR, cancelIndicator);
+		G.setCancelIndicator(cancelIndicator);
 	}
 
 	/**
 	 * Returns the cancel indicator of this rule environment or <code>null</code> if none has been added, yet.
 	 */
 	def static CancelIndicator getCancelIndicator(RuleEnvironment G) {
-		return G.get(KEY__CANCEL_INDICATOR) as CancelIndicator;
+		return G.getCancelIndicator();
 	}
 
 	/**
@@ -999,7 +981,7 @@ class RuleEnvironmentExtensions {
 		val result = newLinkedHashSet;
 		var env = G;
 		while(env!==null) {
-			result += env.getEnvironment().keySet().filter(TypeVariable);
+			result += env.getTypeMappings().keySet();
 			env = env.getNext();
 		}
 		return result;
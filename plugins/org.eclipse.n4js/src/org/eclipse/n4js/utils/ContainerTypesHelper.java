@@ -21,22 +21,27 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.n4js.resource.N4JSCache;
 import org.eclipse.n4js.resource.N4JSResource;
 import org.eclipse.n4js.scoping.members.TMemberEntry;
 import org.eclipse.n4js.scoping.members.TMemberEntry.MemberSource;
 import org.eclipse.n4js.scoping.utils.PolyfillUtils;
+import org.eclipse.n4js.smith.DataCollector;
 import org.eclipse.n4js.smith.Measurement;
 import org.eclipse.n4js.smith.N4JSDataCollectors;
 import org.eclipse.n4js.ts.typeRefs.ParameterizedTypeRef;
@@ -61,6 +66,8 @@ import org.eclipse.n4js.typesystem.utils.AbstractMergingHierachyTraverser;
 import org.eclipse.n4js.typesystem.utils.AllDirectStructuralSuperTypeRefsCollector;
 import org.eclipse.n4js.typesystem.utils.RuleEnvironment;
 import org.eclipse.n4js.typesystem.utils.RuleEnvironmentExtensions;
+import org.eclipse.n4js.workspace.N4JSProjectConfigSnapshot;
+import org.eclipse.n4js.workspace.WorkspaceAccess;
 import org.eclipse.xtext.naming.IQualifiedNameProvider;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.util.Pair;
@@ -102,6 +109,9 @@ public class ContainerTypesHelper {
 	@Inject
 	private N4JSCache cache;
 
+	@Inject
+	private WorkspaceAccess workspaceAccess;
+
 	/**
 	 * Returns a new member collector to collect members available in the current context. The available members are
 	 * <b>not</b> determined by access modifiers, but by polyfills and implicit super types. These latter types may vary
@@ -298,10 +308,19 @@ public class ContainerTypesHelper {
 
 		private MemberList<TMember> members(ContainerType<?> type, boolean includeImplicitSuperTypes,
 				boolean includePolyfills, boolean includeCallConstructSignatures, TClass ignoreParent) {
+			if (ignoreParent != null) {
+				return cache.get(
+						contextResource,
+						() -> new CollectMembersHelper(type, includeImplicitSuperTypes, includePolyfills,
+								includeCallConstructSignatures, ignoreParent).getResult(),
+						"members", type, includeImplicitSuperTypes, includePolyfills, includeCallConstructSignatures);
+			}
 			return cache.get(
 					contextResource,
-					() -> new CollectMembersHelper(type, includeImplicitSuperTypes, includePolyfills,
-							includeCallConstructSignatures, ignoreParent).getResult(),
+					() -> collectShared(type, N4JSDataCollectors.dcTHT_CollectMembersHelperSaved,
+							() -> new CollectMembersHelper(type, includeImplicitSuperTypes, includePolyfills,
+									includeCallConstructSignatures, null),
+							"members", includeImplicitSuperTypes, includePolyfills, includeCallConstructSignatures),
 					"members", type, includeImplicitSuperTypes, includePolyfills, includeCallConstructSignatures);
 		}
 
@@ -337,11 +356,50 @@ public class ContainerTypesHelper {
 		public MemberList<TMember> allMembers(ContainerType<?> type, boolean includeImplicitSuperTypes,
 				boolean includePolyfills, boolean includeInheritedMembers) {
 			return cache.get(contextResource,
-					() -> new AllMembersCollector(type, includeImplicitSuperTypes, includePolyfills,
-							includeInheritedMembers).getResult(),
+					() -> collectShared(type, N4JSDataCollectors.dcTHT_AllMembersCollectorSaved,
+							() -> new AllMembersCollector(type, includeImplicitSuperTypes, includePolyfills,
+									includeInheritedMembers),
+							"allMembers", includeImplicitSuperTypes, includePolyfills, includeInheritedMembers),
 					"allMembers", type, includeImplicitSuperTypes, includePolyfills, includeInheritedMembers);
 		}
 
+		/**
+		 * Returns the members of the given type collected by a new collector, reusing the members collected in another
+		 * resource of the same project via the {@link SharedMembersCache} if the type is contained in another resource
+		 * of the context resource's resource set, e.g. a built-in type or a type loaded from the index. The given data
+		 * collector counts the traversals saved by doing so.
+		 */
+		private MemberList<TMember> collectShared(ContainerType<?> type, DataCollector dcSavedTraversals,
+				Supplier<? extends AbstractMemberCollector<MemberList<TMember>>> collectorFactory,
+				Object... keys) {
+
+			Resource typeResource = type.eResource();
+			ResourceSet resourceSet = contextResource.getResourceSet();
+			if (typeResource == null || typeResource == contextResource || resourceSet == null
+					|| typeResource.getResourceSet() != resourceSet) {
+				return collectorFactory.get().getResult();
+			}
+			// polyfills and merged declarations depend on the project of the context resource
+			N4JSProjectConfigSnapshot project = workspaceAccess.findProjectContaining(contextResource);
+			List<Object> key = new ArrayList<>(keys.length + 2);
+			key.add(type);
+			key.add(project != null ? project.getName() : "");
+			Collections.addAll(key, keys);
+
+			SharedMembersCache sharedCache = SharedMembersCache.getOrInstall(resourceSet);
+			SharedMembersCache.Entry entry = sharedCache.get(key);
+			if (entry != null) {
+				dcSavedTraversals.count();
+				globalScopeAccess.addImportedNames(contextResource, entry.importedNames);
+				return entry.members;
+			}
+			AbstractMemberCollector<MemberList<TMember>> collector = collectorFactory.get();
+			collector.visitedResourceURIs = new HashSet<>();
+			Set<QualifiedName> importedNames = new HashSet<>();
+			MemberList<TMember> members = globalScopeAccess.recordImportedNames(collector::getResult, importedNames);
+			return sharedCache.put(key, members, collector.visitedResourceURIs, importedNames);
+		}
+
 		/**
 		 * Returns all member entries, that is all members clustered by name and static modifier, taking some override
 		 * behavior into account. The result is basically used for validation purposes. Although the returning result is
@@ -743,6 +801,11 @@ public class ContainerTypesHelper {
 			 * Flag indicating whether members defined in dynamic or static polyfills are collected as well.
 			 */
 			protected final boolean includePolyfills;
+			/**
+			 * URIs of the resources containing the visited types if they are to be recorded, <code>null</code>
+			 * otherwise.
+			 */
+			protected Set<URI> visitedResourceURIs;
 
 			/**
 			 * Creates a new collector with optional support for implicit super types.
@@ -765,6 +828,18 @@ public class ContainerTypesHelper {
 				this.includePolyfills = includePolyfills;
 			}
 
+			/**
+			 * Subclasses should invoke this method for each visited container type.
+			 */
+			protected void recordVisited(ContainerType<?> containerType) {
+				if (visitedResourceURIs != null) {
+					Resource resource = containerType.eResource();
+					if (resource != null) {
+						visitedResourceURIs.add(resource.getURI());
+					}
+				}
+			}
+
 			/**
 			 * Subclasses should ignore all members for which this method returns <code>true</code>.
 			 */
@@ -845,6 +920,7 @@ public class ContainerTypesHelper {
 
 			@Override
 			protected boolean process(ContainerType<?> containerType) {
+				recordVisited(containerType);
 				if (includeInheritedMembers || bottomType.equals(containerType) ||
 						(includePolyfills && isDirectPolyfill(containerType))) {
 					for (TMember member : containerType.getOwnedMembers()) {
@@ -944,6 +1020,7 @@ public class ContainerTypesHelper {
 
 			@Override
 			protected boolean process(ContainerType<?> containerType) {
+				recordVisited(containerType);
 				List<Entry<NameAndAccess, ? extends TMember>> ownedMembers = Lists.newArrayList(
 						containerType.getOrCreateOwnedMembersByNameAndAccess().entrySet());
 
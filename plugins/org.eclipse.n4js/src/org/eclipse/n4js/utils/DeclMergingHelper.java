@@ -250,6 +250,9 @@ public class DeclMergingHelper {
 				},
 						keyName, mergedElem);
 			}
+		} else if (globalScopeAccess.isRecordingImportedNames()) {
+			// the imported names to be recorded are only queried when computing the merged elements
+			return internalGetMergedElements(context, element, eClass);
 		}
 		return cache.mustGet(context, key);
 	}
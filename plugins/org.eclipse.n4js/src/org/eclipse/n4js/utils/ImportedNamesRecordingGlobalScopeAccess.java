@@ -11,7 +11,10 @@
 package org.eclipse.n4js.utils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
@@ -38,9 +41,16 @@ import com.google.inject.Provider;
  *
  * By using this scope additional elements, e.g. polyfills or elements merged via declaration merging, can be recorded
  * as interest for the resource.
+ * <p>
+ * In order to reuse the result of a computation in another context resource, the names queried by the computation can
+ * be {@link #recordImportedNames(Supplier, Set) captured} and later {@link #addImportedNames(N4JSResource, Collection)
+ * added} to the other context resource.
  */
 public class ImportedNamesRecordingGlobalScopeAccess {
 
+	/** Additionally records the names queried in the current thread, if set. */
+	private static final ThreadLocal<ImportedNamesAdapter> currentRecorder = new ThreadLocal<>();
+
 	@Inject
 	private Provider<ImportedNamesAdapter> importedNamesAdapterProvider;
 
@@ -115,7 +125,52 @@ public class ImportedNamesRecordingGlobalScopeAccess {
 	public IScope getRecordingGlobalScope(N4JSResource context, EClass expectedElementType) {
 		ImportedNamesAdapter importedNamesAdapter = getImportedNamesAdapter(context);
 		IScope scope = ((N4JSGlobalScopeProvider) globalScopeProvider).getScope(context, expectedElementType, null);
-		return importedNamesAdapter.wrap(scope);
+		IScope result = importedNamesAdapter.wrap(scope);
+		ImportedNamesAdapter recorder = currentRecorder.get();
+		return recorder != null ? recorder.wrap(result) : result;
+	}
+
+	/**
+	 * Invokes the given computation and adds the names it queries through scopes obtained from this class in the
+	 * current thread to the given set, in addition to recording them in the respective context resources. Note that
+	 * names are only queried on cache misses; computations using cached results (e.g. of the {@link DeclMergingHelper})
+	 * must check {@link #isRecordingImportedNames()} to bypass their cache.
+	 */
+	public <T> T recordImportedNames(Supplier<T> computation, Set<QualifiedName> importedNames) {
+		ImportedNamesAdapter outerRecorder = currentRecorder.get();
+		ImportedNamesAdapter recorder = importedNamesAdapterProvider.get();
+		currentRecorder.set(recorder);
+		try {
+			return computation.get();
+		} finally {
+			currentRecorder.set(outerRecorder);
+			importedNames.addAll(recorder.getImportedNames());
+			if (outerRecorder != null) {
+				outerRecorder.getImportedNames().addAll(recorder.getImportedNames());
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the names queried in the current thread are {@link #recordImportedNames(Supplier, Set) recorded}.
+	 */
+	public boolean isRecordingImportedNames() {
+		return currentRecorder.get() != null;
+	}
+
+	/**
+	 * Records the given names, as {@link #recordImportedNames(Supplier, Set) recorded} before, in the imported names
+	 * of the given context resource as if they were queried again.
+	 */
+	public void addImportedNames(N4JSResource context, Collection<QualifiedName> importedNames) {
+		if (importedNames.isEmpty()) {
+			return;
+		}
+		getImportedNamesAdapter(context).getImportedNames().addAll(importedNames);
+		ImportedNamesAdapter recorder = currentRecorder.get();
+		if (recorder != null) {
+			recorder.getImportedNames().addAll(importedNames);
+		}
 	}
 
 	/**
@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.utils;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.n4js.resource.N4JSCache;
+import org.eclipse.n4js.ts.types.TMember;
+import org.eclipse.n4js.ts.types.util.MemberList;
+import org.eclipse.n4js.ts.types.util.MemberList.SealableMemberList;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches member lists of types across all resources of a resource set, in addition to the per-resource caching of the
+ * {@link ContainerTypesHelper} in the {@link N4JSCache}. This avoids collecting the members of frequently used types,
+ * e.g. built-in types or types of other modules loaded from the index, again in every single resource using them.
+ * <p>
+ * Each entry remembers the URIs of the resources containing the types visited when collecting the members and the
+ * imported names recorded in the context resource by doing so, e.g. the names of polyfills and merged declarations.
+ * An entry is evicted when one of these resources is removed from the resource set or when a resource description
+ * {@link #invalidate(ResourceSet, Collection) delta} is reported for one of these resources or for a resource
+ * exporting one of these names, or when the cache is {@link #clear(ResourceSet) cleared} because a resource was changed
+ * in place. The cache is bounded by the total number of cached members.
+ */
+public final class SharedMembersCache extends AdapterImpl {
+
+	/** Maximum total number of members in all cached member lists. */
+	static final long MAX_WEIGHT = 200000;
+
+	/** A cached member list together with the information it depends on. */
+	static final class Entry {
+		/** The cached member list; the list is sealed, i.e. must not be modified. */
+		final MemberList<TMember> members;
+		/** The URIs of the resources containing the types visited when collecting the members. */
+		final Set<URI> resourceURIs;
+		/** The imported names to be recorded in a context resource when using this entry. */
+		final Set<QualifiedName> importedNames;
+
+		Entry(MemberList<TMember> members, Set<URI> resourceURIs, Set<QualifiedName> importedNames) {
+			this.members = members;
+			this.resourceURIs = resourceURIs;
+			this.importedNames = importedNames;
+		}
+
+		boolean dependsOn(Set<URI> uris, Set<QualifiedName> names) {
+			for (URI uri : resourceURIs) {
+				if (uris.contains(uri)) {
+					return true;
+				}
+			}
+			for (QualifiedName name : importedNames) {
+				if (names.contains(name)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private final Cache<List<Object>, Entry> entries = CacheBuilder.newBuilder()
+			.maximumWeight(MAX_WEIGHT)
+			.weigher((List<Object> key, Entry entry) -> entry.members.size() + 1)
+			.build();
+
+	private SharedMembersCache() {
+		// use #getOrInstall(ResourceSet)
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == SharedMembersCache.class;
+	}
+
+	/** Returns the cache of the given resource set or <code>null</code> if none was installed yet. */
+	public static SharedMembersCache find(ResourceSet resourceSet) {
+		return (SharedMembersCache) EcoreUtil.getAdapter(resourceSet.eAdapters(), SharedMembersCache.class);
+	}
+
+	/** Returns the cache of the given resource set and installs a new one if necessary. */
+	public static SharedMembersCache getOrInstall(ResourceSet resourceSet) {
+		SharedMembersCache result = find(resourceSet);
+		if (result == null) {
+			synchronized (resourceSet.eAdapters()) {
+				result = find(resourceSet);
+				if (result == null) {
+					result = new SharedMembersCache();
+					resourceSet.eAdapters().add(result);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Evicts all entries of the cache of the given resource set, if any, that depend on one of the resources with the
+	 * given deltas, i.e. that visited a type of one of these resources or recorded a name exported by one of them
+	 * before or after the change.
+	 */
+	public static void invalidate(ResourceSet resourceSet, Collection<? extends IResourceDescription.Delta> deltas) {
+		SharedMembersCache cache = find(resourceSet);
+		if (cache == null || deltas.isEmpty()) {
+			return;
+		}
+		Set<URI> uris = new HashSet<>();
+		Set<QualifiedName> names = new HashSet<>();
+		for (IResourceDescription.Delta delta : deltas) {
+			uris.add(delta.getUri());
+			addExportedNames(delta.getOld(), names);
+			addExportedNames(delta.getNew(), names);
+		}
+		cache.invalidate(uris, names);
+	}
+
+	/** Evicts all entries of the cache of the given resource set, if any. */
+	public static void clear(ResourceSet resourceSet) {
+		SharedMembersCache cache = find(resourceSet);
+		if (cache != null) {
+			cache.entries.invalidateAll();
+		}
+	}
+
+	private static void addExportedNames(IResourceDescription desc, Set<QualifiedName> names) {
+		if (desc != null) {
+			for (IEObjectDescription exported : desc.getExportedObjects()) {
+				// imported names are recorded in lower case
+				names.add(exported.getQualifiedName().toLowerCase());
+			}
+		}
+	}
+
+	/** Returns the entry with the given key or <code>null</code>. */
+	Entry get(List<Object> key) {
+		return entries.getIfPresent(key);
+	}
+
+	/** Caches a sealed copy of the given members and returns that copy. */
+	MemberList<TMember> put(List<Object> key, MemberList<TMember> members, Set<URI> resourceURIs,
+			Set<QualifiedName> importedNames) {
+
+		SealableMemberList<TMember> sealed = new SealableMemberList<>();
+		sealed.addAll(members);
+		sealed.seal();
+		entries.put(key, new Entry(sealed, resourceURIs, importedNames));
+		return sealed;
+	}
+
+	/** Evicts all entries depending on one of the given resources or names. */
+	void invalidate(Set<URI> uris, Set<QualifiedName> names) {
+		entries.asMap().values().removeIf(entry -> entry.dependsOn(uris, names));
+	}
+
+	/** Returns the number of cached entries. */
+	long size() {
+		return entries.size();
+	}
+
+	@Override
+	public void notifyChanged(Notification msg) {
+		if (msg.getFeatureID(ResourceSet.class) != ResourceSet.RESOURCE_SET__RESOURCES) {
+			return;
+		}
+		Set<URI> removedURIs = new HashSet<>();
+		switch (msg.getEventType()) {
+		case Notification.REMOVE:
+		case Notification.SET:
+			addURI(msg.getOldValue(), removedURIs);
+			break;
+		case Notification.REMOVE_MANY:
+			if (msg.getOldValue() instanceof Collection<?>) {
+				for (Object removed : (Collection<?>) msg.getOldValue()) {
+					addURI(removed, removedURIs);
+				}
+			}
+			break;
+		default:
+			break;
+		}
+		if (!removedURIs.isEmpty()) {
+			invalidate(removedURIs, Set.of());
+		}
+	}
+
+	private static void addURI(Object resource, Set<URI> uris) {
+		if (resource instanceof Resource && ((Resource) resource).getURI() != null) {
+			uris.add(((Resource) resource).getURI());
+		}
+	}
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.validation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.n4js.smith.DataCollector;
+import org.eclipse.n4js.smith.DataCollectors;
+import org.eclipse.n4js.smith.N4JSDataCollectors;
+import org.eclipse.n4js.utils.ReflectionUtils;
+import org.eclipse.xtext.validation.AbstractDeclarativeValidator;
+import org.eclipse.xtext.validation.AbstractDeclarativeValidator.State;
+import org.eclipse.xtext.validation.Check;
+import org.eclipse.xtext.validation.CheckType;
+
+/**
+ * Invokes a single {@link Check} method of a declarative validator through a {@link MethodHandle} that is created once
+ * when the method wrappers of the validator are collected, i.e. on its first use after injector creation.
+ * <p>
+ * This replaces the invocation via {@link AbstractDeclarativeValidator.MethodWrapper#invoke(State)}, which makes the
+ * method accessible and calls it reflectively with a newly allocated argument array on each of the many invocations
+ * during validation. The state handling is the same: the given state is assigned to the validator for the duration of
+ * the call, checks of another {@link CheckType} than requested by the state's check mode are skipped, and exceptions
+ * thrown by the check method are passed to the given {@link ExceptionHandler}.
+ * <p>
+ * The data collectors used to measure the check method are looked up once per parent collector, see
+ * {@link N4JSDataCollectors#getParentDataCollectorForCheckMethod(String)}.
+ */
+public final class CheckMethodInvoker {
+
+	/** Handles exceptions thrown by a check method, see MethodWrapper#handleInvocationTargetException. */
+	@FunctionalInterface
+	public interface ExceptionHandler {
+		/** Handles the given exception thrown by the check method while validating the given state. */
+		void handle(Throwable targetException, State state);
+	}
+
+	private final Method method;
+	private final CheckType checkType;
+	/** Type {@code (EObject)void}, bound to the validator instance. */
+	private final MethodHandle handle;
+	/** The private state of the validator instance. */
+	private final ThreadLocal<State> instanceState;
+
+	// both collectors are looked up lazily; races are benign because the lookup always yields the same instance
+	private DataCollector dcCheckMethodInValidations;
+	private DataCollector dcCheckMethodInValidationsPackageJson;
+
+	private CheckMethodInvoker(Method method, CheckType checkType, MethodHandle handle,
+			ThreadLocal<State> instanceState) {
+		this.method = method;
+		this.checkType = checkType;
+		this.handle = handle;
+		this.instanceState = instanceState;
+	}
+
+	/**
+	 * Creates an invoker for the given check method of the given validator instance.
+	 *
+	 * @return the invoker or <code>null</code> if no method handle could be created for the method; in that case the
+	 *         method has to be invoked reflectively.
+	 */
+	public static CheckMethodInvoker create(AbstractDeclarativeValidator instance, Method method) {
+		Check check = method.getAnnotation(Check.class);
+		if (check == null || method.getParameterCount() != 1
+				|| !EObject.class.isAssignableFrom(method.getParameterTypes()[0])) {
+			return null;
+		}
+		ThreadLocal<State> instanceState = ReflectionUtils.getFieldValue(AbstractDeclarativeValidator.class,
+				instance, "state");
+		if (instanceState == null) {
+			return null;
+		}
+		try {
+			method.setAccessible(true);
+			MethodHandle handle = MethodHandles.lookup().unreflect(method)
+					.bindTo(instance)
+					.asType(MethodType.methodType(void.class, EObject.class));
+			return new CheckMethodInvoker(method, check.value(), handle, instanceState);
+		} catch (IllegalAccessException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/** Returns the check method. */
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * Same as MethodWrapper#invoke(State), but invokes the check method through the method handle.
+	 */
+	public void invoke(State state, ExceptionHandler exceptionHandler) {
+		State currentState = instanceState.get();
+		if (currentState != null && currentState != state) {
+			throw new IllegalStateException("State is already assigned.");
+		}
+		boolean wasNullBefore = currentState == null;
+		if (wasNullBefore) {
+			instanceState.set(state);
+		}
+		try {
+			if (!state.checkMode.shouldCheck(checkType)) {
+				return;
+			}
+			state.currentMethod = method;
+			state.currentCheckType = checkType;
+			try {
+				handle.invokeExact(state.currentObject);
+			} catch (Throwable targetException) {
+				exceptionHandler.handle(targetException, state);
+			}
+		} finally {
+			if (wasNullBefore) {
+				instanceState.remove();
+			}
+		}
+	}
+
+	/**
+	 * Returns the data collector measuring the check method. Same as
+	 * {@link N4JSDataCollectors#createDataCollectorForCheckMethod(String)}, but without a lookup in the collector
+	 * registry on each invocation.
+	 */
+	public DataCollector getDataCollector() {
+		String methodName = method.getName();
+		DataCollector parent = N4JSDataCollectors.getParentDataCollectorForCheckMethod(methodName);
+		if (parent == N4JSDataCollectors.dcValidationsPackageJson) {
+			DataCollector result = dcCheckMethodInValidationsPackageJson;
+			if (result == null) {
+				result = DataCollectors.INSTANCE.getOrCreateDataCollector(methodName, parent);
+				dcCheckMethodInValidationsPackageJson = result;
+			}
+			return result;
+		}
+		DataCollector result = dcCheckMethodInValidations;
+		if (result == null) {
+			result = DataCollectors.INSTANCE.getOrCreateDataCollector(methodName, parent);
+			dcCheckMethodInValidations = result;
+		}
+		return result;
+	}
+}
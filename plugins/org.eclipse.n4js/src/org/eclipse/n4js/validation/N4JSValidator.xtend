@@ -116,10 +116,15 @@ class N4JSValidator extends AbstractMessageAdjustingN4JSValidator {
 
 	public static class N4JSMethodWrapperCancelable extends MethodWrapperCancelable {
 		private OperationCanceledManager operationCanceledManager;
+		/** Invokes the check method without reflection; <code>null</code> if not available for the method. */
+		private final CheckMethodInvoker invoker;
+		private final CheckMethodInvoker.ExceptionHandler exceptionHandler;
 
 		new(AbstractDeclarativeValidator instance, Method m, OperationCanceledManager operationCanceledManager) {
 			super(instance, m)
 			this.operationCanceledManager = operationCanceledManager;
+			this.invoker = CheckMethodInvoker.create(instance, m);
+			this.exceptionHandler = [targetException, state|handleInvocationTargetException(targetException, state)];
 		}
 
 		override handleInvocationTargetException(Throwable targetException, State state) {
@@ -134,15 +139,21 @@ class N4JSValidator extends AbstractMessageAdjustingN4JSValidator {
 		// catch exceptions and create better error message as org.eclipse.xtext.validation.CompositeEValidator.validate(EClass, EObject, DiagnosticChain, Map<Object, Object>)
 		// note: cannot override validate method directly because it is final
 		override void invoke(State state) {
-			val valMethodName = this.method.name;
-			val URI = state.currentObject.eResource.URI;
-
 			operationCanceledManager.checkCanceled(getCancelIndicator(state));
 
-			val dcCheckMethod = N4JSDataCollectors.createDataCollectorForCheckMethod(valMethodName);
-			val mesVM = dcCheckMethod.getMeasurement(valMethodName + "_" + URI.toString);
+			val dcCheckMethod = if (invoker !== null) {
+				invoker.dataCollector
+			} else {
+				N4JSDataCollectors.createDataCollectorForCheckMethod(this.method.name)
+			};
+			// no measurement name per resource to avoid allocations for each invocation
+			val mesVM = dcCheckMethod.getMeasurement();
 			try {
-				super.invoke(state);
+				if (invoker !== null) {
+					invoker.invoke(state, exceptionHandler);
+				} else {
+					super.invoke(state);
+				}
 			} catch (Exception e) {
 				operationCanceledManager.propagateIfCancelException(e);
 				// GH-2002: TEMPORARY DEBUG LOGGING
@@ -151,6 +162,7 @@ class N4JSValidator extends AbstractMessageAdjustingN4JSValidator {
 				logger.error("exception while executing EValidator: " + e.message + "\n" + Throwables.getStackTraceAsString(e), e);
 				new RuntimeException(e).printStackTrace();
 
+				val URI = state.currentObject.eResource?.URI;
 				state.chain.add(
 					new BasicDiagnostic(Diagnostic.ERROR, state.currentObject.toString(), 0, e.message, #[e, URI]));
 			} finally {
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.flowgraphs.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.n4js.flowgraphs.ControlFlowType;
+import org.eclipse.n4js.flowgraphs.model.CompactControlFlowGraph;
+import org.eclipse.n4js.flowgraphs.model.ComplexNode;
+import org.eclipse.n4js.flowgraphs.model.ControlFlowEdge;
+import org.eclipse.n4js.flowgraphs.model.EdgeUtils;
+import org.eclipse.n4js.flowgraphs.model.HelperNode;
+import org.eclipse.n4js.flowgraphs.model.Node;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link CompactControlFlowGraph}.
+ */
+public class CompactControlFlowGraphTest {
+
+	private final ComplexNode cn = new ComplexNode(null, null);
+	private final Node a = createNode("a", 0);
+	private final Node b = createNode("b", 1);
+	private final Node c = createNode("c", 2);
+	private final Node d = createNode("d", 3);
+
+	private Node createNode(String name, int astPosition) {
+		Node node = new HelperNode(name, astPosition, null);
+		cn.addNode(node);
+		return node;
+	}
+
+	/** Creates a diamond with a loop from its exit back to its entry. */
+	private void connectDiamond() {
+		EdgeUtils.connectCF(a, c, ControlFlowType.IfFalse);
+		EdgeUtils.connectCF(a, b, ControlFlowType.IfTrue);
+		EdgeUtils.connectCF(b, d);
+		EdgeUtils.connectCF(c, d);
+		EdgeUtils.connectCF(d, a, ControlFlowType.LoopRepeat);
+	}
+
+	/** */
+	@Test
+	public void testEdges() {
+		connectDiamond();
+		List<List<ControlFlowEdge>> succs = new ArrayList<>();
+		List<List<ControlFlowEdge>> preds = new ArrayList<>();
+		for (Node node : List.of(a, b, c, d)) {
+			succs.add(new ArrayList<>(node.getSuccessorEdges()));
+			preds.add(new ArrayList<>(node.getPredecessorEdges()));
+		}
+
+		CompactControlFlowGraph graph = CompactControlFlowGraph.create(List.of(cn));
+		assertEquals(4, graph.getNodeCount());
+		assertEquals(5, graph.getEdgeCount());
+
+		List<Node> nodes = List.of(a, b, c, d);
+		for (int i = 0; i < nodes.size(); i++) {
+			Node node = nodes.get(i);
+			assertSame(graph, node.getCompactGraph());
+			assertEquals(i, node.getCompactIndex());
+			assertSame(node, graph.getNode(i));
+			// same edges in the same order as before
+			assertEquals(succs.get(i), node.getSuccessorEdges());
+			assertEquals(preds.get(i), node.getPredecessorEdges());
+			for (int s = 0; s < graph.getSuccessorCount(i); s++) {
+				int edge = graph.getSuccessorEdge(i, s);
+				ControlFlowEdge cfEdge = graph.getEdge(edge);
+				assertEquals(i, graph.getEdgeStart(edge));
+				assertSame(cfEdge.end, graph.getNode(graph.getEdgeEnd(edge)));
+				assertEquals(cfEdge.cfType, graph.getEdgeType(edge));
+			}
+			for (int p = 0; p < graph.getPredecessorCount(i); p++) {
+				assertEquals(i, graph.getEdgeEnd(graph.getPredecessorEdge(i, p)));
+			}
+			// the collections used during construction were released
+			assertTrue(node.succ.isEmpty());
+			assertTrue(node.pred.isEmpty());
+			assertTrue(node.getInternalSuccessors().isEmpty());
+		}
+		assertEquals(ControlFlowType.IfTrue, graph.getEdgeType(graph.getSuccessorEdge(0, 0)));
+		assertEquals(ControlFlowType.LoopRepeat, graph.getEdgeType(graph.getPredecessorEdge(0, 0)));
+	}
+
+	/** */
+	@Test
+	public void testEdgeToOtherGraph() {
+		Node other = new HelperNode("other", 4, null);
+		EdgeUtils.connectCF(d, other);
+		assertThrows(IllegalStateException.class, () -> CompactControlFlowGraph.create(List.of(cn)));
+	}
+}
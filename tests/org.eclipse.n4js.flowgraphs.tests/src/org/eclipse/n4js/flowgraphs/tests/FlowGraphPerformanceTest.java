@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.flowgraphs.tests;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.n4js.N4JSInjectorProvider;
+import org.eclipse.n4js.flowgraphs.N4JSFlowAnalyser;
+import org.eclipse.n4js.flowgraphs.analysers.DeadCodeAnalyser;
+import org.eclipse.n4js.n4JS.Block;
+import org.eclipse.n4js.n4JS.Script;
+import org.eclipse.n4js.n4JS.Statement;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.testing.util.ParseHelper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.inject.Inject;
+
+/**
+ * Measures the memory retained by the control flow graphs of a large generated script and the throughput of building
+ * and analysing them. Run on two revisions to compare them, e.g. the object graph of the nodes and edges with their
+ * compact, array based representation; the results are printed to standard out.
+ * <p>
+ * Not run as part of the build (see surefire configuration).
+ */
+@RunWith(XtextRunner.class)
+@InjectWith(N4JSInjectorProvider.class)
+public class FlowGraphPerformanceTest {
+
+	private static final int FUNCTIONS = 2000;
+	private static final int WARMUP = 5;
+	private static final int RUNS = 20;
+
+	@Inject
+	private ParseHelper<Script> parseHelper;
+
+	private static String createScript() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < FUNCTIONS; i++) {
+			sb.append("""
+					function f%1$d(p: number): number {
+						let x = p;
+						for (let i = 0; i < p; i++) {
+							if (i %% 2 == 0) { x += i; } else if (i > 10) { break; } else { continue; }
+						}
+						while (x > 100) { x = x - 3; }
+						try { x = x * 2; } catch (e) { return -1; } finally { x++; }
+						switch (x) { case 1: return 1; case 2: x = 3; default: x = 4; }
+						return x;
+					}
+					""".formatted(i));
+		}
+		return sb.toString();
+	}
+
+	/** Builds and analyses the flow graphs of a large script and queries the successors of all its statements. */
+	@Test
+	public void testLargeScript() throws Exception {
+		Script script = parseHelper.parse(createScript());
+		List<Statement> statements = new ArrayList<>();
+		for (TreeIterator<EObject> iter = script.eAllContents(); iter.hasNext();) {
+			EObject next = iter.next();
+			if (next instanceof Block) {
+				statements.addAll(((Block) next).getStatements());
+			}
+		}
+
+		long usedBefore = getUsedHeapAfterGC();
+		N4JSFlowAnalyser retained = createGraphs(script);
+		long usedAfter = getUsedHeapAfterGC();
+		Reference.reachabilityFence(retained);
+
+		for (int i = 0; i < WARMUP; i++) {
+			queryAll(createGraphs(script), statements);
+		}
+		long buildTime = 0;
+		long queryTime = 0;
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			N4JSFlowAnalyser flowAnalyser = createGraphs(script);
+			long built = System.nanoTime();
+			queryAll(flowAnalyser, statements);
+			buildTime += built - start;
+			queryTime += System.nanoTime() - built;
+		}
+
+		System.out.println(String.format("%s: %,d statements, %,d KB retained by the flow graphs",
+				getClass().getSimpleName(), statements.size(), (usedAfter - usedBefore) / 1024));
+		System.out.println(String.format("%s: %,d ms/run to build and analyse, %,d ms/run to query all statements",
+				getClass().getSimpleName(), buildTime / RUNS / 1_000_000, queryTime / RUNS / 1_000_000));
+	}
+
+	private static N4JSFlowAnalyser createGraphs(Script script) {
+		N4JSFlowAnalyser flowAnalyser = new N4JSFlowAnalyser();
+		flowAnalyser.createGraphs(script);
+		flowAnalyser.accept(new DeadCodeAnalyser());
+		return flowAnalyser;
+	}
+
+	private static void queryAll(N4JSFlowAnalyser flowAnalyser, List<Statement> statements) {
+		for (Statement statement : statements) {
+			flowAnalyser.getSuccessors(statement);
+			flowAnalyser.getPredecessors(statement);
+		}
+	}
+
+	private static long getUsedHeapAfterGC() throws InterruptedException {
+		MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return memoryBean.getHeapMemoryUsage().getUsed();
+	}
+}
@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.flowgraphs.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.n4js.flowgraphs.FlowAnalyser;
+import org.eclipse.n4js.flowgraphs.N4JSFlowAnalyser;
+import org.eclipse.n4js.flowgraphs.analysers.DeadCodeAnalyser;
+import org.eclipse.n4js.flowgraphs.analysers.InstanceofGuardAnalyser;
+import org.eclipse.n4js.flowgraphs.analysers.NullDereferenceAnalyser;
+import org.eclipse.n4js.flowgraphs.analysers.NullDereferenceResult;
+import org.eclipse.n4js.flowgraphs.analysers.UsedBeforeDeclaredAnalyser;
+import org.eclipse.n4js.flowgraphs.dataflow.DataFlowVisitor;
+import org.eclipse.n4js.flowgraphs.dataflow.guards.GuardType;
+import org.eclipse.n4js.flowgraphs.dataflow.guards.InstanceofGuard;
+import org.eclipse.n4js.n4JS.Block;
+import org.eclipse.n4js.n4JS.ControlFlowElement;
+import org.eclipse.n4js.n4JS.Expression;
+import org.eclipse.n4js.n4JS.ExpressionStatement;
+import org.eclipse.n4js.n4JS.FunctionDeclaration;
+import org.eclipse.n4js.n4JS.IdentifierRef;
+import org.eclipse.n4js.n4JS.IfStatement;
+import org.eclipse.n4js.n4JS.IntLiteral;
+import org.eclipse.n4js.n4JS.N4JSFactory;
+import org.eclipse.n4js.n4JS.ParameterizedPropertyAccessExpression;
+import org.eclipse.n4js.n4JS.RelationalExpression;
+import org.eclipse.n4js.n4JS.RelationalOperator;
+import org.eclipse.n4js.n4JS.Script;
+import org.eclipse.n4js.n4JS.VariableDeclaration;
+import org.eclipse.n4js.n4JS.VariableStatement;
+import org.eclipse.n4js.n4JS.VariableStatementKeyword;
+import org.eclipse.n4js.ts.types.IdentifiableElement;
+import org.eclipse.n4js.ts.types.TClass;
+import org.eclipse.n4js.ts.types.TVariable;
+import org.eclipse.n4js.ts.types.TypesFactory;
+import org.junit.Test;
+
+/**
+ * Tests the {@link N4JSFlowAnalyser#setParallel(boolean) parallel mode} of the {@link N4JSFlowAnalyser}.
+ */
+public class ParallelFlowAnalysisTest {
+	private static final N4JSFactory FACTORY = N4JSFactory.eINSTANCE;
+
+	/** Creates a script with functions that contain dead code after their return statement. */
+	private static Script createScript(int functionCount) {
+		Script script = FACTORY.createScript();
+		for (int i = 0; i < functionCount; i++) {
+			Block body = FACTORY.createBlock();
+			body.getStatements().add(createExpressionStatement(i));
+			body.getStatements().add(FACTORY.createReturnStatement());
+			body.getStatements().add(createExpressionStatement(i));
+
+			FunctionDeclaration function = FACTORY.createFunctionDeclaration();
+			function.setName("f" + i);
+			function.setBody(body);
+			script.getScriptElements().add(function);
+		}
+		ResourceImpl resource = new ResourceImpl(URI.createURI("test.n4js"));
+		resource.getContents().add(script);
+		return script;
+	}
+
+	private static ExpressionStatement createExpressionStatement(int value) {
+		return createExpressionStatement(createIntLiteral(value));
+	}
+
+	/**
+	 * Creates a script with functions that use a variable before it is declared, dereference it after null was
+	 * assigned to it, and guard another variable with an instanceof check:
+	 *
+	 * <pre>
+	 * function f0() {
+	 *     v0;
+	 *     let v0 = null;
+	 *     v0.length;
+	 *     let o0 = 0;
+	 *     if (o0 instanceof C) { o0; }
+	 *     o0;
+	 * }
+	 * </pre>
+	 */
+	private static Script createScriptWithVariables(int functionCount) {
+		TClass classC = TypesFactory.eINSTANCE.createTClass();
+		classC.setName("C");
+		Script script = FACTORY.createScript();
+		for (int i = 0; i < functionCount; i++) {
+			Block body = FACTORY.createBlock();
+			TVariable v = addVariableStatement(body, "v" + i, FACTORY.createNullLiteral());
+			body.getStatements().add(0, createExpressionStatement(createIdentifierRef(v)));
+			ParameterizedPropertyAccessExpression dereference = FACTORY.createParameterizedPropertyAccessExpression();
+			dereference.setTarget(createIdentifierRef(v));
+			dereference.setPropertyAsText("length");
+			body.getStatements().add(createExpressionStatement(dereference));
+
+			TVariable o = addVariableStatement(body, "o" + i, createIntLiteral(i));
+			RelationalExpression instanceofExpression = FACTORY.createRelationalExpression();
+			instanceofExpression.setLhs(createIdentifierRef(o));
+			instanceofExpression.setOp(RelationalOperator.INSTANCEOF);
+			instanceofExpression.setRhs(createIdentifierRef(classC));
+			Block thenBlock = FACTORY.createBlock();
+			thenBlock.getStatements().add(createExpressionStatement(createIdentifierRef(o)));
+			IfStatement ifStatement = FACTORY.createIfStatement();
+			ifStatement.setExpression(instanceofExpression);
+			ifStatement.setIfStmt(thenBlock);
+			body.getStatements().add(ifStatement);
+			body.getStatements().add(createExpressionStatement(createIdentifierRef(o)));
+
+			FunctionDeclaration function = FACTORY.createFunctionDeclaration();
+			function.setName("f" + i);
+			function.setBody(body);
+			script.getScriptElements().add(function);
+		}
+		ResourceImpl resource = new ResourceImpl(URI.createURI("test.n4js"));
+		resource.getContents().add(script);
+		return script;
+	}
+
+	private static TVariable addVariableStatement(Block block, String name, Expression initializer) {
+		TVariable variable = TypesFactory.eINSTANCE.createTVariable();
+		variable.setName(name);
+		VariableDeclaration declaration = FACTORY.createVariableDeclaration();
+		declaration.setName(name);
+		declaration.setExpression(initializer);
+		declaration.setDefinedVariable(variable);
+		variable.setAstElement(declaration);
+		VariableStatement statement = FACTORY.createVariableStatement();
+		statement.setVarStmtKeyword(VariableStatementKeyword.LET);
+		statement.getVarDeclsOrBindings().add(declaration);
+		block.getStatements().add(statement);
+		return variable;
+	}
+
+	private static IdentifierRef createIdentifierRef(IdentifiableElement id) {
+		IdentifierRef identifierRef = FACTORY.createIdentifierRef();
+		identifierRef.setId(id);
+		return identifierRef;
+	}
+
+	private static IntLiteral createIntLiteral(int value) {
+		IntLiteral literal = FACTORY.createIntLiteral();
+		literal.setValue(BigDecimal.valueOf(value));
+		return literal;
+	}
+
+	private static ExpressionStatement createExpressionStatement(Expression expression) {
+		ExpressionStatement statement = FACTORY.createExpressionStatement();
+		statement.setExpression(expression);
+		return statement;
+	}
+
+	/** Performs the given analysers in parallel mode regardless of the size of the script, or sequentially. */
+	private static void analyse(Script script, boolean parallel, FlowAnalyser... flowAnalysers) {
+		N4JSFlowAnalyser flowAnalyzer = new N4JSFlowAnalyser();
+		flowAnalyzer.setParallel(parallel);
+		flowAnalyzer.setParallelThreshold(0);
+		flowAnalyzer.createGraphs(script);
+		flowAnalyzer.accept(flowAnalysers);
+	}
+
+	private static DeadCodeAnalyser analyseDeadCode(Script script, boolean parallel) {
+		DeadCodeAnalyser deadCodeAnalyser = new DeadCodeAnalyser();
+		analyse(script, parallel, deadCodeAnalyser);
+		return deadCodeAnalyser;
+	}
+
+	/** */
+	@Test
+	public void testSameResultsAsSequential() {
+		Script script = createScript(50);
+		DeadCodeAnalyser sequential = analyseDeadCode(script, false);
+		DeadCodeAnalyser parallel = analyseDeadCode(script, true);
+
+		assertEquals(50, sequential.getUnreachableCFEs().size());
+		assertEquals(sequential.getUnreachableCFEs(), parallel.getUnreachableCFEs());
+		assertEquals(sequential.getReachableCFEs(), parallel.getReachableCFEs());
+		assertFalse(parallel.getReachableCFEs().isEmpty());
+	}
+
+	/** The failed assumptions of the containers are merged via {@link DataFlowVisitor#addAssumptions}. */
+	@Test
+	public void testNullDereferenceSameResultsAsSequential() {
+		Script script = createScriptWithVariables(50);
+		NullDereferenceAnalyser sequential = new NullDereferenceAnalyser();
+		analyse(script, false, sequential);
+		NullDereferenceAnalyser parallel = new NullDereferenceAnalyser();
+		analyse(script, true, parallel);
+
+		Map<ControlFlowElement, Set<GuardType>> sequentialResults = getNullDereferences(sequential);
+		assertEquals(50, sequentialResults.size());
+		assertEquals(sequentialResults, getNullDereferences(parallel));
+	}
+
+	private static Map<ControlFlowElement, Set<GuardType>> getNullDereferences(NullDereferenceAnalyser analyser) {
+		Map<ControlFlowElement, Set<GuardType>> result = new HashMap<>();
+		for (NullDereferenceResult nullDereference : analyser.getNullDereferences()) {
+			result.put(nullDereference.cfe, nullDereference.types);
+		}
+		return result;
+	}
+
+	/** */
+	@Test
+	public void testUsedBeforeDeclaredSameResultsAsSequential() {
+		Script script = createScriptWithVariables(50);
+		UsedBeforeDeclaredAnalyser sequential = new UsedBeforeDeclaredAnalyser();
+		analyse(script, false, sequential);
+		UsedBeforeDeclaredAnalyser parallel = new UsedBeforeDeclaredAnalyser();
+		analyse(script, true, parallel);
+
+		List<IdentifierRef> sequentialResults = sequential.getUsedButNotDeclaredIdentifierRefs();
+		assertEquals(50, sequentialResults.size());
+		assertEquals(new HashSet<>(sequentialResults), new HashSet<>(parallel.getUsedButNotDeclaredIdentifierRefs()));
+	}
+
+	/** */
+	@Test
+	public void testInstanceofGuardSameResultsAsSequential() {
+		Script script = createScriptWithVariables(50);
+		InstanceofGuardAnalyser sequential = new InstanceofGuardAnalyser();
+		analyse(script, false, sequential);
+		InstanceofGuardAnalyser parallel = new InstanceofGuardAnalyser();
+		analyse(script, true, parallel);
+
+		int guardedCount = 0;
+		for (TreeIterator<EObject> iter = script.eAllContents(); iter.hasNext();) {
+			EObject next = iter.next();
+			if (next instanceof IdentifierRef) {
+				IdentifierRef identifierRef = (IdentifierRef) next;
+				Set<InstanceofGuard> sequentialGuards = new HashSet<>(sequential.getDefinitiveGuards(identifierRef));
+				assertEquals(sequentialGuards, new HashSet<>(parallel.getDefinitiveGuards(identifierRef)));
+				assertEquals(new HashSet<>(sequential.getAlwaysHoldingGuards(identifierRef)),
+						new HashSet<>(parallel.getAlwaysHoldingGuards(identifierRef)));
+				guardedCount += sequentialGuards.isEmpty() ? 0 : 1;
+			}
+		}
+		assertEquals(50, guardedCount);
+	}
+
+	/** */
+	@Test
+	public void testCancel() {
+		N4JSFlowAnalyser flowAnalyzer = new N4JSFlowAnalyser(() -> {
+			throw new OperationCanceledException();
+		});
+		flowAnalyzer.setParallel(true);
+		flowAnalyzer.setParallelThreshold(0);
+		flowAnalyzer.createGraphs(createScript(10));
+		assertThrows(OperationCanceledException.class, () -> flowAnalyzer.accept(new DeadCodeAnalyser()));
+	}
+}
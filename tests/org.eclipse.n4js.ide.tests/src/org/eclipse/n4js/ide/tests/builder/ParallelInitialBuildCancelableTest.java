@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.tests.builder;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.n4js.ide.server.N4JSStatefulIncrementalBuilder;
+import org.eclipse.n4js.ide.tests.helper.server.AbstractIdeTest;
+import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService;
+import org.eclipse.n4js.xtext.ide.server.WorkspaceBuilderConfig;
+import org.eclipse.n4js.xtext.ide.server.build.IBuildRequestFactory.OnPostCreateListener;
+import org.eclipse.n4js.xtext.ide.server.build.XClusteringStorageAwareResourceLoader.LoadResult;
+import org.eclipse.n4js.xtext.ide.server.build.XIndexer.XIndexResult;
+import org.eclipse.n4js.xtext.ide.server.build.XSource2GeneratedMapping;
+import org.eclipse.n4js.xtext.ide.server.build.XStatefulIncrementalBuilder;
+import org.eclipse.n4js.xtext.ide.server.build.XWorkspaceBuilder;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescription.Delta;
+import org.eclipse.xtext.service.AbstractGenericModule;
+import org.eclipse.xtext.xbase.lib.Pair;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+
+/**
+ * Asserts that
+ * <ol>
+ * <li>a {@link WorkspaceBuilderConfig#isParallelBuild() parallel} initial build can be canceled, and
+ * <li>the incremental build that canceled the initial build builds the projects the initial build did not build.
+ * </ol>
+ * Compare with {@link InitialBuildNotCancelableTest} for the sequential initial build.
+ */
+public class ParallelInitialBuildCancelableTest extends AbstractIdeTest {
+
+	private static final CountDownLatch didBuildModuleOther = new CountDownLatch(1);
+	private static final CountDownLatch didPerformCancellation = new CountDownLatch(1);
+	private static final CountDownLatch didCompleteInitialBuild = new CountDownLatch(1);
+
+	private static final AtomicBoolean initialBuildWasCanceled = new AtomicBoolean(false);
+
+	@Singleton
+	private static final class TestWorkspaceBuilderConfig extends WorkspaceBuilderConfig {
+		TestWorkspaceBuilderConfig() {
+			setParallelBuild(true);
+			setBuildThreads(2);
+		}
+	}
+
+	private static final class TestWorkspaceBuilder extends XWorkspaceBuilder {
+		@Override
+		protected void onBuildDone(boolean wasInitialBuild, boolean wasCanceled,
+				OnPostCreateListener postCreateListener, Optional<Throwable> throwable) {
+			super.onBuildDone(wasInitialBuild, wasCanceled, postCreateListener, throwable);
+			if (wasInitialBuild && didCompleteInitialBuild.getCount() > 0) {
+				initialBuildWasCanceled.set(wasCanceled);
+				didCompleteInitialBuild.countDown();
+			}
+		}
+	}
+
+	private static final class TestStatefulIncrementalBuilder extends N4JSStatefulIncrementalBuilder {
+		@Override
+		protected IResourceDescription.Delta buildClustered(LoadResult loadResult,
+				XSource2GeneratedMapping newSource2GeneratedMapping, XIndexResult result) {
+
+			Delta retval = super.buildClustered(loadResult, newSource2GeneratedMapping, result);
+			String fileBeingBuilt = loadResult.uri.lastSegment();
+			if ("Other.n4js".equals(fileBeingBuilt) && didBuildModuleOther.getCount() > 0) {
+				didBuildModuleOther.countDown();
+				Uninterruptibles.awaitUninterruptibly(didPerformCancellation);
+			}
+			return retval;
+		}
+	}
+
+	private static final class TestQueuedExecutorService extends QueuedExecutorService {
+
+		@Override
+		public synchronized void cancelAll() {
+			super.cancelAll();
+			didPerformCancellation.countDown();
+		}
+
+		@Override
+		public synchronized void cancelAll(Object queueId) {
+			super.cancelAll(queueId);
+			didPerformCancellation.countDown();
+		}
+	}
+
+	public static final class ParallelInitialBuildCancelableTestModule extends AbstractGenericModule {
+
+		public Class<? extends WorkspaceBuilderConfig> bindWorkspaceBuilderConfig() {
+			return TestWorkspaceBuilderConfig.class;
+		}
+
+		public Class<? extends XWorkspaceBuilder> bindXWorkspaceBuilder() {
+			return TestWorkspaceBuilder.class;
+		}
+
+		public Class<? extends XStatefulIncrementalBuilder> bindXStatefulIncrementalBuilder() {
+			return TestStatefulIncrementalBuilder.class;
+		}
+
+		public Class<? extends QueuedExecutorService> bindQueuedExecutorService() {
+			return TestQueuedExecutorService.class;
+		}
+	}
+
+	@Override
+	protected Optional<Class<? extends Module>> getOverridingModule() {
+		return Optional.of(ParallelInitialBuildCancelableTestModule.class);
+	}
+
+	@Test(timeout = 10000)
+	public void testParallelInitialBuildCancelable() throws InterruptedException {
+		testWorkspaceManager.createTestOnDisk(Map.of(
+				"OtherProject", Map.of(
+						"Other", """
+									export public class Other {
+										public mX() {}
+									}
+								"""),
+				"MainProject", Map.of(
+						"Main", """
+									import {Other} from "Other";
+									new Other().m();
+								""",
+						CFG_DEPENDENCIES, """
+									OtherProject
+								""")));
+		startLspServerWithoutWaiting(); // will trigger initial build
+
+		didBuildModuleOther.await();
+		// at this point, file Other.n4js has been built completely but project MainProject was not yet started
+
+		changeNonOpenedFile("Other", Pair.of("mX", "m")); // fix the error and cancel the initial build
+		didPerformCancellation.await(); // continue initial build
+
+		didCompleteInitialBuild.await();
+		assertTrue("expected initial build to be canceled", initialBuildWasCanceled.get());
+
+		joinServerRequests(); // wait for incremental build to complete
+		// assert that the incremental build also built project MainProject, which was skipped by the initial build
+		assertNoIssues();
+		assertOutputFileExists("MainProject", "Main");
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.tests.builder;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.n4js.ide.tests.helper.server.AbstractIdeTest;
+import org.eclipse.n4js.xtext.ide.server.WorkspaceBuilderConfig;
+import org.eclipse.n4js.xtext.ide.server.build.ParallelBuildScheduler;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.service.AbstractGenericModule;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.lib.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+
+/**
+ * Asserts that the initial build uses the {@link ParallelBuildScheduler} if
+ * {@link WorkspaceBuilderConfig#isParallelBuild() parallel builds} are enabled, and that the deltas of upstream
+ * projects are passed to their dependents.
+ */
+public class ParallelInitialBuildTest extends AbstractIdeTest {
+
+	/** Maps the IDs of the projects built by the {@link ParallelBuildScheduler} to the names of their threads. */
+	private static final Map<String, String> project2thread = new ConcurrentHashMap<>();
+
+	@Singleton
+	private static final class TestWorkspaceBuilderConfig extends WorkspaceBuilderConfig {
+		TestWorkspaceBuilderConfig() {
+			setParallelBuild(true);
+			setBuildThreads(4);
+		}
+	}
+
+	private static final class TestParallelBuildScheduler extends ParallelBuildScheduler {
+		@Override
+		public List<IResourceDescription.Delta> run(List<String> sortedProjectIDs,
+				Function<String, ? extends Collection<String>> getDependencies, ProjectBuildJob job, int threads,
+				CancelIndicator cancelIndicator) {
+
+			return super.run(sortedProjectIDs, getDependencies, (projectID, upstreamDeltas) -> {
+				project2thread.put(projectID, Thread.currentThread().getName());
+				return job.build(projectID, upstreamDeltas);
+			}, threads, cancelIndicator);
+		}
+	}
+
+	public static final class ParallelInitialBuildTestModule extends AbstractGenericModule {
+
+		public Class<? extends WorkspaceBuilderConfig> bindWorkspaceBuilderConfig() {
+			return TestWorkspaceBuilderConfig.class;
+		}
+
+		public Class<? extends ParallelBuildScheduler> bindParallelBuildScheduler() {
+			return TestParallelBuildScheduler.class;
+		}
+	}
+
+	@Override
+	protected Optional<Class<? extends Module>> getOverridingModule() {
+		return Optional.of(ParallelInitialBuildTestModule.class);
+	}
+
+	@Before
+	public void clearBuiltProjects() {
+		project2thread.clear();
+	}
+
+	@Test
+	public void testInitialBuildInParallel() {
+		testWorkspaceManager.createTestOnDisk(Map.of(
+				"ProviderProject", Map.of(
+						"Provider", """
+									export public class Provider {
+										public m() {}
+									}
+								"""),
+				"ClientProjectA", Map.of(
+						"ClientA", """
+									import {Provider} from "Provider";
+									new Provider().m();
+								""",
+						CFG_DEPENDENCIES, """
+									ProviderProject
+								"""),
+				"ClientProjectB", Map.of(
+						"ClientB", """
+									import {Provider} from "Provider";
+									new Provider().mX();
+								""",
+						CFG_DEPENDENCIES, """
+									ProviderProject
+								""")));
+		startAndWaitForLspServer();
+
+		assertTrue("expected all projects to be built by the parallel build scheduler",
+				project2thread.keySet().containsAll(List.of("ProviderProject", "ClientProjectA", "ClientProjectB")));
+		for (String thread : project2thread.values()) {
+			assertTrue("unexpected build thread: " + thread,
+					thread.startsWith(ParallelBuildScheduler.class.getSimpleName() + "-"));
+		}
+		assertIssues2(Pair.of("ClientB", List.of(
+				"(Error, [1:16 - 1:18], Couldn't resolve reference to IdentifiableElement 'mX'.)")));
+	}
+}
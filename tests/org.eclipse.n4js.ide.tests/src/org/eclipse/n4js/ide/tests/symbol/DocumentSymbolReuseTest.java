@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.tests.symbol;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.n4js.ide.N4JSIdeDataCollectors;
+import org.eclipse.n4js.ide.server.symbol.N4JSHierarchicalDocumentSymbolService;
+import org.eclipse.n4js.ide.tests.helper.server.AbstractIdeTest;
+import org.eclipse.n4js.smith.CollectedDataAccess;
+import org.eclipse.n4js.smith.DataCollector;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskManager;
+import org.eclipse.xtext.ide.server.symbol.HierarchicalDocumentSymbolService;
+import org.eclipse.xtext.xbase.lib.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Inject;
+
+/**
+ * Tests that the {@link N4JSHierarchicalDocumentSymbolService} reuses the symbols of unchanged top-level declarations
+ * after a change of the source text, and that the reused symbols are identical to the symbols computed from scratch.
+ */
+public class DocumentSymbolReuseTest extends AbstractIdeTest {
+
+	private static final String CONTENT = """
+			export public class A {
+				public fieldA: string;
+				public methodA(): void {}
+			}
+			export public class B {
+				public fieldB: string;
+				public methodB(): void {}
+			}
+			export public function f(): void {}
+			export public class C { public fieldC: string; } export public class D { public fieldD: string; }
+			""";
+
+	@Inject
+	private ResourceTaskManager resourceTaskManager;
+
+	/** Creates and opens the module whose symbols are reused and enables the data collectors. */
+	@Before
+	public void prepareWorkspaceAndServer() {
+		testWorkspaceManager.createTestProjectOnDisk(Map.of("Main", CONTENT));
+		startAndWaitForLspServer();
+		assertNoIssues();
+		openFile("Main");
+		CollectedDataAccess.setPaused(false);
+	}
+
+	/** Disables the data collectors. */
+	@After
+	public void pauseDataCollectors() {
+		CollectedDataAccess.setPaused(true);
+	}
+
+	/** Edits a declaration such that the following declarations move down by one line. */
+	@Test
+	public void testEditOneDeclaration() throws Exception {
+		assertReusedSymbols(4, Pair.of("public fieldA: string;", "public fieldA: string;\n\tpublic fieldA2: string;"));
+	}
+
+	/**
+	 * Inserts lines above a declaration, which moves all following declarations down. The declaration itself is
+	 * computed again, since the inserted line breaks belong to the node of its statement.
+	 */
+	@Test
+	public void testInsertLinesAboveDeclaration() throws Exception {
+		assertReusedSymbols(4, Pair.of("export public function f", "\n\n\nexport public function f"));
+	}
+
+	/** Edits the first line of a declaration, which moves the following declaration on the same line to the right. */
+	@Test
+	public void testEditWithinFirstLineOfDeclaration() throws Exception {
+		assertReusedSymbols(4, Pair.of("public fieldC:", "public fieldCCC:"));
+	}
+
+	/**
+	 * Computes the symbols of module Main, applies the given change, computes them again and compares them with the
+	 * symbols of the changed source text computed from scratch in a new module.
+	 */
+	private void assertReusedSymbols(int expectedReusedDeclarations, Pair<String, String> change) throws Exception {
+		getSymbols("Main");
+		changeOpenedFile("Main", change);
+		String changedContent = CONTENT.replace(change.getKey(), change.getValue());
+
+		N4JSIdeDataCollectors.dcDocumentSymbols.resetData();
+		String reusedSymbols = toString(getSymbols("Main"));
+		assertEquals("reused declarations", expectedReusedDeclarations,
+				count(N4JSIdeDataCollectors.dcDocumentSymbolsReusedDeclarations));
+
+		createFile("Fresh", changedContent);
+		openFile("Fresh");
+		N4JSIdeDataCollectors.dcDocumentSymbols.resetData();
+		String freshSymbols = toString(getSymbols("Fresh"));
+		assertEquals("reused declarations", 0, count(N4JSIdeDataCollectors.dcDocumentSymbolsReusedDeclarations));
+
+		assertEquals(freshSymbols, reusedSymbols);
+	}
+
+	private List<Either<SymbolInformation, DocumentSymbol>> getSymbols(String moduleName) throws Exception {
+		URI uri = getFileURIFromModuleName(moduleName).toURI();
+		return resourceTaskManager.runInExistingContext(uri, "get symbols", (rtc, ci) -> {
+			HierarchicalDocumentSymbolService service = rtc.getResource().getResourceServiceProvider()
+					.get(HierarchicalDocumentSymbolService.class);
+			return service.getSymbols(rtc.getResource(), ci);
+		}).get();
+	}
+
+	private static long count(DataCollector collector) {
+		return collector.getData().stream().mapToLong(dataPoint -> dataPoint.count).sum();
+	}
+
+	private String toString(List<Either<SymbolInformation, DocumentSymbol>> symbols) {
+		StringBuilder sb = new StringBuilder();
+		for (Either<SymbolInformation, DocumentSymbol> symbol : symbols) {
+			append(sb, symbol.getRight(), "");
+		}
+		return sb.toString();
+	}
+
+	private void append(StringBuilder sb, DocumentSymbol symbol, String indent) {
+		sb.append(indent).append(symbol.getName()).append(" ").append(symbol.getKind())
+				.append(" ").append(getStringLSP4J().toString(symbol.getRange()))
+				.append(" ").append(getStringLSP4J().toString(symbol.getSelectionRange()))
+				.append("\n");
+		if (symbol.getChildren() != null) {
+			for (DocumentSymbol child : symbol.getChildren()) {
+				append(sb, child, indent + "\t");
+			}
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.tests.xtext.server;
+
+import static java.util.Collections.singletonList;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.n4js.ide.N4JSIdeDataCollectors;
+import org.eclipse.n4js.ide.tests.helper.server.AbstractIdeTest;
+import org.eclipse.n4js.smith.CollectedDataAccess;
+import org.eclipse.n4js.smith.DataCollectorUtils;
+import org.eclipse.n4js.workspace.locations.FileURI;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskContext;
+import org.junit.Test;
+
+/**
+ * Measures the latency of {@link ResourceTaskContext#refreshContext(int, Iterable, boolean,
+ * org.eclipse.xtext.util.CancelIndicator) refreshing} the context of a large open file after small edits, as reported
+ * by the data collectors "Refresh Context" and "Update Resource". Run it on two revisions to compare them.
+ * <p>
+ * Not run as part of the build (see surefire configuration). Results are printed to standard out.
+ */
+public class RefreshContextPerformanceTest extends AbstractIdeTest {
+
+	private static final int CLASSES = 200;
+	private static final int WARMUP = 10;
+	private static final int RUNS = 50;
+
+	private static String createContent() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < CLASSES; i++) {
+			sb.append("export public class C").append(i).append(" {\n");
+			sb.append("\tpublic field: number = ").append(i).append(";\n");
+			sb.append("\tpublic m(p: string): string {\n");
+			sb.append("\t\tlet x = this.field + p.length;\n");
+			sb.append("\t\treturn p + x;\n");
+			sb.append("\t}\n");
+			sb.append("}\n");
+		}
+		return sb.toString();
+	}
+
+	/** Edits the body of a method in the middle of the module. */
+	@Test
+	public void testRefreshContextAfterSmallEdits() {
+		String content = createContent();
+		testWorkspaceManager.createTestProjectOnDisk(Map.of("Large", content));
+		startAndWaitForLspServer();
+		FileURI fileURI = getFileURIFromModuleName("Large");
+		openFile(fileURI);
+		joinServerRequests();
+
+		CollectedDataAccess.setPaused(false);
+		try {
+			measure(fileURI, content);
+		} finally {
+			CollectedDataAccess.setPaused(true);
+		}
+	}
+
+	private void measure(FileURI fileURI, String content) {
+		// edit the first line of the body of method m() in the middle of the module
+		int line = CLASSES / 2 * 7 + 3;
+		Position position = new Position(line, 2);
+		String text = content;
+		int version = 1000;
+		for (int i = 0; i < WARMUP + RUNS; i++) {
+			if (i == WARMUP) {
+				N4JSIdeDataCollectors.dcRefreshContext.resetData();
+			}
+			String insertion = i % 2 == 0 ? "x" : "";
+			String oldText = text;
+			text = insertAt(content, line, 2, insertion);
+			TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent(
+					new Range(position, new Position(line, 2 + oldText.length() - content.length())), insertion);
+			VersionedTextDocumentIdentifier docId = new VersionedTextDocumentIdentifier(fileURI.toString(), version++);
+			List<TextDocumentContentChangeEvent> changes = singletonList(change);
+			languageServer.didChange(new DidChangeTextDocumentParams(docId, changes));
+			joinServerRequests();
+		}
+		System.out.println(String.format("%s, %d runs:", getClass().getSimpleName(), RUNS));
+		System.out.println(DataCollectorUtils.dataToString(N4JSIdeDataCollectors.dcRefreshContext.getId(), "  "));
+	}
+
+	private static String insertAt(String content, int line, int column, String insertion) {
+		int offset = 0;
+		for (int i = 0; i < line; i++) {
+			offset = content.indexOf('\n', offset) + 1;
+		}
+		offset += column;
+		return content.substring(0, offset) + insertion + content.substring(offset);
+	}
+}
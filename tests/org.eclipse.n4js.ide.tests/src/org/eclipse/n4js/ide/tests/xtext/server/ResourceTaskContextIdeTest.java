@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.tests.xtext.server;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.n4js.ide.tests.helper.server.AbstractIdeTest;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskContext;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskManager;
+import org.eclipse.xtext.resource.XtextResource;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Inject;
+
+/**
+ * Tests which resources are reused by a {@link ResourceTaskContext} when it is refreshed.
+ */
+public class ResourceTaskContextIdeTest extends AbstractIdeTest {
+
+	private static final String MAIN_CONTENT = """
+			import {Cyclic} from "Cyclic";
+			import {Other} from "Other";
+			export public class Main {
+				public cyclic: Cyclic;
+				public other: Other;
+			}
+			""";
+
+	@Inject
+	private ResourceTaskManager resourceTaskManager;
+
+	private URI mainURI;
+	private URI cyclicURI;
+	private URI otherURI;
+
+	@Before
+	public void prepareWorkspaceAndServer() {
+		testWorkspaceManager.createTestProjectOnDisk(Map.of(
+				"Main", MAIN_CONTENT,
+				"Cyclic", """
+						import {Main} from "Main";
+						export public class Cyclic extends Main {}
+						""",
+				"Other", """
+						export public class Other {}
+						"""));
+		startAndWaitForLspServer();
+		assertNoIssues();
+
+		mainURI = getFileURIFromModuleName("Main").toURI();
+		cyclicURI = getFileURIFromModuleName("Cyclic").toURI();
+		otherURI = getFileURIFromModuleName("Other").toURI();
+	}
+
+	/**
+	 * Resources loaded from the index are reused, unless they contain resolved references into the main resource,
+	 * which would become stale when the main resource is updated.
+	 */
+	@Test
+	public void testReuseOfResourcesLoadedFromIndex() throws Exception {
+		resourceTaskManager.createContext(mainURI, 0, MAIN_CONTENT).get();
+
+		Resource[] before = resourceTaskManager.runInExistingContext(mainURI, "resolve dependencies", (rtc, ci) -> {
+			Resource cyclic = rtc.getResourceSet().getResource(cyclicURI, false);
+			Resource other = rtc.getResourceSet().getResource(otherURI, false);
+			assertNotNull("expected resource Cyclic to be loaded", cyclic);
+			assertNotNull("expected resource Other to be loaded", other);
+			assertNull("expected resource Cyclic to be loaded from the index",
+					((XtextResource) cyclic).getParseResult());
+			// resolve the super class reference of Cyclic, which points into the main resource
+			EcoreUtil.resolveAll(cyclic);
+			assertTrue("expected resource Cyclic to reference the main resource",
+					EcoreUtil.ExternalCrossReferencer.find(cyclic).keySet().stream()
+							.map(EObject::eResource)
+							.anyMatch(res -> res == rtc.getResource()));
+			return new Resource[] { cyclic, other };
+		}).get();
+
+		resourceTaskManager.runInExistingContextVoid(mainURI, "refresh", (rtc, ci) -> {
+			rtc.refreshContext(ci);
+			assertNotSame("expected resource Cyclic not to be reused", before[0],
+					rtc.getResourceSet().getResource(cyclicURI, false));
+			assertSame("expected resource Other to be reused", before[1],
+					rtc.getResourceSet().getResource(otherURI, false));
+			assertFalse("expected the removed resource Cyclic to be unloaded", before[0].isLoaded());
+		}).get();
+
+		resourceTaskManager.disposeContext(mainURI).join();
+	}
+}
@@ -0,0 +1,299 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.tests.xtext.server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.n4js.ide.server.N4JSResourceTaskContext;
+import org.eclipse.n4js.ide.tests.helper.server.AbstractIdeTest;
+import org.eclipse.n4js.utils.ReflectionUtils;
+import org.eclipse.n4js.xtext.ide.server.DelayedTaskScheduler;
+import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskContext;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskManager;
+import org.eclipse.n4js.xtext.ide.server.ResourceTaskManagerConfig;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.service.AbstractGenericModule;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.Tuples;
+import org.eclipse.xtext.validation.Issue;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.inject.Inject;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+
+/**
+ * Tests the coalescing of source text changes and the delays for validation and dirty state updates of the
+ * {@link ResourceTaskManager}.
+ */
+public class ResourceTaskManagerDelayIdeTest extends AbstractIdeTest {
+
+	/** Records the events of all {@link TestResourceTaskContext}s in the order they happened. */
+	@Singleton
+	public static final class EventLog {
+		final List<String> events = new ArrayList<>();
+
+		synchronized void add(String event) {
+			events.add(event);
+		}
+
+		synchronized void clear() {
+			events.clear();
+		}
+
+		/** Returns the events of the context of the file with the given name. */
+		synchronized List<String> eventsOf(String fileName) {
+			List<String> result = new ArrayList<>();
+			for (String event : events) {
+				if (event.split(" ")[1].equals(fileName)) {
+					result.add(event);
+				}
+			}
+			return result;
+		}
+	}
+
+	/** Runs the scheduled tasks in the test's thread when the time is {@link #advance(long) advanced} explicitly. */
+	@Singleton
+	public static final class ManualDelayedTaskScheduler extends DelayedTaskScheduler {
+		private final List<Pair<Long, Runnable>> scheduled = new ArrayList<>();
+		private long now = 0;
+
+		@Override
+		public synchronized void schedule(Runnable task, long delayMillis) {
+			scheduled.add(Tuples.create(now + delayMillis, task));
+		}
+
+		synchronized boolean hasScheduledTasks() {
+			return !scheduled.isEmpty();
+		}
+
+		/** Advances the time by the given milliseconds and runs the tasks that are due, in the order they are due. */
+		void advance(long millis) {
+			List<Runnable> due = new ArrayList<>();
+			synchronized (this) {
+				now += millis;
+				scheduled.sort(Comparator.comparing(Pair::getFirst));
+				while (!scheduled.isEmpty() && scheduled.get(0).getFirst() <= now) {
+					due.add(scheduled.remove(0).getSecond());
+				}
+			}
+			due.forEach(Runnable::run);
+		}
+	}
+
+	private static final class TestResourceTaskContext extends N4JSResourceTaskContext {
+		@Inject
+		private EventLog events;
+
+		@Override
+		public void refreshContext(int version, Iterable<? extends TextDocumentContentChangeEvent> changes,
+				boolean validate, CancelIndicator cancelIndicator) {
+			List<TextDocumentContentChangeEvent> changeList = new ArrayList<>();
+			changes.forEach(changeList::add);
+			events.add("refresh " + name(getURI()) + " changes=" + changeList.size() + " validate=" + validate);
+			super.refreshContext(version, changeList, validate, cancelIndicator);
+		}
+
+		@Override
+		public List<? extends Issue> validateResource(CancelIndicator cancelIndicator) {
+			events.add("validate " + name(getURI()));
+			return super.validateResource(cancelIndicator);
+		}
+
+		@Override
+		protected void onDirtyStateChanged(Collection<? extends IResourceDescription> changedDescs,
+				Set<URI> removedURIs, CancelIndicator cancelIndicator) {
+			List<String> changed = new ArrayList<>();
+			for (IResourceDescription desc : changedDescs) {
+				changed.add(name(desc.getURI()));
+			}
+			Collections.sort(changed);
+			events.add("dirtyState " + name(getURI()) + " changed=" + changed);
+			super.onDirtyStateChanged(changedDescs, removedURIs, cancelIndicator);
+		}
+	}
+
+	public static final class ResourceTaskManagerDelayIdeTestModule extends AbstractGenericModule {
+
+		public Class<? extends ResourceTaskContext> bindResourceTaskContext() {
+			return TestResourceTaskContext.class;
+		}
+
+		public Class<? extends DelayedTaskScheduler> bindDelayedTaskScheduler() {
+			return ManualDelayedTaskScheduler.class;
+		}
+	}
+
+	@Override
+	protected Optional<Class<? extends Module>> getOverridingModule() {
+		return Optional.of(ResourceTaskManagerDelayIdeTestModule.class);
+	}
+
+	private static final String CONTENT_A = "export public class A {}";
+	private static final String CONTENT_B = "export public class B {}";
+	private static final String CONTENT_MAIN = "import {A} from \"A\";\nimport {B} from \"B\";\nnew A(); new B();";
+
+	@Inject
+	private QueuedExecutorService queuedExecutorService;
+
+	@Inject
+	private ResourceTaskManager resourceTaskManager;
+
+	@Inject
+	private ResourceTaskManagerConfig config;
+
+	@Inject
+	private DelayedTaskScheduler scheduler;
+
+	@Inject
+	private EventLog events;
+
+	private URI uriA;
+	private URI uriB;
+	private URI uriMain;
+
+	@Before
+	public void prepareWorkspaceAndServer() {
+		testWorkspaceManager.createTestProjectOnDisk(Map.of(
+				"A", CONTENT_A,
+				"B", CONTENT_B,
+				"Main", CONTENT_MAIN));
+		startAndWaitForLspServer();
+		assertNoIssues();
+
+		uriA = getFileURIFromModuleName("A").toURI();
+		uriB = getFileURIFromModuleName("B").toURI();
+		uriMain = getFileURIFromModuleName("Main").toURI();
+		events.clear();
+	}
+
+	@Test
+	public void testCoalesceSourceTextChanges() throws Exception {
+		resourceTaskManager.createContext(uriA, 0, CONTENT_A).get();
+		events.clear();
+
+		// block the queue of the context, so the changes are pending at the same time
+		CountDownLatch releaseQueue = new CountDownLatch(1);
+		queuedExecutorService.submit(getQueueIdForContext(uriA), "blocker", ci -> {
+			Uninterruptibles.awaitUninterruptibly(releaseQueue, 10, TimeUnit.SECONDS);
+			return null;
+		});
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		futures.add(resourceTaskManager.changeSourceTextOfExistingContext(uriA, 1, insert(23, " x;")));
+		futures.add(resourceTaskManager.changeSourceTextOfExistingContext(uriA, 2, insert(26, " y;")));
+		futures.add(resourceTaskManager.changeSourceTextOfExistingContext(uriA, 3, insert(29, " z;")));
+		releaseQueue.countDown();
+		for (CompletableFuture<Void> future : futures) {
+			future.join();
+		}
+
+		assertEquals(List.of("refresh A changes=3 validate=true", "validate A"), eventsOf("A"));
+		String contents = resourceTaskManager.runInExistingContext(uriA, "get contents",
+				(rtc, ci) -> rtc.getDocument().getContents()).get();
+		assertEquals("export public class A { x; y; z;}", contents);
+	}
+
+	@Test
+	public void testValidationDelay() throws Exception {
+		config.setValidationDelay(500);
+		resourceTaskManager.createContext(uriA, 0, CONTENT_A).get();
+		events.clear();
+
+		resourceTaskManager.changeSourceTextOfExistingContext(uriA, 1, insert(23, " x;")).join();
+		resourceTaskManager.changeSourceTextOfExistingContext(uriA, 2, insert(26, " y;")).join();
+		// the source text is refreshed immediately, but not validated
+		assertEquals(List.of("refresh A changes=1 validate=false", "refresh A changes=1 validate=false"),
+				eventsOf("A"));
+
+		// only the last change is validated after the delay
+		advance(499);
+		assertEquals(List.of("refresh A changes=1 validate=false", "refresh A changes=1 validate=false"),
+				eventsOf("A"));
+		advance(1);
+		assertEquals(List.of("refresh A changes=1 validate=false", "refresh A changes=1 validate=false",
+				"validate A"), eventsOf("A"));
+	}
+
+	@Test
+	public void testDirtyStateDelay() throws Exception {
+		config.setDirtyStateDelay(2000);
+		resourceTaskManager.createContext(uriA, 0, CONTENT_A).get();
+		resourceTaskManager.createContext(uriB, 0, CONTENT_B).get();
+		resourceTaskManager.createContext(uriMain, 0, CONTENT_MAIN).get();
+		advanceUntilIdle();
+		events.clear();
+
+		resourceTaskManager.changeSourceTextOfExistingContext(uriA, 1, insert(23, "m() {}")).join();
+		resourceTaskManager.changeSourceTextOfExistingContext(uriB, 1, insert(23, "m() {}")).join();
+		// the dirty state changes are not yet sent to the dependent context
+		assertEquals(List.of(), eventsOf("Main"));
+
+		// both changes are sent in a single batch after the delay
+		advance(1999);
+		assertEquals(List.of(), eventsOf("Main"));
+		advance(1);
+		List<String> dirtyStateEventsOfMain = new ArrayList<>(eventsOf("Main"));
+		dirtyStateEventsOfMain.removeIf(event -> !event.startsWith("dirtyState"));
+		assertEquals(List.of("dirtyState Main changed=[A, B]"), dirtyStateEventsOfMain);
+	}
+
+	private static String name(URI uri) {
+		return uri.trimFileExtension().lastSegment();
+	}
+
+	private static List<TextDocumentContentChangeEvent> insert(int column, String text) {
+		Position position = new Position(0, column);
+		return List.of(new TextDocumentContentChangeEvent(new Range(position, position), text));
+	}
+
+	private List<String> eventsOf(String fileName) {
+		return events.eventsOf(fileName);
+	}
+
+	/** Advances the time of the delayed tasks and waits for the tasks they submitted. */
+	private void advance(long millis) {
+		((ManualDelayedTaskScheduler) scheduler).advance(millis);
+		queuedExecutorService.join();
+	}
+
+	/** Runs the delayed tasks until no more tasks are scheduled, e.g. the dirty state updates of new contexts. */
+	private void advanceUntilIdle() {
+		for (int i = 0; i < 10 && ((ManualDelayedTaskScheduler) scheduler).hasScheduledTasks(); i++) {
+			advance(config.getDirtyStateDelay());
+		}
+	}
+
+	private Object getQueueIdForContext(URI uri) {
+		return ReflectionUtils.getMethodReturn(ResourceTaskManager.class, "getQueueIdForContext",
+				resourceTaskManager, new Class<?>[] { URI.class, Boolean.TYPE }, new Object[] { uri, false });
+	}
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.tests.xtext.server.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.xtext.ide.server.build.ParallelBuildScheduler;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescription.Delta;
+import org.eclipse.xtext.service.OperationCanceledError;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+
+/**
+ * Tests for {@link ParallelBuildScheduler}.
+ */
+public class ParallelBuildSchedulerTest {
+
+	@Inject
+	private ParallelBuildScheduler scheduler;
+
+	private final Map<String, List<String>> receivedDeltas = new ConcurrentHashMap<>();
+
+	@Before
+	public void setUp() {
+		Guice.createInjector().injectMembers(this);
+	}
+
+	/** Fake delta that only carries a URI. */
+	private static class TestDelta implements IResourceDescription.Delta {
+		final URI uri;
+
+		TestDelta(String projectID) {
+			this.uri = URI.createURI("test:/" + projectID);
+		}
+
+		@Override
+		public URI getUri() {
+			return uri;
+		}
+
+		@Override
+		public IResourceDescription getOld() {
+			return null;
+		}
+
+		@Override
+		public IResourceDescription getNew() {
+			return null;
+		}
+
+		@Override
+		public boolean haveEObjectDescriptionsChanged() {
+			return true;
+		}
+	}
+
+	private List<Delta> build(String projectID, List<Delta> upstreamDeltas) {
+		receivedDeltas.put(projectID, toNames(upstreamDeltas));
+		return Collections.singletonList(new TestDelta(projectID));
+	}
+
+	private static List<String> toNames(List<Delta> deltas) {
+		return deltas.stream().map(d -> d.getUri().lastSegment()).collect(Collectors.toList());
+	}
+
+	@Test(timeout = 5000)
+	public void testDiamond() {
+		Map<String, Set<String>> deps = Map.of(
+				"A", Set.of(),
+				"B", Set.of("A"),
+				"C", Set.of("A"),
+				"D", Set.of("B", "C"),
+				"E", Set.of());
+
+		List<Delta> result = scheduler.run(List.of("A", "B", "C", "D", "E"), deps::get, this::build, 4,
+				CancelIndicator.NullImpl);
+
+		assertEquals(List.of("A", "B", "C", "D", "E"), toNames(result));
+		assertEquals(List.of(), receivedDeltas.get("A"));
+		assertEquals(List.of("A"), receivedDeltas.get("B"));
+		assertEquals(List.of("A"), receivedDeltas.get("C"));
+		assertEquals(List.of("A", "B", "C"), receivedDeltas.get("D"));
+		assertEquals(List.of(), receivedDeltas.get("E"));
+	}
+
+	@Test(timeout = 5000)
+	public void testTransitiveDeltas() {
+		Map<String, Set<String>> deps = Map.of(
+				"A", Set.of(),
+				"B", Set.of("A"),
+				"C", Set.of("B"));
+
+		scheduler.run(List.of("A", "B", "C"), deps::get, this::build, 4, CancelIndicator.NullImpl);
+
+		assertEquals(List.of("A", "B"), receivedDeltas.get("C"));
+	}
+
+	@Test(timeout = 5000)
+	public void testCycleAndUnknownDependencies() {
+		// A and B form a cycle; the dependency of A on B closes the cycle and must be ignored
+		Map<String, Set<String>> deps = Map.of(
+				"A", Set.of("B", "unknown"),
+				"B", Set.of("A"));
+
+		List<Delta> result = scheduler.run(List.of("A", "B"), deps::get, this::build, 4, CancelIndicator.NullImpl);
+
+		assertEquals(List.of("A", "B"), toNames(result));
+		assertEquals(List.of(), receivedDeltas.get("A"));
+		assertEquals(List.of("A"), receivedDeltas.get("B"));
+	}
+
+	@Test(timeout = 5000)
+	public void testIndependentProjectsRunConcurrently() {
+		CountDownLatch bothStarted = new CountDownLatch(2);
+		Map<String, Set<String>> deps = Map.of("A", Set.of(), "B", Set.of());
+
+		List<Delta> result = scheduler.run(List.of("A", "B"), deps::get, (projectID, upstreamDeltas) -> {
+			bothStarted.countDown();
+			try {
+				// would time out if the projects were built one after the other
+				assertTrue(bothStarted.await(2, TimeUnit.SECONDS));
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			return build(projectID, upstreamDeltas);
+		}, 2, CancelIndicator.NullImpl);
+
+		assertEquals(List.of("A", "B"), toNames(result));
+	}
+
+	@Test(timeout = 5000)
+	public void testFailureStopsDependents() {
+		Map<String, Set<String>> deps = Map.of("A", Set.of(), "B", Set.of("A"));
+
+		try {
+			scheduler.run(List.of("A", "B"), deps::get, (projectID, upstreamDeltas) -> {
+				if ("A".equals(projectID)) {
+					throw new IllegalStateException("build of A failed");
+				}
+				return build(projectID, upstreamDeltas);
+			}, 2, CancelIndicator.NullImpl);
+			fail("exception expected");
+		} catch (IllegalStateException e) {
+			assertEquals("build of A failed", e.getMessage());
+		}
+		assertFalse(receivedDeltas.containsKey("B"));
+	}
+
+	@Test(timeout = 5000)
+	public void testCancellation() {
+		Map<String, Set<String>> deps = Map.of("A", Set.of(), "B", Set.of("A"));
+		CancelIndicator canceled = () -> true;
+
+		try {
+			scheduler.run(List.of("A", "B"), deps::get, this::build, 2, canceled);
+			fail("cancellation expected");
+		} catch (OperationCanceledError e) {
+			// expected
+		}
+		assertFalse(receivedDeltas.containsKey("B"));
+	}
+}
@@ -22,7 +22,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.log4j.Level;
 import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService;
+import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService.Priority;
 import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService.QueuedTaskFuture;
+import org.eclipse.n4js.xtext.ide.server.QueuedExecutorServiceConfig;
 import org.eclipse.xtext.ide.server.ServerModule;
 import org.eclipse.xtext.testing.logging.LoggingTester;
 import org.eclipse.xtext.testing.logging.LoggingTester.LogCapture;
@@ -45,6 +47,9 @@ public class QueuedExecutorServiceTest {
 	@Inject
 	private QueuedExecutorService queuedExecutorService;
 
+	@Inject
+	private QueuedExecutorServiceConfig queuedExecutorServiceConfig;
+
 	private AtomicInteger sharedState;
 
 	@Before
@@ -263,6 +268,79 @@ public class QueuedExecutorServiceTest {
 		Uninterruptibles.awaitUninterruptibly(secondCanceled);
 	}
 
+	@Test(timeout = 1000)
+	public void testBackgroundTasksAreThrottled() throws Exception {
+		queuedExecutorServiceConfig.setMaxBackgroundTasks(1);
+		CountDownLatch releaseFirst = new CountDownLatch(1);
+		CountDownLatch secondStarted = new CountDownLatch(1);
+		queuedExecutorService.submit("id1", "first", Priority.BACKGROUND, (ci) -> {
+			Uninterruptibles.awaitUninterruptibly(releaseFirst);
+			return null;
+		});
+		queuedExecutorService.submit("id2", "second", Priority.BACKGROUND, (ci) -> {
+			secondStarted.countDown();
+			return null;
+		});
+		QueuedTaskFuture<Integer> future = queuedExecutorService.submit("id3", "third", (ci) -> {
+			return sharedState.incrementAndGet();
+		});
+		// the normal task does not wait for the running background task
+		assertEquals((Integer) 1, Futures.<Integer> getUnchecked(future));
+		// the second background task waits for the first one
+		assertFalse(secondStarted.await(200, TimeUnit.MILLISECONDS));
+		assertEquals(1, queuedExecutorService.getPendingTaskCount());
+		releaseFirst.countDown();
+		assertTrue(secondStarted.await(500, TimeUnit.MILLISECONDS));
+		queuedExecutorService.join();
+	}
+
+	@Test(timeout = 1000)
+	public void testBackgroundTaskBeforeNormalTaskWithEqualQueueId() {
+		queuedExecutorServiceConfig.setMaxBackgroundTasks(1);
+		CountDownLatch releaseFirst = new CountDownLatch(1);
+		queuedExecutorService.submit("id1", "first", Priority.BACKGROUND, (ci) -> {
+			Uninterruptibles.awaitUninterruptibly(releaseFirst);
+			return null;
+		});
+		queuedExecutorService.submit("id2", "second", Priority.BACKGROUND, (ci) -> {
+			return sharedState.incrementAndGet();
+		});
+		QueuedTaskFuture<Integer> future = queuedExecutorService.submit("id2", "third", (ci) -> {
+			return sharedState.get();
+		});
+		// the background task with equal queue ID is still executed first, but no longer waits for the first task
+		assertEquals((Integer) 1, Futures.<Integer> getUnchecked(future));
+		releaseFirst.countDown();
+		queuedExecutorService.join();
+	}
+
+	/**
+	 * A background task applying an older state, e.g. an update of a resource task context after a change of the
+	 * persisted state, must neither be preempted nor overtaken by a normal task with equal queue ID that applies a newer
+	 * state, or the older state would be applied last.
+	 */
+	@Test(timeout = 1000)
+	public void testRunningBackgroundTaskNotOvertakenByNormalTaskWithEqualQueueId() {
+		CountDownLatch backgroundStarted = new CountDownLatch(1);
+		CountDownLatch releaseBackground = new CountDownLatch(1);
+		QueuedTaskFuture<Boolean> olderUpdate = queuedExecutorService.submit("context", "older update",
+				Priority.BACKGROUND, (ci) -> {
+					backgroundStarted.countDown();
+					Uninterruptibles.awaitUninterruptibly(releaseBackground);
+					sharedState.set(1);
+					return ci.isCanceled();
+				});
+		Uninterruptibles.awaitUninterruptibly(backgroundStarted);
+		QueuedTaskFuture<Integer> newerUpdate = queuedExecutorService.submit("context", "newer update", (ci) -> {
+			return sharedState.getAndSet(2);
+		});
+		releaseBackground.countDown();
+		assertEquals(Boolean.FALSE, Futures.getUnchecked(olderUpdate));
+		assertEquals((Integer) 1, Futures.<Integer> getUnchecked(newerUpdate));
+		queuedExecutorService.join();
+		assertEquals(2, sharedState.get());
+	}
+
 	@Test(timeout = 1000)
 	public void testShutdown() {
 		queuedExecutorService.shutdown();
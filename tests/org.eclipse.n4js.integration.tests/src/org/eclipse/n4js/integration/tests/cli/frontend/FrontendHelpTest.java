@@ -218,6 +218,11 @@ public class FrontendHelpTest extends AbstractCliFrontendTest {
 						+ "  port=5007\n"
 						+ "  stdio=false\n"
 						+ "  exec=null\n"
+						+ "  watchFileSystem=false\n"
+						+ "  validationDelay=0\n"
+						+ "  dirtyStateDelay=0\n"
+						+ "  publishDiagnosticsDelay=0\n"
+						+ "  useVirtualThreads=false\n"
 						+ "Noop backend skips goal lsp",
 				result.getStdOut());
 	}
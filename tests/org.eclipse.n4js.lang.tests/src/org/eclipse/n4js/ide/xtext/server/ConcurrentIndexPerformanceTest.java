@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.xtext.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.xtext.ide.server.build.ConcurrentIndex;
+import org.eclipse.n4js.xtext.workspace.ConfigSnapshotFactory;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * Measures the throughput of readers of the {@link ConcurrentIndex}, i.e. of scoping in the LSP request threads, while
+ * the builder is updating the index. Run on two revisions to compare them; the results are printed to standard out.
+ * <p>
+ * Not run as part of the build (see surefire configuration).
+ */
+public class ConcurrentIndexPerformanceTest {
+
+	private static final int PROJECTS = 50;
+	private static final int WARMUP_MILLIS = 2_000;
+	private static final int MEASURE_MILLIS = 5_000;
+
+	@Test
+	public void testReadThroughputUnderContention() throws Exception {
+		for (int readers : new int[] { 1, 4, 8 }) {
+			measure(readers, false);
+			measure(readers, true);
+		}
+	}
+
+	private void measure(int readers, boolean withWriter) throws Exception {
+		Injector injector = Guice.createInjector();
+		ConfigSnapshotFactory configSnapshotFactory = injector.getInstance(ConfigSnapshotFactory.class);
+		ConcurrentIndex index = injector.getInstance(ConcurrentIndex.class);
+		index.initialize(configSnapshotFactory.createWorkspaceConfigSnapshot(URI.createFileURI("/workspace")));
+		for (int p = 0; p < PROJECTS; p++) {
+			index.setProjectIndex("p" + p, new ResourceDescriptionsData(Collections.emptyList()));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+		AtomicBoolean measuring = new AtomicBoolean(false);
+		AtomicBoolean done = new AtomicBoolean(false);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			if (withWriter) {
+				executor.submit(() -> {
+					start.await();
+					int i = 0;
+					while (!done.get()) {
+						index.setProjectIndex("p" + (i++ % PROJECTS),
+								new ResourceDescriptionsData(Collections.emptyList()));
+					}
+					return null;
+				});
+			}
+			List<Future<Long>> futures = new ArrayList<>();
+			for (int r = 0; r < readers; r++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					long reads = 0;
+					int i = 0;
+					while (!done.get()) {
+						String projectID = "p" + (i++ % PROJECTS);
+						index.getProjectIndex(projectID);
+						index.getProjectConfig(projectID);
+						if (measuring.get()) {
+							reads++;
+						}
+					}
+					return reads;
+				}));
+			}
+			start.countDown();
+			Thread.sleep(WARMUP_MILLIS);
+			measuring.set(true);
+			Thread.sleep(MEASURE_MILLIS);
+			measuring.set(false);
+			done.set(true);
+			long reads = 0;
+			for (Future<Long> future : futures) {
+				reads += future.get(10, TimeUnit.SECONDS);
+			}
+			System.out.println(String.format("%s: %d readers%s: %,d reads/ms", getClass().getSimpleName(), readers,
+					withWriter ? " + writer" : "", reads / MEASURE_MILLIS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
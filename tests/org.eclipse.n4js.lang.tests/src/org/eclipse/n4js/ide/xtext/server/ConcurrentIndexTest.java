@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.xtext.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.xtext.ide.server.build.ConcurrentIndex;
+import org.eclipse.n4js.xtext.workspace.ConfigSnapshotFactory;
+import org.eclipse.n4js.xtext.workspace.WorkspaceConfigSnapshot;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * Concurrency tests for the {@link ConcurrentIndex}.
+ */
+public class ConcurrentIndexTest {
+
+	private static final int PROJECTS = 8;
+	private static final int VERSIONS = 2_000;
+	private static final int READERS = 4;
+
+	/** A factory that blocks in {@link #clear(WorkspaceConfigSnapshot)} until released. */
+	private static class BlockingConfigSnapshotFactory extends ConfigSnapshotFactory {
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@Override
+		public WorkspaceConfigSnapshot clear(WorkspaceConfigSnapshot wcs) {
+			entered.countDown();
+			Uninterruptibles.awaitUninterruptibly(release);
+			return super.clear(wcs);
+		}
+	}
+
+	private final BlockingConfigSnapshotFactory configSnapshotFactory = new BlockingConfigSnapshotFactory();
+
+	private ConcurrentIndex index;
+
+	private ExecutorService executor;
+
+	/** Creates the index to test. */
+	@Before
+	public void createIndex() {
+		Injector injector = Guice.createInjector(
+				binder -> binder.bind(ConfigSnapshotFactory.class).toInstance(configSnapshotFactory));
+		index = injector.getInstance(ConcurrentIndex.class);
+		index.initialize(configSnapshotFactory.createWorkspaceConfigSnapshot(URI.createFileURI("/workspace")));
+		executor = Executors.newCachedThreadPool();
+	}
+
+	/** Stops all threads. */
+	@After
+	public void shutdown() {
+		configSnapshotFactory.release.countDown();
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Concurrent writers update the indices of distinct projects while readers check that they never observe an older
+	 * index of a project after having observed a newer one, and that no update gets lost.
+	 */
+	@Test
+	public void testConcurrentReadsAndWrites() throws Exception {
+		List<List<ResourceDescriptionsData>> versions = new ArrayList<>();
+		Map<ResourceDescriptionsData, Integer> versionNumbers = new IdentityHashMap<>();
+		for (int p = 0; p < PROJECTS; p++) {
+			List<ResourceDescriptionsData> projectVersions = new ArrayList<>();
+			for (int v = 0; v < VERSIONS; v++) {
+				ResourceDescriptionsData data = new ResourceDescriptionsData(Collections.emptyList());
+				projectVersions.add(data);
+				versionNumbers.put(data, v);
+			}
+			versions.add(projectVersions);
+		}
+
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean done = new AtomicBoolean(false);
+		List<Future<?>> writers = new ArrayList<>();
+		for (int p = 0; p < PROJECTS; p++) {
+			String projectID = "p" + p;
+			List<ResourceDescriptionsData> projectVersions = versions.get(p);
+			writers.add(executor.submit(() -> {
+				start.await();
+				for (ResourceDescriptionsData data : projectVersions) {
+					index.setProjectIndex(projectID, data);
+				}
+				return null;
+			}));
+		}
+		List<Future<Integer>> readers = new ArrayList<>();
+		for (int r = 0; r < READERS; r++) {
+			readers.add(executor.submit(() -> {
+				int[] lastSeen = new int[PROJECTS];
+				int reads = 0;
+				start.await();
+				while (!done.get()) {
+					for (int p = 0; p < PROJECTS; p++) {
+						ResourceDescriptionsData data = index.getProjectIndex("p" + p);
+						if (data != null) {
+							int version = versionNumbers.get(data);
+							Assert.assertTrue("index went back in time", version >= lastSeen[p]);
+							lastSeen[p] = version;
+						}
+					}
+					ImmutableList<Entry<String, ResourceDescriptionsData>> entries = index.entries();
+					for (Entry<String, ResourceDescriptionsData> entry : entries) {
+						int p = Integer.parseInt(entry.getKey().substring(1));
+						Assert.assertTrue("entries went back in time",
+								versionNumbers.get(entry.getValue()) >= lastSeen[p]);
+					}
+					index.toDescriptions();
+					reads++;
+				}
+				return reads;
+			}));
+		}
+
+		start.countDown();
+		for (Future<?> writer : writers) {
+			writer.get(60, TimeUnit.SECONDS);
+		}
+		done.set(true);
+		for (Future<Integer> reader : readers) {
+			Assert.assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+		}
+
+		Assert.assertEquals(PROJECTS, index.entries().size());
+		for (int p = 0; p < PROJECTS; p++) {
+			Assert.assertSame(versions.get(p).get(VERSIONS - 1), index.getProjectIndex("p" + p));
+		}
+	}
+
+	/** Readers must not be blocked while a modification of the index is in progress. */
+	@Test
+	public void testReadersDoNotBlock() throws Exception {
+		ResourceDescriptionsData data = new ResourceDescriptionsData(Collections.emptyList());
+		index.setProjectIndex("p", data);
+
+		Future<?> writer = executor.submit(() -> index.removeAllProjects());
+		Assert.assertTrue(configSnapshotFactory.entered.await(10, TimeUnit.SECONDS));
+
+		// the writer is now blocked while holding the write lock
+		Future<ResourceDescriptionsData> reader = executor.submit(() -> {
+			index.entries();
+			index.getWorkspaceConfigSnapshot();
+			ChunkedResourceDescriptions descriptions = index.toDescriptions();
+			Assert.assertNotNull(descriptions.getContainer("p"));
+			return index.getProjectIndex("p");
+		});
+		Assert.assertSame(data, reader.get(10, TimeUnit.SECONDS));
+
+		configSnapshotFactory.release.countDown();
+		writer.get(10, TimeUnit.SECONDS);
+		Assert.assertNull(index.getProjectIndex("p"));
+		Assert.assertTrue(index.entries().isEmpty());
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.xtext.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.xtext.ide.server.build.HashedFileContent;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Tests for the content hashes of {@link HashedFileContent}.
+ */
+public class HashedFileContentTest {
+
+	private Path tempDir;
+
+	/** Creates the directory for the test files. */
+	@Before
+	public void createTempDir() throws IOException {
+		tempDir = Files.createTempDirectory("hashed-file-content");
+	}
+
+	/** Deletes the test files. */
+	@After
+	public void deleteTempDir() throws IOException {
+		try (var files = Files.list(tempDir)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(tempDir);
+	}
+
+	private HashedFileContent hash(String fileName, String content, long lastModified) throws IOException {
+		Path path = tempDir.resolve(fileName);
+		Files.writeString(path, content, StandardCharsets.UTF_8);
+		Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified));
+		File file = path.toFile();
+		return new HashedFileContent(URI.createFileURI(file.getAbsolutePath()), file);
+	}
+
+	/** */
+	@Test
+	public void testHashDependsOnContentOnly() throws IOException {
+		long lastModified = System.currentTimeMillis() - 60_000;
+		HashedFileContent a = hash("a.js", "let x = 1;", lastModified);
+		HashedFileContent b = hash("b.js", "let x = 1;", lastModified - 1000);
+		HashedFileContent c = hash("c.js", "let x = 2;", lastModified);
+		Assert.assertEquals(a.getHash(), b.getHash());
+		// same size, different content
+		Assert.assertNotEquals(a.getHash(), c.getHash());
+		Assert.assertEquals(10, a.getSize());
+	}
+
+	/** */
+	@Test
+	public void testMetadata() throws IOException {
+		long lastModified = (System.currentTimeMillis() - 60_000) / 1000 * 1000;
+		HashedFileContent old = hash("old.n4js", "content", lastModified);
+		Assert.assertEquals(lastModified, old.getLastModified());
+		Assert.assertTrue(old.hasSameMetadata(lastModified, 7));
+		Assert.assertFalse(old.hasSameMetadata(lastModified, 8));
+		Assert.assertFalse(old.hasSameMetadata(lastModified + 1000, 7));
+
+		// the modification time of recently modified files is not reliable
+		HashedFileContent recent = hash("recent.n4js", "content", System.currentTimeMillis());
+		Assert.assertEquals(HashedFileContent.UNKNOWN, recent.getLastModified());
+		Assert.assertFalse(recent.hasSameMetadata(recent.getLastModified(), recent.getSize()));
+	}
+
+	/** */
+	@Test
+	public void testHashOfLargeFile() throws IOException {
+		// large files are memory mapped instead of read at once, which must not change the hash
+		long lastModified = System.currentTimeMillis() - 60_000;
+		String content = "let x = 1;\n".repeat(200_000);
+		HashedFileContent large = hash("large.js", content, lastModified);
+		HashedFileContent small = hash("small.js", "let x = 1;\n", lastModified);
+		Assert.assertEquals(Hashing.murmur3_128().hashString(content, StandardCharsets.UTF_8).asLong(),
+				large.getHash());
+		Assert.assertEquals(Hashing.murmur3_128().hashString("let x = 1;\n", StandardCharsets.UTF_8).asLong(),
+				small.getHash());
+	}
+}
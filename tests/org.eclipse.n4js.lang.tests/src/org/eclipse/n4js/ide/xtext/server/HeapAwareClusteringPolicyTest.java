@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.xtext.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.n4js.xtext.ide.server.build.HeapAwareClusteringPolicy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link HeapAwareClusteringPolicy}.
+ */
+public class HeapAwareClusteringPolicyTest {
+
+	private static class TestPolicy extends HeapAwareClusteringPolicy {
+		double heapUsage = 0.1;
+		final List<Resource> evicted = new ArrayList<>();
+
+		@Override
+		protected double getHeapUsage() {
+			return heapUsage;
+		}
+
+		@Override
+		protected boolean isEvictable(Resource resource) {
+			return !resource.getURI().lastSegment().startsWith("builtin");
+		}
+
+		@Override
+		protected void onEvicted(List<Resource> resources) {
+			evicted.addAll(resources);
+		}
+	}
+
+	private static class MeasuringPolicy extends HeapAwareClusteringPolicy {
+		double usageAfterCollection = 0.1;
+
+		@Override
+		protected double getHeapUsage() {
+			return super.getHeapUsage();
+		}
+
+		@Override
+		protected double getHeapUsageAfterCollection() {
+			return usageAfterCollection;
+		}
+	}
+
+	private final TestPolicy policy = new TestPolicy();
+
+	private final ResourceSet resourceSet = new ResourceSetImpl();
+
+	/** Populates the resource set with ten loaded resources r0 to r9. */
+	@Before
+	public void createResources() {
+		for (int i = 0; i < 10; i++) {
+			resourceSet.getResources().add(createLoadedResource("r" + i));
+		}
+	}
+
+	private static Resource createLoadedResource(String name) {
+		return new ResourceImpl(uri(name)) {
+			{
+				setLoaded(true);
+			}
+		};
+	}
+
+	private static URI uri(String name) {
+		return URI.createFileURI("/project/" + name);
+	}
+
+	private List<String> names(List<Resource> resources) {
+		List<String> result = new ArrayList<>();
+		for (Resource resource : resources) {
+			result.add(resource.getURI().lastSegment());
+		}
+		return result;
+	}
+
+	/** */
+	@Test
+	public void testContinueProcessing() {
+		Assert.assertTrue(policy.continueProcessing(resourceSet, uri("next"), 100));
+		policy.heapUsage = 0.8;
+		Assert.assertTrue(policy.continueProcessing(resourceSet, uri("next"),
+				HeapAwareClusteringPolicy.MIN_CLUSTER_SIZE - 1));
+		Assert.assertFalse(policy.continueProcessing(resourceSet, uri("next"),
+				HeapAwareClusteringPolicy.MIN_CLUSTER_SIZE));
+	}
+
+	/** */
+	@Test
+	public void testEvictLeastRecentlyUsedFirst() {
+		// r0 is hot, r1 to r9 are requested once in reverse order
+		for (int i = 0; i < HeapAwareClusteringPolicy.HOT_ACCESS_COUNT; i++) {
+			policy.recordAccess(uri("r0"));
+		}
+		for (int i = 9; i > 0; i--) {
+			policy.recordAccess(uri("r" + i));
+		}
+
+		// usage 1.0 -> evict half of the resources to get to the low water mark
+		policy.heapUsage = 1.0;
+		Assert.assertEquals(5, policy.evict(resourceSet));
+		Assert.assertEquals(List.of("r9", "r8", "r7", "r6", "r5"), names(policy.evicted));
+		Assert.assertEquals(List.of("r0", "r1", "r2", "r3", "r4"), names(resourceSet.getResources()));
+		for (Resource resource : policy.evicted) {
+			Assert.assertFalse(resource.isLoaded());
+			Assert.assertNull(resource.getResourceSet());
+		}
+	}
+
+	/** */
+	@Test
+	public void testHotResourcesStayResident() {
+		for (int i = 0; i < 10; i++) {
+			for (int j = 0; j < HeapAwareClusteringPolicy.HOT_ACCESS_COUNT; j++) {
+				policy.recordAccess(uri("r" + (i % 2)));
+			}
+			policy.recordAccess(uri("r" + i));
+		}
+		policy.heapUsage = 1.0;
+		policy.evict(resourceSet);
+		Assert.assertTrue(names(resourceSet.getResources()).containsAll(List.of("r0", "r1")));
+	}
+
+	/** */
+	@Test
+	public void testDecayedResourcesAreForgotten() {
+		policy.recordAccess(uri("r1"));
+		for (int i = 0; i < 4; i++) {
+			policy.recordAccess(uri("r2"));
+		}
+		policy.heapUsage = 1.0;
+		Assert.assertEquals(5, policy.evict(resourceSet));
+		Assert.assertEquals(List.of("r1", "r2", "r7", "r8", "r9"), names(resourceSet.getResources()));
+
+		// the single request of r1 decayed, so r1 is treated like the resources that were never requested
+		policy.evicted.clear();
+		Assert.assertEquals(3, policy.evict(resourceSet));
+		Assert.assertEquals(List.of("r1", "r7", "r8"), names(policy.evicted));
+	}
+
+	/** */
+	@Test
+	public void testNonEvictableResources() {
+		Resource builtin = createLoadedResource("builtin");
+		resourceSet.getResources().add(0, builtin);
+		policy.heapUsage = 1.0;
+		policy.evict(resourceSet);
+		policy.evict(resourceSet);
+		policy.evict(resourceSet);
+		Assert.assertTrue(resourceSet.getResources().contains(builtin));
+		Assert.assertFalse(names(policy.evicted).contains("builtin"));
+	}
+
+	/** */
+	@Test
+	public void testNoEvictionBelowLowWaterMark() {
+		policy.heapUsage = HeapAwareClusteringPolicy.LOW_WATER_MARK;
+		Assert.assertEquals(0, policy.evict(resourceSet));
+		Assert.assertEquals(10, resourceSet.getResources().size());
+	}
+
+	/** */
+	@Test
+	public void testEstimatedUsageUntilNextCollection() {
+		MeasuringPolicy measuringPolicy = new MeasuringPolicy();
+		int processed = HeapAwareClusteringPolicy.MIN_CLUSTER_SIZE;
+		measuringPolicy.usageAfterCollection = 0.8;
+		Assert.assertFalse(measuringPolicy.continueProcessing(resourceSet, uri("next"), processed));
+
+		// the usage after the last collection does not reflect the eviction, so the eviction's estimate is used
+		Assert.assertEquals(4, measuringPolicy.evict(resourceSet));
+		Assert.assertEquals(0.48, measuringPolicy.getHeapUsage(), 0.001);
+		Assert.assertTrue(measuringPolicy.continueProcessing(resourceSet, uri("next"), processed));
+
+		// the next collection replaces the estimate
+		measuringPolicy.usageAfterCollection = 0.9;
+		Assert.assertFalse(measuringPolicy.continueProcessing(resourceSet, uri("next"), processed));
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.xtext.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.xtext.ide.server.findReferences.ImportedNamesIndex;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ImportedNamesIndex}.
+ */
+public class ImportedNamesIndexTest {
+
+	private final ImportedNamesIndex index = new ImportedNamesIndex();
+
+	private static URI uri(String resourceName) {
+		return URI.createFileURI("/project/" + resourceName);
+	}
+
+	private static IResourceDescription createDescription(String resourceName, String... importedNames) {
+		URI uri = uri(resourceName);
+		List<QualifiedName> names = new ArrayList<>();
+		for (String name : importedNames) {
+			names.add(QualifiedName.create(name.split("\\.")));
+		}
+		return new AbstractResourceDescription() {
+			@Override
+			public URI getURI() {
+				return uri;
+			}
+
+			@Override
+			protected List<IEObjectDescription> computeExportedObjects() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public Iterable<QualifiedName> getImportedNames() {
+				return names;
+			}
+
+			@Override
+			public Iterable<IReferenceDescription> getReferenceDescriptions() {
+				return Collections.emptyList();
+			}
+		};
+	}
+
+	private void update(IResourceDescription desc) {
+		index.update(desc.getURI(), desc);
+	}
+
+	private Set<URI> find(String... names) {
+		List<QualifiedName> qualifiedNames = new ArrayList<>();
+		for (String name : names) {
+			qualifiedNames.add(QualifiedName.create(name.split("\\.")));
+		}
+		return index.findImportingResources(qualifiedNames);
+	}
+
+	/** */
+	@Test
+	public void testFindImportingResources() {
+		Assert.assertFalse(index.isActive());
+		update(createDescription("A", "m.C", "m.D"));
+		update(createDescription("B", "m.D"));
+		update(createDescription("C", "n.E"));
+		Assert.assertTrue(index.isActive());
+
+		Assert.assertEquals(Set.of(uri("A")), find("m.C"));
+		Assert.assertEquals(Set.of(uri("A"), uri("B")), find("m.D"));
+		Assert.assertEquals(Set.of(uri("A"), uri("C")), find("m.C", "n.E"));
+		Assert.assertEquals(Set.of(), find("m"));
+	}
+
+	/** */
+	@Test
+	public void testUpdateAndRemove() {
+		update(createDescription("A", "m.C"));
+		update(createDescription("B", "m.C"));
+
+		update(createDescription("A", "m.D"));
+		Assert.assertEquals(Set.of(uri("B")), find("m.C"));
+		Assert.assertEquals(Set.of(uri("A")), find("m.D"));
+
+		index.update(uri("B"), null);
+		Assert.assertEquals(Set.of(), find("m.C"));
+		Assert.assertEquals(1, index.getResourceCount());
+	}
+}
@@ -14,7 +14,10 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -26,6 +29,7 @@ import java.util.zip.ZipException;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.n4js.workspace.locations.FileURI;
 import org.eclipse.n4js.xtext.ide.server.build.HashedFileContent;
 import org.eclipse.n4js.xtext.ide.server.build.ImmutableProjectState;
@@ -41,10 +45,12 @@ import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
 import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.validation.Issue.IssueImpl;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -276,6 +282,117 @@ public class ProjectStatePersisterTest {
 		Assert.assertEquals(dependencies.entrySet(), pState.getDependencies().entrySet());
 	}
 
+	/** */
+	@Test
+	public void testWriteAndReadMappedWithData() throws IOException, ClassNotFoundException {
+		ProjectStatePersister testMe = new ProjectStatePersister(null, new URITransformer());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		URI uri = BASE_URI.appendSegment("uri");
+		SerializableResourceDescription resourceDescription = new SerializableResourceDescription();
+		resourceDescription.setURI(uri);
+		SerializableEObjectDescription objectDescription = new SerializableEObjectDescription();
+		objectDescription.setEObjectURI(uri.appendFragment("/1"));
+		objectDescription.setEClass(EcorePackage.Literals.ECLASS);
+		objectDescription.setQualifiedName(QualifiedName.create("some", "name"));
+		HashMap<String, String> userData = new HashMap<>();
+		userData.put("key", "value".repeat(100_000));
+		objectDescription.setUserData(userData);
+		resourceDescription.setDescriptions(List.of(objectDescription));
+		resourceDescription.setReferences(Collections.emptyList());
+		resourceDescription.setImportedNames(List.of(QualifiedName.create("imported", "name")));
+		ResourceDescriptionsData index = new ResourceDescriptionsData(Collections.emptyList());
+		index.addDescription(uri, resourceDescription);
+
+		XSource2GeneratedMapping fileMappings = new XSource2GeneratedMapping();
+		URI sourceURI = BASE_URI.appendSegment("source");
+		URI targetURI = BASE_URI.appendSegment("target");
+		fileMappings.addSource2Generated(sourceURI, targetURI, "outputty");
+		Map<URI, HashedFileContent> fingerprints = Collections.singletonMap(sourceURI,
+				new HashedFileContent(sourceURI, 123, 456, 789));
+		IssueImpl issue = new IssueImpl();
+		setValues(issue, "issue", 1, 1, Severity.ERROR);
+		Map<String, Boolean> dependencies = Map.of("dep1", true);
+
+		ImmutableProjectState state = createProjectState(index, fileMappings, fingerprints,
+				ImmutableListMultimap.of(sourceURI, issue), dependencies);
+		testMe.writeMappedProjectState(BASE_URI, output, state);
+		ImmutableProjectState pState = testMe.readProjectState(BASE_URI, ByteBuffer.wrap(output.toByteArray()));
+
+		IResourceDescription resourceDescription2 = pState.getResourceDescriptions().getResourceDescription(uri);
+		IEObjectDescription objectDescription2 = resourceDescription2.getExportedObjects().iterator().next();
+		Assert.assertEquals(objectDescription.getEObjectURI(), objectDescription2.getEObjectURI());
+		Assert.assertEquals(objectDescription.getQualifiedName(), objectDescription2.getName());
+		Assert.assertEquals(EcorePackage.Literals.ECLASS, objectDescription2.getEClass());
+		Assert.assertEquals(userData.get("key"), objectDescription2.getUserData("key"));
+		Assert.assertEquals(List.of(QualifiedName.create("imported", "name")),
+				IterableExtensions.toList(resourceDescription2.getImportedNames()));
+		Assert.assertEquals(List.of(targetURI), pState.getFileMappings().getGenerated(sourceURI));
+		Assert.assertEquals("outputty", pState.getFileMappings().getOutputConfigName(targetURI));
+		Assert.assertEquals(fingerprints, pState.getFileHashes());
+		Assert.assertTrue(pState.getFileHashes().get(sourceURI).hasSameMetadata(456, 789));
+		Assert.assertEquals(1, pState.getValidationIssues().get(sourceURI).size());
+		Assert.assertTrue(IssueUtils.equals(issue, pState.getValidationIssues().get(sourceURI).get(0)));
+		Assert.assertEquals(dependencies, pState.getDependencies());
+	}
+
+	/** */
+	@Test
+	public void testReadMappedFromStream() throws IOException, ClassNotFoundException {
+		ProjectStatePersister testMe = new ProjectStatePersister(null, new URITransformer());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ImmutableProjectState state = createProjectState(null, null, null, null, Map.of("dep1", false));
+		testMe.writeMappedProjectState(BASE_URI, output, state);
+		ImmutableProjectState pState = testMe.readProjectState(BASE_URI,
+				new ByteArrayInputStream(output.toByteArray()));
+		Assert.assertEquals(Map.of("dep1", false), pState.getDependencies());
+	}
+
+	/** */
+	@Test(expected = IOException.class)
+	public void testWriteAndReadMappedCorrupted() throws IOException, ClassNotFoundException {
+		ProjectStatePersister testMe = new ProjectStatePersister(null, new URITransformer());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ImmutableProjectState state = createProjectState(null, null, null, null, Map.of("dep1", true));
+		testMe.writeMappedProjectState(BASE_URI, output, state);
+		byte[] bytes = output.toByteArray();
+		// increment the most significant byte of the size of the string pool, which follows the version byte, the
+		// magic number, the length and bytes of the language version and the number of strings
+		int stringPoolSizeOffset = 1 + Integer.BYTES + Integer.BYTES
+				+ testMe.getLanguageVersion().getBytes(StandardCharsets.UTF_8).length + Integer.BYTES;
+		bytes[stringPoolSizeOffset]++;
+		testMe.readProjectState(BASE_URI, ByteBuffer.wrap(bytes));
+	}
+
+	/** */
+	@Test
+	public void testReadUnknownMappedVersion() throws IOException, ClassNotFoundException {
+		ProjectStatePersister testMe = new ProjectStatePersister(null, new URITransformer());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		testMe.writeMappedProjectState(BASE_URI, output, createProjectState());
+		byte[] bytes = output.toByteArray();
+		bytes[0]++;
+		ImmutableProjectState pState = testMe.readProjectState(BASE_URI, ByteBuffer.wrap(bytes));
+		Assert.assertTrue(pState == null);
+	}
+
+	/** */
+	@Test
+	public void testWriteAndReadMappedLangVersionMismatch() throws IOException, ClassNotFoundException {
+		AtomicReference<String> languageVersion = new AtomicReference<>("1");
+		ProjectStatePersister testMe = new ProjectStatePersister(null, new URITransformer()) {
+			@Override
+			public String getLanguageVersion() {
+				return languageVersion.get();
+			}
+		};
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		testMe.writeMappedProjectState(BASE_URI, output, createProjectState());
+		languageVersion.set("2");
+		ImmutableProjectState pState = testMe.readProjectState(BASE_URI, ByteBuffer.wrap(output.toByteArray()));
+		Assert.assertTrue(pState == null);
+	}
+
 	private void setValues(IssueImpl issue, String varName, int srcNo, int issueNo, Severity severity) {
 		int prefix = srcNo * 100 + issueNo * 10;
 		issue.setCode(varName + ".code");
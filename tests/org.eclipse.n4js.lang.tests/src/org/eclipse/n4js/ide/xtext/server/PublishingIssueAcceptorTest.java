@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.xtext.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.MessageActionItem;
+import org.eclipse.lsp4j.MessageParams;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.ShowMessageRequestParams;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.eclipse.n4js.xtext.ide.server.PublishingIssueAcceptorConfig;
+import org.eclipse.n4js.xtext.ide.server.QueuedExecutorService;
+import org.eclipse.n4js.xtext.ide.server.issues.PublishingIssueAcceptor;
+import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.validation.Issue.IssueImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * Tests for the {@link PublishingIssueAcceptor}.
+ */
+public class PublishingIssueAcceptorTest {
+
+	private final List<PublishDiagnosticsParams> published = Collections.synchronizedList(new ArrayList<>());
+
+	private PublishingIssueAcceptor acceptor;
+	private PublishingIssueAcceptorConfig config;
+	private QueuedExecutorService queuedExecutorService;
+
+	/** */
+	@Before
+	public void setUp() {
+		Injector injector = Guice.createInjector();
+		acceptor = injector.getInstance(PublishingIssueAcceptor.class);
+		config = injector.getInstance(PublishingIssueAcceptorConfig.class);
+		queuedExecutorService = injector.getInstance(QueuedExecutorService.class);
+		acceptor.connect(new LanguageClient() {
+			@Override
+			public void publishDiagnostics(PublishDiagnosticsParams diagnostics) {
+				published.add(diagnostics);
+			}
+
+			@Override
+			public void telemetryEvent(Object object) {
+				// ignore
+			}
+
+			@Override
+			public void showMessage(MessageParams messageParams) {
+				// ignore
+			}
+
+			@Override
+			public CompletableFuture<MessageActionItem> showMessageRequest(ShowMessageRequestParams requestParams) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			@Override
+			public void logMessage(MessageParams message) {
+				// ignore
+			}
+		});
+	}
+
+	/** */
+	@After
+	public void tearDown() {
+		queuedExecutorService.shutdown();
+	}
+
+	private static URI uri(String name) {
+		return URI.createFileURI("/project/" + name);
+	}
+
+	private static Issue issue(String message) {
+		IssueImpl issue = new IssueImpl();
+		issue.setSeverity(Severity.ERROR);
+		issue.setMessage(message);
+		issue.setLineNumber(1);
+		issue.setColumn(1);
+		issue.setLineNumberEnd(1);
+		issue.setColumnEnd(2);
+		return issue;
+	}
+
+	private void awaitPublished() {
+		Uninterruptibles.sleepUninterruptibly(config.getPublishDelay() * 5, TimeUnit.MILLISECONDS);
+		queuedExecutorService.join();
+	}
+
+	private List<String> getPublishedMessages(int index) {
+		List<String> result = new ArrayList<>();
+		for (Diagnostic diagnostic : published.get(index).getDiagnostics()) {
+			result.add(diagnostic.getMessage());
+		}
+		return result;
+	}
+
+	/** */
+	@Test
+	public void testPublishImmediatelyWithoutDelay() {
+		acceptor.accept(uri("A"), List.of(issue("a1")));
+		acceptor.accept(uri("A"), List.of(issue("a1")));
+		acceptor.accept(uri("B"), List.of());
+		Assert.assertEquals(3, published.size());
+	}
+
+	/** */
+	@Test
+	public void testCoalesceIssuesOfSameFile() {
+		config.setPublishDelay(20);
+		acceptor.accept(uri("A"), List.of(issue("a1")));
+		acceptor.accept(uri("B"), List.of(issue("b1")));
+		acceptor.accept(uri("A"), List.of(issue("a2"), issue("a3")));
+		Assert.assertEquals(0, published.size());
+		awaitPublished();
+
+		Assert.assertEquals(2, published.size());
+		Assert.assertTrue(published.get(0).getUri().endsWith("/project/A"));
+		Assert.assertEquals(List.of("a2", "a3"), getPublishedMessages(0));
+		Assert.assertEquals(List.of("b1"), getPublishedMessages(1));
+	}
+
+	/** */
+	@Test
+	public void testSkipUnchangedIssues() {
+		config.setPublishDelay(20);
+		acceptor.accept(uri("A"), List.of(issue("a1")));
+		acceptor.accept(uri("B"), List.of());
+		awaitPublished();
+		Assert.assertEquals(1, published.size());
+
+		acceptor.accept(uri("A"), List.of(issue("a1")));
+		acceptor.accept(uri("B"), List.of());
+		awaitPublished();
+		Assert.assertEquals(1, published.size());
+
+		acceptor.accept(uri("A"), List.of());
+		awaitPublished();
+		Assert.assertEquals(2, published.size());
+		Assert.assertEquals(List.of(), getPublishedMessages(1));
+	}
+
+	/** */
+	@Test
+	public void testPublishIssuesWithEqualHashCodes() {
+		Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+		config.setPublishDelay(20);
+		acceptor.accept(uri("A"), List.of(issue("Aa")));
+		awaitPublished();
+		acceptor.accept(uri("A"), List.of(issue("BB")));
+		awaitPublished();
+		Assert.assertEquals(2, published.size());
+		Assert.assertEquals(List.of("BB"), getPublishedMessages(1));
+	}
+
+	/** */
+	@Test
+	public void testMaxDiagnosticsPerFile() {
+		config.setMaxDiagnosticsPerFile(2);
+		acceptor.accept(uri("A"), List.of(issue("a1"), issue("a2"), issue("a3")));
+		Assert.assertEquals(List.of("a1", "a2"), getPublishedMessages(0));
+	}
+}
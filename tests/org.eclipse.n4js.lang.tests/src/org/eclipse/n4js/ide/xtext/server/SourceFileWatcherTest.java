@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.xtext.server;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.xtext.ide.server.build.SourceFileWatcher;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.Tuples;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.inject.Guice;
+
+/**
+ * Tests for the {@link SourceFileWatcher}.
+ */
+public class SourceFileWatcherTest {
+
+	private Path tempDir;
+
+	private SourceFileWatcher watcher;
+
+	private final BlockingQueue<Pair<List<URI>, List<URI>>> changes = new LinkedBlockingQueue<>();
+
+	/** Creates the watched directory. */
+	@Before
+	public void createTempDir() throws IOException {
+		tempDir = Files.createTempDirectory("source-file-watcher");
+		watcher = Guice.createInjector().getInstance(SourceFileWatcher.class);
+	}
+
+	/** Stops the watcher and deletes the watched directory. */
+	@After
+	public void deleteTempDir() throws IOException {
+		watcher.stop();
+		MoreFiles.deleteRecursively(tempDir, RecursiveDeleteOption.ALLOW_INSECURE);
+	}
+
+	private void watch() {
+		watcher.watch(List.of(tempDir), (dirty, deleted) -> changes.add(Tuples.create(dirty, deleted)));
+	}
+
+	private Pair<List<URI>, List<URI>> nextChange() throws InterruptedException {
+		Pair<List<URI>, List<URI>> change = changes.poll(30, TimeUnit.SECONDS);
+		Assert.assertNotNull("no change reported", change);
+		return change;
+	}
+
+	private static URI toURI(Path file) {
+		return URI.createFileURI(file.toAbsolutePath().toString());
+	}
+
+	/** */
+	@Test
+	public void testCreateAndDelete() throws IOException, InterruptedException {
+		Path existing = Files.writeString(tempDir.resolve("existing.n4js"), "");
+		watch();
+
+		Path folder = Files.createDirectory(tempDir.resolve("folder"));
+		Path created = Files.writeString(folder.resolve("created.n4js"), "let x = 1;");
+		Pair<List<URI>, List<URI>> change = nextChange();
+		Assert.assertEquals(List.of(toURI(created)), change.getFirst());
+		Assert.assertEquals(List.of(), change.getSecond());
+
+		Files.delete(existing);
+		change = nextChange();
+		while (change.getSecond().isEmpty()) {
+			// a late modification event of the created file
+			Assert.assertEquals(List.of(toURI(created)), change.getFirst());
+			change = nextChange();
+		}
+		Assert.assertEquals(List.of(), change.getFirst());
+		Assert.assertEquals(List.of(toURI(existing)), change.getSecond());
+	}
+
+	/** */
+	@Test
+	public void testWatchSameRootsAgain() throws IOException, InterruptedException {
+		watch();
+		watch();
+		Path created = Files.writeString(tempDir.resolve("created.n4js"), "");
+		Assert.assertEquals(List.of(toURI(created)), nextChange().getFirst());
+		Thread.sleep(500);
+		Assert.assertTrue("reported twice", changes.isEmpty());
+	}
+}
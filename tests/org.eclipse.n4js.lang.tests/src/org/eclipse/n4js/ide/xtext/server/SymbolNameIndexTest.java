@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.ide.xtext.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.n4js.xtext.ide.server.symbol.SymbolNameIndex;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+/**
+ * Tests for the {@link SymbolNameIndex}.
+ */
+public class SymbolNameIndexTest {
+
+	private final SymbolNameIndex index = Guice.createInjector().getInstance(SymbolNameIndex.class);
+
+	private static IResourceDescription createDescription(String resourceName, String... names) {
+		URI uri = URI.createFileURI("/project/" + resourceName);
+		List<IEObjectDescription> objects = new ArrayList<>();
+		for (String name : names) {
+			InternalEObject proxy = (InternalEObject) EcoreFactory.eINSTANCE.createEObject();
+			proxy.eSetProxyURI(uri.appendFragment(name));
+			objects.add(EObjectDescription.create(QualifiedName.create(resourceName, name), proxy));
+		}
+		return new AbstractResourceDescription() {
+			@Override
+			public URI getURI() {
+				return uri;
+			}
+
+			@Override
+			protected List<IEObjectDescription> computeExportedObjects() {
+				return objects;
+			}
+
+			@Override
+			public Iterable<QualifiedName> getImportedNames() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public Iterable<IReferenceDescription> getReferenceDescriptions() {
+				return Collections.emptyList();
+			}
+		};
+	}
+
+	private void update(IResourceDescription desc) {
+		index.update(desc.getURI(), desc);
+	}
+
+	private List<String> find(String query, int limit) {
+		List<String> result = new ArrayList<>();
+		for (IEObjectDescription object : index.find(query, limit, object -> true, CancelIndicator.NullImpl)) {
+			result.add(object.getQualifiedName().toString());
+		}
+		return result;
+	}
+
+	/** */
+	@Test
+	public void testHumps() {
+		Assert.assertEquals("gfb", SymbolNameIndex.getHumps("getFooBar"));
+		Assert.assertEquals("xhr", SymbolNameIndex.getHumps("XMLHttpRequest"));
+		Assert.assertEquals("mc", SymbolNameIndex.getHumps("MAX_COUNT"));
+		Assert.assertEquals("b2f", SymbolNameIndex.getHumps("base2Foo"));
+	}
+
+	/** */
+	@Test
+	public void testFindByPrefixHumpsAndSubsequence() {
+		update(createDescription("A", "getFooBar", "fooBar", "barFoo", "other"));
+		Assert.assertEquals(List.of("A.getFooBar", "A.fooBar", "A.barFoo"), find("fo", 10));
+		Assert.assertEquals(List.of("A.getFooBar"), find("gfb", 10));
+		Assert.assertEquals(List.of("A.getFooBar"), find("GeFB", 10));
+		Assert.assertEquals(List.of(), find("xyz", 10));
+	}
+
+	/** */
+	@Test
+	public void testLimitPrefersPrefixMatches() {
+		update(createDescription("A", "barFoo", "fooBar"));
+		// the prefix match "fooBar" is found before the sub-sequence match "barFoo"
+		Assert.assertEquals(List.of("A.fooBar"), find("foo", 1));
+		Assert.assertEquals(List.of("A.barFoo", "A.fooBar"), find("foo", 2));
+	}
+
+	/** */
+	@Test
+	public void testFilterIsAppliedAfterLookup() {
+		update(createDescription("A", "fooA"));
+		update(createDescription("B", "fooB"));
+		List<IEObjectDescription> result = index.find("foo", 10,
+				object -> object.getQualifiedName().getFirstSegment().equals("B"), CancelIndicator.NullImpl);
+		Assert.assertEquals(1, result.size());
+		Assert.assertEquals("B.fooB", result.get(0).getQualifiedName().toString());
+	}
+
+	/** */
+	@Test
+	public void testUpdateAndRemove() {
+		update(createDescription("A", "foo"));
+		update(createDescription("B", "fooBar"));
+		Assert.assertEquals(List.of("A.foo", "B.fooBar"), find("foo", 10));
+
+		update(createDescription("A", "bar"));
+		Assert.assertEquals(List.of("B.fooBar"), find("foo", 10));
+		Assert.assertEquals(List.of("A.bar", "B.fooBar"), find("bar", 10));
+
+		index.update(URI.createFileURI("/project/B"), null);
+		Assert.assertEquals(List.of(), find("foo", 10));
+		Assert.assertEquals(1, index.getResourceCount());
+	}
+
+	/** */
+	@Test
+	public void testSubsequenceLookupOnlyChecksNamesContainingAllCharacters() {
+		CountingIndex countingIndex = Guice.createInjector().getInstance(CountingIndex.class);
+		String[] names = new String[1000];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = "name" + i;
+		}
+		countingIndex.update(URI.createFileURI("/project/A"), createDescription("A", names));
+		countingIndex.update(URI.createFileURI("/project/B"), createDescription("B", "xAyBz", "zyx", "xy"));
+
+		List<IEObjectDescription> result = countingIndex.find("xyz", 10, object -> true, CancelIndicator.NullImpl);
+		Assert.assertEquals(1, result.size());
+		Assert.assertEquals("B.xAyBz", result.get(0).getQualifiedName().toString());
+		// only "xaybz" and "zyx" contain all characters of the query
+		Assert.assertEquals(2, countingIndex.matchCount);
+
+		countingIndex.update(URI.createFileURI("/project/B"), null);
+		countingIndex.matchCount = 0;
+		Assert.assertEquals(List.of(), countingIndex.find("xyz", 10, object -> true, CancelIndicator.NullImpl));
+		Assert.assertEquals(0, countingIndex.matchCount);
+	}
+
+	static class CountingIndex extends SymbolNameIndex {
+		int matchCount = 0;
+
+		@Override
+		protected boolean isMatch(String query, String name) {
+			matchCount++;
+			return super.isMatch(query, name);
+		}
+	}
+}
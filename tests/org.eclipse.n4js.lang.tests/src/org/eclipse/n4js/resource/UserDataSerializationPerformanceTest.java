@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.resource;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.n4js.N4JSGlobals;
+import org.eclipse.n4js.N4JSInjectorProvider;
+import org.eclipse.n4js.ts.types.TModule;
+import org.eclipse.n4js.types.utils.TypeUtils;
+import org.eclipse.n4js.utils.UtilN4;
+import org.eclipse.n4js.utils.emf.CompactEObjectCodec;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+/**
+ * Compares the {@link CompactEObjectCodec} used by the {@link UserDataMapper} with the Base64 encoded binary XMI that
+ * was used before. The modules of all N4JS sources and definition files below {@value N4JSGlobals#N4JS_LIBS_FOLDER_NAME}
+ * are serialized; an additional folder of .d.ts files can be given with system property {@value #DTS_CORPUS_PROPERTY}.
+ * <p>
+ * Not run as part of the build (see surefire configuration); sizes and times are printed to standard out.
+ */
+@InjectWith(N4JSInjectorProvider.class)
+@RunWith(XtextRunner.class)
+public class UserDataSerializationPerformanceTest {
+
+	/** Name of the system property that points to an optional folder containing .d.ts files. */
+	public static final String DTS_CORPUS_PROPERTY = "n4js.benchmark.dtsCorpus";
+
+	private static final int RUNS = 10;
+
+	@Inject
+	private Provider<XtextResourceSet> resourceSetProvider;
+
+	@Test
+	public void testN4jsLibs() throws IOException {
+		Path n4jsLibs = UtilN4.findN4jsRepoRootPath().resolve(N4JSGlobals.N4JS_LIBS_SOURCES_PATH);
+		benchmark("n4js-libs", n4jsLibs, N4JSGlobals.N4JS_FILE_EXTENSION, N4JSGlobals.N4JSD_FILE_EXTENSION);
+	}
+
+	@Test
+	public void testDtsCorpus() throws IOException {
+		String corpus = System.getProperty(DTS_CORPUS_PROPERTY);
+		if (corpus == null || !Files.isDirectory(Path.of(corpus))) {
+			System.out.println("skipping .d.ts corpus, set system property " + DTS_CORPUS_PROPERTY);
+			return;
+		}
+		benchmark(".d.ts corpus", Path.of(corpus), N4JSGlobals.DTS_FILE_EXTENSION);
+	}
+
+	private void benchmark(String name, Path root, String... fileExtensions) throws IOException {
+		List<TModule> modules = loadModules(root, fileExtensions);
+		assertTrue("no modules found in " + root, !modules.isEmpty());
+
+		long xmiSize = 0;
+		long compactSize = 0;
+		long xmiWrite = 0;
+		long xmiRead = 0;
+		long compactWrite = 0;
+		long compactRead = 0;
+		for (int run = 0; run < RUNS; run++) {
+			for (TModule module : modules) {
+				URI uri = module.eResource().getURI();
+
+				long start = System.nanoTime();
+				String xmi = writeXMI(module, uri);
+				long written = System.nanoTime();
+				readXMI(xmi, uri);
+				long read = System.nanoTime();
+				xmiWrite += written - start;
+				xmiRead += read - written;
+
+				start = System.nanoTime();
+				byte[] compact = CompactEObjectCodec.encode(TypeUtils.copyWithProxies(module), uri);
+				written = System.nanoTime();
+				CompactEObjectCodec.decode(compact, uri);
+				read = System.nanoTime();
+				compactWrite += written - start;
+				compactRead += read - written;
+
+				if (run == 0) {
+					xmiSize += xmi.length();
+					compactSize += compact.length;
+				}
+			}
+		}
+		System.out.println(String.format("%s: %d modules, %d runs", name, modules.size(), RUNS));
+		System.out.println(String.format("  Base64 binary XMI: %,d bytes, write %,d ms, read %,d ms",
+				xmiSize, xmiWrite / 1_000_000, xmiRead / 1_000_000));
+		System.out.println(String.format("  compact codec:     %,d bytes, write %,d ms, read %,d ms",
+				compactSize, compactWrite / 1_000_000, compactRead / 1_000_000));
+	}
+
+	private List<TModule> loadModules(Path root, String... fileExtensions) throws IOException {
+		List<Path> files;
+		try (Stream<Path> stream = Files.walk(root)) {
+			files = stream
+					.filter(Files::isRegularFile)
+					.filter(p -> p.toString().indexOf("node_modules") < 0)
+					.filter(p -> Stream.of(fileExtensions).anyMatch(ext -> p.toString().endsWith("." + ext)))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+		XtextResourceSet resourceSet = resourceSetProvider.get();
+		List<TModule> modules = new ArrayList<>();
+		for (Path file : files) {
+			Resource resource = resourceSet.getResource(URI.createFileURI(file.toString()), true);
+			if (resource instanceof N4JSResource) {
+				N4JSResource n4jsResource = (N4JSResource) resource;
+				n4jsResource.performPostProcessing(CancelIndicator.NullImpl);
+				TModule module = n4jsResource.getModule();
+				if (module != null) {
+					modules.add(module);
+				}
+			}
+		}
+		return modules;
+	}
+
+	/** The serialization used by the {@link UserDataMapper} before the {@link CompactEObjectCodec} was introduced. */
+	private static String writeXMI(TModule module, URI uri) throws IOException {
+		XMIResourceImpl resource = new XMIResourceImpl(uri);
+		resource.getContents().add(TypeUtils.copyWithProxies(module));
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		resource.save(baos, binaryOptions());
+		return Base64.getEncoder().encodeToString(baos.toByteArray());
+	}
+
+	private static EObject readXMI(String data, URI uri) throws IOException {
+		XMIResourceImpl resource = new XMIResourceImpl(uri);
+		resource.load(new ByteArrayInputStream(Base64.getDecoder().decode(data)), binaryOptions());
+		return resource.getContents().get(0);
+	}
+
+	private static Map<Object, Object> binaryOptions() {
+		return ImmutableMap.of(XMLResource.OPTION_BINARY, Boolean.TRUE);
+	}
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.scoping.builtin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.n4js.N4JSInjectorProvider;
+import org.eclipse.n4js.resource.N4JSResource;
+import org.eclipse.n4js.ts.types.TClass;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.util.UriExtensions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.inject.Inject;
+
+/**
+ * Tests for the {@link BuiltInTypesSnapshot}.
+ */
+@InjectWith(N4JSInjectorProvider.class)
+@RunWith(XtextRunner.class)
+public class BuiltInTypesSnapshotTest {
+
+	@Inject
+	private BuiltInSchemeRegistrar registrar;
+	@Inject
+	private ClassLoader classLoader;
+	@Inject
+	private UriExtensions uriExtensions;
+
+	private BuiltInSchemeResourceSet createBuiltInSchemeResourceSet() {
+		return (BuiltInSchemeResourceSet) new ResourceSetWithBuiltInSchemeProvider(registrar, classLoader,
+				uriExtensions).getResourceSet();
+	}
+
+	/** */
+	@Test
+	public void testWriteAndLoad() throws IOException {
+		BuiltInSchemeResourceSet parsed = createBuiltInSchemeResourceSet();
+		File file = File.createTempFile("builtin_types", ".snapshot");
+		try {
+			BuiltInTypesSnapshotGenerator.generate(parsed, file);
+			byte[] bytes = Files.readAllBytes(file.toPath());
+			BuiltInTypesSnapshot snapshot = BuiltInTypesSnapshot.read(ByteBuffer.wrap(bytes));
+			assertNotNull(snapshot);
+
+			BuiltInSchemeResourceSet loaded = createBuiltInSchemeResourceSet();
+			loaded.setUseSnapshot(false);
+			assertTrue(snapshot.isUpToDate(loaded.getURIConverter()));
+			for (String fileName : BuiltInTypesSnapshot.ALL_FILE_NAMES) {
+				N4JSResource resource = (N4JSResource) loaded.createResource(N4Scheme.N4URI.create(fileName));
+				assertTrue(snapshot.loadResource(resource));
+				assertTrue(BuiltInTypesSnapshot.isLoadedFromSnapshot(resource));
+			}
+
+			BuiltInTypeScope parsedScope = BuiltInTypeScope.get(parsed);
+			BuiltInTypeScope loadedScope = BuiltInTypeScope.get(loaded);
+			assertEquals(parsedScope.getAllElementNames(), loadedScope.getAllElementNames());
+			assertEquals(GlobalObjectScope.get(parsed).getAllElementNames(),
+					GlobalObjectScope.get(loaded).getAllElementNames());
+
+			TClass arrayType = loadedScope.getArrayType();
+			assertSame(loaded, arrayType.eResource().getResourceSet());
+			assertNotNull(arrayType.getDeclaredElementType());
+			assertSame(loadedScope.getStringObjectType(), loadedScope.getStringType().getAutoboxedType());
+
+			for (Resource resource : loaded.getResources()) {
+				assertTrue(resource.isLoaded());
+				// the AST is only parsed on demand
+				assertTrue(((N4JSResource) resource).isLoadedFromDescription());
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	/** */
+	@Test
+	public void testReadOtherFormat() {
+		ByteBuffer otherVersion = ByteBuffer.allocate(12);
+		otherVersion.putInt(0, BuiltInTypesSnapshot.MAGIC);
+		otherVersion.putInt(4, BuiltInTypesSnapshot.VERSION + 1);
+		assertNull(read(otherVersion));
+		assertNull(read(ByteBuffer.allocate(12)));
+
+		ByteBuffer truncated = ByteBuffer.allocate(12);
+		truncated.putInt(0, BuiltInTypesSnapshot.MAGIC);
+		truncated.putInt(4, BuiltInTypesSnapshot.VERSION);
+		truncated.putInt(8, 1);
+		assertThrows(IOException.class, () -> BuiltInTypesSnapshot.read(truncated));
+	}
+
+	private static BuiltInTypesSnapshot read(ByteBuffer buffer) {
+		try {
+			return BuiltInTypesSnapshot.read(buffer);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/** */
+	@Test
+	public void testStaleSnapshotIsNotUsed() throws IOException {
+		BuiltInSchemeResourceSet parsed = createBuiltInSchemeResourceSet();
+		File file = File.createTempFile("builtin_types", ".snapshot");
+		try {
+			BuiltInTypesSnapshotGenerator.generate(parsed, file);
+			byte[] bytes = Files.readAllBytes(file.toPath());
+			// the source hashes are hex strings following the file names
+			String content = new String(bytes, StandardCharsets.ISO_8859_1);
+			String fileName = BuiltInTypeScope.PRIMITIVES_N4JSD;
+			int hashStart = content.indexOf(fileName) + fileName.length() + 4;
+			bytes[hashStart] = (byte) (bytes[hashStart] == '0' ? '1' : '0');
+
+			BuiltInTypesSnapshot snapshot = BuiltInTypesSnapshot.read(ByteBuffer.wrap(bytes));
+			assertNotNull(snapshot);
+			assertFalse(snapshot.isUpToDate(createBuiltInSchemeResourceSet().getURIConverter()));
+		} finally {
+			file.delete();
+		}
+	}
+
+	/** */
+	@Test
+	public void testSnapshotOfOtherGeneratorIsNotUsed() throws IOException {
+		BuiltInSchemeResourceSet parsed = createBuiltInSchemeResourceSet();
+		File file = File.createTempFile("builtin_types", ".snapshot");
+		try {
+			BuiltInTypesSnapshotGenerator.generate(parsed, file);
+			byte[] bytes = Files.readAllBytes(file.toPath());
+			// the generator hash is a hex string following the magic number and the version
+			int hashStart = 4 + 4 + 4;
+			bytes[hashStart] = (byte) (bytes[hashStart] == '0' ? '1' : '0');
+
+			BuiltInTypesSnapshot snapshot = BuiltInTypesSnapshot.read(ByteBuffer.wrap(bytes));
+			assertNotNull(snapshot);
+			assertFalse(snapshot.isUpToDate(createBuiltInSchemeResourceSet().getURIConverter()));
+		} finally {
+			file.delete();
+		}
+	}
+}
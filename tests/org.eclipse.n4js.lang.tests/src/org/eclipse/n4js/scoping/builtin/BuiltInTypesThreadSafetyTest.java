@@ -21,6 +21,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.n4js.N4JSInjectorProvider;
 import org.eclipse.n4js.N4JSStandaloneTestsModule;
 import org.eclipse.n4js.ts.types.TClass;
@@ -127,6 +128,21 @@ public class BuiltInTypesThreadSafetyTest {
 		public Class<? extends N4JSTypesBuilder> bindN4JSTypesBuilder() {
 			return MyTypesBuilder.class;
 		}
+
+		@SuppressWarnings("unused")
+		public Class<? extends BuiltInSchemeRegistrar> bindBuiltInSchemeRegistrar() {
+			return MyScopeRegistrar.class;
+		}
+	}
+
+	/** Parses the built-in types, since the types builder is not used when loading them from the snapshot. */
+	private static final class MyScopeRegistrar extends ScopeRegistrar {
+
+		@Override
+		public void registerScheme(ResourceSet builtInSchemeResourceSet) {
+			((BuiltInSchemeResourceSet) builtInSchemeResourceSet).setUseSnapshot(false);
+			super.registerScheme(builtInSchemeResourceSet);
+		}
 	}
 
 	private static final class MyTypesBuilder extends N4JSTypesBuilder {
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.tests.xtext.workspace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.utils.URIUtils;
+import org.eclipse.n4js.xtext.workspace.PathTrie;
+import org.junit.Test;
+
+/**
+ * Tests for class {@link PathTrie}.
+ */
+public class PathTrieTest {
+
+	private final Map<URI, String> map = Map.of(
+			URI.createFileURI("/ws/a"), "a",
+			URI.createFileURI("/ws/a/node_modules/b"), "b",
+			URI.createFileURI("/ws/c"), "c",
+			URI.createURI("other:/ws/d"), "d");
+
+	private final PathTrie<String> trie = new PathTrie<>(map);
+
+	/** */
+	@Test
+	public void testFindByNestedURI() {
+		assertEquals("a", trie.findByNestedURI(URI.createFileURI("/ws/a")));
+		assertEquals("a", trie.findByNestedURI(URI.createFileURI("/ws/a/")));
+		assertEquals("a", trie.findByNestedURI(URI.createFileURI("/ws/a/src/A.n4js")));
+		assertEquals("a", trie.findByNestedURI(URI.createURI("file:/ws/a/src/A.n4js#/1")));
+		assertEquals("a", trie.findByNestedURI(URI.createFileURI("/ws/a/node_modules/bb/B.js")));
+		assertEquals("b", trie.findByNestedURI(URI.createFileURI("/ws/a/node_modules/b/B.js")));
+		assertEquals("c", trie.findByNestedURI(URI.createFileURI("/ws/c/C.n4js")));
+		assertEquals("d", trie.findByNestedURI(URI.createURI("other:/ws/d/D.n4js")));
+	}
+
+	/** */
+	@Test
+	public void testNotFound() {
+		assertNull(trie.findByNestedURI(URI.createFileURI("/ws")));
+		assertNull(trie.findByNestedURI(URI.createFileURI("/ws/ab/A.n4js")));
+		assertNull(trie.findByNestedURI(URI.createURI("other:/ws/a/A.n4js")));
+		assertNull(trie.findByNestedURI(URI.createURI("file://host/ws/a/A.n4js")));
+		assertNull(trie.findByNestedURI(URI.createURI("file:ws/a/A.n4js")));
+		assertNull(trie.findByNestedURI(URI.createURI("mailto:someone@ws")));
+	}
+
+	/** Compares the results with those of {@link URIUtils#findInMapByNestedURI(Map, URI)}. */
+	@Test
+	public void testSameAsFindInMapByNestedURI() {
+		String[] paths = { "/", "/ws", "/ws/a/", "/ws/a/src/x/y.n4js", "/ws/a/node_modules/b",
+				"/ws/a/node_modules/b/c/", "/ws/c/../a/A.n4js", "/ws/cc" };
+		for (String path : paths) {
+			URI uri = URI.createFileURI(path);
+			assertEquals(path, URIUtils.findInMapByNestedURI(map, uri), trie.findByNestedURI(uri));
+		}
+	}
+}
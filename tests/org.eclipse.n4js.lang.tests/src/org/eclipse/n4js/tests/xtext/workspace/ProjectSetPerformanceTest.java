@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.tests.xtext.workspace;
+
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.n4js.utils.URIUtils;
+import org.eclipse.n4js.xtext.workspace.ProjectConfigSnapshot;
+import org.eclipse.n4js.xtext.workspace.ProjectSet;
+import org.eclipse.n4js.xtext.workspace.SourceFolderSnapshot;
+import org.eclipse.xtext.util.UriUtil;
+import org.junit.Test;
+
+/**
+ * Measures the throughput of {@link ProjectSet#findProjectContaining(URI)} in a workspace with several hundred projects
+ * and compares it with the former lookup via {@link URIUtils#findInMapByNestedURI(Map, URI)}. The results are printed
+ * to standard out.
+ * <p>
+ * Not run as part of the build (see surefire configuration).
+ */
+@SuppressWarnings("restriction")
+public class ProjectSetPerformanceTest {
+
+	private static final int PROJECTS = 500;
+	private static final int FILES_PER_PROJECT = 20;
+	private static final int WARMUP_ITERATIONS = 20;
+	private static final int MEASURE_ITERATIONS = 100;
+
+	/** */
+	@Test
+	public void testFindProjectContaining() {
+		List<ProjectConfigSnapshot> projects = new ArrayList<>();
+		Map<URI, ProjectConfigSnapshot> sourceFolderPath2Project = new HashMap<>();
+		List<URI> files = new ArrayList<>();
+		for (int p = 0; p < PROJECTS; p++) {
+			URI projectPath = URI.createFileURI("/workspace/packages/group" + (p % 10) + "/project" + p);
+			URI srcPath = projectPath.appendSegments(new String[] { "src", "" });
+			SourceFolderSnapshot src = new SourceFolderSnapshot("src", srcPath);
+			ProjectConfigSnapshot project = new ProjectConfigSnapshot("project" + p, projectPath,
+					Collections.emptyList(), false, true, Collections.emptyList(), Collections.singleton(src));
+			projects.add(project);
+			sourceFolderPath2Project.put(URIUtils.trimTrailingPathSeparator(srcPath), project);
+			for (int f = 0; f < FILES_PER_PROJECT; f++) {
+				files.add(srcPath.appendSegments(new String[] { "a", "b", "File" + f + ".n4js" }));
+			}
+		}
+		ProjectSet projectSet = new ProjectSet(projects);
+
+		Function<URI, ProjectConfigSnapshot> mapLookup = uri -> {
+			ProjectConfigSnapshot candidate = URIUtils.findInMapByNestedURI(sourceFolderPath2Project, uri);
+			if (candidate != null) {
+				for (SourceFolderSnapshot sourceFolder : candidate.getSourceFolders()) {
+					if (UriUtil.isPrefixOf(sourceFolder.getPath(), uri)) {
+						return candidate;
+					}
+				}
+			}
+			return null;
+		};
+		for (URI file : files) {
+			assertSame(mapLookup.apply(file), projectSet.findProjectContaining(file));
+		}
+
+		measure("map", files, mapLookup);
+		measure("trie", files, projectSet::findProjectContaining);
+	}
+
+	private void measure(String label, List<URI> files, Function<URI, ProjectConfigSnapshot> lookup) {
+		int found = 0;
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			for (URI file : files) {
+				found += lookup.apply(file) != null ? 1 : 0;
+			}
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+			for (URI file : files) {
+				found += lookup.apply(file) != null ? 1 : 0;
+			}
+		}
+		long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		System.out.println(String.format("%s: %s: %,d lookups/ms (%d found)", getClass().getSimpleName(), label,
+				(long) MEASURE_ITERATIONS * files.size() / millis, found));
+	}
+}
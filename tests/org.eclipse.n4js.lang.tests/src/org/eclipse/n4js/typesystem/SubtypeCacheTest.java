@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.typesystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import org.eclipse.n4js.ts.typeRefs.ParameterizedTypeRef;
+import org.eclipse.n4js.ts.typeRefs.TypeRef;
+import org.eclipse.n4js.ts.typeRefs.TypeRefsFactory;
+import org.eclipse.n4js.ts.typeRefs.UnionTypeExpression;
+import org.eclipse.n4js.ts.types.TClass;
+import org.eclipse.n4js.ts.types.TypeVariable;
+import org.eclipse.n4js.ts.types.TypesFactory;
+import org.eclipse.n4js.ts.types.TypingStrategy;
+import org.eclipse.n4js.typesystem.utils.Result;
+import org.eclipse.n4js.typesystem.utils.RuleEnvironment;
+import org.junit.Test;
+
+/**
+ * Tests for the cache keys and the eviction of the {@link SubtypeCache}.
+ */
+public class SubtypeCacheTest {
+
+	private final TClass a = createClass("A");
+	private final TClass b = createClass("B");
+
+	private static TClass createClass(String name) {
+		TClass result = TypesFactory.eINSTANCE.createTClass();
+		result.setName(name);
+		return result;
+	}
+
+	private static ParameterizedTypeRef ref(TClass type, TypeRef... typeArgs) {
+		ParameterizedTypeRef result = TypeRefsFactory.eINSTANCE.createParameterizedTypeRef();
+		result.setDeclaredType(type);
+		for (TypeRef typeArg : typeArgs) {
+			result.getDeclaredTypeArgs().add(typeArg);
+		}
+		return result;
+	}
+
+	@Test
+	public void testEqualTypeRefsHaveEqualKeys() {
+		RuleEnvironment G = new RuleEnvironment();
+		Object key1 = SubtypeCache.createKey(G, ref(a), ref(b));
+		Object key2 = SubtypeCache.createKey(G, ref(a), ref(b));
+		assertNotNull(key1);
+		assertEquals(key1, key2);
+		assertNotEquals(key1, SubtypeCache.createKey(G, ref(b), ref(a)));
+
+		ParameterizedTypeRef dynamicA = ref(a);
+		dynamicA.setDynamic(true);
+		assertNotEquals(key1, SubtypeCache.createKey(G, dynamicA, ref(b)));
+	}
+
+	@Test
+	public void testUnions() {
+		RuleEnvironment G = new RuleEnvironment();
+		UnionTypeExpression union1 = TypeRefsFactory.eINSTANCE.createUnionTypeExpression();
+		union1.getTypeRefs().add(ref(a));
+		union1.getTypeRefs().add(ref(b));
+		UnionTypeExpression union2 = TypeRefsFactory.eINSTANCE.createUnionTypeExpression();
+		union2.getTypeRefs().add(ref(a));
+		union2.getTypeRefs().add(ref(b));
+		assertNotNull(SubtypeCache.createKey(G, union1, ref(a)));
+		assertEquals(SubtypeCache.createKey(G, union1, ref(a)), SubtypeCache.createKey(G, union2, ref(a)));
+	}
+
+	@Test
+	public void testNotCacheable() {
+		RuleEnvironment G = new RuleEnvironment();
+
+		TypeVariable typeVar = TypesFactory.eINSTANCE.createTypeVariable();
+		ParameterizedTypeRef typeVarRef = TypeRefsFactory.eINSTANCE.createParameterizedTypeRef();
+		typeVarRef.setDeclaredType(typeVar);
+		assertNull(SubtypeCache.createKey(G, typeVarRef, ref(a)));
+		assertNull(SubtypeCache.createKey(G, ref(a, typeVarRef), ref(a)));
+
+		ParameterizedTypeRef structural = ref(b);
+		structural.setDefinedTypingStrategy(TypingStrategy.STRUCTURAL);
+		assertNull(SubtypeCache.createKey(G, ref(a), structural));
+
+		assertNull(SubtypeCache.createKey(G, ref(a), TypeRefsFactory.eINSTANCE.createWildcard()));
+
+		RuleEnvironment G2 = new RuleEnvironment(G);
+		G2.put("guard", Boolean.TRUE);
+		assertNull(SubtypeCache.createKey(G2, ref(a), ref(b)));
+	}
+
+	@Test
+	public void testKeysDoNotKeepTypesReachable() {
+		RuleEnvironment G = new RuleEnvironment();
+		SubtypeCache cache = new SubtypeCache();
+		TClass c = createClass("C");
+		WeakReference<TClass> ref = new WeakReference<>(c);
+		cache.put(SubtypeCache.createKey(G, ref(c), ref(a)), Result.success());
+		c = null;
+		assertTrue("expected type C to be garbage collected", awaitCollected(ref));
+	}
+
+	@Test
+	public void testStaleEntriesRemovedWhenFull() {
+		RuleEnvironment G = new RuleEnvironment();
+		SubtypeCache cache = new SubtypeCache();
+		List<Object> liveKey = SubtypeCache.createKey(G, ref(a), ref(b));
+		cache.put(liveKey, Result.success());
+		WeakReference<TClass> lastRef = null;
+		for (int i = cache.size(); i < SubtypeCache.MAX_SIZE; i++) {
+			TClass c = createClass("C" + i);
+			lastRef = new WeakReference<>(c);
+			cache.put(SubtypeCache.createKey(G, ref(c), ref(a)), Result.success());
+		}
+		assertTrue("expected the types C<n> to be garbage collected", awaitCollected(lastRef));
+
+		cache.put(SubtypeCache.createKey(G, ref(b), ref(a)), Result.success());
+		assertEquals(2, cache.size());
+		assertNotNull(cache.get(liveKey));
+	}
+
+	private static boolean awaitCollected(WeakReference<?> ref) {
+		for (int i = 0; i < 20 && ref.get() != null; i++) {
+			System.gc();
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return ref.get() == null;
+	}
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.typesystem.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.n4js.ts.types.TypeVariable;
+import org.eclipse.n4js.ts.types.TypesFactory;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.junit.Test;
+
+/**
+ * Tests for the persistent entries of {@link RuleEnvironment}.
+ */
+public class RuleEnvironmentTest {
+
+	@Test
+	public void testWrappedEnvironmentsAreIndependent() {
+		RuleEnvironment G = new RuleEnvironment();
+		G.put("a", 1);
+		RuleEnvironment G2 = new RuleEnvironment(G);
+		G2.put("b", 2);
+		G2.put("a", 3);
+		G.put("c", 4);
+
+		assertEquals(1, G.get("a"));
+		assertNull(G.get("b"));
+		assertEquals(4, G.get("c"));
+		assertEquals(3, G2.get("a"));
+		assertEquals(2, G2.get("b"));
+		assertNull(G2.get("c"));
+	}
+
+	@Test
+	public void testCheckExist() {
+		RuleEnvironment G = new RuleEnvironment();
+		assertTrue(G.put("a", null, true));
+		RuleEnvironment G2 = new RuleEnvironment(G);
+		assertFalse(G2.put("a", 1, true));
+		assertNull(G2.get("a"));
+		assertTrue(G2.put("b", 1, true));
+	}
+
+	@Test
+	public void testCompaction() {
+		RuleEnvironment G = new RuleEnvironment();
+		int count = RuleEnvironment.MAX_CHAIN_LENGTH * 3 + 1;
+		for (int i = 0; i < count; i++) {
+			G = new RuleEnvironment(G);
+			G.put("key" + i, i);
+			G.put("key" + (i / 2), -i);
+		}
+		for (int i = 0; i < count; i++) {
+			Object expected = i <= (count - 1) / 2 ? -Math.min(2 * i + 1, count - 1) : i;
+			assertEquals("key" + i, expected, G.get("key" + i));
+		}
+		assertFalse(G.put("key0", 0, true));
+		assertEquals(count, G.getEnvironment().size());
+		assertEquals(List.of("key0", "key1", "key2"), List.copyOf(G.getEnvironment().keySet()).subList(0, 3));
+	}
+
+	@Test
+	public void testTypeMappings() {
+		TypeVariable T = TypesFactory.eINSTANCE.createTypeVariable();
+		TypeVariable U = TypesFactory.eINSTANCE.createTypeVariable();
+		RuleEnvironment G = new RuleEnvironment();
+		G.put("a", 1);
+		G.put(T, "t");
+		RuleEnvironment G2 = new RuleEnvironment(G);
+		G2.put(U, "u");
+
+		assertEquals("t", G2.get(T));
+		assertEquals(Map.of(T, "t", U, "u"), G2.getTypeMappings());
+		assertEquals(Map.of(T, "t"), G.getTypeMappings());
+		assertEquals(Map.of("a", 1, T, "t", U, "u"), G2.getEnvironment());
+	}
+
+	@Test
+	public void testContextResourceAndCancelIndicator() {
+		Resource resource = new ResourceImpl(URI.createURI("test.n4js"));
+		CancelIndicator cancelIndicator = () -> false;
+		RuleEnvironment G = new RuleEnvironment();
+		G.setContextResource(resource);
+		G.put(RuleEnvironment.CANCEL_INDICATOR_KEY, cancelIndicator);
+		RuleEnvironment G2 = new RuleEnvironment(G);
+
+		assertSame(resource, G2.get(Resource.class));
+		assertSame(cancelIndicator, G2.getCancelIndicator());
+		assertFalse(G2.put(Resource.class, null, true));
+		assertTrue(G2.isEmpty());
+		assertEquals(Map.of(Resource.class, resource, RuleEnvironment.CANCEL_INDICATOR_KEY, cancelIndicator),
+				G2.getEnvironment());
+	}
+}
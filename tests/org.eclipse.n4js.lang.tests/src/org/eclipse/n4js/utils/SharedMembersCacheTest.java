@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.n4js.ts.types.TClass;
+import org.eclipse.n4js.ts.types.TField;
+import org.eclipse.n4js.ts.types.TMember;
+import org.eclipse.n4js.ts.types.TypesFactory;
+import org.eclipse.n4js.ts.types.util.MemberList;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link SharedMembersCache}.
+ */
+public class SharedMembersCacheTest {
+
+	private final ResourceSet resourceSet = new ResourceSetImpl();
+	private final Resource resourceA = createResource("A");
+	private final Resource resourceB = createResource("B");
+	private final TClass a = createClass("A", resourceA);
+	private final TClass b = createClass("B", resourceB);
+
+	private static URI uri(String name) {
+		return URI.createFileURI("/project/" + name);
+	}
+
+	private Resource createResource(String name) {
+		Resource result = new ResourceImpl(uri(name));
+		resourceSet.getResources().add(result);
+		return result;
+	}
+
+	private static TClass createClass(String name, Resource resource) {
+		TClass result = TypesFactory.eINSTANCE.createTClass();
+		result.setName(name);
+		TField field = TypesFactory.eINSTANCE.createTField();
+		field.setName("f" + name);
+		result.getOwnedMembers().add(field);
+		resource.getContents().add(result);
+		return result;
+	}
+
+	private static MemberList<TMember> members(TClass type) {
+		return new MemberList<>(type.getOwnedMembers());
+	}
+
+	private static List<Object> key(TClass type) {
+		return List.of(type, "project", true);
+	}
+
+	private static IResourceDescription createDescription(String name, String... exportedNames) {
+		URI uri = uri(name);
+		TClass exported = TypesFactory.eINSTANCE.createTClass();
+		return new AbstractResourceDescription() {
+			@Override
+			public URI getURI() {
+				return uri;
+			}
+
+			@Override
+			protected List<IEObjectDescription> computeExportedObjects() {
+				List<IEObjectDescription> result = new ArrayList<>();
+				for (String exportedName : exportedNames) {
+					result.add(EObjectDescription.create(QualifiedName.create(exportedName), exported));
+				}
+				return result;
+			}
+
+			@Override
+			public Iterable<QualifiedName> getImportedNames() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public Iterable<IReferenceDescription> getReferenceDescriptions() {
+				return Collections.emptyList();
+			}
+		};
+	}
+
+	/** */
+	@Test
+	public void testPutAndGet() {
+		SharedMembersCache cache = SharedMembersCache.getOrInstall(resourceSet);
+		assertSame(cache, SharedMembersCache.getOrInstall(resourceSet));
+		assertNull(cache.get(key(a)));
+
+		MemberList<TMember> cached = cache.put(key(a), members(a), Set.of(resourceA.getURI()), Set.of());
+		assertEquals(members(a), cached);
+		assertSame(cached, cache.get(key(a)).members);
+		assertNull(cache.get(List.of(a, "otherProject", true)));
+		assertThrows(IllegalStateException.class, () -> cached.add(b.getOwnedMembers().get(0)));
+	}
+
+	/** */
+	@Test
+	public void testRemoveResource() {
+		SharedMembersCache cache = SharedMembersCache.getOrInstall(resourceSet);
+		cache.put(key(a), members(a), Set.of(resourceA.getURI()), Set.of());
+		cache.put(key(b), members(b), Set.of(resourceA.getURI(), resourceB.getURI()), Set.of());
+
+		resourceSet.getResources().remove(resourceB);
+		assertNotNull(cache.get(key(a)));
+		assertNull(cache.get(key(b)));
+
+		resourceSet.getResources().clear();
+		assertEquals(0, cache.size());
+	}
+
+	/** */
+	@Test
+	public void testInvalidateByDeltas() {
+		SharedMembersCache cache = SharedMembersCache.getOrInstall(resourceSet);
+		QualifiedName polyfillName = QualifiedName.create("Poly");
+		cache.put(key(a), members(a), Set.of(resourceA.getURI()), Set.of(polyfillName.toLowerCase()));
+		cache.put(key(b), members(b), Set.of(resourceB.getURI()), Set.of());
+
+		SharedMembersCache.invalidate(resourceSet, List.of(
+				new DefaultResourceDescriptionDelta(null, createDescription("C", "Other"))));
+		assertEquals(2, cache.size());
+
+		SharedMembersCache.invalidate(resourceSet, List.of(
+				new DefaultResourceDescriptionDelta(null, createDescription("C", "Poly"))));
+		assertNull(cache.get(key(a)));
+		assertNotNull(cache.get(key(b)));
+
+		SharedMembersCache.invalidate(resourceSet, List.of(
+				new DefaultResourceDescriptionDelta(createDescription("B"), null)));
+		assertEquals(0, cache.size());
+	}
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.n4js.N4JSInjectorProvider;
+import org.eclipse.n4js.ts.types.TClass;
+import org.eclipse.n4js.ts.types.TypesFactory;
+import org.eclipse.n4js.ts.types.TypesPackage;
+import org.eclipse.n4js.utils.UtilN4;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.validation.AbstractDeclarativeValidator;
+import org.eclipse.xtext.validation.AbstractDeclarativeValidator.State;
+import org.eclipse.xtext.validation.Check;
+import org.eclipse.xtext.validation.CheckMode;
+import org.eclipse.xtext.validation.IResourceValidator;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+/**
+ * Measures the invocation of check methods through a {@link CheckMethodInvoker} compared with the reflective
+ * invocation via MethodWrapper#invoke(State), and the validation of the N4JS
+ * files of the spec tests corpus ({@value #SPEC_TESTS_PATH}). Run the latter on two revisions to compare them.
+ * <p>
+ * Not run as part of the build (see surefire configuration). Results are printed to standard out.
+ */
+@RunWith(XtextRunner.class)
+@InjectWith(N4JSInjectorProvider.class)
+public class CheckMethodInvokerPerformanceTest {
+
+	/** Location of the spec tests corpus relative to the root of the N4JS repository. */
+	public static final String SPEC_TESTS_PATH = "tests/org.eclipse.n4js.spec.tests/xt-tests";
+
+	private static final int WARMUP = 5;
+	private static final int RUNS = 20;
+	private static final int CALLS = 1_000_000;
+
+	/** Validator with a trivial check method, so that the invocation overhead dominates. */
+	public static class TrivialValidator extends AbstractDeclarativeValidator {
+		int count;
+		private MethodWrapper wrapper;
+
+		/** Counts its invocations. */
+		@Check
+		public void checkClass(@SuppressWarnings("unused") TClass clazz) {
+			count++;
+		}
+
+		/** Invokes the given check method reflectively, as done by Xtext. */
+		void invokeReflectively(Method method, State state) {
+			if (wrapper == null) {
+				wrapper = createMethodWrapper(this, method);
+			}
+			wrapper.invoke(state);
+		}
+
+		@Override
+		protected List<EPackage> getEPackages() {
+			return List.of(TypesPackage.eINSTANCE);
+		}
+	}
+
+	@Inject
+	private Provider<XtextResourceSet> resourceSetProvider;
+
+	@Inject
+	private IResourceValidator resourceValidator;
+
+	/** Compares the invocation of a trivial check method through a method handle with the reflective invocation. */
+	@Test
+	public void testCheckMethodDispatch() throws NoSuchMethodException {
+		TrivialValidator validator = new TrivialValidator();
+		Method method = TrivialValidator.class.getMethod("checkClass", TClass.class);
+		CheckMethodInvoker invoker = CheckMethodInvoker.create(validator, method);
+		assertNotNull(invoker);
+		State state = new State();
+		state.chain = new BasicDiagnostic();
+		state.currentObject = TypesFactory.eINSTANCE.createTClass();
+		state.checkMode = CheckMode.ALL;
+		state.context = new HashMap<>();
+		CheckMethodInvoker.ExceptionHandler exceptionHandler = (targetException, s) -> {
+			throw new AssertionError(targetException);
+		};
+
+		long reflective = 0;
+		long handle = 0;
+		for (int i = 0; i < WARMUP + RUNS; i++) {
+			long start = System.nanoTime();
+			for (int j = 0; j < CALLS; j++) {
+				validator.invokeReflectively(method, state);
+			}
+			long reflected = System.nanoTime();
+			for (int j = 0; j < CALLS; j++) {
+				invoker.invoke(state, exceptionHandler);
+			}
+			if (i >= WARMUP) {
+				reflective += reflected - start;
+				handle += System.nanoTime() - reflected;
+			}
+		}
+		assertEquals(2 * (WARMUP + RUNS) * CALLS, validator.count);
+
+		System.out.println(String.format("%s: %,d ns/call reflective, %,d ns/call method handle",
+				getClass().getSimpleName(), reflective / RUNS / CALLS, handle / RUNS / CALLS));
+	}
+
+	/**
+	 * Validates all N4JS files of the spec tests corpus. The files are validated in isolation, i.e. without the other
+	 * files of their test project, so unresolved imports are reported as well; only the time is relevant here.
+	 */
+	@Test
+	public void testSpecTestsCorpus() throws IOException {
+		Path root = UtilN4.findN4jsRepoRootPath().resolve(SPEC_TESTS_PATH);
+		Map<URI, byte[]> files = loadFiles(root);
+		assertTrue("no files found in " + root, !files.isEmpty());
+
+		for (int i = 0; i < WARMUP; i++) {
+			validateAll(files);
+		}
+		long time = 0;
+		for (int i = 0; i < RUNS; i++) {
+			time += validateAll(files);
+		}
+
+		System.out.println(String.format("%s: %,d files, %,d ms/run to validate", getClass().getSimpleName(),
+				files.size(), time / RUNS / 1_000_000));
+	}
+
+	/** Returns the contents of all N4JS files of the corpus, by the URI of the file without its xt extension. */
+	private static Map<URI, byte[]> loadFiles(Path root) throws IOException {
+		List<Path> files;
+		try (Stream<Path> stream = Files.walk(root)) {
+			files = stream
+					.filter(Files::isRegularFile)
+					.filter(p -> p.toString().endsWith(".n4js.xt"))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+		Map<URI, byte[]> result = new LinkedHashMap<>();
+		for (Path file : files) {
+			URI uri = URI.createFileURI(file.toString()).trimFileExtension();
+			result.put(uri, Files.readAllBytes(file));
+		}
+		return result;
+	}
+
+	/** Parses all files into a new resource set and returns the nanoseconds spent to validate them. */
+	private long validateAll(Map<URI, byte[]> files) throws IOException {
+		XtextResourceSet resourceSet = resourceSetProvider.get();
+		long time = 0;
+		for (Map.Entry<URI, byte[]> entry : files.entrySet()) {
+			Resource resource = resourceSet.createResource(entry.getKey());
+			resource.load(new ByteArrayInputStream(entry.getValue()), null);
+			long start = System.nanoTime();
+			resourceValidator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
+			time += System.nanoTime() - start;
+		}
+		return time;
+	}
+}
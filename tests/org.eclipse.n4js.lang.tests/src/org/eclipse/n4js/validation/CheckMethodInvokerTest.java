@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.n4js.ts.types.TClass;
+import org.eclipse.n4js.ts.types.TypesFactory;
+import org.eclipse.n4js.ts.types.TypesPackage;
+import org.eclipse.xtext.validation.AbstractDeclarativeValidator;
+import org.eclipse.xtext.validation.AbstractDeclarativeValidator.State;
+import org.eclipse.xtext.validation.Check;
+import org.eclipse.xtext.validation.CheckMode;
+import org.eclipse.xtext.validation.CheckType;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link CheckMethodInvoker}.
+ */
+public class CheckMethodInvokerTest {
+
+	/** Validator with check methods recording their invocations. */
+	public static class TestValidator extends AbstractDeclarativeValidator {
+		final List<EObject> checked = new ArrayList<>();
+
+		/** Reports an error on each class. */
+		@Check
+		public void checkClass(TClass clazz) {
+			checked.add(clazz);
+			error("class", TypesPackage.Literals.IDENTIFIABLE_ELEMENT__NAME);
+		}
+
+		/** Only invoked in check mode {@link CheckMode#EXPENSIVE_ONLY expensive}. */
+		@Check(CheckType.EXPENSIVE)
+		public void checkExpensive(TClass clazz) {
+			checked.add(clazz);
+		}
+
+		/** Throws an exception. */
+		@Check
+		public void checkFailing(@SuppressWarnings("unused") TClass clazz) {
+			throw new IllegalStateException("failing check");
+		}
+
+		/** Not a check method. */
+		public void noCheck(@SuppressWarnings("unused") TClass clazz) {
+			// empty
+		}
+
+		@Override
+		protected List<EPackage> getEPackages() {
+			return List.of(TypesPackage.eINSTANCE);
+		}
+	}
+
+	private final TestValidator validator = new TestValidator();
+	private final TClass clazz = TypesFactory.eINSTANCE.createTClass();
+	private final List<Throwable> exceptions = new ArrayList<>();
+
+	private CheckMethodInvoker createInvoker(String methodName) throws NoSuchMethodException {
+		Method method = TestValidator.class.getMethod(methodName, TClass.class);
+		return CheckMethodInvoker.create(validator, method);
+	}
+
+	private State createState(CheckMode checkMode) {
+		State state = new State();
+		state.chain = new BasicDiagnostic();
+		state.currentObject = clazz;
+		state.checkMode = checkMode;
+		state.context = new HashMap<>();
+		return state;
+	}
+
+	private void invoke(CheckMethodInvoker invoker, State state) {
+		invoker.invoke(state, (targetException, s) -> exceptions.add(targetException));
+	}
+
+	/** */
+	@Test
+	public void testInvoke() throws NoSuchMethodException {
+		CheckMethodInvoker invoker = createInvoker("checkClass");
+		assertNotNull(invoker);
+		State state = createState(CheckMode.ALL);
+		invoke(invoker, state);
+
+		assertEquals(List.of(clazz), validator.checked);
+		assertSame(invoker.getMethod(), state.currentMethod);
+		assertEquals(CheckType.FAST, state.currentCheckType);
+		// the error was reported via the state assigned during the invocation
+		assertEquals(1, ((BasicDiagnostic) state.chain).getChildren().size());
+		assertTrue(exceptions.isEmpty());
+		// the state was removed afterwards
+		assertThrows(NullPointerException.class, () -> validator.checkClass(clazz));
+	}
+
+	/** */
+	@Test
+	public void testCheckMode() throws NoSuchMethodException {
+		CheckMethodInvoker invoker = createInvoker("checkExpensive");
+		invoke(invoker, createState(CheckMode.NORMAL_AND_FAST));
+		assertTrue(validator.checked.isEmpty());
+		invoke(invoker, createState(CheckMode.EXPENSIVE_ONLY));
+		assertEquals(List.of(clazz), validator.checked);
+	}
+
+	/** */
+	@Test
+	public void testExceptionIsHandled() throws NoSuchMethodException {
+		invoke(createInvoker("checkFailing"), createState(CheckMode.ALL));
+		assertEquals(1, exceptions.size());
+		assertEquals("failing check", exceptions.get(0).getMessage());
+	}
+
+	/** */
+	@Test
+	public void testNoCheckMethod() throws NoSuchMethodException {
+		assertNull(createInvoker("noCheck"));
+	}
+
+	/** */
+	@Test
+	public void testDataCollectorIsReused() throws NoSuchMethodException {
+		CheckMethodInvoker invoker = createInvoker("checkClass");
+		assertSame(invoker.getDataCollector(), invoker.getDataCollector());
+		assertEquals("checkClass", invoker.getDataCollector().getId());
+	}
+}
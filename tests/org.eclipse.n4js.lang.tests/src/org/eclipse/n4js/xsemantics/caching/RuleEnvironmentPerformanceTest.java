@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.xsemantics.caching;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import org.eclipse.n4js.N4JSInjectorProvider;
+import org.eclipse.n4js.typesystem.utils.RuleEnvironment;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures allocation rate and throughput of type checking code that makes heavy use of generics, i.e. of
+ * {@link RuleEnvironment#RuleEnvironment(RuleEnvironment) wrapped} rule environments with type variable mappings. Run
+ * on two revisions to compare them; the results are printed to standard out.
+ * <p>
+ * Not run as part of the build (see surefire configuration).
+ */
+@RunWith(XtextRunner.class)
+@InjectWith(N4JSInjectorProvider.class)
+public class RuleEnvironmentPerformanceTest extends AbstractTypesystemForPerformanceTest {
+
+	private static final int WARMUP = 5;
+	private static final int RUNS = 20;
+
+	@Test
+	public void testGenericCallsAndSubtyping() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("""
+				class A<T> { t: T; m<S>(s: S): A<S> { return null; } }
+				class B<T> extends A<T> {}
+				class C<T, U> extends B<U> { u: U; }
+				function f<X, Y>(x: X, y: Y): C<X, Y> { return null; }
+
+				""");
+		for (int i = 0; i < 200; i++) {
+			sb.append("""
+					let a%1$d: A<string> = new B<string>();
+					let c%1$d = f(%1$d, "s").m(a%1$d).m(new C<number, string>()).t.u;
+					a%1$d = f(true, "").m("").m(c%1$d);
+					""".formatted(i));
+		}
+		String script = sb.toString();
+
+		for (int i = 0; i < WARMUP; i++) {
+			assertValidate(script, -1);
+		}
+		long allocatedBefore = getAllocatedBytes();
+		long start = System.nanoTime();
+		for (int i = 0; i < RUNS; i++) {
+			assertValidate(script, -1);
+		}
+		long time = System.nanoTime() - start;
+		long allocated = getAllocatedBytes() - allocatedBefore;
+
+		System.out.println(String.format("%s: %,d ms/run, %,d KB allocated/run", getClass().getSimpleName(),
+				time / RUNS / 1_000_000, allocated / RUNS / 1024));
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the current thread so far. Uses reflection because the method is only
+	 * available in the HotSpot specific sub-interface of {@link ThreadMXBean}.
+	 */
+	private static long getAllocatedBytes() {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		try {
+			Method method = Class.forName("com.sun.management.ThreadMXBean")
+					.getMethod("getThreadAllocatedBytes", long.class);
+			return (Long) method.invoke(threadBean, Thread.currentThread().getId());
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return 0;
+		}
+	}
+}
@@ -44,7 +44,7 @@ public class MultiSingletonExpectation {
 
 	static public String get() {
 		return """
-				Found multiple instances for 18 singleton classes:
+				Found multiple instances for 20 singleton classes:
 				Singleton 'org.eclipse.n4js.common.unicode.services.UnicodeGrammarAccess' has 3 instances that have the following injectors:
 					- JSON-Injector
 					- N4JS-Injector
@@ -55,9 +55,15 @@ public class MultiSingletonExpectation {
 				Singleton 'org.eclipse.n4js.xtext.ide.server.ProjectStatePersisterConfig' has 2 instances that have the following injectors:
 					- JSON-Injector
 					- N4JS-Injector
+				Singleton 'org.eclipse.n4js.xtext.ide.server.PublishingIssueAcceptorConfig' has 2 instances that have the following injectors:
+					- JSON-Injector
+					- N4JS-Injector
 				Singleton 'org.eclipse.n4js.xtext.ide.server.QueuedExecutorService' has 2 instances that have the following injectors:
 					- JSON-Injector
 					- N4JS-Injector
+				Singleton 'org.eclipse.n4js.xtext.ide.server.QueuedExecutorServiceConfig' has 2 instances that have the following injectors:
+					- JSON-Injector
+					- N4JS-Injector
 				Singleton 'org.eclipse.n4js.xtext.ide.server.build.ConcurrentIndex' has 2 instances that have the following injectors:
 					- JSON-Injector
 					- N4JS-Injector
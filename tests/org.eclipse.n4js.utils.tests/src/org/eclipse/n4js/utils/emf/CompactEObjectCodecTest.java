@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2021 NumberFour AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   NumberFour AG - Initial API and implementation
+ */
+package org.eclipse.n4js.utils.emf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CompactEObjectCodec}.
+ */
+public class CompactEObjectCodecTest {
+
+	private static final URI RESOURCE_URI = URI.createURI("file:/some/resource.ecore");
+
+	@Test
+	public void testRoundTripOfEcore() throws IOException {
+		EPackage original = EcoreUtil.copy(EcorePackage.eINSTANCE);
+
+		byte[] data = CompactEObjectCodec.encode(original, RESOURCE_URI);
+		EObject decoded = CompactEObjectCodec.decode(data, RESOURCE_URI);
+
+		assertTrue(EcoreUtil.equals(original, decoded));
+		EClass eClass = (EClass) ((EPackage) decoded).getEClassifier("EClass");
+		// local cross references point into the decoded tree
+		assertSame(decoded, eClass.getESuperTypes().get(0).getEPackage());
+	}
+
+	@Test
+	public void testProxies() throws IOException {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("p");
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		eClass.setName("C");
+		ePackage.getEClassifiers().add(eClass);
+		EClass otherResourceProxy = EcoreFactory.eINSTANCE.createEClass();
+		((InternalEObject) otherResourceProxy).eSetProxyURI(URI.createURI("file:/other.ecore#//Other"));
+		EClass sameResourceProxy = EcoreFactory.eINSTANCE.createEClass();
+		((InternalEObject) sameResourceProxy).eSetProxyURI(RESOURCE_URI.appendFragment("//Same"));
+		eClass.getESuperTypes().add(otherResourceProxy);
+		eClass.getESuperTypes().add(sameResourceProxy);
+		EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName("a");
+		attribute.setEType(EcorePackage.Literals.ESTRING);
+		attribute.setUpperBound(-1);
+		eClass.getEStructuralFeatures().add(attribute);
+
+		URI newResourceURI = URI.createURI("file:/moved/resource.ecore");
+		byte[] data = CompactEObjectCodec.encode(ePackage, RESOURCE_URI);
+		EPackage decoded = (EPackage) CompactEObjectCodec.decode(data, newResourceURI);
+
+		EClass decodedClass = (EClass) decoded.getEClassifier("C");
+		@SuppressWarnings("unchecked")
+		List<EObject> superTypes = (List<EObject>) decodedClass.eGet(EcorePackage.Literals.ECLASS__ESUPER_TYPES,
+				false);
+		assertEquals(2, superTypes.size());
+		EObject decodedOther = superTypes.get(0);
+		EObject decodedSame = superTypes.get(1);
+		assertTrue(decodedOther.eIsProxy());
+		assertEquals(URI.createURI("file:/other.ecore#//Other"), EcoreUtil.getURI(decodedOther));
+		assertTrue(decodedSame.eIsProxy());
+		assertEquals(newResourceURI.appendFragment("//Same"), EcoreUtil.getURI(decodedSame));
+		EAttribute decodedAttribute = (EAttribute) decodedClass.getEStructuralFeature("a");
+		assertEquals(-1, decodedAttribute.getUpperBound());
+		assertSame(EcorePackage.Literals.ESTRING, decodedAttribute.getEType());
+	}
+
+	@Test
+	public void testIsEncoded() {
+		byte[] data = CompactEObjectCodec.encode(EcoreFactory.eINSTANCE.createEPackage(), RESOURCE_URI);
+		assertTrue(CompactEObjectCodec.isEncoded(data));
+		assertTrue(CompactEObjectCodec.isEncoded(new String(data, StandardCharsets.ISO_8859_1)));
+		assertFalse(CompactEObjectCodec.isEncoded("<?xml version=\"1.0\"?>"));
+		assertFalse(CompactEObjectCodec.isEncoded("PD94bWwgdmVyc2lvbj0iMS4wIj8+"));
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncatedData() throws IOException {
+		byte[] data = CompactEObjectCodec.encode(EcoreUtil.copy(EcorePackage.eINSTANCE), RESOURCE_URI);
+		CompactEObjectCodec.decode(Arrays.copyOf(data, data.length / 2), RESOURCE_URI);
+	}
+}